@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2014 IBM Corporation and others.
+ * Copyright (c) 2009, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
  *     Lars Vogel <Lars.Vogel@vogella.com> - Bug 366364, 445724, 446088
  *     Terry Parker <tparker@google.com> - Bug 416673
  *     Christian Georgi (SAP)            - Bug 432480
+ *     EclipseSource - shared application model template
  ******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench.swt;
 
@@ -408,6 +409,11 @@ public class E4Application implements IApplication {
 		eclipseContext.set(E4Workbench.DELTA_RESTORE,
 				Boolean.valueOf(deltaRestore));
 
+		// Shared application model template
+		value = getArgValue(E4Workbench.SHARED_MODEL_TEMPLATE, appContext, false);
+		eclipseContext.set(E4Workbench.SHARED_MODEL_TEMPLATE,
+				Boolean.valueOf(Boolean.parseBoolean(value)));
+
 		String resourceHandler = getArgValue(IWorkbench.MODEL_RESOURCE_HANDLER, appContext, false);
 
 		if (resourceHandler == null) {
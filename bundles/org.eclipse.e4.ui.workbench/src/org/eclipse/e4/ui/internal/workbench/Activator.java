@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2012 IBM Corporation and others.
+ * Copyright (c) 2009, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     René Brandstetter - Bug 419749 - [Workbench] [e4 Workbench] - Remove the deprecated PackageAdmin
+ *     EclipseSource - contribution class cache, application model template cache
  ******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench;
 
@@ -47,6 +48,12 @@ public class Activator implements BundleActivator {
 	/** A BundleTrackerCustomizer which is able to resolve a bundle to the a symbolic name. */
 	private final BundleFinder bundleFinder = new BundleFinder();
 
+	/** Caches the classes of contributions, shared by all application instances. */
+	private final ContributionClassCache contributionClassCache = new ContributionClassCache();
+
+	/** Caches the application model templates, shared by all application instances. */
+	private final ApplicationModelTemplateCache modelTemplateCache = new ApplicationModelTemplateCache();
+
 	private DebugTrace trace;
 
 	/**
@@ -74,6 +81,20 @@ public class Activator implements BundleActivator {
 		return bundleFinder.findBundle(bundleName);
 	}
 
+	/**
+	 * @return the cache of contribution classes
+	 */
+	ContributionClassCache getContributionClassCache() {
+		return contributionClassCache;
+	}
+
+	/**
+	 * @return the cache of application model templates
+	 */
+	ApplicationModelTemplateCache getModelTemplateCache() {
+		return modelTemplateCache;
+	}
+
 	/**
 	 * @return this bundles context
 	 */
@@ -108,10 +129,15 @@ public class Activator implements BundleActivator {
 		resolvedBundles = new BundleTracker<List<Bundle>>(context, Bundle.RESOLVED
 				| Bundle.STARTING | Bundle.ACTIVE | Bundle.STOPPING, bundleFinder);
 		resolvedBundles.open();
+
+		context.addBundleListener(contributionClassCache);
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		context.removeBundleListener(contributionClassCache);
+		contributionClassCache.clear();
+		modelTemplateCache.dispose();
 		if (locationTracker != null) {
 			locationTracker.close();
 			locationTracker = null;
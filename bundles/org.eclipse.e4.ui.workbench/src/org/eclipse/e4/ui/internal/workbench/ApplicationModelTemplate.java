@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Map.Entry;
+import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * An application model that is assembled once and shared by all instances of an application,
+ * e.g. by all UI sessions of a RAP application.
+ * <p>
+ * The template consists of the application model definition and the model fragments, which do
+ * not depend on the instance. Every instance works on its own copy of the template, hence the
+ * XMI and the fragments are parsed and merged only once. Model processors may depend on the
+ * instance and are therefore run on each copy.
+ * </p>
+ *
+ * @see ApplicationModelTemplateCache
+ */
+final class ApplicationModelTemplate {
+
+	private final E4XMIResource resource;
+	private final EObject application;
+
+	private ApplicationModelTemplate(E4XMIResource resource) {
+		this.resource = resource;
+		this.application = resource.getContents().get(0);
+	}
+
+	/**
+	 * Adds a copy of the template to the given resource. The copy keeps the XMI IDs of the
+	 * template.
+	 *
+	 * @param target
+	 *            the resource to add the copy to
+	 * @return the given resource
+	 */
+	Resource copyInto(Resource target) {
+		EcoreUtil.Copier copier = new EcoreUtil.Copier();
+		// the template is only read, but EMF may initialize parts of it lazily
+		synchronized (this) {
+			EObject copy = copier.copy(application);
+			copier.copyReferences();
+			target.getContents().add(copy);
+			if (target instanceof E4XMIResource) {
+				E4XMIResource targetResource = (E4XMIResource) target;
+				for (Entry<EObject, EObject> entry : copier.entrySet()) {
+					targetResource.setID(entry.getValue(), resource.getID(entry.getKey()));
+				}
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Loads the given application model definition and merges the model fragments into it.
+	 *
+	 * @param uri
+	 *            the URI of the application model definition
+	 * @param context
+	 *            the context to create the model assembler in
+	 * @return the new template
+	 * @throws IOException
+	 *             if the application model definition cannot be read
+	 */
+	static ApplicationModelTemplate create(URI uri, IEclipseContext context) throws IOException {
+		ResourceSetImpl resourceSet = ResourceHandler.createResourceSet();
+		E4XMIResource resource = (E4XMIResource) resourceSet.createResource(uri);
+		try (InputStream stream = new URL(uri.toString()).openStream()) {
+			resource.load(stream, resourceSet.getLoadOptions());
+		}
+		ResourceHandler.applyContributorURI(resource, uri);
+
+		IEclipseContext assemblyContext = context.createChild("ApplicationModelTemplate"); //$NON-NLS-1$
+		try {
+			assemblyContext.set(MApplication.class, (MApplication) resource.getContents().get(0));
+			ModelAssembler assembler = ContextInjectionFactory.make(ModelAssembler.class,
+					assemblyContext);
+			assembler.processFragments(true);
+		} finally {
+			assemblyContext.dispose();
+		}
+		return new ApplicationModelTemplate(resource);
+	}
+
+}
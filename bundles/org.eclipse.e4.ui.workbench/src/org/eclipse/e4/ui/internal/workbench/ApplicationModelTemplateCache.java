@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * Caches the application model templates by the URI of their application model definition, so
+ * that all instances of an application share one template.
+ * <p>
+ * The cache observes the model extension point of the extension registry and discards all
+ * templates when model extensions are added or removed. It is owned by the bundle activator and
+ * must be disposed when the bundle is stopped.
+ * </p>
+ */
+final class ApplicationModelTemplateCache implements IRegistryEventListener {
+
+	private final ConcurrentMap<URI, ApplicationModelTemplate> templates = new ConcurrentHashMap<URI, ApplicationModelTemplate>();
+	private final Object lock = new Object();
+	private IExtensionRegistry observedRegistry;
+
+	/**
+	 * Returns the template for the given application model definition, the template is assembled
+	 * on first access.
+	 *
+	 * @param uri
+	 *            the URI of the application model definition
+	 * @param context
+	 *            the context to create the model assembler in
+	 * @return the template or {@code null} if the template cannot be assembled because a processor
+	 *         must run before the fragments
+	 * @throws IOException
+	 *             if the application model definition cannot be read
+	 */
+	public ApplicationModelTemplate get(URI uri, IEclipseContext context) throws IOException {
+		IExtensionRegistry registry = context.get(IExtensionRegistry.class);
+		if (ModelAssembler.hasProcessorsBeforeFragments(registry)) {
+			return null;
+		}
+		ApplicationModelTemplate result = templates.get(uri);
+		if (result == null) {
+			synchronized (lock) {
+				observeRegistry(registry);
+				result = templates.get(uri);
+				if (result == null) {
+					result = ApplicationModelTemplate.create(uri, context);
+					templates.put(uri, result);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all cached templates.
+	 */
+	public void clear() {
+		templates.clear();
+	}
+
+	/**
+	 * Removes all cached templates and stops observing the extension registry.
+	 */
+	public void dispose() {
+		synchronized (lock) {
+			if (observedRegistry != null) {
+				observedRegistry.removeListener(this);
+				observedRegistry = null;
+			}
+			clear();
+		}
+	}
+
+	@Override
+	public void added(IExtension[] extensions) {
+		clear();
+	}
+
+	@Override
+	public void removed(IExtension[] extensions) {
+		clear();
+	}
+
+	@Override
+	public void added(IExtensionPoint[] extensionPoints) {
+		// only the extensions of the model extension point are observed
+	}
+
+	@Override
+	public void removed(IExtensionPoint[] extensionPoints) {
+		clear();
+	}
+
+	private void observeRegistry(IExtensionRegistry registry) {
+		if (observedRegistry != registry) {
+			if (observedRegistry != null) {
+				observedRegistry.removeListener(this);
+			}
+			// templates of another registry may contain other fragments
+			clear();
+			registry.addListener(this, ModelAssembler.extensionPointID);
+			observedRegistry = registry;
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.SynchronousBundleListener;
+
+/**
+ * Caches the classes of contributions by their contribution URI, so that the classes of parts,
+ * handlers and addons are loaded only once and not once per application instance.
+ * <p>
+ * The classes of a bundle are removed from the cache as soon as the bundle is unresolved, updated
+ * or uninstalled, since the cached classes may then be stale. A class that is loaded while any
+ * bundle is invalidated is not cached, it may have been loaded from the stale bundle.
+ * </p>
+ */
+final class ContributionClassCache implements SynchronousBundleListener {
+
+	private static final int INVALIDATING_EVENTS = BundleEvent.UNRESOLVED | BundleEvent.UPDATED
+			| BundleEvent.UNINSTALLED;
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+	// incremented before the entries of a bundle are invalidated
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Returns the class of the given contribution, the class is loaded from the given bundle if it
+	 * is not cached yet.
+	 *
+	 * @param contributionURI
+	 *            the contribution URI
+	 * @param bundle
+	 *            the bundle to load the class from
+	 * @param className
+	 *            the fully qualified name of the class
+	 * @return the class of the contribution
+	 * @throws ClassNotFoundException
+	 *             if the class cannot be loaded by the bundle
+	 */
+	public Class<?> loadClass(String contributionURI, Bundle bundle, String className)
+			throws ClassNotFoundException {
+		Entry entry = entries.get(contributionURI);
+		if (entry != null && entry.bundle == bundle) {
+			return entry.type;
+		}
+		long loadGeneration = generation.get();
+		entry = new Entry(bundle, bundle.loadClass(className));
+		entries.put(contributionURI, entry);
+		if (generation.get() != loadGeneration) {
+			// an invalidation ran concurrently and may have missed the new entry
+			entries.remove(contributionURI, entry);
+		}
+		return entry.type;
+	}
+
+	/**
+	 * Removes all cached classes.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	@Override
+	public void bundleChanged(BundleEvent event) {
+		if ((event.getType() & INVALIDATING_EVENTS) != 0) {
+			invalidate(event.getBundle());
+		}
+	}
+
+	private void invalidate(Bundle bundle) {
+		generation.incrementAndGet();
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().bundle == bundle) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		final Bundle bundle;
+		final Class<?> type;
+
+		Entry(Bundle bundle, Class<?> type) {
+			this.bundle = bundle;
+			this.type = type;
+		}
+	}
+}
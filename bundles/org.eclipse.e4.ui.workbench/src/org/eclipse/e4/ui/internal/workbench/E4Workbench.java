@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 BestSolution.at and others.
+ * Copyright (c) 2008, 2018 BestSolution.at and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     Tom Schindl <tom.schindl@bestsolution.at> - initial API and implementation
  *     IBM Corporation - initial API and implementation
  *     Christian Georgi (SAP)                   - Bug 432480
+ *     EclipseSource                            - shared application model template
  ******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench;
 
@@ -87,6 +88,14 @@ public class E4Workbench implements IWorkbench {
 	 * Value is: <code>forcedShowLocation</code>
 	 */
 	public static final String FORCED_SHOW_LOCATION = "forcedShowLocation"; //$NON-NLS-1$
+	/**
+	 * The argument for assembling the initial application model only once and sharing it between
+	 * all instances of the application, e.g. the UI sessions of a RAP application. Every instance
+	 * works on its own copy of the shared model.<br>
+	 * <br>
+	 * Value is: <code>sharedModelTemplate</code>
+	 */
+	public static final String SHARED_MODEL_TEMPLATE = "sharedModelTemplate"; //$NON-NLS-1$
 
 	private final String id;
 	private ServiceRegistration<?> osgiRegistration;
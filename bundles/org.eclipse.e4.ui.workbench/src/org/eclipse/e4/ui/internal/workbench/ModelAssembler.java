@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2014 BestSolution.at and others.
+ * Copyright (c) 2010, 2018 BestSolution.at and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Lars Vogel <Lars.Vogel@gmail.com> - Bug 430075, 430080, 431464, 433336
  *     René Brandstetter - Bug 419749 - [Workbench] [e4 Workbench] - Remove the deprecated PackageAdmin
  *     Brian de Alwis (MTI) - Bug 433053
+ *     EclipseSource - shared application model template
  ******************************************************************************/
 
 package org.eclipse.e4.ui.internal.workbench;
@@ -62,7 +63,7 @@ public class ModelAssembler {
 	@Inject
 	private IExtensionRegistry registry;
 
-	final private static String extensionPointID = "org.eclipse.e4.workbench.model"; //$NON-NLS-1$
+	final static String extensionPointID = "org.eclipse.e4.workbench.model"; //$NON-NLS-1$
 
 	//	private static final String ALWAYS = "always"; //$NON-NLS-1$
 	private static final String INITIAL = "initial"; //$NON-NLS-1$
@@ -87,6 +88,53 @@ public class ModelAssembler {
 		resolveImports(imports, addedElements);
 	}
 
+	/**
+	 * Process the model fragments only, without running any processors. Used to assemble the
+	 * shared application model template.
+	 *
+	 * @see ApplicationModelTemplate
+	 */
+	void processFragments(boolean initial) {
+		IExtensionPoint extPoint = registry.getExtensionPoint(extensionPointID);
+		IExtension[] extensions = new ExtensionsSort().sort(extPoint.getExtensions());
+
+		List<MApplicationElement> imports = new ArrayList<MApplicationElement>();
+		List<MApplicationElement> addedElements = new ArrayList<MApplicationElement>();
+
+		processFragments(extensions, imports, addedElements, initial);
+		resolveImports(imports, addedElements);
+	}
+
+	/**
+	 * Run the model processors only, on a model that contains the fragments already. Used for the
+	 * copies of the shared application model template.
+	 *
+	 * @see ApplicationModelTemplate
+	 */
+	void processProcessors(boolean initial) {
+		IExtensionPoint extPoint = registry.getExtensionPoint(extensionPointID);
+		IExtension[] extensions = new ExtensionsSort().sort(extPoint.getExtensions());
+
+		runProcessors(extensions, initial, true);
+	}
+
+	/**
+	 * @return {@code true} if a processor is marked to run before the fragments. Such a processor
+	 *         would have to run before a shared model template could be assembled.
+	 */
+	static boolean hasProcessorsBeforeFragments(IExtensionRegistry registry) {
+		IExtensionPoint extPoint = registry.getExtensionPoint(extensionPointID);
+		for (IExtension extension : extPoint.getExtensions()) {
+			for (IConfigurationElement ce : extension.getConfigurationElements()) {
+				if ("processor".equals(ce.getName()) //$NON-NLS-1$
+						&& Boolean.parseBoolean(ce.getAttribute("beforefragment"))) { //$NON-NLS-1$
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * @param extensions
 	 * @param imports
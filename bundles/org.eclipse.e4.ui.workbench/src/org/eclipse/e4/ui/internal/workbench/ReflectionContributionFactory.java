@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2012 IBM Corporation and others.
+ * Copyright (c) 2009, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - contribution class cache
  ******************************************************************************/
 
 package org.eclipse.e4.ui.internal.workbench;
@@ -99,7 +100,7 @@ public class ReflectionContributionFactory implements IContributionFactory {
 		} else {
 			String clazz = uri.segment(0);
 			try {
-				Class<?> targetClass = bundle.loadClass(clazz);
+				Class<?> targetClass = loadClass(bundle, clazz, uri);
 				if (staticContext == null)
 					contribution = ContextInjectionFactory.make(targetClass, context);
 				else
@@ -126,6 +127,15 @@ public class ReflectionContributionFactory implements IContributionFactory {
 		return contribution;
 	}
 
+	private static Class<?> loadClass(Bundle bundle, String clazz, URI uri)
+			throws ClassNotFoundException {
+		Activator activator = Activator.getDefault();
+		if (activator == null) {
+			return bundle.loadClass(clazz);
+		}
+		return activator.getContributionClassCache().loadClass(uri.toString(), bundle, clazz);
+	}
+
 	protected void processLanguages() {
 		languages = new HashMap<String, Object>();
 		String extId = "org.eclipse.e4.languages"; //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2014 IBM Corporation and others.
+ * Copyright (c) 2009, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     		Fix for Bug 2369 [Workbench] Would like to be able to save workspace without exiting
  *     		Implemented workbench auto-save to correctly restore state in case of crash.
  *     Terry Parker <tparker@google.com> - Bug 416673
+ *     EclipseSource - shared application model template
  ******************************************************************************/
 
 package org.eclipse.e4.ui.internal.workbench;
@@ -80,6 +81,11 @@ public class ResourceHandler implements IModelResourceHandler {
 	@Named(E4Workbench.INSTANCE_LOCATION)
 	private Location instanceLocation;
 
+	@Inject
+	@Optional
+	@Named(E4Workbench.SHARED_MODEL_TEMPLATE)
+	private Boolean sharedModelTemplate;
+
 	/**
 	 * Dictates whether the model should be stored using EMF or with the merging algorithm.
 	 * https://bugs.eclipse.org/bugs/show_bug.cgi?id=295524
@@ -107,7 +113,11 @@ public class ResourceHandler implements IModelResourceHandler {
 
 	@PostConstruct
 	void init() {
-		resourceSetImpl = new ResourceSetImpl();
+		resourceSetImpl = createResourceSet();
+	}
+
+	static ResourceSetImpl createResourceSet() {
+		ResourceSetImpl resourceSetImpl = new ResourceSetImpl();
 		resourceSetImpl.getResourceFactoryRegistry().getExtensionToFactoryMap()
 				.put(Resource.Factory.Registry.DEFAULT_EXTENSION, new E4XMIResourceFactory());
 
@@ -126,7 +136,7 @@ public class ResourceHandler implements IModelResourceHandler {
 				.getPackageRegistry()
 				.put(org.eclipse.e4.ui.model.application.descriptor.basic.impl.BasicPackageImpl.eNS_URI,
 						org.eclipse.e4.ui.model.application.descriptor.basic.impl.BasicPackageImpl.eINSTANCE);
-
+		return resourceSetImpl;
 	}
 
 	/**
@@ -225,6 +235,7 @@ public class ResourceHandler implements IModelResourceHandler {
 		// boolean restore = restoreLastModified > lastApplicationModification;
 		boolean restore = restoreLastModified > 0;
 		boolean initialModel;
+		boolean templateUsed = false;
 
 		resource = null;
 		if (restore && saveAndRestore) {
@@ -240,9 +251,13 @@ public class ResourceHandler implements IModelResourceHandler {
 			}
 		}
 		if (resource == null) {
-			Resource applicationResource = loadResource(applicationDefinitionInstance);
-			MApplication theApp = (MApplication) applicationResource.getContents().get(0);
-			resource = createResourceWithApp(theApp);
+			resource = copyModelTemplate();
+			templateUsed = resource != null;
+			if (!templateUsed) {
+				Resource applicationResource = loadResource(applicationDefinitionInstance);
+				MApplication theApp = (MApplication) applicationResource.getContents().get(0);
+				resource = createResourceWithApp(theApp);
+			}
 			context.set(E4Workbench.NO_SAVED_MODEL_FOUND, Boolean.TRUE);
 			initialModel = true;
 		} else {
@@ -256,7 +271,12 @@ public class ResourceHandler implements IModelResourceHandler {
 		this.context.set(MApplication.class, appElement);
 		ModelAssembler contribProcessor = ContextInjectionFactory.make(ModelAssembler.class,
 				context);
-		contribProcessor.processModel(initialModel);
+		if (templateUsed) {
+			// the fragments are already part of the template
+			contribProcessor.processProcessors(initialModel);
+		} else {
+			contribProcessor.processModel(initialModel);
+		}
 
 		if (!hasTopLevelWindows(resource) && logger != null) {
 			logger.error(new Exception(), // log a stack trace to help debug the
@@ -320,6 +340,26 @@ public class ResourceHandler implements IModelResourceHandler {
 		return baseLocation;
 	}
 
+	/**
+	 * Returns a new resource with a copy of the shared application model template, or
+	 * {@code null} if no template is shared.
+	 */
+	private Resource copyModelTemplate() {
+		Activator activator = Activator.getDefault();
+		if (!Boolean.TRUE.equals(sharedModelTemplate) || activator == null) {
+			return null;
+		}
+		try {
+			ApplicationModelTemplate template = activator.getModelTemplateCache().get(
+					applicationDefinitionInstance, context);
+			return template == null ? null : template.copyInto(createResource());
+		} catch (Exception e) {
+			logger.error(e, "Unable to create shared application model " //$NON-NLS-1$
+					+ applicationDefinitionInstance.toString());
+			return null;
+		}
+	}
+
 	// Ensures that even models with error are loaded!
 	private Resource loadResource(URI uri) {
 		Resource resource;
@@ -330,7 +370,11 @@ public class ResourceHandler implements IModelResourceHandler {
 			logger.error(e, "Unable to load resource " + uri.toString()); //$NON-NLS-1$
 			return null;
 		}
+		applyContributorURI(resource, uri);
+		return resource;
+	}
 
+	static void applyContributorURI(Resource resource, URI uri) {
 		// TODO once we switch from deltas, we only need this once on the default model?
 		String contributorURI = URIHelper.EMFtoPlatform(uri);
 		if (contributorURI != null) {
@@ -342,7 +386,6 @@ public class ResourceHandler implements IModelResourceHandler {
 				}
 			}
 		}
-		return resource;
 	}
 
 	private Resource getResource(URI uri) throws Exception {
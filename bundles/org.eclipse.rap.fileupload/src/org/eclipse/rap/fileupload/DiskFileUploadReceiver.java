@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,8 +19,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -33,22 +37,32 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
   private static final String TEMP_DIRECTORY_PREFIX = "fileupload_";
 
   private final List<File> targetFiles;
+  private final Map<File, byte[]> digests;
   private File contentTypeFile;
 
   public DiskFileUploadReceiver() {
     targetFiles = new ArrayList<>();
+    digests = new HashMap<>();
   }
 
   @Override
   public void receive( InputStream dataStream, FileDetails details ) throws IOException {
     File targetFile = createTargetFile( details );
+    MessageDigest digest = createMessageDigest( details );
+    InputStream inputStream = dataStream;
+    if( digest != null ) {
+      inputStream = new DigestInputStream( dataStream, digest );
+    }
     FileOutputStream outputStream = new FileOutputStream( targetFile );
     try {
-      copy( dataStream, outputStream );
+      copy( inputStream, outputStream );
     } finally {
       outputStream.close();
     }
     targetFiles.add( targetFile );
+    if( digest != null ) {
+      digests.put( targetFile, digest.digest() );
+    }
     contentTypeFile = createContentTypeFile( targetFile, details );
     if( contentTypeFile != null ) {
       PrintWriter pw = new PrintWriter( contentTypeFile );
@@ -100,6 +114,21 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
     return targetFiles.toArray( new File[ 0 ] );
   }
 
+  /**
+   * Returns the digest of the data that has been saved to the given file. A digest is only
+   * computed if <code>createMessageDigest()</code> returns a message digest.
+   *
+   * @param targetFile one of the files returned by <code>getTargetFiles()</code>
+   * @return the digest of the file contents or <code>null</code> if no digest has been computed
+   * @see #createMessageDigest(FileDetails)
+   *
+   * @since 3.6
+   */
+  public byte[] getDigest( File targetFile ) {
+    byte[] digest = digests.get( targetFile );
+    return digest == null ? null : digest.clone();
+  }
+
   /**
    * Creates a file to save the received data to. Subclasses may override.
    *
@@ -135,6 +164,21 @@ public class DiskFileUploadReceiver extends FileUploadReceiver {
   }
 
 
+  /**
+   * Creates a message digest that is updated with the received data while it is saved, e.g. to
+   * verify a checksum of the uploaded file without reading it again. Returns <code>null</code> by
+   * default, which means that no digest is computed. Subclasses may override.
+   *
+   * @param details the details of the uploaded file like file name, content-type and size
+   * @return a new message digest or <code>null</code>
+   * @see #getDigest(File)
+   *
+   * @since 3.6
+   */
+  protected MessageDigest createMessageDigest( FileDetails details ) {
+    return null;
+  }
+
   private static File createTempDirectory() throws IOException {
     File result = File.createTempFile( TEMP_DIRECTORY_PREFIX, "" );
     result.delete();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2017 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -30,6 +30,7 @@ public class FileUploadHandler {
   private final FileUploadListenerList listeners;
   private long maxFileSize = -1;
   private long uploadTimeLimit = -1;
+  private long progressInterval;
 
   /**
    * Constructs a file upload handler that is associated with the given receiver. The receiver is
@@ -144,6 +145,31 @@ public class FileUploadHandler {
     uploadTimeLimit = timeLimit;
   }
 
+  /**
+   * Returns the minimum time in milliseconds between two progress events. The default value of 0
+   * indicates that listeners are notified whenever more data has been read.
+   *
+   * @see #setProgressInterval
+   *
+   * @since 3.6
+   */
+  public long getProgressInterval() {
+    return progressInterval;
+  }
+
+  /**
+   * Sets the minimum time in milliseconds between two progress events. Progress events of large
+   * uploads can be reduced this way, the last progress event of an upload is always sent. A value
+   * of 0 indicates that listeners are notified whenever more data has been read.
+   *
+   * @see #getProgressInterval
+   *
+   * @since 3.6
+   */
+  public void setProgressInterval( long interval ) {
+    progressInterval = interval;
+  }
+
   FileUploadListenerList getListeners() {
     return listeners;
   }
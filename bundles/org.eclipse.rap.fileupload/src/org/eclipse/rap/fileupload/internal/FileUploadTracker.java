@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,6 +24,8 @@ final class FileUploadTracker {
   private final List<FileDetails> files;
   private long contentLength;
   private long bytesRead;
+  private long lastProgressTime;
+  private long lastProgressBytesRead;
   private Exception exception;
 
   FileUploadTracker( FileUploadHandler handler ) {
@@ -52,10 +54,18 @@ final class FileUploadTracker {
   }
 
   void handleProgress() {
-    new InternalFileUploadEvent( handler ).dispatchAsProgress();
+    long now = System.currentTimeMillis();
+    boolean complete = contentLength >= 0 && bytesRead >= contentLength;
+    if( complete || now - lastProgressTime >= handler.getProgressInterval() ) {
+      dispatchProgress( now );
+    }
   }
 
   void handleFinished() {
+    // the final progress may have been throttled if the content length is unknown
+    if( bytesRead != lastProgressBytesRead ) {
+      dispatchProgress( System.currentTimeMillis() );
+    }
     new InternalFileUploadEvent( handler ).dispatchAsFinished();
   }
 
@@ -63,6 +73,12 @@ final class FileUploadTracker {
     new InternalFileUploadEvent( handler ).dispatchAsFailed();
   }
 
+  private void dispatchProgress( long now ) {
+    lastProgressTime = now;
+    lastProgressBytesRead = bytesRead;
+    new InternalFileUploadEvent( handler ).dispatchAsProgress();
+  }
+
   private final class InternalFileUploadEvent extends FileUploadEvent {
 
     private static final long serialVersionUID = 1L;
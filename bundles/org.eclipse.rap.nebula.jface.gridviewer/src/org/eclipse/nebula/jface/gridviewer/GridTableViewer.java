@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *    rmcamara@us.ibm.com - initial API and implementation
  *    tom.schindl@bestsolution.at - various significant contributions
  *    mirko.paturzo@exeura.eu - improve performance
+ *    EclipseSource - support for virtual grids
  *******************************************************************************/
 package org.eclipse.nebula.jface.gridviewer;
 
@@ -156,13 +157,13 @@ public class GridTableViewer extends AbstractTableViewer {
   /** {@inheritDoc} */
   @Override
   protected void doClear( int index ) {
-    // grid.getDataVisualizer().clearRow( grid.getItem( index ) );
+    grid.clear( index, false );
   }
 
   /** {@inheritDoc} */
   @Override
   protected void doClearAll() {
-    // grid.getDataVisualizer().clearAll();
+    grid.clearAll( false );
   }
 
   /**
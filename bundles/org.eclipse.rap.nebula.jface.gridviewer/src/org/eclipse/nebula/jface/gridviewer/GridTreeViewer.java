@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007 IBM Corporation and others.
+ * Copyright (c) 2007, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *    Michael Houston <schmeeky@gmail.com> - initial API and implementation
  *    Tom Schindl <tom.schindl@bestsolution.at> - bug fix in: 191216
+ *    EclipseSource - support for virtual grids
  *******************************************************************************/
 package org.eclipse.nebula.jface.gridviewer;
 
@@ -27,12 +28,15 @@ import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.ViewerRow;
 import org.eclipse.nebula.widgets.grid.Grid;
 import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.nebula.widgets.grid.internal.IGridItemAdapter;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.TreeListener;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Widget;
 
 
@@ -46,6 +50,9 @@ import org.eclipse.swt.widgets.Widget;
  * Content providers for grid tree viewers must implement the {@link ITreeContentProvider}
  * interface.
  * <p>
+ * If the grid is created with the style <code>SWT.VIRTUAL</code>, the labels of an item are not
+ * updated before the item becomes visible for the first time.
+ * <p>
  * <b>The current implementation does not support lazy content providers.</b>
  * </p>
  */
@@ -94,6 +101,18 @@ public class GridTreeViewer extends AbstractTreeViewer {
   public GridTreeViewer( Grid grid ) {
     this.grid = grid;
     hookControl( grid );
+    if( ( grid.getStyle() & SWT.VIRTUAL ) != 0 ) {
+      grid.addListener( SWT.SetData, new Listener() {
+        @Override
+        public void handleEvent( Event event ) {
+          Item item = ( Item )event.item;
+          Object element = item.getData();
+          if( element != null ) {
+            updateItemLabels( item, element );
+          }
+        }
+      } );
+    }
   }
 
   /**
@@ -308,6 +327,13 @@ public class GridTreeViewer extends AbstractTreeViewer {
   /** {@inheritDoc} */
   @Override
   protected void doUpdateItem( final Item item, Object element ) {
+    // items of a virtual grid are updated on SetData when they become visible
+    if( isCached( item ) ) {
+      updateItemLabels( item, element );
+    }
+  }
+
+  private void updateItemLabels( Item item, Object element ) {
     super.doUpdateItem( item, element );
     updateRowHeader( item );
     if( autoPreferredHeight && !item.isDisposed() ) {
@@ -315,6 +341,10 @@ public class GridTreeViewer extends AbstractTreeViewer {
     }
   }
 
+  private static boolean isCached( Item item ) {
+    return item.isDisposed() || item.getAdapter( IGridItemAdapter.class ).isCached();
+  }
+
   /**
    * Removes the element at the specified index of the parent. The selection is updated if required.
    *
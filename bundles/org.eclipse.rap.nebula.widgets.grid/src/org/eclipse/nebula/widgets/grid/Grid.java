@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@ package org.eclipse.nebula.widgets.grid;
 import static org.eclipse.swt.internal.widgets.MarkupUtil.isMarkupEnabledFor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -36,6 +37,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.ICellToolTipAdapter;
 import org.eclipse.swt.internal.widgets.ICellToolTipProvider;
 import org.eclipse.swt.internal.widgets.ItemProvider;
@@ -71,6 +73,12 @@ public class Grid extends Composite {
   private static final int MIN_ITEM_HEIGHT = 16;
   private static final int GRID_WIDTH = 1;
 
+  // In a virtual grid without child items, the items are created on demand and both lists
+  // contain null for every item that has not been requested yet, see _getItem( int ). Only
+  // getItems(), getRootItems(), selectAll() and adding a child item create all pending items.
+  // There is no sparse index: both lists still hold one reference per item, so their memory grows
+  // linearly with the item count, and index walks like setTopIndex() or getNextVisibleItem() still
+  // iterate over the items.
   private List<GridItem> items = new ArrayList<GridItem>();
   private List<GridItem> rootItems = new ArrayList<GridItem>();
   private List<GridItem> selectedItems = new ArrayList<GridItem>();
@@ -301,10 +309,17 @@ public class Grid extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     int itemCount = Math.max( 0, count );
     while( itemCount < items.size() ) {
-      int flatIndex = items.size() - 1;
-      items.get( flatIndex ).dispose( flatIndex );
+      disposeItem( items.size() - 1 );
+    }
+    if( isLazy() && itemCount > items.size() ) {
+      int addedCount = itemCount - items.size();
+      items.addAll( Collections.<GridItem>nCopies( addedCount, null ) );
+      rootItems.addAll( Collections.<GridItem>nCopies( addedCount, null ) );
+      updateVisibleItems( addedCount );
+      scheduleRedraw();
     }
     while( itemCount > items.size() ) {
       new GridItem( this, null, SWT.NONE, -1 );
@@ -335,6 +350,10 @@ public class Grid extends Composite {
    * Note: This is not the actual structure used by the receiver to maintain
    * its list of items, so modifying the array will not affect the receiver.
    * </p>
+   * <p>
+   * Note: In a virtual grid, this method creates all items that have not been requested yet.
+   * Use {@link #getItemCount()} and {@link #getItem(int)} to access single items instead.
+   * </p>
    *
    * @return the items in the receiver
    * @throws org.eclipse.swt.SWTException
@@ -346,6 +365,7 @@ public class Grid extends Composite {
    */
   public GridItem[] getItems() {
     checkWidget();
+    createLazyItems();
     return items.toArray( new GridItem[ items.size() ] );
   }
 
@@ -372,7 +392,7 @@ public class Grid extends Composite {
     if( index < 0 || index >= items.size() ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    return items.get( index );
+    return _getItem( index );
   }
 
   /**
@@ -407,7 +427,7 @@ public class Grid extends Composite {
       if( p.y > y ) {
         int row = getTopIndex();
         while( row < items.size() && y <= getClientArea().height && result == null ) {
-          GridItem currentItem = items.get( row );
+          GridItem currentItem = _getItem( row );
           if( currentItem.isVisible() ) {
             int currentItemHeight = currentItem.getHeight();
             if( p.y >= y && p.y < y + currentItemHeight ) {
@@ -445,7 +465,7 @@ public class Grid extends Composite {
     if( item == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
-    return item.getParent() == this ? items.indexOf( item ) : -1;
+    return item.getParent() == this ? internalIndexOf( item ) : -1;
   }
 
   /**
@@ -471,6 +491,11 @@ public class Grid extends Composite {
    * Note: This is not the actual structure used by the receiver to maintain
    * its list of items, so modifying the array will not affect the receiver.
    * </p>
+   * <p>
+   * Note: In a virtual grid, this method creates all items that have not been requested yet.
+   * Use {@link #getRootItemCount()} and {@link #getRootItem(int)} to access single items
+   * instead.
+   * </p>
    *
    * @return the root items in the receiver
    * @throws org.eclipse.swt.SWTException
@@ -482,6 +507,7 @@ public class Grid extends Composite {
    */
   public GridItem[] getRootItems() {
     checkWidget();
+    createLazyItems();
     return rootItems.toArray( new GridItem[ rootItems.size() ] );
   }
 
@@ -495,7 +521,8 @@ public class Grid extends Composite {
     if( index < 0 || index >= rootItems.size() ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    return rootItems.get( index );
+    GridItem result = rootItems.get( index );
+    return result == null ? _getItem( index ) : result;
   }
 
   /**
@@ -513,13 +540,13 @@ public class Grid extends Composite {
   public GridItem getNextVisibleItem( GridItem item ) {
     checkWidget();
     GridItem result = null;
-    int index = items.indexOf( item );
+    int index = internalIndexOf( item );
     if( index != items.size() - 1 ) {
-      result = items.get( index + 1 );
+      result = _getItem( index + 1 );
       while( result != null && !result.isVisible() ) {
         index++;
         if( index != items.size() - 1 ) {
-          result = items.get( index + 1 );
+          result = _getItem( index + 1 );
         } else {
           result = null;
         }
@@ -548,14 +575,14 @@ public class Grid extends Composite {
     if( item == null ) {
       index = items.size();
     } else {
-      index = items.indexOf( item );
+      index = internalIndexOf( item );
     }
     if( index > 0 ) {
-      result = items.get( index - 1 );
+      result = _getItem( index - 1 );
       while( result != null && !result.isVisible() ) {
         index--;
         if( index > 0 ) {
-          result = items.get( index - 1 );
+          result = _getItem( index - 1 );
         } else {
           result = null;
         }
@@ -782,6 +809,8 @@ public class Grid extends Composite {
         }
       }
     }
+    DirtyWidgets.markModified( this );
+    markColumnsModified();
     GridColumn[] columns = getColumns();
     int[] oldOrder = getColumnOrder();
     displayOrderedColumns.clear();
@@ -982,7 +1011,8 @@ public class Grid extends Composite {
     if( index < 0 || index >= items.size() ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    items.get( index ).clear( allChildren );
+    DirtyWidgets.markModified( this );
+    clearItem( index, allChildren );
     redraw();
   }
 
@@ -1015,8 +1045,9 @@ public class Grid extends Composite {
       if( !( 0 <= start && start <= end && end < items.size() ) ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
+      DirtyWidgets.markModified( this );
       for( int i = start; i <= end; i++ ) {
-        items.get( i ).clear( allChildren );
+        clearItem( i, allChildren );
       }
       redraw();
     }
@@ -1055,8 +1086,9 @@ public class Grid extends Composite {
           SWT.error( SWT.ERROR_INVALID_RANGE );
         }
       }
+      DirtyWidgets.markModified( this );
       for( int i = 0; i < indices.length; i++ ) {
-        items.get( indices[ i ] ).clear( allChildren );
+        clearItem( indices[ i ], allChildren );
       }
       redraw();
     }
@@ -1081,6 +1113,7 @@ public class Grid extends Composite {
    */
   public void clearAll( boolean allChildren ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     int itemsCount = items.size();
     if( itemsCount > 0 ) {
       // [if] Note: The parameter allChildren has no effect as all items (not only rootItems)
@@ -1106,6 +1139,7 @@ public class Grid extends Composite {
    */
   public void setSelectionEnabled( boolean selectionEnabled ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( !selectionEnabled ) {
       selectedItems.clear();
     }
@@ -1146,6 +1180,7 @@ public class Grid extends Composite {
    */
   public void select( int index ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && isValidItemIndex( index ) ) {
       if( !cellSelectionEnabled && selectionType == SWT.SINGLE ) {
         selectedItems.clear();
@@ -1179,6 +1214,7 @@ public class Grid extends Composite {
    */
   public void select( int start, int end ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && !( selectionType == SWT.SINGLE && start != end ) ) {
       if( !cellSelectionEnabled && selectionType == SWT.SINGLE ) {
         selectedItems.clear();
@@ -1220,6 +1256,7 @@ public class Grid extends Composite {
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && !( selectionType == SWT.SINGLE && indices.length > 1 ) ) {
       if( !cellSelectionEnabled && selectionType == SWT.SINGLE ) {
         selectedItems.clear();
@@ -1245,11 +1282,13 @@ public class Grid extends Composite {
    */
   public void selectAll() {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && selectionType != SWT.SINGLE ) {
       if( cellSelectionEnabled ) {
 // TODO: [if] Implement cell selection
 //        selectAllCells();
       } else {
+        createLazyItems();
         selectedItems.clear();
         selectedItems.addAll( items );
       }
@@ -1273,6 +1312,7 @@ public class Grid extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( isValidItemIndex( index ) ) {
       internalDeselect( index );
     }
@@ -1298,6 +1338,7 @@ public class Grid extends Composite {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     for( int index = Math.max( 0, start ); index <= Math.min( items.size() - 1, end ); index++ ) {
       internalDeselect( index );
     }
@@ -1329,6 +1370,7 @@ public class Grid extends Composite {
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     for( int i = 0; i < indices.length; i++ ) {
       internalDeselect( indices[ i ] );
     }
@@ -1347,6 +1389,7 @@ public class Grid extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    DirtyWidgets.markModified( this );
     internalDeselectAll();
   }
 
@@ -1367,6 +1410,7 @@ public class Grid extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && isValidItemIndex( index ) ) {
       internalDeselectAll();
       internalSelect( index );
@@ -1397,6 +1441,7 @@ public class Grid extends Composite {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && !( selectionType == SWT.SINGLE && start != end ) ) {
       internalDeselectAll();
       for( int index = Math.max( 0, start ); index <= Math.min( items.size() - 1, end ); index++ ) {
@@ -1434,6 +1479,7 @@ public class Grid extends Composite {
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && !( selectionType == SWT.SINGLE && indices.length > 1 ) ) {
       internalDeselectAll();
       for( int i = 0; i < indices.length; i++ ) {
@@ -1472,6 +1518,7 @@ public class Grid extends Composite {
     if( items == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( selectionEnabled && !( selectionType == SWT.SINGLE && items.length > 1 ) ) {
       internalDeselectAll();
       for( GridItem item : items ) {
@@ -1479,7 +1526,7 @@ public class Grid extends Composite {
           if( item.isDisposed() ) {
             SWT.error( SWT.ERROR_INVALID_ARGUMENT );
           }
-          internalSelect( this.items.indexOf( item ) );
+          internalSelect( internalIndexOf( item ) );
         }
       }
     }
@@ -1581,7 +1628,7 @@ public class Grid extends Composite {
       }
     } else {
       if( selectedItems.size() != 0 ) {
-        result = items.indexOf( selectedItems.get( 0 ) );
+        result = internalIndexOf( selectedItems.get( 0 ) );
       }
     }
     return result;
@@ -1620,13 +1667,13 @@ public class Grid extends Composite {
       result = new int[ selectedRows.size() ];
       for( int i = 0; i < result.length; i++ ) {
         GridItem item = selectedRows.get( i );
-        result[ i ] = items.indexOf( item );
+        result[ i ] = internalIndexOf( item );
       }
     } else {
       result = new int[ selectedItems.size() ];
       for( int i = 0; i < result.length; i++ ) {
         GridItem item = selectedItems.get( i );
-        result[ i ] = items.indexOf( item );
+        result[ i ] = internalIndexOf( item );
       }
     }
     return result;
@@ -1658,7 +1705,8 @@ public class Grid extends Composite {
           }
         }
       } else {
-        result = isSelected( items.get( index ) );
+        GridItem item = items.get( index );
+        result = item != null && isSelected( item );
       }
     }
     return result;
@@ -1688,7 +1736,7 @@ public class Grid extends Composite {
     }
     boolean result = false;
     if( cellSelectionEnabled ) {
-      int index = items.indexOf( item );
+      int index = internalIndexOf( item );
       if( index != -1 ) {
         for( Point cell : selectedCells ) {
           if( cell.y == index ) {
@@ -1723,7 +1771,8 @@ public class Grid extends Composite {
     if( index < 0 || index > items.size() - 1 ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    items.get( index ).dispose( index );
+    DirtyWidgets.markModified( this );
+    disposeItem( index );
   }
 
   /**
@@ -1746,11 +1795,12 @@ public class Grid extends Composite {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     for( int i = end; i >= start; i-- ) {
       if( i < 0 || i > items.size() - 1 ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
-      items.get( i ).dispose( i );
+      disposeItem( i );
     }
   }
 
@@ -1781,11 +1831,12 @@ public class Grid extends Composite {
     for( int i = 0; i < indices.length; i++ ) {
       int index = indices[ i ];
       if( isValidItemIndex( index ) ) {
-        removeThese[ i ] = items.get( index );
+        removeThese[ i ] = _getItem( index );
       } else {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
     }
+    DirtyWidgets.markModified( this );
     for( int i = 0; i < removeThese.length; i++ ) {
       removeThese[ i ].dispose();
     }
@@ -1803,9 +1854,9 @@ public class Grid extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    DirtyWidgets.markModified( this );
     while( items.size() > 0 ) {
-      int flatIndex = items.size() - 1;
-      items.get( flatIndex ).dispose( flatIndex );
+      disposeItem( items.size() - 1 );
     }
   }
 
@@ -1823,6 +1874,7 @@ public class Grid extends Composite {
    */
   public void setHeaderVisible( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( columnHeadersVisible != show ) {
       columnHeadersVisible = show;
       layoutCache.invalidateHeaderHeight();
@@ -1881,6 +1933,7 @@ public class Grid extends Composite {
    */
   public void setFooterVisible( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( columnFootersVisible != show ) {
       columnFootersVisible = show;
       layoutCache.invalidateFooterHeight();
@@ -1954,6 +2007,7 @@ public class Grid extends Composite {
    */
   public void setLinesVisible( boolean linesVisible ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.linesVisible = linesVisible;
   }
 
@@ -1993,6 +2047,7 @@ public class Grid extends Composite {
     if( item == null || item.isDisposed() || item.getParent() != this || !item.isVisible() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     focusItem = item;
   }
 
@@ -2041,6 +2096,7 @@ public class Grid extends Composite {
     if( height < 1 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( customItemHeight != height ) {
       customItemHeight = height;
       hasDifferingHeights = false;
@@ -2095,13 +2151,13 @@ public class Grid extends Composite {
    */
   public void setTopIndex( int index ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( isValidItemIndex( index ) ) {
       updateScrollBars();
-      GridItem item = items.get( index );
-      if( item.isVisible() && vScroll.getVisible() ) {
+      if( isItemVisible( index ) && vScroll.getVisible() ) {
         int vScrollAmount = 0;
         for( int i = 0; i < index; i++ ) {
-          if( items.get( i ).isVisible() ) {
+          if( isItemVisible( i ) ) {
             vScrollAmount++;
           }
         }
@@ -2174,6 +2230,7 @@ public class Grid extends Composite {
     if( item.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( item.getParent() == this ) {
       int visibleGridHeight = getVisibleGridHeight();
       if( visibleGridHeight >= 1 ) {
@@ -2187,7 +2244,7 @@ public class Grid extends Composite {
           parent = parent.getParentItem();
         }
         if( !isShown( item ) ) {
-          setTopIndex( items.indexOf( item ) );
+          setTopIndex( internalIndexOf( item ) );
         }
       }
     }
@@ -2214,6 +2271,7 @@ public class Grid extends Composite {
     if( column.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( column.getParent() == this ) {
       updateScrollBars();
       if( !column.isVisible() ) {
@@ -2252,6 +2310,7 @@ public class Grid extends Composite {
    */
   public void showSelection() {
     checkWidget();
+    DirtyWidgets.markModified( this );
     GridItem item = null;
     if( cellSelectionEnabled ) {
       if( selectedCells.size() != 0 ) {
@@ -2279,6 +2338,7 @@ public class Grid extends Composite {
    */
   public void setAutoHeight( boolean autoHeight ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.autoHeight != autoHeight ) {
       this.autoHeight = autoHeight;
       layoutCache.invalidateHeaderHeight();
@@ -2339,6 +2399,8 @@ public class Grid extends Composite {
     int row = 0;
     GridItem parentItem = item.getParentItem();
     if( !isTree && parentItem != null ) {
+      // flat and root indices differ in a tree, so all items must exist from now on
+      createLazyItems();
       isTree = true;
     }
     int flatIndex = index;
@@ -2348,7 +2410,7 @@ public class Grid extends Composite {
       if( index >= rootItems.size() ) {
         flatIndex = -1;
       } else {
-        flatIndex = items.indexOf( rootItems.get( index ) );
+        flatIndex = isTree ? items.indexOf( rootItems.get( index ) ) : index;
       }
     } else if( !root ) {
       if( index >= parentItem.getItemCount() || index == -1 ) {
@@ -2411,11 +2473,15 @@ public class Grid extends Composite {
 
   private void adjustItemIndices( int start ) {
     for( int i = start; i < rootItems.size(); i++ ) {
-      rootItems.get( i ).index = i;
+      GridItem item = rootItems.get( i );
+      if( item != null ) {
+        item.index = i;
+      }
     }
   }
 
   int newColumn( GridColumn column, int index ) {
+    markColumnsModified();
     if( index == -1 ) {
       columns.add( column );
       displayOrderedColumns.add( column );
@@ -2425,7 +2491,9 @@ public class Grid extends Composite {
     }
     updatePrimaryCheckColumn();
     for( GridItem item : items ) {
-      item.columnAdded( index );
+      if( item != null ) {
+        item.columnAdded( index );
+      }
     }
     if( column.isCheck() ) {
       layoutCache.invalidateItemHeight();
@@ -2437,12 +2505,15 @@ public class Grid extends Composite {
   }
 
   void removeColumn( GridColumn column ) {
+    markColumnsModified();
     int index = columns.indexOf( column );
     columns.remove( index );
     displayOrderedColumns.remove( column );
     updatePrimaryCheckColumn();
     for( GridItem item : items ) {
-      item.columnRemoved( index );
+      if( item != null ) {
+        item.columnRemoved( index );
+      }
     }
     if( column.isCheck() ) {
       layoutCache.invalidateItemHeight();
@@ -2452,6 +2523,20 @@ public class Grid extends Composite {
     scheduleRedraw();
   }
 
+  /*
+   * The rendered position and width of columns and column groups depend on their siblings.
+   */
+  void markColumnsModified() {
+    for( GridColumn column : columns ) {
+      DirtyWidgets.markModified( column );
+    }
+    for( GridColumnGroup group : columnGroups ) {
+      if( !group.isDisposed() ) {
+        DirtyWidgets.markModified( group );
+      }
+    }
+  }
+
   void newColumnGroup( GridColumnGroup group ) {
     columnGroups.add( group );
     if( columnGroups.size() == 1 ) {
@@ -2493,7 +2578,8 @@ public class Grid extends Composite {
 
   int getMaxContentWidth( GridColumn column ) {
     doRedraw();
-    return getMaxInnerWidth( getRootItems(), columns.indexOf( column ) );
+    GridItem[] existingRootItems = rootItems.toArray( new GridItem[ rootItems.size() ] );
+    return getMaxInnerWidth( existingRootItems, columns.indexOf( column ) );
   }
 
   int getBottomIndex() {
@@ -2522,20 +2608,20 @@ public class Grid extends Composite {
         y += getHeaderHeight();
       }
       int topIndex = getTopIndex();
-      int itemIndex = items.indexOf( item );
+      int itemIndex = internalIndexOf( item );
       if( itemIndex == -1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
       while( topIndex != itemIndex ) {
         if( topIndex < itemIndex ) {
-          GridItem currentItem = items.get( topIndex );
+          GridItem currentItem = _getItem( topIndex );
           if( currentItem.isVisible() ) {
             y += currentItem.getHeight();
           }
           topIndex++;
         } else if( topIndex > itemIndex ) {
           topIndex--;
-          GridItem currentItem = items.get( topIndex );
+          GridItem currentItem = _getItem( topIndex );
           if( currentItem.isVisible() ) {
             y -= currentItem.getHeight();
           }
@@ -2549,7 +2635,7 @@ public class Grid extends Composite {
     checkWidget();
     boolean result = false;
     if( item.isVisible() ) {
-      int itemIndex = items.indexOf( item );
+      int itemIndex = internalIndexOf( item );
       if( itemIndex == -1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
@@ -2564,7 +2650,7 @@ public class Grid extends Composite {
   private void doRedraw() {
     if( isVirtual() && items.size() > 0 ) {
       for( int index = getTopIndex(); index <= getBottomIndex(); index++ ) {
-        GridItem item = items.get( index );
+        GridItem item = _getItem( index );
         if( item.isVisible() ) {
           item.ensureItemData();
           item.handleVirtual();
@@ -2670,7 +2756,9 @@ public class Grid extends Composite {
     event.type = SWT.None;
     disposing = true;
     for( GridItem item : items ) {
-      item.dispose();
+      if( item != null ) {
+        item.dispose();
+      }
     }
     for( GridColumn column : columns ) {
       column.dispose();
@@ -2706,7 +2794,9 @@ public class Grid extends Composite {
     int result = 0;
     if( hasDifferingHeights ) {
       for( GridItem item : items ) {
-        if( item.isVisible() ) {
+        if( item == null ) {
+          result += getItemHeight();
+        } else if( item.isVisible() ) {
           result += item.getHeight();
         }
       }
@@ -2725,7 +2815,7 @@ public class Grid extends Composite {
   private static int getMaxInnerWidth( GridItem[] items, int index ) {
     int maxInnerWidth = 0;
     for( GridItem item : items ) {
-      if( item.isResolved() ) {
+      if( item != null && item.isResolved() ) {
         maxInnerWidth = Math.max( maxInnerWidth, item.getPreferredWidth( index ) );
         if( item.isExpanded() ) {
           int innerWidth = getMaxInnerWidth( item.getItems(), index );
@@ -2738,7 +2828,7 @@ public class Grid extends Composite {
 
   private void internalSelect( int index ) {
     if( isValidItemIndex( index ) ) {
-      GridItem item = items.get( index );
+      GridItem item = _getItem( index );
       if( cellSelectionEnabled ) {
 // TODO: [if] Implement cell selection
 //        selectCells( getCells( item ) );
@@ -3071,13 +3161,13 @@ public class Grid extends Composite {
       }
       do {
         startIndex += inverse ? -1 : 1;
-      } while( isValidItemIndex( startIndex ) && !items.get( startIndex ).isVisible() );
+      } while( isValidItemIndex( startIndex ) && !isItemVisible( startIndex ) );
       if( !isValidItemIndex( startIndex ) ) {
         result = null;
       }
     }
     if( result != null ) {
-      if( startIndex < 0 || startIndex >= items.size() || !items.get( startIndex ).isVisible() ) {
+      if( startIndex < 0 || startIndex >= items.size() || !isItemVisible( startIndex ) ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
       if( availableHeight <= 0 ) {
@@ -3090,7 +3180,7 @@ public class Grid extends Composite {
         int consumedItems = 0;
         int consumedHeight = 0;
         consumedItems++;
-        consumedHeight += items.get( otherIndex ).getHeight();
+        consumedHeight += _getItem( otherIndex ).getHeight();
         boolean abort = false;
         while( consumedHeight + 1 <= availableHeight && !abort ) {
           int nextIndex = otherIndex;
@@ -3098,7 +3188,7 @@ public class Grid extends Composite {
           do {
             nextIndex += inverse ? -1 : 1;
             if( isValidItemIndex( nextIndex ) ) {
-              nextItem = items.get( nextIndex );
+              nextItem = _getItem( nextIndex );
             } else {
               nextItem = null;
             }
@@ -3140,7 +3230,67 @@ public class Grid extends Composite {
   }
 
   int internalIndexOf( GridItem item ) {
-    return items.indexOf( item );
+    int result;
+    if( isTree ) {
+      result = items.indexOf( item );
+    } else {
+      // without child items, the index of a (root) item is its flat index
+      int index = item.index;
+      result = index >= 0 && index < items.size() && items.get( index ) == item ? index : -1;
+    }
+    return result;
+  }
+
+  private boolean isLazy() {
+    return isVirtual() && !isTree;
+  }
+
+  private GridItem _getItem( int index ) {
+    GridItem item = items.get( index );
+    if( item == null ) {
+      item = new GridItem( this );
+      setLazyItem( item, index );
+    }
+    return item;
+  }
+
+  private void setLazyItem( GridItem item, int index ) {
+    items.set( index, item );
+    rootItems.set( index, item );
+    item.index = index;
+  }
+
+  private void createLazyItems() {
+    if( isLazy() ) {
+      for( int index = 0; index < items.size(); index++ ) {
+        _getItem( index );
+      }
+    }
+  }
+
+  private boolean isItemVisible( int index ) {
+    GridItem item = items.get( index );
+    return item == null || item.isVisible();
+  }
+
+  private void clearItem( int index, boolean allChildren ) {
+    GridItem item = items.get( index );
+    if( item != null ) {
+      item.clear( allChildren );
+    }
+  }
+
+  private void disposeItem( int flatIndex ) {
+    GridItem item = items.get( flatIndex );
+    if( item == null ) {
+      items.remove( flatIndex );
+      rootItems.remove( flatIndex );
+      adjustItemIndices( flatIndex );
+      updateVisibleItems( -1 );
+      scheduleRedraw();
+    } else {
+      item.dispose( flatIndex );
+    }
   }
 
   void scheduleRedraw() {
@@ -3273,7 +3423,7 @@ public class Grid extends Composite {
       }
       if( isVirtual() ) {
         for( GridItem item : items ) {
-          if( item.isResolved() ) {
+          if( item != null && item.isResolved() ) {
             visitor.visit( item );
           }
         }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,6 +23,7 @@ import org.eclipse.swt.events.ControlListener;
 import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.MarkupValidator;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Item;
@@ -367,6 +368,7 @@ public class GridColumn extends Item {
    */
   public void setMinimumWidth( int minimumWidth ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.minimumWidth = Math.max( 0, minimumWidth );
     if( minimumWidth > width ) {
       internalSetWidth( minimumWidth );
@@ -412,6 +414,7 @@ public class GridColumn extends Item {
    */
   public void setSort( int style ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( style == SWT.UP || style == SWT.DOWN || style == SWT.NONE ) {
       // TODO: [if] Currently, client implementation supports only one sort column
       if( style != SWT.NONE ) {
@@ -459,6 +462,7 @@ public class GridColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.moveable = moveable;
     parent.redraw();
   }
@@ -495,6 +499,7 @@ public class GridColumn extends Item {
    */
   public void setResizeable( boolean resizeable ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.resizeable = resizeable;
   }
 
@@ -531,6 +536,7 @@ public class GridColumn extends Item {
    */
   public void setCheckable(boolean checkable) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.checkable = checkable;
   }
 
@@ -570,6 +576,7 @@ public class GridColumn extends Item {
    */
   public void setDetail( boolean detail ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.detail = detail;
   }
 
@@ -608,6 +615,7 @@ public class GridColumn extends Item {
    */
   public void setSummary( boolean summary ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.summary = summary;
   }
 
@@ -644,6 +652,7 @@ public class GridColumn extends Item {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    parent.markColumnsModified();
     boolean before = isVisible();
     this.visible = visible;
     if( isVisible() != before ) {
@@ -758,6 +767,7 @@ public class GridColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( alignment == SWT.LEFT || alignment == SWT.CENTER || alignment == SWT.RIGHT ) {
       this.alignment = alignment;
     }
@@ -815,6 +825,7 @@ public class GridColumn extends Item {
    */
   public void setWordWrap( boolean wordWrap ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.wordWrap != wordWrap ) {
       this.wordWrap = wordWrap;
       parent.scheduleRedraw();
@@ -844,6 +855,7 @@ public class GridColumn extends Item {
     if( font != null && font.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     headerFont = font;
     parent.layoutCache.invalidateHeaderHeight();
     parent.scheduleRedraw();
@@ -881,6 +893,7 @@ public class GridColumn extends Item {
    */
   public void setHeaderTooltip( String toolTipText ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -918,6 +931,7 @@ public class GridColumn extends Item {
    */
   public void setHeaderWordWrap( boolean wordWrap ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( headerWordWrap != wordWrap ) {
       headerWordWrap = wordWrap;
       parent.layoutCache.invalidateHeaderHeight();
@@ -961,6 +975,7 @@ public class GridColumn extends Item {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     footerText = text;
     parent.layoutCache.invalidateFooterHeight();
   }
@@ -1009,6 +1024,7 @@ public class GridColumn extends Item {
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     footerImage = image;
     parent.layoutCache.invalidateFooterHeight();
   }
@@ -1055,6 +1071,7 @@ public class GridColumn extends Item {
     if( font != null && font.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     footerFont = font;
     parent.layoutCache.invalidateFooterHeight();
     parent.scheduleRedraw();
@@ -1229,6 +1246,7 @@ public class GridColumn extends Item {
   private void internalSetWidth( int width ) {
     int newWidth = Math.max( minimumWidth, width );
     if( this.width != newWidth ) {
+      parent.markColumnsModified();
       this.width = newWidth;
       packed = false;
       processControlEvents();
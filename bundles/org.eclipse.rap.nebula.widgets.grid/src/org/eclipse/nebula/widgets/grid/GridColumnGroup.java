@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.TreeListener;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Item;
 import org.eclipse.swt.widgets.TypedListener;
 
@@ -192,6 +193,7 @@ public class GridColumnGroup extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.expanded != expanded ) {
       this.expanded = expanded;
       parent.invalidateScrollBars();
@@ -255,6 +257,7 @@ public class GridColumnGroup extends Item {
     if( font != null && font.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     headerFont = font;
     parent.layoutCache.invalidateHeaderHeight();
     parent.scheduleRedraw();
@@ -283,6 +286,7 @@ public class GridColumnGroup extends Item {
    */
   public void setHeaderWordWrap( boolean wordWrap ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     headerWordWrap = wordWrap;
     parent.layoutCache.invalidateHeaderHeight();
     parent.scheduleRedraw();
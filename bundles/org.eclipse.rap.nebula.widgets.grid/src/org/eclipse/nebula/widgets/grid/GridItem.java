@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,6 +29,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IWidgetColorAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetFontAdapter;
 import org.eclipse.swt.internal.widgets.MarkupValidator;
@@ -179,6 +180,15 @@ public class GridItem extends Item {
     }
   }
 
+  /*
+   * Creates an item of a virtual grid on demand, the grid already reserved an index for the item
+   * and registers it there, see Grid#_getItem( int )
+   */
+  GridItem( Grid parent ) {
+    super( parent, SWT.NONE );
+    this.parent = parent;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -230,6 +240,7 @@ public class GridItem extends Item {
    */
   public void fireEvent( int eventId ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     Event event = new Event();
     event.display = getDisplay();
     event.widget = this;
@@ -258,6 +269,7 @@ public class GridItem extends Item {
    */
   public void fireCheckEvent( int column ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     Event event = new Event();
     event.display = getDisplay();
     event.widget = this;
@@ -462,6 +474,7 @@ public class GridItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( getItemData().expanded != expanded ) {
       getItemData().expanded = expanded;
       boolean unselected = false;
@@ -534,6 +547,7 @@ public class GridItem extends Item {
     if( font != null && font.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     getItemData().defaultFont = font;
     markCached();
     parent.scheduleRedraw();
@@ -586,6 +600,7 @@ public class GridItem extends Item {
     if( font != null && font.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     getCellData( index ).font = font;
     markCached();
     parent.scheduleRedraw();
@@ -641,6 +656,7 @@ public class GridItem extends Item {
     if( background != null && background.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     getItemData().defaultBackground = background;
     markCached();
   }
@@ -691,6 +707,7 @@ public class GridItem extends Item {
     if( background != null && background.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     getCellData( index ).background = background;
     markCached();
   }
@@ -744,6 +761,7 @@ public class GridItem extends Item {
     if( foreground != null && foreground.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     getItemData().defaultForeground = foreground;
     markCached();
   }
@@ -794,6 +812,7 @@ public class GridItem extends Item {
     if( foreground != null && foreground.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     getCellData( index ).foreground = foreground;
     markCached();
   }
@@ -864,6 +883,7 @@ public class GridItem extends Item {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( isMarkupEnabledFor( parent ) && !isValidationDisabledFor( parent ) ) {
       MarkupValidator.getInstance().validate( text );
     }
@@ -911,6 +931,7 @@ public class GridItem extends Item {
    */
   public void setToolTipText( int index, String tooltip ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     getCellData( index ).tooltip = tooltip;
     if( tooltip != null && tooltip.length() > 0 ) {
       parent.setCellToolTipsEnabled( true );
@@ -980,6 +1001,7 @@ public class GridItem extends Item {
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     CellData cellData = getCellData( index );
     updateColumnImageCount( index, cellData.image, image );
     cellData.image = image;
@@ -1060,6 +1082,7 @@ public class GridItem extends Item {
    */
   public void setChecked( int index, boolean checked ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     // [if] TODO: probably need a check for parent.getColumn( index ).isCheck() ?
     getCellData( index ).checked = checked;
     markCached();
@@ -1143,6 +1166,7 @@ public class GridItem extends Item {
    */
   public void setGrayed( int index, boolean grayed ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     // [if] TODO: probably need a check for parent.getColumn( index ).isCheck() ?
     getCellData( index ).grayed = grayed;
     markCached();
@@ -1190,6 +1214,7 @@ public class GridItem extends Item {
    */
   public void setCheckable( int index, boolean checked ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     // [if] TODO: probably need a check for parent.getColumn( index ).isCheck() ?
     getCellData( index ).checkable = checked;
     markCached();
@@ -1241,6 +1266,7 @@ public class GridItem extends Item {
    */
   public void setColumnSpan( int index, int span ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     getCellData( index ).columnSpan = span;
     parent.setHasSpanning( true );
   }
@@ -1284,6 +1310,7 @@ public class GridItem extends Item {
     if( height < 1 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( getItemData().customHeight != height ) {
       getItemData().customHeight = height;
       parent.hasDifferingHeights = true;
@@ -1412,12 +1439,14 @@ public class GridItem extends Item {
 
   void columnAdded( int index ) {
     if( data != null && parent.getColumnCount() > 1 ) {
+      DirtyWidgets.markModified( this );
       data.addCellData( index );
     }
   }
 
   void columnRemoved( int index ) {
     if( data != null && parent.getColumnCount() > 0 ) {
+      DirtyWidgets.markModified( this );
       data.removeCellData( index );
     }
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -76,6 +76,11 @@ public class GridColumnGroupLCA extends WidgetLCA<GridColumnGroup> {
     preserveProperty( group, PROP_HEADER_WORD_WRAP, group.getHeaderWordWrap() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderChanges( GridColumnGroup group ) throws IOException {
     WidgetLCAUtil.renderCustomVariant( group );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -92,6 +92,11 @@ public class GridColumnLCA extends WidgetLCA<GridColumn> {
     preserveProperty( column, PROP_HEADER_WORD_WRAP, column.getHeaderWordWrap() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderChanges( GridColumn column ) throws IOException {
     WidgetLCAUtil.renderToolTip( column, column.getHeaderTooltip() );
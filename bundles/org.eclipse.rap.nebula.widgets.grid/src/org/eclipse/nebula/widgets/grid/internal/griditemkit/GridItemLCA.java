@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -90,6 +90,11 @@ public class GridItemLCA extends WidgetLCA<GridItem> {
     }
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderChanges( final GridItem item ) throws IOException {
     renderProperty( item, PROP_INDEX, getItemIndex( item ), -1 );
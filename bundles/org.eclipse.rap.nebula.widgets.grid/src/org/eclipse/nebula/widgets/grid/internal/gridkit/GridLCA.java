@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright (c) 2012, 2016 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -130,6 +130,11 @@ public class GridLCA extends WidgetLCA<Grid> {
     preserveProperty( grid, PROP_CELL_TOOLTIP_TEXT, null );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderChanges( Grid grid ) throws IOException {
     ControlLCAUtil.renderChanges( grid );
@@ -19,6 +19,7 @@ import javax.servlet.http.HttpServlet;
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
 import org.eclipse.rap.rwt.application.ApplicationRunner;
 import org.eclipse.rap.rwt.engine.RWTServlet;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.osgi.ApplicationReference;
 import org.eclipse.rap.rwt.service.ApplicationContext;
 import org.osgi.framework.BundleContext;
@@ -197,6 +198,15 @@ class ApplicationReferenceImpl implements ApplicationReference {
 
   private void registerResourceDirectory() {
     String alias = ApplicationRunner.RESOURCES;
+    if( RWTProperties.isInMemoryResources() ) {
+      // resources are served from memory by the RWTServlet
+      registerServlet( "/" + alias, new RWTServlet() );
+    } else {
+      registerResources( alias );
+    }
+  }
+
+  private void registerResources( String alias ) {
     String location = contextLocation + "/" + alias;
     try {
       httpService.registerResources( getContextSegment() + "/" + alias, location, httpContext );
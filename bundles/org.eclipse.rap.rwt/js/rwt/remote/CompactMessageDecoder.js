@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+(function() {
+
+namespace( "rwt.remote" );
+
+/**
+ * Restores messages in the compact encoding of the protocol. Numbers in an operation are
+ * replaced by the key at this index in the keys table of the head, arrays of alternating key
+ * indexes and values by an object. Messages in plain JSON are returned unchanged.
+ */
+rwt.remote.CompactMessageDecoder = {
+
+  ENCODING : "compact",
+
+  decode : function( messageObject ) {
+    var head = messageObject.head;
+    if( head && head.encoding === this.ENCODING ) {
+      var keys = head.keys;
+      var operations = messageObject.operations || [];
+      for( var i = 0; i < operations.length; i++ ) {
+        this._decodeOperation( operations[ i ], keys );
+      }
+      delete head.encoding;
+      delete head.keys;
+    }
+    return messageObject;
+  },
+
+  _decodeOperation : function( operation, keys ) {
+    for( var i = 1; i < operation.length; i++ ) {
+      var value = operation[ i ];
+      if( typeof value === "number" ) {
+        operation[ i ] = keys[ value ];
+      } else if( value instanceof Array ) {
+        operation[ i ] = this._decodeProperties( value, keys );
+      }
+    }
+  },
+
+  _decodeProperties : function( properties, keys ) {
+    var result = {};
+    for( var i = 0; i < properties.length; i += 2 ) {
+      result[ keys[ properties[ i ] ] ] = properties[ i + 1 ];
+    }
+    return result;
+  }
+
+};
+
+}() );
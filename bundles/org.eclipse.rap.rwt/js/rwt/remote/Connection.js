@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@
 var Client = rwt.client.Client;
 var Timer = rwt.client.Timer;
 var Processor = rwt.remote.MessageProcessor;
+var CompactMessageDecoder = rwt.remote.CompactMessageDecoder;
 var ErrorHandler = rwt.runtime.ErrorHandler;
 var EventUtil = rwt.remote.EventUtil;
 var ServerPush = rwt.client.ServerPush;
@@ -41,6 +42,7 @@ rwt.qx.Class.define( "rwt.remote.Connection", {
     this._requestCounter = 0;
     this._requestPending = false;
     this._connectionId = null;
+    this._compactEncoding = false;
     this._sendTimer = new Timer( 60 );
     this._sendTimer.addEventListener( "interval", function() {
       this.sendImmediate( true );
@@ -85,6 +87,14 @@ rwt.qx.Class.define( "rwt.remote.Connection", {
       return this._connectionId;
     },
 
+    /**
+     * Requests the compact encoding for all following responses if it is offered by the server.
+     */
+    setEncodings : function( encodings ) {
+      var encoding = CompactMessageDecoder.ENCODING;
+      this._compactEncoding = rwt.util.Arrays.contains( encodings, encoding );
+    },
+
     _flushEvent : function() {
       if( this._event ) {
         var writer = this.getMessageWriter();
@@ -122,6 +132,9 @@ rwt.qx.Class.define( "rwt.remote.Connection", {
         this._flushEvent();
         this._sendTimer.stop();
         this.getMessageWriter().appendHead( "requestCounter", this._requestCounter++ );
+        if( this._compactEncoding ) {
+          this.getMessageWriter().appendHead( "encoding", CompactMessageDecoder.ENCODING );
+        }
         this._requestPending = true;
         this._startWaitHintTimer();
         var request = this._createRequest();
@@ -206,7 +219,7 @@ rwt.qx.Class.define( "rwt.remote.Connection", {
 
     _handleSuccess : function( event ) {
       try {
-        var messageObject = JSON.parse( event.responseText );
+        var messageObject = CompactMessageDecoder.decode( JSON.parse( event.responseText ) );
         rwt.remote.EventUtil.setSuspended( true );
         var that = this;
         Processor.processMessage( messageObject, function() {
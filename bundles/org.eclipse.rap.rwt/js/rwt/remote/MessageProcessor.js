@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2017 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -50,6 +50,9 @@ rwt.remote.MessageProcessor = {
     if( head.cid ) {
       connection.setConnectionId( head.cid );
     }
+    if( head.encodings ) {
+      connection.setEncodings( head.encodings );
+    }
     if( head.redirect ) {
       rwt.widgets.Display.getCurrent().setExitConfirmation( null );
       document.location = head.redirect;
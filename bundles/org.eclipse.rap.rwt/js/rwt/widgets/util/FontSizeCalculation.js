@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,14 +21,19 @@ rwt.qx.Class.define( "rwt.widgets.util.FontSizeCalculation", {
     measureItems : function( args ) {
       var items = args.items;
       var results = {};
+      var advances = null;
       for( var i = 0; i < items.length; i++ ) {
         var item = items[ i ];
         var isMarkup = item[ 7 ];
         var size = this._measureItem( item, !isMarkup );
         var id = item[ 0 ];
         results[ id ] = size;
+        if( item[ 8 ] ) {
+          advances = advances || {};
+          advances[ id ] = this._measureAdvances( item );
+        }
       }
-      this._storeMeasurements( id, results );
+      this._storeMeasurements( results, advances );
     },
 
     _measureItem : function( item, escapeText ) {
@@ -40,6 +45,33 @@ rwt.qx.Class.define( "rwt.widgets.util.FontSizeCalculation", {
       return this.computeTextDimensions( text, fontProps, width );
     },
 
+    // Measures the horizontal advance of each of the requested glyphs, see GlyphAdvances.java
+    _measureAdvances : function( item ) {
+      var glyphs = item[ 8 ];
+      var font = rwt.html.Font.fromArray( item.slice( 2, 6 ) );
+      var fontProps = {};
+      font.renderStyle( fontProps );
+      var result = [];
+      for( var i = 0; i < glyphs.length; i++ ) {
+        var text = this._escapeText( glyphs.charAt( i ) );
+        this.computeTextDimensions( text, fontProps, null );
+        var width = this._getExactWidth( this._getMeasureNode() );
+        result.push( Math.round( width * 1000 ) / 1000 );
+      }
+      return result;
+    },
+
+    _getExactWidth : function( element ) {
+      var result = element.scrollWidth;
+      if( element.getBoundingClientRect ) {
+        var width = element.getBoundingClientRect().width;
+        if( width != null ) {
+          result = width;
+        }
+      }
+      return result;
+    },
+
     computeTextDimensions : function( text, fontProps, wrapWidth ) {
       var textElement = this._getMeasureNode();
       var wrapElement = this._getWrapNode();
@@ -126,11 +158,15 @@ rwt.qx.Class.define( "rwt.widgets.util.FontSizeCalculation", {
       return node;
     },
 
-    _storeMeasurements : function( id, results ) {
+    _storeMeasurements : function( results, advances ) {
       var remoteObject = rwt.remote.Connection.getInstance().getRemoteObject( this );
-      remoteObject.call( "storeMeasurements", {
+      var parameters = {
         "results" : results
-      } );
+      };
+      if( advances ) {
+        parameters.advances = advances;
+      }
+      remoteObject.call( "storeMeasurements", parameters );
     },
 
     _escapeText : function( text ) {
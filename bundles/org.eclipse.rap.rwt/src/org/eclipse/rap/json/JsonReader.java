@@ -0,0 +1,607 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+
+/**
+ * Reads a JSON document as a sequence of tokens, without creating a tree of {@link JsonValue}s.
+ * Every call to {@link #next()} advances to the next token of the document. The content of the
+ * current name, string or number can be obtained using {@link #getString()}, {@link #getInt()},
+ * {@link #getLong()}, and {@link #getDouble()}, or compared to a given string using
+ * {@link #matches(String)}, which does not create a new string.
+ * <p>
+ * Where a tree is required for parts of the document, {@link #readValue()} reads the value that
+ * starts at the current token as a <code>JsonValue</code>. Values that are not of interest can be
+ * skipped using {@link #skipValue()}.
+ * </p>
+ *
+ * <pre>
+ * JsonReader reader = new JsonReader( input );
+ * reader.next(); // BEGIN_OBJECT
+ * while( reader.next() == Token.NAME ) {
+ *   if( reader.matches( "head" ) ) {
+ *     reader.next();
+ *     JsonObject head = reader.readValue().asObject();
+ *   } else {
+ *     reader.next();
+ *     reader.skipValue();
+ *   }
+ * }
+ * </pre>
+ * <p>
+ * Characters are read in chunks and buffered internally, therefore wrapping an existing reader in
+ * an additional <code>BufferedReader</code> does <strong>not</strong> improve reading performance.
+ * </p>
+ * <p>
+ * This class is <strong>not thread-safe</strong> and <strong>not supposed to be extended</strong>
+ * by clients.
+ * </p>
+ *
+ * @since 3.6
+ */
+public final class JsonReader {
+
+  /**
+   * The types of tokens in a JSON document.
+   */
+  public enum Token {
+    BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, TRUE, FALSE, NULL,
+    END_DOCUMENT
+  }
+
+  private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+  private static final byte EMPTY_DOCUMENT = 0;
+  private static final byte NONEMPTY_DOCUMENT = 1;
+  private static final byte EMPTY_OBJECT = 2;
+  private static final byte NONEMPTY_OBJECT = 3;
+  private static final byte DANGLING_NAME = 4;
+  private static final byte EMPTY_ARRAY = 5;
+  private static final byte NONEMPTY_ARRAY = 6;
+
+  private final Reader reader;
+  private final char[] buffer;
+  private int bufferOffset;
+  private int index;
+  private int fill;
+  private int line;
+  private int lineOffset;
+  private int current;
+  private char[] text;
+  private int textLength;
+  private byte[] scopes;
+  private int depth;
+  private Token token;
+
+  /**
+   * Creates a new reader that reads a JSON document from the given reader.
+   *
+   * @param reader
+   *          the reader to read the JSON document from
+   */
+  public JsonReader( Reader reader ) {
+    this( reader, DEFAULT_BUFFER_SIZE );
+  }
+
+  JsonReader( Reader reader, int buffersize ) {
+    if( reader == null ) {
+      throw new NullPointerException( "reader is null" );
+    }
+    this.reader = reader;
+    buffer = new char[ buffersize ];
+    line = 1;
+    current = -2;
+    text = new char[ 32 ];
+    scopes = new byte[ 16 ];
+    scopes[ 0 ] = EMPTY_DOCUMENT;
+  }
+
+  /**
+   * Advances to the next token of the document.
+   *
+   * @return the next token, {@link Token#END_DOCUMENT} if the end of the document has been reached
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public Token next() throws IOException {
+    if( current == -2 ) {
+      read();
+    }
+    skipWhiteSpace();
+    switch( scopes[ depth ] ) {
+    case EMPTY_DOCUMENT:
+      scopes[ depth ] = NONEMPTY_DOCUMENT;
+      token = readValueToken();
+      break;
+    case NONEMPTY_DOCUMENT:
+      if( !isEndOfText() ) {
+        throw error( "Unexpected character" );
+      }
+      token = Token.END_DOCUMENT;
+      break;
+    case EMPTY_OBJECT:
+      token = readChar( '}' ) ? endScope( Token.END_OBJECT ) : readNameToken();
+      break;
+    case NONEMPTY_OBJECT:
+      if( readChar( '}' ) ) {
+        token = endScope( Token.END_OBJECT );
+      } else if( readChar( ',' ) ) {
+        skipWhiteSpace();
+        token = readNameToken();
+      } else {
+        throw expected( "',' or '}'" );
+      }
+      break;
+    case DANGLING_NAME:
+      if( !readChar( ':' ) ) {
+        throw expected( "':'" );
+      }
+      skipWhiteSpace();
+      scopes[ depth ] = NONEMPTY_OBJECT;
+      token = readValueToken();
+      break;
+    case EMPTY_ARRAY:
+      if( readChar( ']' ) ) {
+        token = endScope( Token.END_ARRAY );
+      } else {
+        scopes[ depth ] = NONEMPTY_ARRAY;
+        token = readValueToken();
+      }
+      break;
+    default:
+      if( readChar( ']' ) ) {
+        token = endScope( Token.END_ARRAY );
+      } else if( readChar( ',' ) ) {
+        skipWhiteSpace();
+        token = readValueToken();
+      } else {
+        throw expected( "',' or ']'" );
+      }
+    }
+    return token;
+  }
+
+  /**
+   * Returns the current token, i.e. the token returned by the last call to {@link #next()}.
+   *
+   * @return the current token, or <code>null</code> if <code>next()</code> has not been called
+   */
+  public Token getToken() {
+    return token;
+  }
+
+  /**
+   * Returns the content of the current name or string, or the textual representation of the
+   * current number.
+   *
+   * @return the content of the current token
+   * @throws IllegalStateException
+   *           if the current token is not a name, a string, or a number
+   */
+  public String getString() {
+    checkText();
+    return new String( text, 0, textLength );
+  }
+
+  /**
+   * Compares the content of the current name or string to the given string. Unlike
+   * <code>getString().equals( string )</code>, this method does not create a new string.
+   *
+   * @param string
+   *          the string to compare the current content with
+   * @return <code>true</code> if the current name or string equals the given string
+   * @throws IllegalStateException
+   *           if the current token is not a name, a string, or a number
+   */
+  public boolean matches( String string ) {
+    checkText();
+    if( string.length() != textLength ) {
+      return false;
+    }
+    for( int i = 0; i < textLength; i++ ) {
+      if( text[ i ] != string.charAt( i ) ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the current number as an <code>int</code> value. Like {@link JsonValue#asInt()}, this
+   * method fails for numbers that are not integers or do not fit into an <code>int</code>.
+   *
+   * @return the current number as <code>int</code>
+   * @throws IllegalStateException
+   *           if the current token is not a number
+   * @throws NumberFormatException
+   *           if the number cannot be represented as <code>int</code>
+   */
+  public int getInt() {
+    long value = getLong();
+    if( value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ) {
+      throw new NumberFormatException( "For input string: \"" + getString() + "\"" );
+    }
+    return ( int )value;
+  }
+
+  /**
+   * Returns the current number as a <code>long</code> value. Like {@link JsonValue#asLong()},
+   * this method fails for numbers that are not integers or do not fit into a <code>long</code>.
+   *
+   * @return the current number as <code>long</code>
+   * @throws IllegalStateException
+   *           if the current token is not a number
+   * @throws NumberFormatException
+   *           if the number cannot be represented as <code>long</code>
+   */
+  public long getLong() {
+    checkToken( Token.NUMBER );
+    boolean negative = text[ 0 ] == '-';
+    int start = negative ? 1 : 0;
+    long result = 0;
+    for( int i = start; i < textLength; i++ ) {
+      int digit = text[ i ] - '0';
+      // accumulate negatively to cover Long.MIN_VALUE
+      if( digit < 0 || digit > 9 || result < ( Long.MIN_VALUE + digit ) / 10 ) {
+        throw new NumberFormatException( "For input string: \"" + getString() + "\"" );
+      }
+      result = result * 10 - digit;
+    }
+    if( !negative && result == Long.MIN_VALUE ) {
+      throw new NumberFormatException( "For input string: \"" + getString() + "\"" );
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Returns the current number as a <code>double</code> value.
+   *
+   * @return the current number as <code>double</code>
+   * @throws IllegalStateException
+   *           if the current token is not a number
+   */
+  public double getDouble() {
+    checkToken( Token.NUMBER );
+    return Double.parseDouble( getString() );
+  }
+
+  /**
+   * Reads the value that starts at the current token as a <code>JsonValue</code>. For an object or
+   * an array, the reader is advanced to its end token.
+   *
+   * @return the value that starts at the current token
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the current token does not start a value
+   */
+  public JsonValue readValue() throws IOException {
+    if( token == null ) {
+      throw new IllegalStateException( "Not at a value" );
+    }
+    switch( token ) {
+    case BEGIN_OBJECT:
+      JsonObject object = new JsonObject();
+      while( next() != Token.END_OBJECT ) {
+        String name = getString();
+        next();
+        object.add( name, readValue() );
+      }
+      return object;
+    case BEGIN_ARRAY:
+      JsonArray array = new JsonArray();
+      while( next() != Token.END_ARRAY ) {
+        array.add( readValue() );
+      }
+      return array;
+    case STRING:
+      return new JsonString( getString() );
+    case NUMBER:
+      return new JsonNumber( getString() );
+    case TRUE:
+      return JsonValue.TRUE;
+    case FALSE:
+      return JsonValue.FALSE;
+    case NULL:
+      return JsonValue.NULL;
+    default:
+      throw new IllegalStateException( "Not at a value: " + token );
+    }
+  }
+
+  /**
+   * Skips the value that starts at the current token. For an object or an array, the reader is
+   * advanced to its end token. No values are created for the skipped content.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void skipValue() throws IOException {
+    if( token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY ) {
+      int startDepth = depth;
+      while( depth >= startDepth ) {
+        next();
+      }
+    }
+  }
+
+  private Token readValueToken() throws IOException {
+    switch( current ) {
+    case 'n':
+      read();
+      readRequiredChar( 'u' );
+      readRequiredChar( 'l' );
+      readRequiredChar( 'l' );
+      return Token.NULL;
+    case 't':
+      read();
+      readRequiredChar( 'r' );
+      readRequiredChar( 'u' );
+      readRequiredChar( 'e' );
+      return Token.TRUE;
+    case 'f':
+      read();
+      readRequiredChar( 'a' );
+      readRequiredChar( 'l' );
+      readRequiredChar( 's' );
+      readRequiredChar( 'e' );
+      return Token.FALSE;
+    case '"':
+      readStringContent();
+      return Token.STRING;
+    case '[':
+      read();
+      beginScope( EMPTY_ARRAY );
+      return Token.BEGIN_ARRAY;
+    case '{':
+      read();
+      beginScope( EMPTY_OBJECT );
+      return Token.BEGIN_OBJECT;
+    case '-':
+    case '0':
+    case '1':
+    case '2':
+    case '3':
+    case '4':
+    case '5':
+    case '6':
+    case '7':
+    case '8':
+    case '9':
+      readNumberContent();
+      return Token.NUMBER;
+    default:
+      throw expected( "value" );
+    }
+  }
+
+  private Token readNameToken() throws IOException {
+    if( current != '"' ) {
+      throw expected( "name" );
+    }
+    readStringContent();
+    scopes[ depth ] = DANGLING_NAME;
+    return Token.NAME;
+  }
+
+  private void beginScope( byte scope ) {
+    if( depth + 1 == scopes.length ) {
+      byte[] newScopes = new byte[ scopes.length * 2 ];
+      System.arraycopy( scopes, 0, newScopes, 0, scopes.length );
+      scopes = newScopes;
+    }
+    scopes[ ++depth ] = scope;
+  }
+
+  private Token endScope( Token endToken ) {
+    depth--;
+    return endToken;
+  }
+
+  private void readRequiredChar( char ch ) throws IOException {
+    if( !readChar( ch ) ) {
+      throw expected( "'" + ch + "'" );
+    }
+  }
+
+  private void readStringContent() throws IOException {
+    read();
+    textLength = 0;
+    while( current != '"' ) {
+      if( current == '\\' ) {
+        readEscape();
+      } else if( current < 0x20 ) {
+        throw expected( "valid string character" );
+      } else {
+        appendText( ( char )current );
+        read();
+      }
+    }
+    read();
+  }
+
+  private void readEscape() throws IOException {
+    read();
+    switch( current ) {
+    case '"':
+    case '/':
+    case '\\':
+      appendText( ( char )current );
+      break;
+    case 'b':
+      appendText( '\b' );
+      break;
+    case 'f':
+      appendText( '\f' );
+      break;
+    case 'n':
+      appendText( '\n' );
+      break;
+    case 'r':
+      appendText( '\r' );
+      break;
+    case 't':
+      appendText( '\t' );
+      break;
+    case 'u':
+      int value = 0;
+      for( int i = 0; i < 4; i++ ) {
+        read();
+        if( !isHexDigit() ) {
+          throw expected( "hexadecimal digit" );
+        }
+        value = value << 4 | Character.digit( current, 16 );
+      }
+      appendText( ( char )value );
+      break;
+    default:
+      throw expected( "valid escape sequence" );
+    }
+    read();
+  }
+
+  private void readNumberContent() throws IOException {
+    textLength = 0;
+    readTextChar( '-' );
+    int firstDigit = current;
+    if( !readTextDigit() ) {
+      throw expected( "digit" );
+    }
+    if( firstDigit != '0' ) {
+      while( readTextDigit() ) {
+      }
+    }
+    if( readTextChar( '.' ) ) {
+      if( !readTextDigit() ) {
+        throw expected( "digit" );
+      }
+      while( readTextDigit() ) {
+      }
+    }
+    if( readTextChar( 'e' ) || readTextChar( 'E' ) ) {
+      if( !readTextChar( '+' ) ) {
+        readTextChar( '-' );
+      }
+      if( !readTextDigit() ) {
+        throw expected( "digit" );
+      }
+      while( readTextDigit() ) {
+      }
+    }
+  }
+
+  private boolean readTextChar( char ch ) throws IOException {
+    if( current != ch ) {
+      return false;
+    }
+    appendText( ch );
+    read();
+    return true;
+  }
+
+  private boolean readTextDigit() throws IOException {
+    if( current < '0' || current > '9' ) {
+      return false;
+    }
+    appendText( ( char )current );
+    read();
+    return true;
+  }
+
+  private void appendText( char ch ) {
+    if( textLength == text.length ) {
+      char[] newText = new char[ text.length * 2 ];
+      System.arraycopy( text, 0, newText, 0, textLength );
+      text = newText;
+    }
+    text[ textLength++ ] = ch;
+  }
+
+  private boolean readChar( char ch ) throws IOException {
+    if( current != ch ) {
+      return false;
+    }
+    read();
+    return true;
+  }
+
+  private void skipWhiteSpace() throws IOException {
+    while( current == ' ' || current == '\t' || current == '\n' || current == '\r' ) {
+      read();
+    }
+  }
+
+  private void read() throws IOException {
+    if( isEndOfText() ) {
+      throw error( "Unexpected end of input" );
+    }
+    if( index == fill ) {
+      bufferOffset += fill;
+      fill = reader.read( buffer, 0, buffer.length );
+      index = 0;
+      if( fill == -1 ) {
+        current = -1;
+        return;
+      }
+    }
+    if( current == '\n' ) {
+      line++;
+      lineOffset = bufferOffset + index;
+    }
+    current = buffer[ index++ ];
+  }
+
+  private void checkText() {
+    if( token != Token.NAME && token != Token.STRING && token != Token.NUMBER ) {
+      throw new IllegalStateException( "Not a name, string, or number: " + token );
+    }
+  }
+
+  private void checkToken( Token expected ) {
+    if( token != expected ) {
+      throw new IllegalStateException( "Expected " + expected + " but was " + token );
+    }
+  }
+
+  private ParseException expected( String expected ) {
+    if( isEndOfText() ) {
+      return error( "Unexpected end of input" );
+    }
+    return error( "Expected " + expected );
+  }
+
+  private ParseException error( String message ) {
+    int absIndex = bufferOffset + index;
+    int column = absIndex - lineOffset;
+    int offset = isEndOfText() ? absIndex : absIndex - 1;
+    return new ParseException( message, offset, line, column - 1 );
+  }
+
+  private boolean isHexDigit() {
+    return current >= '0' && current <= '9'
+        || current >= 'a' && current <= 'f'
+        || current >= 'A' && current <= 'F';
+  }
+
+  private boolean isEndOfText() {
+    return current == -1;
+  }
+
+}
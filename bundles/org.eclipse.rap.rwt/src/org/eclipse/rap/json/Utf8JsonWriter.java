@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+
+/**
+ * Writes JSON values directly into a buffer of UTF-8 encoded bytes, without going through a
+ * <code>java.io.Writer</code> and a character encoder. The output is the same as the UTF-8
+ * encoding of {@link JsonValue#writeTo(java.io.Writer)}. Strings are escaped using precomputed
+ * escape sequences.
+ * <p>
+ * The buffer grows as needed and can be reused for subsequent values by calling
+ * {@link #reset()}, which keeps the capacity of the buffer.
+ * </p>
+ * <p>
+ * This class is <strong>not thread-safe</strong>.
+ * </p>
+ *
+ * @since 3.6
+ */
+public final class Utf8JsonWriter {
+
+  private static final int DEFAULT_CAPACITY = 1024;
+  private static final byte[] HEX_DIGITS = {
+    '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+  };
+  private static final byte[][] ESCAPES = createEscapes();
+  // In JavaScript, U+2028 and U+2029 characters count as line endings and must be encoded.
+  private static final byte[] UNICODE_2028_BYTES = { '\\', 'u', '2', '0', '2', '8' };
+  private static final byte[] UNICODE_2029_BYTES = { '\\', 'u', '2', '0', '2', '9' };
+
+  private final Encoder encoder;
+  private byte[] bytes;
+  private int size;
+
+  /**
+   * Creates a new writer with a default initial capacity.
+   */
+  public Utf8JsonWriter() {
+    this( DEFAULT_CAPACITY );
+  }
+
+  /**
+   * Creates a new writer with the given initial capacity.
+   *
+   * @param initialCapacity
+   *          the initial size of the buffer in bytes
+   */
+  public Utf8JsonWriter( int initialCapacity ) {
+    if( initialCapacity < 0 ) {
+      throw new IllegalArgumentException( "initialCapacity is negative" );
+    }
+    bytes = new byte[ initialCapacity ];
+    encoder = new Encoder();
+  }
+
+  /**
+   * Appends the given JSON value to the buffer.
+   *
+   * @param value
+   *          the value to write
+   * @return the writer itself, to enable method chaining
+   */
+  public Utf8JsonWriter write( JsonValue value ) {
+    if( value == null ) {
+      throw new NullPointerException( "value is null" );
+    }
+    try {
+      value.write( encoder );
+    } catch( IOException exception ) {
+      // Encoder does not throw IOException
+      throw new RuntimeException( exception );
+    }
+    return this;
+  }
+
+  /**
+   * Returns the number of bytes that have been written since the last reset.
+   *
+   * @return the number of bytes in the buffer
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a copy of the bytes that have been written since the last reset.
+   *
+   * @return the content of the buffer
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOf( bytes, size );
+  }
+
+  /**
+   * Writes the bytes that have been written since the last reset to the given output stream.
+   *
+   * @param outputStream
+   *          the stream to write to
+   * @throws IOException
+   *           if an I/O error occurs in the output stream
+   */
+  public void writeTo( OutputStream outputStream ) throws IOException {
+    outputStream.write( bytes, 0, size );
+  }
+
+  /**
+   * Discards the content of the buffer. The capacity of the buffer is kept for subsequent values.
+   */
+  public void reset() {
+    size = 0;
+  }
+
+  private void ensureCapacity( int additional ) {
+    int required = size + additional;
+    if( required > bytes.length ) {
+      bytes = Arrays.copyOf( bytes, Math.max( required, bytes.length * 2 ) );
+    }
+  }
+
+  private void put( byte value ) {
+    ensureCapacity( 1 );
+    bytes[ size++ ] = value;
+  }
+
+  private void putUtf8( String string, boolean escape ) {
+    int length = string.length();
+    // three bytes per char are sufficient unless escape sequences are needed
+    ensureCapacity( length * 3 );
+    for( int i = 0; i < length; i++ ) {
+      char ch = string.charAt( i );
+      if( ch < 0x80 ) {
+        byte[] escapeBytes = escape ? ESCAPES[ ch ] : null;
+        if( escapeBytes == null ) {
+          bytes[ size++ ] = ( byte )ch;
+        } else {
+          putEscape( escapeBytes, length - i );
+        }
+      } else if( ch < 0x800 ) {
+        bytes[ size++ ] = ( byte )( 0xc0 | ch >> 6 );
+        bytes[ size++ ] = ( byte )( 0x80 | ch & 0x3f );
+      } else if( escape && ch == '\u2028' ) {
+        putEscape( UNICODE_2028_BYTES, length - i );
+      } else if( escape && ch == '\u2029' ) {
+        putEscape( UNICODE_2029_BYTES, length - i );
+      } else if( Character.isSurrogate( ch ) ) {
+        if(    Character.isHighSurrogate( ch )
+            && i + 1 < length
+            && Character.isLowSurrogate( string.charAt( i + 1 ) ) )
+        {
+          int codePoint = Character.toCodePoint( ch, string.charAt( ++i ) );
+          bytes[ size++ ] = ( byte )( 0xf0 | codePoint >> 18 );
+          bytes[ size++ ] = ( byte )( 0x80 | codePoint >> 12 & 0x3f );
+          bytes[ size++ ] = ( byte )( 0x80 | codePoint >> 6 & 0x3f );
+          bytes[ size++ ] = ( byte )( 0x80 | codePoint & 0x3f );
+        } else {
+          // unpaired surrogates are replaced like by the UTF-8 charset encoder
+          bytes[ size++ ] = '?';
+        }
+      } else {
+        bytes[ size++ ] = ( byte )( 0xe0 | ch >> 12 );
+        bytes[ size++ ] = ( byte )( 0x80 | ch >> 6 & 0x3f );
+        bytes[ size++ ] = ( byte )( 0x80 | ch & 0x3f );
+      }
+    }
+  }
+
+  private void putEscape( byte[] escapeBytes, int remaining ) {
+    // keep three bytes for each of the remaining chars, including the current one
+    ensureCapacity( escapeBytes.length + ( remaining - 1 ) * 3 );
+    System.arraycopy( escapeBytes, 0, bytes, size, escapeBytes.length );
+    size += escapeBytes.length;
+  }
+
+  private static byte[][] createEscapes() {
+    byte[][] result = new byte[ 128 ][];
+    for( int ch = 0; ch < 0x20; ch++ ) {
+      result[ ch ] = new byte[] {
+        '\\', 'u', '0', '0', HEX_DIGITS[ ch >> 4 & 0x000f ], HEX_DIGITS[ ch & 0x000f ]
+      };
+    }
+    result[ '"' ] = new byte[] { '\\', '"' };
+    result[ '\\' ] = new byte[] { '\\', '\\' };
+    result[ '\n' ] = new byte[] { '\\', 'n' };
+    result[ '\r' ] = new byte[] { '\\', 'r' };
+    result[ '\t' ] = new byte[] { '\\', 't' };
+    return result;
+  }
+
+  private class Encoder extends JsonWriter {
+
+    Encoder() {
+      super( null );
+    }
+
+    @Override
+    void write( String string ) {
+      putUtf8( string, false );
+    }
+
+    @Override
+    void writeString( String string ) {
+      put( ( byte )'"' );
+      putUtf8( string, true );
+      put( ( byte )'"' );
+    }
+
+    @Override
+    protected void writeBeginObject() {
+      put( ( byte )'{' );
+    }
+
+    @Override
+    protected void writeEndObject() {
+      put( ( byte )'}' );
+    }
+
+    @Override
+    protected void writeNameValueSeparator() {
+      put( ( byte )':' );
+    }
+
+    @Override
+    protected void writeObjectValueSeparator() {
+      put( ( byte )',' );
+    }
+
+    @Override
+    protected void writeBeginArray() {
+      put( ( byte )'[' );
+    }
+
+    @Override
+    protected void writeEndArray() {
+      put( ( byte )']' );
+    }
+
+    @Override
+    protected void writeArrayValueSeparator() {
+      put( ( byte )',' );
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,6 +29,9 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
+import org.eclipse.rap.rwt.internal.resources.InMemoryResourceManager;
+import org.eclipse.rap.rwt.internal.resources.ResourceDirectory;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
@@ -112,6 +115,9 @@ public class RWTServlet extends HttpServlet {
   {
     if( !applicationContext.allowsRequests() ) {
       response.sendError( SC_SERVICE_UNAVAILABLE );
+    } else if( isResourceRequest( request ) ) {
+      // /context/rwt-resources/path: servlet is mapped to the in-memory resources
+      getInMemoryResourceManager().serve( request, response, getServletContext() );
     } else if( request.getPathInfo() == null ) {
       // /context/servlet: no extra path info after servlet name
       handleValidRequest( request, response );
@@ -132,7 +138,7 @@ public class RWTServlet extends HttpServlet {
     try {
       prepareUISession( context );
       if( isUIRequest( request ) || isServiceHandlerRequest( request ) ) {
-        getServiceHandler().service( request, response );
+        serviceWithMetrics( context );
       } else {
         sendStartupContent( request, response );
       }
@@ -141,6 +147,32 @@ public class RWTServlet extends HttpServlet {
     }
   }
 
+  private void serviceWithMetrics( ServiceContext context ) throws IOException, ServletException {
+    HttpServletRequest request = context.getRequest();
+    Metrics metrics = applicationContext.getMetrics();
+    long startTime = metrics.start();
+    try {
+      getServiceHandler().service( request, context.getResponse() );
+    } finally {
+      if( metrics.isEnabled() ) {
+        String handlerName = request.getParameter( ServiceManagerImpl.REQUEST_PARAM );
+        UISessionImpl uiSession = ( UISessionImpl )context.getUISession();
+        metrics.stopRequest( handlerName == null ? Metrics.UI_REQUEST : handlerName,
+                             uiSession == null ? null : uiSession.getConnectionId(),
+                             startTime );
+      }
+    }
+  }
+
+  private boolean isResourceRequest( HttpServletRequest request ) {
+    return    ( "/" + ResourceDirectory.DIRNAME ).equals( request.getServletPath() )
+           && applicationContext.getResourceManager() instanceof InMemoryResourceManager;
+  }
+
+  private InMemoryResourceManager getInMemoryResourceManager() {
+    return ( InMemoryResourceManager )applicationContext.getResourceManager();
+  }
+
   private ServiceHandler getServiceHandler() {
     return applicationContext.getServiceManager().getHandler();
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,97 @@ public final class RWTProperties {
   public static final String DEVELOPMEMT_MODE = "org.eclipse.rap.rwt.developmentMode";
   public static final String TEXT_SIZE_STORE_SIZE = "org.eclipse.rap.rwt.textSizeStoreSize";
 
+  /*
+   * Path of a file to keep a snapshot of measured text sizes and font probe results across
+   * restarts of the application. No snapshot is kept if this property is not set.
+   */
+  public static final String TEXT_SIZE_STORE_FILE = "org.eclipse.rap.rwt.textSizeStoreFile";
+
+  /*
+   * Suspends server push requests with a Servlet 3.0 AsyncContext instead of blocking a container
+   * thread per UI session. Requires the RWT servlet to be registered with async support.
+   */
+  public static final String ASYNC_SERVER_PUSH = "org.eclipse.rap.rwt.asyncServerPush";
+
+  /*
+   * Enables tracking of the widgets that have been modified while processing a request. If
+   * enabled, only modified widgets and their ancestors are preserved and rendered instead of the
+   * whole widget tree.
+   */
+  public static final String DIRTY_WIDGET_TRACKING = "org.eclipse.rap.rwt.dirtyWidgetTracking";
+
+  /*
+   * Enables streaming of UI responses. If enabled, protocol operations are written to the response
+   * while they are rendered instead of collecting the entire message in memory first.
+   */
+  public static final String STREAMING_RESPONSE = "org.eclipse.rap.rwt.streamingResponse";
+
+  /*
+   * Compresses the last response of a UI session that is kept in order to answer duplicate
+   * requests. Trades some CPU time per request for a smaller session footprint.
+   */
+  public static final String COMPRESS_REPLAY_BUFFER = "org.eclipse.rap.rwt.compressReplayBuffer";
+
+  /*
+   * Runs the UI code of the RWTLifeCycle in virtual threads if supported by the Java runtime.
+   * Control is handed over between request and UI threads with locks instead of monitors.
+   */
+  public static final String VIRTUAL_UI_THREADS = "org.eclipse.rap.rwt.virtualUIThreads";
+
+  /*
+   * Keeps registered resources in memory together with pre-compressed variants and serves them
+   * with validators from the RWTServlet, when it is mapped to the resources directory.
+   */
+  public static final String IN_MEMORY_RESOURCES = "org.eclipse.rap.rwt.inMemoryResources";
+
+  /*
+   * Collects latency histograms of lifecycle phases, widget rendering and service handlers and
+   * exports them as MXBean and through the metrics service handler.
+   */
+  public static final String COLLECT_METRICS = "org.eclipse.rap.rwt.collectMetrics";
+
+  /*
+   * Registers the metrics service handler in addition to the MXBean. The handler has no access
+   * control of its own, it must only be enabled if the endpoint is not reachable by untrusted
+   * clients.
+   */
+  public static final String METRICS_SERVICE_HANDLER = "org.eclipse.rap.rwt.metricsServiceHandler";
+
+  /*
+   * Drops a runnable passed to Display#asyncExec() if the same runnable instance is still waiting
+   * in the queue of the display, instead of running it twice.
+   */
+  public static final String COALESCE_ASYNC_EXEC = "org.eclipse.rap.rwt.coalesceAsyncExec";
+
+  /*
+   * Offers the compact encoding of the JSON protocol to the client. Responses are encoded if the
+   * client requests it, otherwise plain JSON is sent. Responses that are compressed with gzip are
+   * never encoded, since they would grow.
+   */
+  public static final String COMPACT_PROTOCOL = "org.eclipse.rap.rwt.compactProtocol";
+
+  /*
+   * Compresses UI responses with gzip if the client accepts it. Responses that are smaller than
+   * the compression threshold (in bytes) are sent uncompressed.
+   */
+  public static final String COMPRESS_RESPONSES = "org.eclipse.rap.rwt.compressResponses";
+  public static final String COMPRESSION_THRESHOLD = "org.eclipse.rap.rwt.compressionThreshold";
+
+  /*
+   * Replicates UI sessions in a cluster as content-defined fragments of their serialized form.
+   * Only fragments that changed during a request are set as HTTP session attributes, instead of
+   * flagging the entire UI session as changed.
+   */
+  public static final String DELTA_SESSION_REPLICATION
+    = "org.eclipse.rap.rwt.deltaSessionReplication";
+
+  /*
+   * Requests the glyph advances of every font together with its font probe. Single-line strings
+   * that consist of known glyphs are then measured on the server instead of by the client.
+   */
+  public static final String SERVER_SIDE_TEXT_MEASUREMENT
+    = "org.eclipse.rap.rwt.serverSideTextMeasurement";
+
   /*
    * Used in conjunction with <code>WidgetUtil#CUSTOM_WIDGET_ID</code>,
    * to activate support for custom widget ids.</p>
@@ -40,6 +131,66 @@ public final class RWTProperties {
     return getIntProperty( TEXT_SIZE_STORE_SIZE, defaultValue );
   }
 
+  public static String getTextSizeStoreFile() {
+    return System.getProperty( TEXT_SIZE_STORE_FILE );
+  }
+
+  public static boolean isAsyncServerPush() {
+    return getBooleanProperty( ASYNC_SERVER_PUSH, false );
+  }
+
+  public static boolean isDirtyWidgetTracking() {
+    return getBooleanProperty( DIRTY_WIDGET_TRACKING, false );
+  }
+
+  public static boolean isStreamingResponse() {
+    return getBooleanProperty( STREAMING_RESPONSE, false );
+  }
+
+  public static boolean isCompressReplayBuffer() {
+    return getBooleanProperty( COMPRESS_REPLAY_BUFFER, false );
+  }
+
+  public static boolean isVirtualUIThreads() {
+    return getBooleanProperty( VIRTUAL_UI_THREADS, false );
+  }
+
+  public static boolean isInMemoryResources() {
+    return getBooleanProperty( IN_MEMORY_RESOURCES, false );
+  }
+
+  public static boolean isCollectMetrics() {
+    return getBooleanProperty( COLLECT_METRICS, false );
+  }
+
+  public static boolean isMetricsServiceHandler() {
+    return getBooleanProperty( METRICS_SERVICE_HANDLER, false );
+  }
+
+  public static boolean isCoalesceAsyncExec() {
+    return getBooleanProperty( COALESCE_ASYNC_EXEC, false );
+  }
+
+  public static boolean isCompactProtocol() {
+    return getBooleanProperty( COMPACT_PROTOCOL, false );
+  }
+
+  public static boolean isCompressResponses() {
+    return getBooleanProperty( COMPRESS_RESPONSES, false );
+  }
+
+  public static int getCompressionThreshold( int defaultValue ) {
+    return getIntProperty( COMPRESSION_THRESHOLD, defaultValue );
+  }
+
+  public static boolean isDeltaSessionReplication() {
+    return getBooleanProperty( DELTA_SESSION_REPLICATION, false );
+  }
+
+  public static boolean isServerSideTextMeasurement() {
+    return getBooleanProperty( SERVER_SIDE_TEXT_MEASUREMENT, false );
+  }
+
   public static boolean getBooleanProperty( String name, boolean defaultValue ) {
     String value = System.getProperty( name );
     return value == null ? defaultValue : value.equalsIgnoreCase( "true" );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2018 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,18 +23,23 @@ import javax.servlet.ServletContext;
 
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.client.ClientSelector;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleFactory;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseListenerManager;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
+import org.eclipse.rap.rwt.internal.metrics.MetricsServiceHandler;
 import org.eclipse.rap.rwt.internal.remote.MessageChainElement;
 import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
 import org.eclipse.rap.rwt.internal.remote.MessageFilter;
 import org.eclipse.rap.rwt.internal.remote.MessageFilterChain;
 import org.eclipse.rap.rwt.internal.resources.ClientResources;
+import org.eclipse.rap.rwt.internal.resources.InMemoryResourceManager;
 import org.eclipse.rap.rwt.internal.resources.ResourceDirectory;
 import org.eclipse.rap.rwt.internal.resources.ResourceManagerImpl;
 import org.eclipse.rap.rwt.internal.resources.ResourceRegistry;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushRequestRegistry;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushServiceHandler;
 import org.eclipse.rap.rwt.internal.service.ApplicationStoreImpl;
 import org.eclipse.rap.rwt.internal.service.LifeCycleServiceHandler;
@@ -43,6 +48,7 @@ import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
 import org.eclipse.rap.rwt.internal.service.SettingStoreManager;
 import org.eclipse.rap.rwt.internal.service.StartupPage;
 import org.eclipse.rap.rwt.internal.textsize.ProbeStore;
+import org.eclipse.rap.rwt.internal.textsize.TextSizeSnapshot;
 import org.eclipse.rap.rwt.internal.textsize.TextSizeStorage;
 import org.eclipse.rap.rwt.internal.theme.ThemeManager;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
@@ -56,11 +62,13 @@ import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.rap.rwt.service.UISessionEvent;
 import org.eclipse.rap.rwt.service.UIThreadListener;
 import org.eclipse.swt.internal.graphics.FontDataFactory;
+import org.eclipse.swt.internal.graphics.ImageDataCache;
 import org.eclipse.swt.internal.graphics.ImageDataFactory;
 import org.eclipse.swt.internal.graphics.ImageFactory;
 import org.eclipse.swt.internal.graphics.InternalImageFactory;
 import org.eclipse.swt.internal.graphics.ResourceFactory;
 import org.eclipse.swt.internal.widgets.DisplaysHolder;
+import org.eclipse.swt.internal.widgets.TimerExecutor;
 
 
 public class ApplicationContextImpl implements ApplicationContext {
@@ -99,10 +107,14 @@ public class ApplicationContextImpl implements ApplicationContext {
   private final FontDataFactory fontDataFactory;
   private final StartupPage startupPage;
   private final DisplaysHolder displaysHolder;
+  private final TimerExecutor timerExecutor;
   private final TextSizeStorage textSizeStorage;
   private final ProbeStore probeStore;
+  private final TextSizeSnapshot textSizeSnapshot;
+  private final ServerPushRequestRegistry serverPushRequestRegistry;
   private final ServletContext servletContext;
   private final ClientSelector clientSelector;
+  private final Metrics metrics;
   private final Set<ApplicationContextListener> appContextListeners;
   private final Set<UIThreadListener> uiThreadListeners;
   private final SerializableLock listenersLock;
@@ -133,9 +145,13 @@ public class ApplicationContextImpl implements ApplicationContext {
     startupPage = new StartupPage( this );
     serviceManager = createServiceManager();
     displaysHolder = new DisplaysHolder();
+    timerExecutor = new TimerExecutor();
     textSizeStorage = new TextSizeStorage();
     probeStore = new ProbeStore( textSizeStorage );
+    textSizeSnapshot = new TextSizeSnapshot( textSizeStorage );
+    serverPushRequestRegistry = new ServerPushRequestRegistry();
     clientSelector = new ClientSelector();
+    metrics = new Metrics();
     appContextListeners = new HashSet<>();
     listenersLock = new SerializableLock();
     state = new AtomicReference<>( State.INACTIVE );
@@ -147,6 +163,9 @@ public class ApplicationContextImpl implements ApplicationContext {
   }
 
   protected ResourceManager createResourceManager() {
+    if( RWTProperties.isInMemoryResources() ) {
+      return new InMemoryResourceManager( resourceDirectory );
+    }
     return new ResourceManagerImpl( resourceDirectory );
   }
 
@@ -332,6 +351,10 @@ public class ApplicationContextImpl implements ApplicationContext {
     return displaysHolder;
   }
 
+  public TimerExecutor getTimerExecutor() {
+    return timerExecutor;
+  }
+
   public TextSizeStorage getTextSizeStorage() {
     return textSizeStorage;
   }
@@ -340,6 +363,18 @@ public class ApplicationContextImpl implements ApplicationContext {
     return probeStore;
   }
 
+  public TextSizeSnapshot getTextSizeSnapshot() {
+    return textSizeSnapshot;
+  }
+
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  public ServerPushRequestRegistry getServerPushRequestRegistry() {
+    return serverPushRequestRegistry;
+  }
+
   public ClientSelector getClientSelector() {
     return clientSelector;
   }
@@ -367,6 +402,7 @@ public class ApplicationContextImpl implements ApplicationContext {
   }
 
   void doActivate() {
+    metrics.activate( String.valueOf( servletContext.getContextPath() ) );
     themeManager.initialize();
     applicationConfiguration.configure( new ApplicationImpl( this, applicationConfiguration ) );
     resourceDirectory.configure( getContextDirectory() );
@@ -374,8 +410,10 @@ public class ApplicationContextImpl implements ApplicationContext {
     setInternalSettingStoreFactory();
     startupPage.activate();
     lifeCycleFactory.activate();
+    timerExecutor.activate();
     // Note: order is crucial here
     themeManager.activate();
+    textSizeSnapshot.activate( themeManager );
     if( !skipResoureRegistration ) {
       ClientResources clientResources = new ClientResources( this );
       clientResources.registerResources();
@@ -387,7 +425,10 @@ public class ApplicationContextImpl implements ApplicationContext {
   void doDeactivate() {
     startupPage.deactivate();
     lifeCycleFactory.deactivate();
+    timerExecutor.deactivate();
     serviceManager.clear();
+    serverPushRequestRegistry.deactivate();
+    textSizeSnapshot.deactivate();
     themeManager.deactivate();
     if( !skipResoureDeletion ) {
       resourceDirectory.deleteDirectory();
@@ -398,6 +439,7 @@ public class ApplicationContextImpl implements ApplicationContext {
     settingStoreManager.deregisterFactory();
     resourceDirectory.reset();
     applicationStore.reset();
+    metrics.deactivate();
   }
 
   private ServiceManagerImpl createServiceManager() {
@@ -416,6 +458,12 @@ public class ApplicationContextImpl implements ApplicationContext {
   private void addInternalServiceHandlers() {
     serviceManager.registerServiceHandler( ServerPushServiceHandler.HANDLER_ID,
                                            new ServerPushServiceHandler() );
+    if( metrics.isEnabled() && RWTProperties.isMetricsServiceHandler() ) {
+      ImageDataCache imageDataCache = imageDataFactory.getImageDataCache();
+      MetricsServiceHandler handler
+        = new MetricsServiceHandler( metrics, displaysHolder, imageDataCache );
+      serviceManager.registerServiceHandler( MetricsServiceHandler.HANDLER_ID, handler );
+    }
   }
 
   private void setInternalSettingStoreFactory() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessageConst;
 import org.eclipse.rap.rwt.internal.service.UISessionImpl;
@@ -56,6 +57,12 @@ public class RWTClusterSupport implements Filter {
 
   private static void beforeService( HttpSession httpSession, String connectionId ) {
     UISessionImpl uiSession = UISessionImpl.getInstanceFromSession( httpSession, connectionId );
+    if( uiSession != null ) {
+      if( RWTProperties.isDeltaSessionReplication() ) {
+        uiSession = SessionReplication.restore( httpSession, uiSession );
+      }
+    }
+    // with delta replication, the HTTP session is invalidated if the UI session cannot be restored
     if( uiSession != null ) {
       uiSession.setHttpSession( httpSession );
       attachApplicationContext( uiSession );
@@ -69,15 +76,32 @@ public class RWTClusterSupport implements Filter {
     ( ( UISessionImpl )uiSession ).setApplicationContext( applicationContext );
   }
 
-  private static void afterService( ServletRequest request ) {
+  private static void afterService( ServletRequest request ) throws IOException {
     HttpSession httpSession = getHttpSession( request );
     if( httpSession != null ) {
       afterService( httpSession, getConnectionId( request ) );
     }
   }
 
-  private static void afterService( HttpSession httpSession, String connectionId ) {
-    markSessionChanged( httpSession, connectionId );
+  private static void afterService( HttpSession httpSession, String connectionId )
+    throws IOException
+  {
+    if( RWTProperties.isDeltaSessionReplication() ) {
+      replicateChanges( httpSession, connectionId );
+    } else {
+      markSessionChanged( httpSession, connectionId );
+    }
+  }
+
+  private static void replicateChanges( HttpSession httpSession, String connectionId )
+    throws IOException
+  {
+    // Instead of flagging the entire UI session as changed, only the changed fragments of its
+    // serialized form are set as session attributes, see SessionReplication
+    UISessionImpl uiSession = UISessionImpl.getInstanceFromSession( httpSession, connectionId );
+    if( uiSession != null ) {
+      SessionReplication.replicate( httpSession, uiSession );
+    }
   }
 
   private static void markSessionChanged( HttpSession httpSession, String connectionId ) {
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import javax.servlet.http.HttpSession;
+
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.internal.util.DigestUtil;
+
+
+/**
+ * Replicates a UI session as a number of fragments instead of a single HTTP session attribute.
+ * <p>
+ * After each request that modified the UI session, i.e. that set or removed a UI session attribute
+ * or listener, the UI session is serialized and the serialized form is split into content-defined
+ * fragments. Changes to widgets and the display are not tracked, therefore every UI request
+ * explicitly marks the UI session as modified, see {@link UISessionImpl#markModified()}. Other
+ * requests, e.g. for resources or server push, that do not modify the UI session are not
+ * replicated at all. The boundaries of the fragments depend on the content only, hence a change
+ * in one part of the serialized form does not shift the boundaries of the other fragments. Every
+ * fragment is stored in an HTTP session attribute named after its digest, and only new fragments
+ * are set. A servlet container that replicates changed attributes therefore transfers the changed
+ * fragments only. A small manifest lists the fragments of the current version.
+ * </p>
+ * <p>
+ * Note that Java serialization refers to objects that have already been written by their
+ * sequence number. Adding or removing objects, e.g. a widget, changes these numbers in all
+ * subsequent back references, so that most fragments following the first structural change are
+ * replicated again. Fragments before this change, and all fragments for changes of values only,
+ * remain stable.
+ * </p>
+ * <p>
+ * The UI session attribute itself is serialized as a small placeholder, see
+ * <code>UISessionImpl.Placeholder</code>. On another cluster node, the UI session is reassembled
+ * from the fragments listed in the manifest as soon as it is accessed for the first time. If a
+ * fragment is missing or cannot be deserialized, the HTTP session is invalidated rather than
+ * continuing with an incomplete UI session.
+ * </p>
+ */
+final class SessionReplication {
+
+  private static final String ATTR_MANIFEST = SessionReplication.class.getName() + "#manifest:";
+  private static final String ATTR_FRAGMENT = SessionReplication.class.getName() + "#fragment:";
+
+  // fragments are between 2 KB and 64 KB, about 8 KB on average
+  static final int MIN_FRAGMENT_SIZE = 2 * 1024;
+  static final int MAX_FRAGMENT_SIZE = 64 * 1024;
+  private static final int BOUNDARY_MASK = ( 8 * 1024 ) - 1;
+  private static final int[] GEAR = createGearTable();
+
+  private SessionReplication() {
+    // prevent instantiation
+  }
+
+  /**
+   * Stores the fragments of the given UI session that have changed since the last replication.
+   * Nothing is serialized if the UI session has not been modified since then.
+   *
+   * @return the number of bytes in the fragments that have been set as session attributes
+   */
+  static int replicate( HttpSession httpSession, UISessionImpl uiSession ) throws IOException {
+    String connectionId = uiSession.getConnectionId();
+    Manifest previous = getManifest( httpSession, connectionId );
+    boolean modified = uiSession.resetModified();
+    if( previous != null && !modified ) {
+      return 0;
+    }
+    byte[] data = serialize( uiSession, previous == null ? 0 : previous.size );
+    int[] boundaries = findBoundaries( data );
+    String[] fragmentIds = new String[ boundaries.length ];
+    Set<String> previousIds = previous == null ? new HashSet<String>() : previous.getIdSet();
+    Set<String> storedIds = new HashSet<>();
+    int replicatedBytes = 0;
+    int start = 0;
+    for( int i = 0; i < boundaries.length; i++ ) {
+      String fragmentId = DigestUtil.sha1( data, start, boundaries[ i ] - start );
+      fragmentIds[ i ] = fragmentId;
+      if( !previousIds.contains( fragmentId ) && storedIds.add( fragmentId ) ) {
+        byte[] fragment = Arrays.copyOfRange( data, start, boundaries[ i ] );
+        httpSession.setAttribute( getFragmentName( connectionId, fragmentId ), fragment );
+        replicatedBytes += fragment.length;
+      }
+      start = boundaries[ i ];
+    }
+    if( previous == null || !Arrays.equals( previous.fragmentIds, fragmentIds ) ) {
+      long version = previous == null ? 1 : previous.version + 1;
+      Manifest manifest = new Manifest( version, data.length, fragmentIds );
+      httpSession.setAttribute( getManifestName( connectionId ), manifest );
+      removeObsoleteFragments( httpSession, connectionId, previousIds, manifest.getIdSet() );
+      uiSession.setReplicationVersion( version );
+    }
+    return replicatedBytes;
+  }
+
+  /**
+   * Returns the UI session reassembled from the fragments in the HTTP session if the given
+   * instance is outdated, otherwise the given instance. The reassembled UI session replaces the
+   * outdated one in the HTTP session. If the UI session cannot be restored, the HTTP session is
+   * invalidated and <code>null</code> is returned.
+   */
+  static UISessionImpl restore( HttpSession httpSession, UISessionImpl uiSession ) {
+    Manifest manifest = getManifest( httpSession, uiSession.getConnectionId() );
+    if( isOutdated( uiSession, manifest ) ) {
+      try {
+        UISessionImpl result = reassemble( httpSession, uiSession.getConnectionId(), manifest );
+        result.setHttpSession( httpSession );
+        result.setReplicationVersion( manifest.version );
+        uiSession.replaceWith( result );
+        return result;
+      } catch( Exception exception ) {
+        ServletLog.log( "Failed to restore replicated UI session, invalidating HTTP session",
+                        exception );
+        invalidate( httpSession, uiSession );
+        return null;
+      }
+    }
+    return uiSession;
+  }
+
+  static int[] findBoundaries( byte[] data ) {
+    int[] result = new int[ data.length / MIN_FRAGMENT_SIZE + 1 ];
+    int count = 0;
+    int start = 0;
+    int hash = 0;
+    for( int i = 0; i < data.length; i++ ) {
+      hash = ( hash << 1 ) + GEAR[ data[ i ] & 0xff ];
+      int length = i + 1 - start;
+      if(    length >= MAX_FRAGMENT_SIZE
+          || length >= MIN_FRAGMENT_SIZE && ( hash & BOUNDARY_MASK ) == 0 )
+      {
+        result[ count++ ] = i + 1;
+        start = i + 1;
+        hash = 0;
+      }
+    }
+    if( start < data.length || count == 0 ) {
+      result[ count++ ] = data.length;
+    }
+    return Arrays.copyOf( result, count );
+  }
+
+  private static boolean isOutdated( UISessionImpl uiSession, Manifest manifest ) {
+    if( manifest == null ) {
+      // a placeholder is only written once a manifest exists, it must not be used without one
+      return uiSession.isPlaceholder();
+    }
+    return manifest.version != uiSession.getReplicationVersion();
+  }
+
+  private static void invalidate( HttpSession httpSession, UISessionImpl uiSession ) {
+    // the outdated UI session must not be destroyed, it may be incomplete
+    uiSession.discard();
+    try {
+      httpSession.invalidate();
+    } catch( @SuppressWarnings( "unused" ) IllegalStateException exception ) {
+      // HTTP session has already been invalidated
+    }
+  }
+
+  private static UISessionImpl reassemble( HttpSession httpSession,
+                                           String connectionId,
+                                           Manifest manifest )
+    throws IOException, ClassNotFoundException
+  {
+    if( manifest == null ) {
+      throw new IOException( "Missing manifest of replicated UI session: " + connectionId );
+    }
+    ByteArrayOutputStream data = new ByteArrayOutputStream( manifest.size );
+    for( String fragmentId : manifest.fragmentIds ) {
+      String name = getFragmentName( connectionId, fragmentId );
+      byte[] fragment = ( byte[] )httpSession.getAttribute( name );
+      if( fragment == null ) {
+        throw new IOException( "Missing fragment of replicated UI session: " + name );
+      }
+      data.write( fragment );
+    }
+    return ( UISessionImpl )deserialize( data.toByteArray() );
+  }
+
+  private static void removeObsoleteFragments( HttpSession httpSession,
+                                               String connectionId,
+                                               Set<String> previousIds,
+                                               Set<String> currentIds )
+  {
+    for( String fragmentId : previousIds ) {
+      if( !currentIds.contains( fragmentId ) ) {
+        httpSession.removeAttribute( getFragmentName( connectionId, fragmentId ) );
+      }
+    }
+  }
+
+  private static byte[] serialize( Object object, int expectedSize ) throws IOException {
+    int initialSize = Math.max( expectedSize, 1024 );
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream( initialSize );
+    try( ObjectOutputStream objectOutputStream = new FragmentObjectOutputStream( outputStream ) ) {
+      objectOutputStream.writeObject( object );
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static Object deserialize( byte[] data ) throws IOException, ClassNotFoundException {
+    try( ObjectInputStream inputStream = new ContextObjectInputStream( data ) ) {
+      return inputStream.readObject();
+    }
+  }
+
+  private static Manifest getManifest( HttpSession httpSession, String connectionId ) {
+    return ( Manifest )httpSession.getAttribute( getManifestName( connectionId ) );
+  }
+
+  private static String getManifestName( String connectionId ) {
+    return ATTR_MANIFEST + ( connectionId == null ? "" : connectionId );
+  }
+
+  private static String getFragmentName( String connectionId, String fragmentId ) {
+    return ATTR_FRAGMENT + ( connectionId == null ? "" : connectionId ) + ":" + fragmentId;
+  }
+
+  private static int[] createGearTable() {
+    // a fixed seed ensures that all cluster nodes find the same fragment boundaries
+    Random random = new Random( 0x5eed );
+    int[] result = new int[ 256 ];
+    for( int i = 0; i < result.length; i++ ) {
+      result[ i ] = random.nextInt();
+    }
+    return result;
+  }
+
+  static final class Manifest implements Serializable {
+
+    final long version;
+    final int size;
+    final String[] fragmentIds;
+
+    Manifest( long version, int size, String[] fragmentIds ) {
+      this.version = version;
+      this.size = size;
+      this.fragmentIds = fragmentIds;
+    }
+
+    Set<String> getIdSet() {
+      return new HashSet<>( Arrays.asList( fragmentIds ) );
+    }
+
+  }
+
+  private static final class FragmentObjectOutputStream extends ObjectOutputStream {
+
+    FragmentObjectOutputStream( OutputStream outputStream ) throws IOException {
+      super( outputStream );
+      enableReplaceObject( true );
+    }
+
+    @Override
+    protected Object replaceObject( Object object ) {
+      // write the UI session itself instead of the placeholder for the HTTP session
+      if( object instanceof UISessionImpl.Placeholder ) {
+        return ( ( UISessionImpl.Placeholder )object ).getUISession();
+      }
+      return object;
+    }
+
+  }
+
+  private static final class ContextObjectInputStream extends ObjectInputStream {
+
+    ContextObjectInputStream( byte[] data ) throws IOException {
+      super( new ByteArrayInputStream( data ) );
+    }
+
+    @Override
+    protected Class<?> resolveClass( ObjectStreamClass description )
+      throws IOException, ClassNotFoundException
+    {
+      ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+      Class<?> result = null;
+      if( classLoader != null ) {
+        try {
+          result = Class.forName( description.getName(), false, classLoader );
+        } catch( @SuppressWarnings( "unused" ) ClassNotFoundException exception ) {
+          // fall back to the default class resolution
+        }
+      }
+      return result != null ? result : super.resolveClass( description );
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,7 +20,9 @@ import static org.eclipse.swt.internal.widgets.ControlUtil.getControlAdapter;
 import org.eclipse.rap.rwt.internal.util.ActiveKeysUtil;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.widgets.ControlRemoteAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IControlAdapter;
+import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Link;
@@ -82,6 +84,22 @@ public class ControlLCAUtil {
     resetTabIndices( shell );
     // tabIndex must be a positive value
     computeTabIndices( shell, 1 );
+    IDisplayAdapter displayAdapter = shell.getDisplay().getAdapter( IDisplayAdapter.class );
+    DirtyWidgets dirtyWidgets = displayAdapter.getDirtyWidgets();
+    if( dirtyWidgets != null && dirtyWidgets.isActive() ) {
+      markChangedTabIndices( shell, dirtyWidgets );
+    }
+  }
+
+  private static void markChangedTabIndices( Composite composite, DirtyWidgets dirtyWidgets ) {
+    for( Control control : composite.getChildren() ) {
+      if( getRemoteAdapter( control ).hasTabIndexChanged( control ) ) {
+        dirtyWidgets.markDirty( control );
+      }
+      if( control instanceof Composite ) {
+        markChangedTabIndices( ( Composite )control, dirtyWidgets );
+      }
+    }
   }
 
   private static void resetTabIndices( Composite composite ) {
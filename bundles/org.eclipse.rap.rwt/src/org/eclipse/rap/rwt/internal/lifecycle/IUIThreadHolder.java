@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,5 +26,9 @@ public interface IUIThreadHolder {
 
   Thread getThread();
 
+  /*
+   * Returns the object that guards the hand over between request thread and UI thread. This is
+   * either a java.util.concurrent.locks.Lock or an object whose monitor is used.
+   */
   Object getLock();
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,8 +10,11 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+
 import java.io.IOException;
 
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
 import org.eclipse.swt.widgets.Display;
 
 
@@ -30,12 +33,19 @@ abstract class PhaseExecutor {
   }
 
   final void execute( PhaseId startPhaseId ) throws IOException {
+    Metrics metrics = getApplicationContext().getMetrics();
     PhaseId currentPhaseId = startPhaseId;
     while( currentPhaseId != null ) {
       IPhase currentPhase = findPhase( currentPhaseId );
       CurrentPhase.set( currentPhaseId );
       phaseListenerManager.notifyBeforePhase( currentPhaseId, lifecycle );
-      PhaseId nextPhaseId = currentPhase.execute( getDisplay() );
+      long startTime = metrics.start();
+      PhaseId nextPhaseId;
+      try {
+        nextPhaseId = currentPhase.execute( getDisplay() );
+      } finally {
+        metrics.stop( Metrics.CATEGORY_PHASE, currentPhaseId.toString(), startTime );
+      }
       phaseListenerManager.notifyAfterPhase( currentPhaseId, lifecycle );
       currentPhaseId = nextPhaseId;
     }
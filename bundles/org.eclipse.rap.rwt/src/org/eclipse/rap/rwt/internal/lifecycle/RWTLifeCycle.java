@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,13 +12,16 @@
 package org.eclipse.rap.rwt.internal.lifecycle;
 
 import java.io.IOException;
+import java.util.concurrent.locks.Lock;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.rap.rwt.application.EntryPoint;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.IPhase.IInterruptible;
 import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
@@ -82,11 +85,27 @@ public class RWTLifeCycle extends LifeCycle {
     new Render()
   };
 
+  private static final UIThreadHolderFactory DEFAULT_UI_THREAD_FACTORY
+    = new UIThreadHolderFactory() {
+      @Override
+      public IUIThreadHolder createUIThreadHolder( Runnable runnable ) {
+        return new UIThread( runnable );
+      }
+    };
+
   Runnable uiRunnable;
+  private UIThreadHolderFactory uiThreadHolderFactory;
 
   public RWTLifeCycle( ApplicationContextImpl applicationContext ) {
     super( applicationContext );
     uiRunnable = new UIThreadController();
+    uiThreadHolderFactory = RWTProperties.isVirtualUIThreads()
+                          ? VirtualUIThreadHolder.FACTORY
+                          : DEFAULT_UI_THREAD_FACTORY;
+  }
+
+  public void setUIThreadHolderFactory( UIThreadHolderFactory uiThreadHolderFactory ) {
+    this.uiThreadHolderFactory = uiThreadHolderFactory;
   }
 
   @Override
@@ -151,12 +170,16 @@ public class RWTLifeCycle extends LifeCycle {
           serviceStore.setAttribute( CURRENT_PHASE, Integer.valueOf( i ) );
           interrupted = true;
         } else {
+          Metrics metrics = applicationContext.getMetrics();
+          long startTime = metrics.start();
           try {
             phase.execute( LifeCycleUtil.getSessionDisplay() );
           } catch( Throwable e ) {
             // Wrap exception in a ThreadDeath-derived error to break out of the application
             // call stack
             throw new PhaseExecutionError( e );
+          } finally {
+            metrics.stop( Metrics.CATEGORY_PHASE, phase.getPhaseId().toString(), startTime );
           }
           phaseListenerManager.notifyAfterPhase( phase.getPhaseId(), this );
         }
@@ -187,10 +210,14 @@ public class RWTLifeCycle extends LifeCycle {
       uiThread = createUIThread();
       // The serviceContext MUST be set before thread.start() is called
       uiThread.setServiceContext( context );
-      synchronized( uiThread.getLock() ) {
-        uiThread.getThread().start();
-        uiThread.switchThread();
-      }
+      final IUIThreadHolder startedUIThread = uiThread;
+      runLocked( uiThread, new Runnable() {
+        @Override
+        public void run() {
+          startedUIThread.getThread().start();
+          startedUIThread.switchThread();
+        }
+      } );
     } else {
       uiThread.setServiceContext( context );
       // See bug 354368
@@ -237,7 +264,7 @@ public class RWTLifeCycle extends LifeCycle {
 
   private IUIThreadHolder createUIThread() {
     UISession uiSession = ContextProvider.getUISession();
-    IUIThreadHolder result = new UIThread( uiRunnable );
+    IUIThreadHolder result = uiThreadHolderFactory.createUIThreadHolder( uiRunnable );
     result.getThread().setDaemon( true );
     result.getThread().setName( "UIThread [" + uiSession.getId() + "]" );
     LifeCycleUtil.setUIThread( uiSession, result );
@@ -270,6 +297,35 @@ public class RWTLifeCycle extends LifeCycle {
     return LifeCycleUtil.getUIThread( ContextProvider.getUISession() );
   }
 
+  /*
+   * Runs the given runnable while holding the lock of the UI thread holder. Holders that hand
+   * over control with a java.util.concurrent lock return it from getLock(), all others use the
+   * monitor of the returned object.
+   */
+  private static void runLocked( IUIThreadHolder uiThread, Runnable runnable ) {
+    Object lock = uiThread.getLock();
+    if( lock instanceof Lock ) {
+      ( ( Lock )lock ).lock();
+      try {
+        runnable.run();
+      } finally {
+        ( ( Lock )lock ).unlock();
+      }
+    } else {
+      synchronized( lock ) {
+        runnable.run();
+      }
+    }
+  }
+
+  private static IUIThreadHolder getCurrentUIThreadHolder() {
+    IUIThreadHolder result = VirtualUIThreadHolder.getCurrent();
+    if( result == null ) {
+      result = ( IUIThreadHolder )Thread.currentThread();
+    }
+    return result;
+  }
+
   private static final class PhaseExecutionError extends ThreadDeath {
     public PhaseExecutionError( Throwable cause ) {
       initCause( cause );
@@ -279,36 +335,43 @@ public class RWTLifeCycle extends LifeCycle {
   private final class UIThreadController implements Runnable {
     @Override
     public void run() {
-      IUIThreadHolder uiThread = ( IUIThreadHolder )Thread.currentThread();
+      final IUIThreadHolder uiThread = getCurrentUIThreadHolder();
       try {
         // [rh] sync exception handling and switchThread (see bug 316676)
-        synchronized( uiThread.getLock() ) {
-          try {
-            uiThread.updateServiceContext();
-            ServerPushManager.getInstance().notifyUIThreadStart();
-            continueLifeCycle();
-            createUI();
-            continueLifeCycle();
-            ServerPushManager.getInstance().notifyUIThreadEnd();
-          } catch( UIThreadTerminatedError thr ) {
-            throw thr;
-          } catch( Throwable thr ) {
-            ServiceStore serviceStore = ContextProvider.getServiceStore();
-            serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
+        runLocked( uiThread, new Runnable() {
+          @Override
+          public void run() {
+            runUIThread( uiThread );
           }
-          // We have to prevent the ui thread from waking up at that point, otherwise
-          // processShutdown would never be executed and session store would not be cleared.
-          // See bug 354368
-          UISession uiSession = ContextProvider.getUISession();
-          uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
-          // In any case: wait for the thread to be terminated by session timeout
-          uiThread.switchThread();
-        }
+        } );
       } catch( @SuppressWarnings( "unused" ) UIThreadTerminatedError e ) {
         // If we get here, the session is being invalidated, see UIThread#terminateThread()
         ( ( ISessionShutdownAdapter )uiThread ).processShutdown();
       }
     }
+
+    private void runUIThread( IUIThreadHolder uiThread ) {
+      try {
+        uiThread.updateServiceContext();
+        ServerPushManager.getInstance().notifyUIThreadStart();
+        continueLifeCycle();
+        createUI();
+        continueLifeCycle();
+        ServerPushManager.getInstance().notifyUIThreadEnd();
+      } catch( UIThreadTerminatedError thr ) {
+        throw thr;
+      } catch( Throwable thr ) {
+        ServiceStore serviceStore = ContextProvider.getServiceStore();
+        serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
+      }
+      // We have to prevent the ui thread from waking up at that point, otherwise
+      // processShutdown would never be executed and session store would not be cleared.
+      // See bug 354368
+      UISession uiSession = ContextProvider.getUISession();
+      uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
+      // In any case: wait for the thread to be terminated by session timeout
+      uiThread.switchThread();
+    }
   }
 
 }
@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+
+/**
+ * Creates the thread holders that run the UI code of a UI session in the <code>RWTLifeCycle</code>.
+ * The created holder must also implement <code>ISessionShutdownAdapter</code>. Its thread is
+ * started by the life cycle.
+ */
+public interface UIThreadHolderFactory {
+
+  IUIThreadHolder createUIThreadHolder( Runnable runnable );
+
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.service.UISession;
+
+
+/*
+ * A UI thread holder that runs the UI code in a virtual thread if the Java runtime supports
+ * them (Java 21 and later) and in a platform thread otherwise. Control is handed over between
+ * request thread and UI thread with a lock and condition instead of an object monitor, so that
+ * a waiting virtual thread does not pin its carrier thread.
+ */
+@SuppressWarnings( "deprecation" )
+final class VirtualUIThreadHolder implements IUIThreadHolder, ISessionShutdownAdapter {
+
+  static final UIThreadHolderFactory FACTORY = new UIThreadHolderFactory() {
+    @Override
+    public IUIThreadHolder createUIThreadHolder( Runnable runnable ) {
+      return new VirtualUIThreadHolder( runnable );
+    }
+  };
+
+  private static final ThreadLocal<VirtualUIThreadHolder> CURRENT = new ThreadLocal<>();
+  private static final Method OF_VIRTUAL;
+  private static final Method UNSTARTED;
+
+  static {
+    Method ofVirtual = null;
+    Method unstarted = null;
+    try {
+      ofVirtual = Thread.class.getMethod( "ofVirtual" );
+      unstarted = Class.forName( "java.lang.Thread$Builder" ).getMethod( "unstarted",
+                                                                         Runnable.class );
+    } catch( @SuppressWarnings( "unused" ) ClassNotFoundException | NoSuchMethodException e ) {
+      // virtual threads are not available in this Java runtime
+    }
+    OF_VIRTUAL = ofVirtual;
+    UNSTARTED = unstarted;
+  }
+
+  private final ReentrantLock lock;
+  private final Condition switched;
+  private final Thread thread;
+  private ServiceContext serviceContext;
+  private UISession uiSession;
+  private Runnable shutdownCallback;
+  private volatile boolean uiThreadTerminating;
+  private long switchCount;
+
+  VirtualUIThreadHolder( final Runnable runnable ) {
+    lock = new ReentrantLock();
+    switched = lock.newCondition();
+    thread = createThread( new Runnable() {
+      @Override
+      public void run() {
+        CURRENT.set( VirtualUIThreadHolder.this );
+        try {
+          runnable.run();
+        } finally {
+          CURRENT.remove();
+        }
+      }
+    } );
+  }
+
+  static boolean isVirtualThreadSupported() {
+    return OF_VIRTUAL != null && UNSTARTED != null;
+  }
+
+  /*
+   * Returns the holder of the calling thread or null if the calling thread is not a UI thread
+   * created by this class.
+   */
+  static VirtualUIThreadHolder getCurrent() {
+    return CURRENT.get();
+  }
+
+  @Override
+  public void setServiceContext( ServiceContext serviceContext ) {
+    this.serviceContext = serviceContext;
+  }
+
+  @Override
+  public void updateServiceContext() {
+    if( ContextProvider.hasContext() ) {
+      ContextProvider.releaseContextHolder();
+    }
+    ContextProvider.setContext( serviceContext );
+  }
+
+  @Override
+  public void switchThread() {
+    lock.lock();
+    try {
+      UIThread.checkAndReportTerminatedUIThread( thread );
+      long count = ++switchCount;
+      switched.signalAll();
+      while( switchCount == count ) {
+        try {
+          switched.await();
+        } catch( InterruptedException e ) {
+          handleInterruptInSwitchThread( e );
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void handleInterruptInSwitchThread( InterruptedException e )
+    throws UIThreadTerminatedError
+  {
+    Thread.interrupted();
+    if( uiThreadTerminating ) {
+      // Equip the UI thread that is continuing its execution with a
+      // service context and the proper phase (see terminateThread).
+      updateServiceContext();
+      CurrentPhase.set( PhaseId.PROCESS_ACTION );
+      uiThreadTerminating = false;
+      throw new UIThreadTerminatedError();
+    }
+    if( Thread.currentThread() != thread ) {
+      String msg = "Received InterruptedException on request thread";
+      ServletLog.log( msg, e );
+    }
+  }
+
+  @Override
+  public void terminateThread() {
+    // Prepare a service context to be used by the UI thread that may continue
+    // to run as a result of the interrupt call
+    setServiceContext( ContextUtil.createFakeContext( uiSession ) );
+    uiThreadTerminating = true;
+    // interrupt the UI thread that is expected to wait in switchThread or already be terminated
+    lock.lock();
+    try {
+      thread.interrupt();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      thread.join();
+    } catch( InterruptedException e ) {
+      String msg = "Received InterruptedException while terminating UIThread";
+      ServletLog.log( msg, e );
+    }
+    uiThreadTerminating = false;
+  }
+
+  @Override
+  public Thread getThread() {
+    return thread;
+  }
+
+  /*
+   * Returns a java.util.concurrent.locks.Lock. Callers must acquire it with lock() instead of
+   * synchronizing on it.
+   */
+  @Override
+  public Object getLock() {
+    return lock;
+  }
+
+  @Override
+  public void setUISession( UISession uiSession ) {
+    this.uiSession = uiSession;
+  }
+
+  @Override
+  public void setShutdownCallback( Runnable shutdownCallback ) {
+    this.shutdownCallback = shutdownCallback;
+  }
+
+  @Override
+  public void interceptShutdown() {
+    terminateThread();
+  }
+
+  @Override
+  public void processShutdown() {
+    updateServiceContext();
+    UIThread.processShutdown( uiSession, shutdownCallback );
+  }
+
+  private static Thread createThread( Runnable runnable ) {
+    if( isVirtualThreadSupported() ) {
+      try {
+        return ( Thread )UNSTARTED.invoke( OF_VIRTUAL.invoke( null ), runnable );
+      } catch( IllegalAccessException | InvocationTargetException exception ) {
+        // e.g. virtual threads are a disabled preview feature in this Java runtime
+        ServletLog.log( "Failed to create virtual UI thread", exception );
+      }
+    }
+    return new Thread( runnable );
+  }
+
+}
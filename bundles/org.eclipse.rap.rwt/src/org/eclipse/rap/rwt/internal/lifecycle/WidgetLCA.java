@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -55,6 +55,15 @@ public abstract class WidgetLCA<T extends Widget>  {
 
   public abstract void preserveValues( T widget );
 
+  /*
+   * Returns true if all widgets handled by this LCA report modifications of their rendered
+   * properties to DirtyWidgets. Widgets of other LCAs are preserved and rendered in every request
+   * when dirty widget tracking is enabled.
+   */
+  public boolean supportsDirtyTracking() {
+    return false;
+  }
+
   public abstract void renderInitialization( T widget ) throws IOException;
 
   public abstract void renderChanges( T widget ) throws IOException;
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * A lock-free histogram of non-negative long values (e.g. durations in nanoseconds). Values are
+ * counted in log-linear buckets, every power of two is divided into eight sub-buckets. Hence the
+ * reported percentiles have a relative error of at most 12.5%, independent of the magnitude.
+ */
+public final class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = ( 64 - SUB_BUCKET_BITS + 1 ) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts;
+  private final AtomicLong count;
+  private final AtomicLong total;
+  private final AtomicLong max;
+
+  public Histogram() {
+    counts = new AtomicLongArray( BUCKET_COUNT );
+    count = new AtomicLong();
+    total = new AtomicLong();
+    max = new AtomicLong();
+  }
+
+  public void record( long value ) {
+    long positiveValue = Math.max( 0, value );
+    counts.incrementAndGet( getBucketIndex( positiveValue ) );
+    count.incrementAndGet();
+    total.addAndGet( positiveValue );
+    long currentMax = max.get();
+    while( positiveValue > currentMax && !max.compareAndSet( currentMax, positiveValue ) ) {
+      currentMax = max.get();
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getTotal() {
+    return total.get();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public long getMean() {
+    long currentCount = count.get();
+    return currentCount == 0 ? 0 : total.get() / currentCount;
+  }
+
+  /**
+   * Returns an upper bound of the value below which the given percentage of the recorded values
+   * falls, or zero if no values have been recorded.
+   */
+  public long getValueAtPercentile( double percentile ) {
+    long[] snapshot = new long[ BUCKET_COUNT ];
+    long snapshotCount = 0;
+    for( int i = 0; i < BUCKET_COUNT; i++ ) {
+      snapshot[ i ] = counts.get( i );
+      snapshotCount += snapshot[ i ];
+    }
+    long threshold = ( long )Math.ceil( snapshotCount * Math.min( 100, percentile ) / 100 );
+    long cumulativeCount = 0;
+    for( int i = 0; i < BUCKET_COUNT && snapshotCount > 0; i++ ) {
+      cumulativeCount += snapshot[ i ];
+      if( cumulativeCount >= Math.max( 1, threshold ) ) {
+        return Math.min( getBucketUpperBound( i ), max.get() );
+      }
+    }
+    return 0;
+  }
+
+  public void reset() {
+    for( int i = 0; i < BUCKET_COUNT; i++ ) {
+      counts.set( i, 0 );
+    }
+    count.set( 0 );
+    total.set( 0 );
+    max.set( 0 );
+  }
+
+  static int getBucketIndex( long value ) {
+    if( value < SUB_BUCKET_COUNT ) {
+      return ( int )value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros( value );
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = ( int )( value >>> shift ) & ( SUB_BUCKET_COUNT - 1 );
+    return ( shift + 1 ) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long getBucketUpperBound( int index ) {
+    if( index < SUB_BUCKET_COUNT ) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long subBucket = index % SUB_BUCKET_COUNT;
+    long lowerBound = ( SUB_BUCKET_COUNT + subBucket ) << shift;
+    return lowerBound + ( 1L << shift ) - 1;
+  }
+
+}
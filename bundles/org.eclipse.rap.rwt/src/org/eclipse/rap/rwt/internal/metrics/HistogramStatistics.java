@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import static org.eclipse.rap.rwt.internal.metrics.Metrics.toMicros;
+
+import java.beans.ConstructorProperties;
+
+
+/**
+ * A snapshot of the statistics of a histogram, all durations are given in microseconds.
+ */
+public final class HistogramStatistics {
+
+  private final String category;
+  private final String name;
+  private final long count;
+  private final long mean;
+  private final long median;
+  private final long percentile90;
+  private final long percentile99;
+  private final long max;
+
+  @ConstructorProperties( {
+    "category", "name", "count", "mean", "median", "percentile90", "percentile99", "max"
+  } )
+  public HistogramStatistics( String category,
+                              String name,
+                              long count,
+                              long mean,
+                              long median,
+                              long percentile90,
+                              long percentile99,
+                              long max )
+  {
+    this.category = category;
+    this.name = name;
+    this.count = count;
+    this.mean = mean;
+    this.median = median;
+    this.percentile90 = percentile90;
+    this.percentile99 = percentile99;
+    this.max = max;
+  }
+
+  static HistogramStatistics create( String category, String name, Histogram histogram ) {
+    return new HistogramStatistics( category,
+                                    name,
+                                    histogram.getCount(),
+                                    toMicros( histogram.getMean() ),
+                                    toMicros( histogram.getValueAtPercentile( 50 ) ),
+                                    toMicros( histogram.getValueAtPercentile( 90 ) ),
+                                    toMicros( histogram.getValueAtPercentile( 99 ) ),
+                                    toMicros( histogram.getMax() ) );
+  }
+
+  public String getCategory() {
+    return category;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMean() {
+    return mean;
+  }
+
+  public long getMedian() {
+    return median;
+  }
+
+  public long getPercentile90() {
+    return percentile90;
+  }
+
+  public long getPercentile99() {
+    return percentile99;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+}
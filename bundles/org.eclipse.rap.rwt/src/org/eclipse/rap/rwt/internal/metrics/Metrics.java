@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+
+
+/**
+ * Application scoped collector of the durations of lifecycle phases, widget rendering, JSON
+ * processing and service handler requests. Metrics are only collected if enabled with the system
+ * property {@link RWTProperties#COLLECT_METRICS}, otherwise all methods return immediately. The
+ * durations are kept in a {@link Histogram} per category and name and are exported as an MXBean
+ * and through the {@link MetricsServiceHandler}.
+ */
+public class Metrics implements MetricsMXBean {
+
+  public static final String CATEGORY_PHASE = "phase";
+  public static final String CATEGORY_RENDER = "render";
+  public static final String CATEGORY_JSON = "json";
+  public static final String CATEGORY_SERVICE_HANDLER = "serviceHandler";
+  public static final String CATEGORY_COMPRESSION = "compression";
+  public static final String JSON_PARSE = "parse";
+  public static final String JSON_SERIALIZE = "serialize";
+  public static final String UI_REQUEST = "lifecycle";
+  public static final String GZIP = "gzip";
+
+  private static final String OBJECT_NAME = "org.eclipse.rap.rwt:type=Metrics,context=";
+  private static final int SLOW_REQUEST_COUNT = 10;
+
+  private final boolean enabled;
+  private final ConcurrentMap<String,ConcurrentMap<String,Histogram>> histograms;
+  private final List<MetricsRecorder> recorders;
+  // guarded by itself
+  private final List<SlowRequest> slowRequests;
+  private volatile long slowRequestThreshold;
+  private final AtomicLong uncompressedBytes;
+  private final AtomicLong compressedBytes;
+  private ObjectName objectName;
+
+  public Metrics() {
+    this( RWTProperties.isCollectMetrics() );
+  }
+
+  Metrics( boolean enabled ) {
+    this.enabled = enabled;
+    histograms = new ConcurrentHashMap<>();
+    recorders = new CopyOnWriteArrayList<>();
+    slowRequests = new ArrayList<>( SLOW_REQUEST_COUNT + 1 );
+    uncompressedBytes = new AtomicLong();
+    compressedBytes = new AtomicLong();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void activate( String contextName ) {
+    if( enabled ) {
+      registerMBean( contextName );
+    }
+  }
+
+  public void deactivate() {
+    unregisterMBean();
+    recorders.clear();
+    reset();
+  }
+
+  public void addRecorder( MetricsRecorder recorder ) {
+    recorders.add( recorder );
+  }
+
+  public void removeRecorder( MetricsRecorder recorder ) {
+    recorders.remove( recorder );
+  }
+
+  /**
+   * Returns the start time for a measurement that is finished with <code>stop</code>, or zero if
+   * metrics are disabled.
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  public void stop( String category, String name, long startTime ) {
+    if( enabled ) {
+      record( category, name, System.nanoTime() - startTime );
+    }
+  }
+
+  /**
+   * Finishes the measurement of a service handler request. The slowest requests are kept together
+   * with the connection id of their UI session.
+   */
+  public void stopRequest( String handlerName, String connectionId, long startTime ) {
+    if( enabled ) {
+      long nanos = System.nanoTime() - startTime;
+      record( CATEGORY_SERVICE_HANDLER, handlerName, nanos );
+      if( nanos > slowRequestThreshold ) {
+        addSlowRequest( new SlowRequest( handlerName,
+                                         connectionId,
+                                         toMicros( nanos ),
+                                         System.currentTimeMillis() ) );
+      }
+    }
+  }
+
+  /**
+   * Records the sizes of a compressed response and the time spent for compressing it.
+   */
+  public void recordCompression( long inputSize, long outputSize, long nanos ) {
+    if( enabled ) {
+      uncompressedBytes.addAndGet( inputSize );
+      compressedBytes.addAndGet( outputSize );
+      record( CATEGORY_COMPRESSION, GZIP, nanos );
+    }
+  }
+
+  public void record( String category, String name, long nanos ) {
+    if( enabled ) {
+      getHistogram( category, name ).record( nanos );
+      for( MetricsRecorder recorder : recorders ) {
+        recorder.record( category, name, nanos );
+      }
+    }
+  }
+
+  /**
+   * Returns the histograms of the given category, sorted by name.
+   */
+  public Map<String,Histogram> getHistograms( String category ) {
+    Map<String,Histogram> categoryHistograms = histograms.get( category );
+    return categoryHistograms == null
+         ? new TreeMap<String,Histogram>()
+         : new TreeMap<>( categoryHistograms );
+  }
+
+  @Override
+  public List<HistogramStatistics> getHistogramStatistics() {
+    List<HistogramStatistics> result = new ArrayList<>();
+    for( String category : new TreeMap<>( histograms ).keySet() ) {
+      for( Entry<String,Histogram> entry : getHistograms( category ).entrySet() ) {
+        result.add( HistogramStatistics.create( category, entry.getKey(), entry.getValue() ) );
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<SlowRequest> getSlowRequests() {
+    synchronized( slowRequests ) {
+      return new ArrayList<>( slowRequests );
+    }
+  }
+
+  @Override
+  public long getUncompressedBytes() {
+    return uncompressedBytes.get();
+  }
+
+  @Override
+  public long getCompressedBytes() {
+    return compressedBytes.get();
+  }
+
+  @Override
+  public double getCompressionRatio() {
+    long uncompressed = uncompressedBytes.get();
+    return uncompressed == 0 ? 0 : ( double )compressedBytes.get() / uncompressed;
+  }
+
+  @Override
+  public void reset() {
+    histograms.clear();
+    uncompressedBytes.set( 0 );
+    compressedBytes.set( 0 );
+    synchronized( slowRequests ) {
+      slowRequests.clear();
+      slowRequestThreshold = 0;
+    }
+  }
+
+  private Histogram getHistogram( String category, String name ) {
+    ConcurrentMap<String,Histogram> categoryHistograms = histograms.get( category );
+    if( categoryHistograms == null ) {
+      categoryHistograms = new ConcurrentHashMap<>();
+      ConcurrentMap<String,Histogram> existing = histograms.putIfAbsent( category,
+                                                                         categoryHistograms );
+      if( existing != null ) {
+        categoryHistograms = existing;
+      }
+    }
+    Histogram histogram = categoryHistograms.get( name );
+    if( histogram == null ) {
+      histogram = new Histogram();
+      Histogram existing = categoryHistograms.putIfAbsent( name, histogram );
+      if( existing != null ) {
+        histogram = existing;
+      }
+    }
+    return histogram;
+  }
+
+  private void addSlowRequest( SlowRequest request ) {
+    synchronized( slowRequests ) {
+      int index = 0;
+      while(    index < slowRequests.size()
+             && slowRequests.get( index ).getDuration() >= request.getDuration() )
+      {
+        index++;
+      }
+      slowRequests.add( index, request );
+      if( slowRequests.size() > SLOW_REQUEST_COUNT ) {
+        slowRequests.remove( SLOW_REQUEST_COUNT );
+        SlowRequest fastest = slowRequests.get( SLOW_REQUEST_COUNT - 1 );
+        slowRequestThreshold = TimeUnit.MICROSECONDS.toNanos( fastest.getDuration() );
+      }
+    }
+  }
+
+  private void registerMBean( String contextName ) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName( OBJECT_NAME + ObjectName.quote( contextName ) );
+      server.registerMBean( this, name );
+      objectName = name;
+    } catch( JMException exception ) {
+      ServletLog.log( "Failed to register metrics MBean for context " + contextName, exception );
+    }
+  }
+
+  private void unregisterMBean() {
+    if( objectName != null ) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean( objectName );
+      } catch( JMException exception ) {
+        ServletLog.log( "Failed to unregister metrics MBean " + objectName, exception );
+      }
+      objectName = null;
+    }
+  }
+
+  static long toMicros( long nanos ) {
+    return TimeUnit.NANOSECONDS.toMicros( nanos );
+  }
+
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.util.List;
+
+
+/**
+ * Management interface of the metrics of an application context. All durations are given in
+ * microseconds, all sizes in bytes.
+ */
+public interface MetricsMXBean {
+
+  List<HistogramStatistics> getHistogramStatistics();
+
+  List<SlowRequest> getSlowRequests();
+
+  /**
+   * Returns the total size of all compressed responses before compression.
+   */
+  long getUncompressedBytes();
+
+  /**
+   * Returns the total size of all compressed responses after compression.
+   */
+  long getCompressedBytes();
+
+  /**
+   * Returns the ratio of compressed to uncompressed bytes, or zero if nothing has been compressed.
+   */
+  double getCompressionRatio();
+
+  void reset();
+
+}
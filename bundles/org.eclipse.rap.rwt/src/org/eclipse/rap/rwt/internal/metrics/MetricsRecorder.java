@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+
+/**
+ * Receives the durations measured by the framework when metrics are enabled. Implementations can
+ * be added to the <code>Metrics</code> of an application context in order to forward the
+ * measurements to an external monitoring system. Implementations must be thread-safe and should
+ * return quickly, they are called on the request and UI threads.
+ *
+ * @see Metrics#addRecorder(MetricsRecorder)
+ */
+public interface MetricsRecorder {
+
+  /**
+   * @param category the kind of the measured operation, e.g. {@link Metrics#CATEGORY_PHASE}
+   * @param name the name of the measured operation within its category, e.g. the phase id
+   * @param nanos the duration of the operation in nanoseconds
+   */
+  void record( String category, String name, long nanos );
+
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
+import static org.eclipse.rap.rwt.internal.util.HTTP.CONTENT_TYPE_JSON;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.service.ServiceHandler;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.internal.graphics.ImageDataCache;
+import org.eclipse.swt.internal.widgets.DisplaysHolder;
+import org.eclipse.swt.internal.widgets.IDisplayAdapter;
+import org.eclipse.swt.widgets.Display;
+
+
+/**
+ * Sends the collected metrics as JSON. All durations are given in microseconds. In addition, the
+ * current and peak length of the asyncExec queue of every live display are reported per UI session,
+ * as well as the usage of the image data cache and the sizes of compressed responses.
+ * <p>
+ * The handler is only registered if enabled with the system property
+ * {@link RWTProperties#METRICS_SERVICE_HANDLER}. Since it has no access control, it does not
+ * reveal connection ids and cannot reset the metrics, this is left to the MXBean.
+ * </p>
+ */
+public class MetricsServiceHandler implements ServiceHandler {
+
+  public final static String HANDLER_ID = "org.eclipse.rap.metrics";
+
+  private final Metrics metrics;
+  private final DisplaysHolder displaysHolder;
+  private final ImageDataCache imageDataCache;
+
+  public MetricsServiceHandler( Metrics metrics,
+                                DisplaysHolder displaysHolder,
+                                ImageDataCache imageDataCache )
+  {
+    this.metrics = metrics;
+    this.displaysHolder = displaysHolder;
+    this.imageDataCache = imageDataCache;
+  }
+
+  @Override
+  public void service( HttpServletRequest request, HttpServletResponse response )
+    throws IOException
+  {
+    response.setContentType( CONTENT_TYPE_JSON );
+    response.setCharacterEncoding( CHARSET_UTF_8 );
+    response.setHeader( "Cache-Control", "no-cache, no-store, must-revalidate" );
+    createJson().writeTo( response.getWriter() );
+  }
+
+  JsonObject createJson() {
+    JsonArray histograms = new JsonArray();
+    for( HistogramStatistics statistics : metrics.getHistogramStatistics() ) {
+      histograms.add( new JsonObject()
+        .add( "category", statistics.getCategory() )
+        .add( "name", statistics.getName() )
+        .add( "count", statistics.getCount() )
+        .add( "mean", statistics.getMean() )
+        .add( "median", statistics.getMedian() )
+        .add( "p90", statistics.getPercentile90() )
+        .add( "p99", statistics.getPercentile99() )
+        .add( "max", statistics.getMax() ) );
+    }
+    JsonArray slowRequests = new JsonArray();
+    for( SlowRequest slowRequest : metrics.getSlowRequests() ) {
+      slowRequests.add( new JsonObject()
+        .add( "handler", slowRequest.getHandlerName() )
+        .add( "duration", slowRequest.getDuration() )
+        .add( "timestamp", slowRequest.getTimestamp() ) );
+    }
+    JsonArray sessions = new JsonArray();
+    for( Display display : getDisplays() ) {
+      IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
+      sessions.add( new JsonObject()
+        .add( "queueDepth", adapter.getAsyncQueueDepth() )
+        .add( "peakQueueDepth", adapter.getPeakAsyncQueueDepth() )
+        .add( "coalesced", adapter.getCoalescedAsyncExecCount() ) );
+    }
+    JsonObject imageCache = new JsonObject()
+      .add( "size", imageDataCache.getSize() )
+      .add( "weight", imageDataCache.getWeight() )
+      .add( "hits", imageDataCache.getHitCount() )
+      .add( "misses", imageDataCache.getMissCount() )
+      .add( "evictions", imageDataCache.getEvictionCount() );
+    JsonObject compression = new JsonObject()
+      .add( "uncompressed", metrics.getUncompressedBytes() )
+      .add( "compressed", metrics.getCompressedBytes() )
+      .add( "ratio", metrics.getCompressionRatio() );
+    return new JsonObject()
+      .add( "histograms", histograms )
+      .add( "slowRequests", slowRequests )
+      .add( "sessions", sessions )
+      .add( "imageDataCache", imageCache )
+      .add( "compression", compression );
+  }
+
+  private List<Display> getDisplays() {
+    List<Display> result = new ArrayList<>();
+    synchronized( Device.class ) {
+      for( WeakReference<Display> displayRef : displaysHolder.getDisplays() ) {
+        Display display = displayRef == null ? null : displayRef.get();
+        if( display != null && !display.isDisposed() ) {
+          result.add( display );
+        }
+      }
+    }
+    return result;
+  }
+
+}
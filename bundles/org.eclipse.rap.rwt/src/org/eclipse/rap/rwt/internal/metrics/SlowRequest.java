@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import java.beans.ConstructorProperties;
+
+
+/**
+ * One of the slowest service handler requests, the duration is given in microseconds.
+ */
+public final class SlowRequest {
+
+  private final String handlerName;
+  private final String connectionId;
+  private final long duration;
+  private final long timestamp;
+
+  @ConstructorProperties( { "handlerName", "connectionId", "duration", "timestamp" } )
+  public SlowRequest( String handlerName, String connectionId, long duration, long timestamp ) {
+    this.handlerName = handlerName;
+    this.connectionId = connectionId;
+    this.duration = duration;
+    this.timestamp = timestamp;
+  }
+
+  public String getHandlerName() {
+    return handlerName;
+  }
+
+  /**
+   * Returns the connection id of the UI session or <code>null</code> if the request was not
+   * associated with a UI session.
+   */
+  public String getConnectionId() {
+    return connectionId;
+  }
+
+  public long getDuration() {
+    return duration;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+}
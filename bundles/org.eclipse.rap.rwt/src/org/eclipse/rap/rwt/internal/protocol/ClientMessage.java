@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.NotifyOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
@@ -31,6 +33,11 @@ public class ClientMessage extends RequestMessage {
     createOperationsIndex();
   }
 
+  public ClientMessage( JsonReader reader ) throws IOException {
+    super( reader );
+    createOperationsIndex();
+  }
+
   public ClientMessage( Message message ) {
     super( message.getHead(), message.getOperations() );
     createOperationsIndex();
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonObject.Member;
+import org.eclipse.rap.json.JsonValue;
+
+
+/**
+ * Encodes response messages in a compact form of the JSON protocol. Every string that appears
+ * directly in an operation, i.e. the target, the type of a create and the method of a call
+ * operation, is replaced by its index in a table of keys. Property objects are replaced by arrays
+ * of alternating key indexes and values. The values themselves are not changed. The table of keys
+ * is added to the head of the message, together with the name of the encoding.
+ * <p>
+ * An encoder is created per message, the table only contains the keys of this message.
+ * </p>
+ */
+public class CompactMessageEncoder {
+
+  public static final String ENCODING = "compact";
+  static final String HEAD_ENCODING = "encoding";
+  static final String HEAD_KEYS = "keys";
+
+  private static final String HEAD = "head";
+  private static final String OPERATIONS = "operations";
+
+  private final Map<String,Integer> keyIndexes;
+  private final JsonArray keys;
+
+  public CompactMessageEncoder() {
+    keyIndexes = new HashMap<>();
+    keys = new JsonArray();
+  }
+
+  public JsonObject encode( Message message ) {
+    JsonArray operations = new JsonArray();
+    for( Operation operation : message.getOperations() ) {
+      operations.add( encodeOperation( operation ) );
+    }
+    return new JsonObject()
+      .add( HEAD, encodeHead( message.getHead() ) )
+      .add( OPERATIONS, operations );
+  }
+
+  public JsonArray encodeOperation( Operation operation ) {
+    JsonArray json = operation.toJson();
+    JsonArray result = new JsonArray().add( json.get( 0 ) );
+    for( int i = 1; i < json.size(); i++ ) {
+      JsonValue value = json.get( i );
+      if( value.isString() ) {
+        result.add( getKeyIndex( value.asString() ) );
+      } else if( value.isObject() ) {
+        result.add( encodeProperties( value.asObject() ) );
+      } else {
+        result.add( value );
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a copy of the given head with the encoding and the table of all keys that have been
+   * used by the operations encoded so far. Must be called after all operations are encoded.
+   */
+  public JsonObject encodeHead( JsonObject head ) {
+    return new JsonObject( head ).set( HEAD_ENCODING, ENCODING ).set( HEAD_KEYS, keys );
+  }
+
+  private JsonArray encodeProperties( JsonObject properties ) {
+    JsonArray result = new JsonArray();
+    for( Member member : properties ) {
+      result.add( getKeyIndex( member.getName() ) ).add( member.getValue() );
+    }
+    return result;
+  }
+
+  private int getKeyIndex( String key ) {
+    Integer index = keyIndexes.get( key );
+    if( index == null ) {
+      index = Integer.valueOf( keys.size() );
+      keyIndexes.put( key, index );
+      keys.add( key );
+    }
+    return index.intValue();
+  }
+
+}
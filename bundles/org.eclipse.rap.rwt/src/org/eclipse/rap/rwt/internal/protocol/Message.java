@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource and others.
+ * Copyright (c) 2015, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,12 +12,15 @@ package org.eclipse.rap.rwt.internal.protocol;
 
 import static org.eclipse.rap.rwt.internal.protocol.OperationReader.readOperation;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.json.JsonReader.Token;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 
@@ -43,6 +46,43 @@ public class Message implements Serializable {
     operations = readOperations( json );
   }
 
+  /*
+   * Reads the message from the given reader. Only the head and the properties of the operations
+   * are read as JsonObject, other members of the message are skipped. Content after the message
+   * is rejected with a ParseException.
+   */
+  protected Message( JsonReader reader ) throws IOException {
+    ParamCheck.notNull( reader, "reader" );
+    JsonObject readHead = null;
+    List<Operation> readOperations = null;
+    if( reader.next() != Token.BEGIN_OBJECT ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    while( reader.next() == Token.NAME ) {
+      if( reader.matches( HEAD ) ) {
+        reader.next();
+        readHead = readHead( reader );
+      } else if( reader.matches( OPERATIONS ) ) {
+        reader.next();
+        readOperations = readOperations( reader );
+      } else {
+        reader.next();
+        reader.skipValue();
+      }
+    }
+    if( reader.next() != Token.END_DOCUMENT ) {
+      throw new IllegalArgumentException( "Unexpected content after JSON message" );
+    }
+    if( readHead == null ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    if( readOperations == null ) {
+      throw new IllegalArgumentException( "Failed to read operations from JSON message" );
+    }
+    head = readHead;
+    operations = readOperations;
+  }
+
   public JsonObject getHead() {
     return head;
   }
@@ -80,6 +120,29 @@ public class Message implements Serializable {
     }
   }
 
+  private static JsonObject readHead( JsonReader reader ) throws IOException {
+    JsonValue value = reader.readValue();
+    if( !value.isObject() ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    return value.asObject();
+  }
+
+  private static List<Operation> readOperations( JsonReader reader ) throws IOException {
+    try {
+      if( reader.getToken() != Token.BEGIN_ARRAY ) {
+        throw new IllegalArgumentException( "Expected array but was " + reader.getToken() );
+      }
+      List<Operation> operations = new ArrayList<>();
+      while( reader.next() != Token.END_ARRAY ) {
+        operations.add( readOperation( reader ) );
+      }
+      return operations;
+    } catch( RuntimeException exception ) {
+      throw new IllegalArgumentException( "Failed to read operations from JSON message", exception );
+    }
+  }
+
   private static List<Operation> processOperations( JsonArray operationsArray ) {
     List<Operation> operations = new ArrayList<>( operationsArray.size() );
     for( JsonValue operation : operationsArray ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 EclipseSource and others.
+ * Copyright (c) 2014, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,8 +10,12 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
+
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.json.JsonReader.Token;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
@@ -33,6 +37,20 @@ public class OperationReader {
     }
   }
 
+  /*
+   * Reads an operation without creating a tree for the operation array. The reader must be
+   * positioned at the start of the array and is advanced to its end. Only the properties are read
+   * as JsonObject.
+   */
+  public static Operation readOperation( JsonReader reader ) throws IOException {
+    ParamCheck.notNull( reader, "reader" );
+    try {
+      return readOperationArray( reader );
+    } catch( RuntimeException exception ) {
+      throw new IllegalArgumentException( "Could not read operation", exception );
+    }
+  }
+
   private static Operation readOperation( JsonArray json ) {
     String action = json.get( 0 ).asString();
     String target = json.get( 1 ).asString();
@@ -57,6 +75,49 @@ public class OperationReader {
     throw new IllegalArgumentException( "Unknown operation type: " + action );
   }
 
+  private static Operation readOperationArray( JsonReader reader ) throws IOException {
+    if( reader.getToken() != Token.BEGIN_ARRAY ) {
+      throw new IllegalArgumentException( "Expected array but was " + reader.getToken() );
+    }
+    String action = readString( reader );
+    String target = readString( reader );
+    Operation result;
+    if( action.equals( "create" ) ) {
+      String type = readString( reader );
+      result = new CreateOperation( target, type, readObject( reader ) );
+    } else if( action.equals( "destroy" ) ) {
+      result = new DestroyOperation( target );
+    } else if( action.equals( "set" ) ) {
+      result = new SetOperation( target, readObject( reader ) );
+    } else if( action.equals( "call" ) ) {
+      String method = readString( reader );
+      result = new CallOperation( target, method, readObject( reader ) );
+    } else if( action.equals( "listen" ) ) {
+      result = new ListenOperation( target, readObject( reader ) );
+    } else if( action.equals( "notify" ) ) {
+      String event = readString( reader );
+      result = new NotifyOperation( target, event, readObject( reader ) );
+    } else {
+      throw new IllegalArgumentException( "Unknown operation type: " + action );
+    }
+    while( reader.next() != Token.END_ARRAY ) {
+      reader.skipValue();
+    }
+    return result;
+  }
+
+  private static String readString( JsonReader reader ) throws IOException {
+    if( reader.next() != Token.STRING ) {
+      throw new IllegalArgumentException( "Expected string but was " + reader.getToken() );
+    }
+    return reader.getString();
+  }
+
+  private static JsonObject readObject( JsonReader reader ) throws IOException {
+    reader.next();
+    return reader.readValue().asObject();
+  }
+
   private static Operation readCreateOperation( JsonArray json, String target ) {
     String type = json.get( 2 ).asString();
     JsonObject properties = json.get( 3 ).asObject();
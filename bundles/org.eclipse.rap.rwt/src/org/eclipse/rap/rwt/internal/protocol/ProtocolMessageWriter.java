@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2010, 2015 EclipseSource and others.
+* Copyright (c) 2010, 2018 EclipseSource and others.
 * All rights reserved. This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License v1.0
 * which accompanies this distribution, and is available at
@@ -10,7 +10,10 @@
 *******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonObject;
@@ -28,6 +31,10 @@ public class ProtocolMessageWriter {
   private final List<Operation> operations;
   private Operation pendingOperation;
   private boolean alreadyCreated;
+  private Writer streamWriter;
+  private CompactMessageEncoder streamEncoder;
+  private boolean operationStreamed;
+  private IOException streamProblem;
 
   public ProtocolMessageWriter() {
     head = new JsonObject();
@@ -104,6 +111,61 @@ public class ProtocolMessageWriter {
     pendingOperation = operation;
   }
 
+  /*
+   * Serializes all operations directly to the given writer instead of collecting them in the
+   * response message. The head is written after the operations by finishStreaming(), since head
+   * properties may be added until the end of the request.
+   */
+  public void startStreaming( Writer writer ) throws IOException {
+    startStreaming( writer, null );
+  }
+
+  /*
+   * Like startStreaming( Writer ), but encodes all operations and the head with the given encoder.
+   * The encoder may be null to write plain JSON.
+   */
+  public void startStreaming( Writer writer, CompactMessageEncoder encoder ) throws IOException {
+    ensureMessagePending();
+    if( streamWriter != null ) {
+      throw new IllegalStateException( "Streaming already started" );
+    }
+    streamWriter = writer;
+    streamEncoder = encoder;
+    streamWriter.write( "{\"operations\":[" );
+    for( Operation operation : operations ) {
+      streamOperation( operation );
+    }
+    operations.clear();
+  }
+
+  public boolean isStreaming() {
+    return streamWriter != null;
+  }
+
+  /*
+   * Writes the pending operation if the message has not been created and re-throws any problem
+   * that occurred while operations were streamed.
+   */
+  public void finishStreaming( JsonObject head ) throws IOException {
+    if( streamWriter == null ) {
+      throw new IllegalStateException( "Streaming not started" );
+    }
+    if( !alreadyCreated ) {
+      alreadyCreated = true;
+      appendPendingOperation();
+    }
+    if( streamProblem == null ) {
+      streamWriter.write( "],\"head\":" );
+      JsonObject streamedHead = streamEncoder != null ? streamEncoder.encodeHead( head ) : head;
+      streamedHead.writeTo( streamWriter );
+      streamWriter.write( '}' );
+      streamWriter.flush();
+    }
+    if( streamProblem != null ) {
+      throw streamProblem;
+    }
+  }
+
   public ResponseMessage createMessage() {
     ensureMessagePending();
     alreadyCreated = true;
@@ -118,6 +180,10 @@ public class ProtocolMessageWriter {
 
   private ResponseMessage createMessageObject() {
     appendPendingOperation();
+    if( streamWriter != null ) {
+      List<Operation> streamedOperations = Collections.emptyList();
+      return new ResponseMessage( head, streamedOperations );
+    }
     return new ResponseMessage( head, operations );
   }
 
@@ -131,7 +197,30 @@ public class ProtocolMessageWriter {
 
   private void appendPendingOperation() {
     if( pendingOperation != null ) {
-      operations.add( pendingOperation );
+      if( streamWriter != null ) {
+        streamOperation( pendingOperation );
+      } else {
+        operations.add( pendingOperation );
+      }
+    }
+  }
+
+  private void streamOperation( Operation operation ) {
+    if( streamProblem == null ) {
+      try {
+        if( operationStreamed ) {
+          streamWriter.write( ',' );
+        }
+        if( streamEncoder != null ) {
+          streamEncoder.encodeOperation( operation ).writeTo( streamWriter );
+        } else {
+          operation.toJson().writeTo( streamWriter );
+        }
+        operationStreamed = true;
+      } catch( IOException exception ) {
+        // remember the problem, it is re-thrown when the message is finished
+        streamProblem = exception;
+      }
     }
   }
 
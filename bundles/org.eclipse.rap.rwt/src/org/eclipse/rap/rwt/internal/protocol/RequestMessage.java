@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 EclipseSource and others.
+ * Copyright (c) 2014, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,9 +10,11 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 
 
 public class RequestMessage extends Message {
@@ -21,6 +23,10 @@ public class RequestMessage extends Message {
     super( json );
   }
 
+  protected RequestMessage( JsonReader reader ) throws IOException {
+    super( reader );
+  }
+
   protected RequestMessage( JsonObject head, List<Operation> operations ) {
     super( head, operations );
   }
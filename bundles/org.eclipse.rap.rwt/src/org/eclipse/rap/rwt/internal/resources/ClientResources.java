@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -113,6 +113,7 @@ public final class ClientResources {
   }
 
   private void registerThemeResources() {
+    themeManager.createThemeStores( applicationContext );
     String[] themeIds = themeManager.getRegisteredThemeIds();
     for( String themeId : themeIds ) {
       Theme theme = themeManager.getTheme( themeId );
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static javax.servlet.http.HttpServletResponse.SC_METHOD_NOT_ALLOWED;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static org.eclipse.rap.rwt.internal.util.HTTP.CONTENT_ENCODING_GZIP;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_ACCEPT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_CONTENT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_ETAG;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_IF_MODIFIED_SINCE;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_IF_NONE_MATCH;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_LAST_MODIFIED;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_VARY;
+import static org.eclipse.rap.rwt.internal.util.HTTP.METHOD_GET;
+import static org.eclipse.rap.rwt.internal.util.HTTP.METHOD_HEAD;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.service.ResponseCompression;
+import org.eclipse.rap.rwt.internal.util.DigestUtil;
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+
+
+/**
+ * A resource manager that keeps the content of all registered resources in memory in addition to
+ * the copy in the resources directory. Equal contents are stored only once. Text based resources
+ * are pre-compressed with gzip. The resources can be served with strong entity tags and support
+ * for conditional requests by mapping the RWTServlet to the resources directory.
+ * <p>
+ * This class is not intended to be used by clients.
+ * </p>
+ */
+public class InMemoryResourceManager extends ResourceManagerImpl {
+
+  private static final String[] COMPRESSIBLE_EXTENSIONS = {
+    ".js", ".css", ".json", ".html", ".htm", ".txt", ".xml", ".svg"
+  };
+
+  private final Object lock;
+  private final Map<String,StoredResource> storedResources;
+  // guarded by 'lock'
+  private final Map<String,StoredResource> contents;
+
+  public InMemoryResourceManager( ResourceDirectory resourceDirectory ) {
+    super( resourceDirectory );
+    lock = new Object();
+    storedResources = new ConcurrentHashMap<>();
+    contents = new HashMap<>();
+  }
+
+  @Override
+  public boolean unregister( String name ) {
+    boolean result = super.unregister( name );
+    if( result ) {
+      synchronized( lock ) {
+        release( storedResources.remove( getRequestPath( name ) ) );
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public InputStream getRegisteredContent( String name ) {
+    ParamCheck.notNull( name, "name" );
+    InputStream result = null;
+    if( isRegistered( name ) ) {
+      StoredResource resource = storedResources.get( getRequestPath( name ) );
+      result = resource != null ? resource.getInputStream() : super.getRegisteredContent( name );
+    }
+    return result;
+  }
+
+  /**
+   * Sends the resource that is addressed by the path info of the given request.
+   */
+  public void serve( HttpServletRequest request,
+                     HttpServletResponse response,
+                     ServletContext servletContext ) throws IOException
+  {
+    String method = request.getMethod();
+    String path = request.getPathInfo();
+    StoredResource resource = path == null ? null : storedResources.get( path.substring( 1 ) );
+    if( !METHOD_GET.equals( method ) && !METHOD_HEAD.equals( method ) ) {
+      response.sendError( SC_METHOD_NOT_ALLOWED );
+    } else if( resource == null ) {
+      response.sendError( SC_NOT_FOUND );
+    } else {
+      send( request, response, resource, servletContext.getMimeType( path ) );
+    }
+  }
+
+  int getStoredContentCount() {
+    synchronized( lock ) {
+      return contents.size();
+    }
+  }
+
+  @Override
+  void writeResource( String name, InputStream inputStream, File location ) throws IOException {
+    byte[] content = ResourceUtil.readBinary( inputStream );
+    Files.write( location.toPath(), content );
+    store( getRequestPath( name ), content, isCompressible( name ) );
+  }
+
+  private void store( String path, byte[] content, boolean compress ) throws IOException {
+    String digest = DigestUtil.sha1( content );
+    StoredResource resource;
+    synchronized( lock ) {
+      resource = contents.get( digest );
+    }
+    if( resource == null ) {
+      // compress outside of the lock, a concurrently created instance wins below
+      resource = new StoredResource( digest, content, compress );
+    }
+    synchronized( lock ) {
+      StoredResource existing = contents.get( digest );
+      if( existing != null ) {
+        resource = existing;
+      } else {
+        contents.put( digest, resource );
+      }
+      resource.references++;
+      release( storedResources.put( path, resource ) );
+    }
+  }
+
+  private void release( StoredResource resource ) {
+    if( resource != null && --resource.references == 0 ) {
+      contents.remove( resource.getDigest() );
+    }
+  }
+
+  private static void send( HttpServletRequest request,
+                            HttpServletResponse response,
+                            StoredResource resource,
+                            String contentType ) throws IOException
+  {
+    boolean gzip = resource.hasGzipContent() && ResponseCompression.acceptsGzip( request );
+    String etag = resource.getETag( gzip );
+    if( resource.hasGzipContent() ) {
+      response.setHeader( HEADER_VARY, HEADER_ACCEPT_ENCODING );
+    }
+    response.setHeader( HEADER_ETAG, etag );
+    response.setDateHeader( HEADER_LAST_MODIFIED, resource.getLastModified() );
+    if( isNotModified( request, etag, resource.getLastModified() ) ) {
+      response.setStatus( SC_NOT_MODIFIED );
+    } else {
+      if( contentType != null ) {
+        response.setContentType( contentType );
+      }
+      if( gzip ) {
+        response.setHeader( HEADER_CONTENT_ENCODING, CONTENT_ENCODING_GZIP );
+      }
+      response.setContentLength( resource.getLength( gzip ) );
+      if( !METHOD_HEAD.equals( request.getMethod() ) ) {
+        resource.writeTo( response.getOutputStream(), gzip );
+      }
+    }
+  }
+
+  private static boolean isNotModified( HttpServletRequest request,
+                                        String etag,
+                                        long lastModified )
+  {
+    String ifNoneMatch = request.getHeader( HEADER_IF_NONE_MATCH );
+    if( ifNoneMatch != null ) {
+      return matches( ifNoneMatch, etag );
+    }
+    long ifModifiedSince = getDateHeader( request, HEADER_IF_MODIFIED_SINCE );
+    return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+  }
+
+  private static boolean matches( String ifNoneMatch, String etag ) {
+    for( String tag : ifNoneMatch.split( "," ) ) {
+      String trimmedTag = tag.trim();
+      if( trimmedTag.startsWith( "W/" ) ) {
+        trimmedTag = trimmedTag.substring( 2 );
+      }
+      if( "*".equals( trimmedTag ) || etag.equals( trimmedTag ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static long getDateHeader( HttpServletRequest request, String name ) {
+    try {
+      return request.getDateHeader( name );
+    } catch( @SuppressWarnings( "unused" ) IllegalArgumentException exception ) {
+      return -1;
+    }
+  }
+
+  private static boolean isCompressible( String name ) {
+    String lowerCaseName = name.toLowerCase( Locale.ENGLISH );
+    for( String extension : COMPRESSIBLE_EXTENSIONS ) {
+      if( lowerCaseName.endsWith( extension ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
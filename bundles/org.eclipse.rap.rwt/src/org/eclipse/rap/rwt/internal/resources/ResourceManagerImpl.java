@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,15 +12,13 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.resources;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -133,36 +131,30 @@ public class ResourceManagerImpl implements ResourceManager {
     return new StringBuilder()
       .append( ResourceDirectory.DIRNAME )
       .append( "/" )
-      .append( escapeResourceName( resourceName.replace( '\\', '/' ) ) )
+      .append( getRequestPath( resourceName ) )
       .toString();
   }
 
+  /*
+   * Returns the path of the resource relative to the resources directory as used in request URLs.
+   */
+  static String getRequestPath( String resourceName ) {
+    return escapeResourceName( resourceName.replace( '\\', '/' ) );
+  }
+
   private void internalRegister( String name, InputStream inputStream ) {
     File location = getDiskLocation( name );
     try {
       createDirectories( location );
-      writeResource( inputStream, location );
+      writeResource( name, inputStream, location );
     } catch ( IOException ioe ) {
       throw new RuntimeException( "Failed to register resource: " + name, ioe );
     }
     resources.add( name );
   }
 
-  private static void writeResource( InputStream inputStream, File location )
-    throws IOException
-  {
-    BufferedInputStream bufferedStream = new BufferedInputStream( inputStream );
-    OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( location ) );
-    try {
-      byte[] buffer = new byte[ 256 ];
-      int read = bufferedStream.read( buffer );
-      while( read != -1 ) {
-        outputStream.write( buffer, 0, read );
-        read = bufferedStream.read( buffer );
-      }
-    } finally {
-      outputStream.close();
-    }
+  void writeResource( String name, InputStream inputStream, File location ) throws IOException {
+    Files.copy( inputStream, location.toPath(), StandardCopyOption.REPLACE_EXISTING );
   }
 
   private static void createDirectories( File file ) throws IOException {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2012 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -40,7 +40,7 @@ public final class ResourceUtil {
   public static byte[] readBinary( InputStream stream ) throws IOException {
     ByteArrayOutputStream bufferedResult = new ByteArrayOutputStream();
     BufferedInputStream bufferedStream = new BufferedInputStream( stream );
-    byte[] buffer = new byte[ 256 ];
+    byte[] buffer = new byte[ 8192 ];
     int read = bufferedStream.read( buffer );
     while( read != -1 ) {
       bufferedResult.write( buffer, 0, read );
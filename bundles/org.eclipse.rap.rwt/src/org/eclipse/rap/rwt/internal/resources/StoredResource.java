@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.eclipse.rap.rwt.internal.util.PooledGzipOutputStream;
+
+
+/*
+ * The content of a registered resource, kept in direct (off-heap) buffers. Resources with equal
+ * content share a single instance, which is identified by the digest of its content.
+ */
+final class StoredResource {
+
+  private final String digest;
+  private final ByteBuffer content;
+  private final ByteBuffer gzipContent;
+  private final long lastModified;
+  // guarded by the lock of the InMemoryResourceManager
+  int references;
+
+  StoredResource( String digest, byte[] content, boolean compress ) throws IOException {
+    this.digest = digest;
+    this.content = toDirectBuffer( content );
+    byte[] compressed = compress ? gzip( content ) : null;
+    gzipContent = compressed != null && compressed.length < content.length
+                ? toDirectBuffer( compressed )
+                : null;
+    lastModified = System.currentTimeMillis() / 1000 * 1000;
+  }
+
+  String getDigest() {
+    return digest;
+  }
+
+  String getETag( boolean gzip ) {
+    return "\"" + digest + ( gzip ? "-gzip" : "" ) + "\"";
+  }
+
+  long getLastModified() {
+    return lastModified;
+  }
+
+  boolean hasGzipContent() {
+    return gzipContent != null;
+  }
+
+  int getLength( boolean gzip ) {
+    return getBuffer( gzip ).remaining();
+  }
+
+  InputStream getInputStream() {
+    return new BufferInputStream( content.duplicate() );
+  }
+
+  void writeTo( OutputStream outputStream, boolean gzip ) throws IOException {
+    ByteBuffer buffer = getBuffer( gzip ).duplicate();
+    WritableByteChannel channel = Channels.newChannel( outputStream );
+    while( buffer.hasRemaining() ) {
+      channel.write( buffer );
+    }
+  }
+
+  private ByteBuffer getBuffer( boolean gzip ) {
+    return gzip ? gzipContent : content;
+  }
+
+  private static ByteBuffer toDirectBuffer( byte[] bytes ) {
+    ByteBuffer result = ByteBuffer.allocateDirect( bytes.length );
+    result.put( bytes );
+    result.flip();
+    return result.asReadOnlyBuffer();
+  }
+
+  private static byte[] gzip( byte[] content ) throws IOException {
+    return PooledGzipOutputStream.compress( content, 0, content.length );
+  }
+
+  private static class BufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    BufferInputStream( ByteBuffer buffer ) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read( byte[] bytes, int offset, int length ) {
+      int result = -1;
+      if( length == 0 ) {
+        result = 0;
+      } else if( buffer.hasRemaining() ) {
+        result = Math.min( length, buffer.remaining() );
+        buffer.get( bytes, offset, result );
+      }
+      return result;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,10 +14,14 @@ package org.eclipse.rap.rwt.internal.serverpush;
 import java.io.IOException;
 import java.io.PrintWriter;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushRequestRegistry.ParkedRequest;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
 import org.eclipse.rap.rwt.internal.util.SerializableLock;
@@ -41,6 +45,8 @@ public final class ServerPushManager implements SerializableCompatibility {
   private boolean hasRunnables;
   private int requestCheckInterval;
   private transient ServerPushRequestTracker serverPushRequestTracker;
+  // the suspended request when running in asynchronous mode
+  private transient ParkedRequest parkedRequest;
 
   private ServerPushManager() {
     lock = new SerializableLock();
@@ -56,7 +62,7 @@ public final class ServerPushManager implements SerializableCompatibility {
 
   public boolean isCallBackRequestBlocked() {
     synchronized( lock ) {
-      return !serverPushRequestTracker.hasActive();
+      return !serverPushRequestTracker.hasActive() || parkedRequest != null;
     }
   }
 
@@ -71,6 +77,9 @@ public final class ServerPushManager implements SerializableCompatibility {
   public void releaseBlockedRequest() {
     synchronized( lock ) {
       lock.notifyAll();
+      if( parkedRequest != null && !mustBlockCallBackRequest() ) {
+        parkedRequest.complete();
+      }
     }
   }
 
@@ -124,6 +133,15 @@ public final class ServerPushManager implements SerializableCompatibility {
     return isServerPushActive() || forceServerPushForPendingRunnables();
   }
 
+  void processRequest( HttpServletRequest request, HttpServletResponse response ) {
+    ServerPushRequestRegistry registry = getRequestRegistry();
+    if( registry != null && request.isAsyncSupported() ) {
+      processAsyncRequest( request, registry );
+    } else {
+      processRequest( response );
+    }
+  }
+
   void processRequest( HttpServletResponse response ) {
     synchronized( lock ) {
       if( isCallBackRequestBlocked() ) {
@@ -149,6 +167,66 @@ public final class ServerPushManager implements SerializableCompatibility {
     }
   }
 
+  private void processAsyncRequest( HttpServletRequest request,
+                                    ServerPushRequestRegistry registry )
+  {
+    synchronized( lock ) {
+      if( parkedRequest != null ) {
+        // a new server push request supersedes the parked one
+        parkedRequest.complete();
+      }
+      if( isCallBackRequestBlocked() ) {
+        releaseBlockedRequest();
+      }
+      if( mustBlockCallBackRequest() ) {
+        AsyncContext asyncContext = request.startAsync();
+        // parked requests are checked by the registry timer, not by the container
+        asyncContext.setTimeout( 0 );
+        UISession uiSession = ContextProvider.getUISession();
+        ParkedRequest newRequest = registry.park( uiSession, this, asyncContext );
+        if( !newRequest.isDone() ) {
+          parkedRequest = newRequest;
+        }
+      }
+    }
+  }
+
+  void checkParkedRequest( ParkedRequest request, long currentTime ) {
+    boolean checkConnection = false;
+    synchronized( lock ) {
+      if( request.isCheckDue( currentTime, requestCheckInterval ) ) {
+        if( canReleaseParkedRequest( request, currentTime ) ) {
+          request.complete();
+        } else {
+          checkConnection = true;
+        }
+      }
+    }
+    // the keep-alive write may block on a slow client, it runs neither under the lock of the
+    // session nor on the timer thread that is shared by all sessions
+    if( checkConnection ) {
+      request.checkConnection();
+    }
+  }
+
+  void notifyParkedRequestDone( ParkedRequest request ) {
+    synchronized( lock ) {
+      if( parkedRequest == request ) {
+        parkedRequest = null;
+      }
+    }
+  }
+
+  private boolean canReleaseParkedRequest( ParkedRequest request, long currentTime ) {
+    boolean result = false;
+    if( !mustBlockCallBackRequest() ) {
+      result = true;
+    } else if( isSessionExpired( request.getUISession(), request.getStartTime(), currentTime ) ) {
+      result = true;
+    }
+    return result;
+  }
+
   private boolean canReleaseBlockedRequest( HttpServletResponse response, long requestStartTime ) {
     boolean result = false;
     if( !mustBlockCallBackRequest() ) {
@@ -188,8 +266,11 @@ public final class ServerPushManager implements SerializableCompatibility {
   }
 
   static boolean isSessionExpired( long requestStartTime, long currentTime ) {
-    UISession uiSession = ContextProvider.getUISession();
-    if( uiSession == null ) {
+    return isSessionExpired( ContextProvider.getUISession(), requestStartTime, currentTime );
+  }
+
+  static boolean isSessionExpired( UISession uiSession, long requestStartTime, long currentTime ) {
+    if( uiSession == null || !uiSession.isBound() ) {
       return true;
     }
     HttpSession httpSession = uiSession.getHttpSession();
@@ -200,7 +281,7 @@ public final class ServerPushManager implements SerializableCompatibility {
     return false;
   }
 
-  private static boolean isConnectionAlive( HttpServletResponse response ) {
+  static boolean isConnectionAlive( HttpServletResponse response ) {
     try {
       PrintWriter writer = response.getWriter();
       writer.write( " " );
@@ -210,6 +291,13 @@ public final class ServerPushManager implements SerializableCompatibility {
     }
   }
 
+  private static ServerPushRequestRegistry getRequestRegistry() {
+    if( RWTProperties.isAsyncServerPush() ) {
+      return ContextProvider.getApplicationContext().getServerPushRequestRegistry();
+    }
+    return null;
+  }
+
   private static boolean forceServerPushForPendingRunnables() {
     boolean result = false;
     ServiceStore serviceStore = ContextProvider.getServiceStore();
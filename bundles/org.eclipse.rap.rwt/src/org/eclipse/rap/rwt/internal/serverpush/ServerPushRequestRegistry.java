@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.serverpush;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.service.UISession;
+
+
+/**
+ * Application scoped registry of server push requests that have been suspended with an
+ * <code>AsyncContext</code> instead of blocking a container thread. A single timer thread checks
+ * the parked requests periodically for destroyed or expired sessions. The keep-alive writes that
+ * detect broken connections may block on slow clients and are therefore handed to a separate
+ * executor.
+ */
+public class ServerPushRequestRegistry {
+
+  private static final long CHECK_PERIOD = 1000;
+  private static final long CONNECTION_CHECK_KEEP_ALIVE = 60;
+  private static final String CONNECTION_CHECK_THREAD_NAME = "RWT server push connection check";
+
+  private final Map<UISession, ParkedRequest> parkedRequests;
+  private final Executor connectionCheckExecutor;
+  private final Object timerLock;
+  private Timer timer;
+
+  public ServerPushRequestRegistry() {
+    this( createConnectionCheckExecutor() );
+  }
+
+  ServerPushRequestRegistry( Executor connectionCheckExecutor ) {
+    this.connectionCheckExecutor = connectionCheckExecutor;
+    parkedRequests = new ConcurrentHashMap<>();
+    timerLock = new Object();
+  }
+
+  public int getParkedRequestCount() {
+    return parkedRequests.size();
+  }
+
+  public void deactivate() {
+    synchronized( timerLock ) {
+      if( timer != null ) {
+        timer.cancel();
+        timer = null;
+      }
+    }
+    for( ParkedRequest parkedRequest : new ArrayList<>( parkedRequests.values() ) ) {
+      parkedRequest.complete();
+    }
+  }
+
+  ParkedRequest park( UISession uiSession, ServerPushManager manager, AsyncContext asyncContext ) {
+    ParkedRequest previous = parkedRequests.get( uiSession );
+    if( previous != null ) {
+      previous.complete();
+    }
+    ParkedRequest parkedRequest = new ParkedRequest( this, uiSession, manager, asyncContext );
+    parkedRequests.put( uiSession, parkedRequest );
+    parkedRequest.attach();
+    ensureTimer();
+    return parkedRequest;
+  }
+
+  void checkParkedRequests( long currentTime ) {
+    for( ParkedRequest parkedRequest : new ArrayList<>( parkedRequests.values() ) ) {
+      parkedRequest.check( currentTime );
+    }
+  }
+
+  private void remove( ParkedRequest parkedRequest ) {
+    parkedRequests.remove( parkedRequest.uiSession, parkedRequest );
+  }
+
+  private void ensureTimer() {
+    synchronized( timerLock ) {
+      if( timer == null ) {
+        timer = new Timer( "RWT server push scheduler", true );
+        timer.schedule( new CheckTask(), CHECK_PERIOD, CHECK_PERIOD );
+      }
+    }
+  }
+
+  private static Executor createConnectionCheckExecutor() {
+    // threads are only created for pending keep-alive writes and terminate when idle
+    return new ThreadPoolExecutor( 0,
+                                   Integer.MAX_VALUE,
+                                   CONNECTION_CHECK_KEEP_ALIVE,
+                                   TimeUnit.SECONDS,
+                                   new SynchronousQueue<Runnable>(),
+                                   new ConnectionCheckThreadFactory() );
+  }
+
+  private static class ConnectionCheckThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread( Runnable runnable ) {
+      Thread thread = new Thread( runnable, CONNECTION_CHECK_THREAD_NAME );
+      thread.setDaemon( true );
+      return thread;
+    }
+
+  }
+
+  private class CheckTask extends TimerTask {
+
+    @Override
+    public void run() {
+      try {
+        checkParkedRequests( System.currentTimeMillis() );
+      } catch( RuntimeException exception ) {
+        // keep the shared timer alive, a single broken request must not affect the others
+        ServletLog.log( "Failed to check parked server push requests", exception );
+      }
+    }
+
+  }
+
+  static class ParkedRequest implements AsyncListener {
+
+    private static final int IDLE = 0;
+    private static final int WRITING = 1;
+    private static final int COMPLETE_PENDING = 2;
+
+    private final ServerPushRequestRegistry registry;
+    private final UISession uiSession;
+    private final ServerPushManager manager;
+    private final AsyncContext asyncContext;
+    private final long startTime;
+    private final AtomicBoolean done;
+    // hands the completion of the context over to a running keep-alive write
+    private final AtomicInteger writeState;
+    private long lastCheckTime;
+
+    private ParkedRequest( ServerPushRequestRegistry registry,
+                           UISession uiSession,
+                           ServerPushManager manager,
+                           AsyncContext asyncContext )
+    {
+      this.registry = registry;
+      this.uiSession = uiSession;
+      this.manager = manager;
+      this.asyncContext = asyncContext;
+      done = new AtomicBoolean();
+      writeState = new AtomicInteger( IDLE );
+      startTime = System.currentTimeMillis();
+      lastCheckTime = startTime;
+    }
+
+    UISession getUISession() {
+      return uiSession;
+    }
+
+    long getStartTime() {
+      return startTime;
+    }
+
+    private HttpServletResponse getResponse() {
+      return ( HttpServletResponse )asyncContext.getResponse();
+    }
+
+    boolean isDone() {
+      return done.get();
+    }
+
+    /*
+     * Writes a keep-alive on the connection check executor and completes the request if the
+     * connection is broken. Does nothing while a previous write is still pending.
+     */
+    void checkConnection() {
+      if( writeState.compareAndSet( IDLE, WRITING ) ) {
+        registry.connectionCheckExecutor.execute( new Runnable() {
+          @Override
+          public void run() {
+            writeKeepAlive();
+          }
+        } );
+      }
+    }
+
+    // only called from the timer thread
+    boolean isCheckDue( long currentTime, int checkInterval ) {
+      if( currentTime - lastCheckTime >= checkInterval ) {
+        lastCheckTime = currentTime;
+        return true;
+      }
+      return false;
+    }
+
+    void complete() {
+      if( markDone() ) {
+        // a pending keep-alive write completes the context itself once the write has returned
+        if( !writeState.compareAndSet( WRITING, COMPLETE_PENDING ) ) {
+          completeContext();
+        }
+      }
+    }
+
+    @Override
+    public void onComplete( AsyncEvent event ) throws IOException {
+      markDone();
+    }
+
+    @Override
+    public void onTimeout( AsyncEvent event ) throws IOException {
+      complete();
+    }
+
+    @Override
+    public void onError( AsyncEvent event ) throws IOException {
+      complete();
+    }
+
+    @Override
+    public void onStartAsync( AsyncEvent event ) throws IOException {
+      // nothing to do
+    }
+
+    private void attach() {
+      asyncContext.addListener( this );
+      if( !uiSession.isBound() ) {
+        complete();
+      }
+    }
+
+    private void check( long currentTime ) {
+      if( !uiSession.isBound() ) {
+        complete();
+      } else if( !isDone() ) {
+        manager.checkParkedRequest( this, currentTime );
+      }
+    }
+
+    private void writeKeepAlive() {
+      boolean alive = true;
+      try {
+        // the response must not be written once the context has been completed
+        alive = done.get() || ServerPushManager.isConnectionAlive( getResponse() );
+      } catch( @SuppressWarnings( "unused" ) IllegalStateException ise ) {
+        // request has already been completed by the container
+        alive = false;
+      } finally {
+        if( !writeState.compareAndSet( WRITING, IDLE ) ) {
+          completeContext();
+        }
+      }
+      if( !alive ) {
+        complete();
+      }
+    }
+
+    private void completeContext() {
+      try {
+        asyncContext.complete();
+      } catch( @SuppressWarnings( "unused" ) IllegalStateException ise ) {
+        // request has already been completed or dispatched by the container
+      }
+    }
+
+    private boolean markDone() {
+      if( !done.compareAndSet( false, true ) ) {
+        return false;
+      }
+      registry.remove( this );
+      manager.notifyParkedRequestDone( this );
+      return true;
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,29 +12,40 @@
 package org.eclipse.rap.rwt.internal.service;
 
 import static javax.servlet.http.HttpServletResponse.SC_FORBIDDEN;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
 import static javax.servlet.http.HttpServletResponse.SC_PRECONDITION_FAILED;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.ENCODING;
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.REQUEST_COUNTER;
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.SHUTDOWN;
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getUISession;
 import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
 import static org.eclipse.rap.rwt.internal.util.HTTP.CONTENT_TYPE_JSON;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.json.Utf8JsonWriter;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.rap.rwt.internal.protocol.CompactMessageEncoder;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
 import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
 import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
+import org.eclipse.rap.rwt.internal.service.ResponseReplayBuffer.Recorder;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 import org.eclipse.rap.rwt.service.UISession;
 
@@ -42,8 +53,11 @@ import org.eclipse.rap.rwt.service.UISession;
 public class LifeCycleServiceHandler implements ServiceHandler {
 
   private static final String PROP_ERROR = "error";
-  private static final String ATTR_LAST_RESPONSE_MESSAGE
-    = LifeCycleServiceHandler.class.getName() + "#lastResponseMessage";
+  // streamed responses are not sent before this size is reached, so that most of them can still
+  // be replaced with an error response if processing fails
+  private static final int STREAMING_BUFFER_SIZE = 32 * 1024;
+  private static final String ATTR_LAST_RESPONSE
+    = LifeCycleServiceHandler.class.getName() + "#lastResponse";
 
   private final MessageChainReference messageChainReference;
 
@@ -92,20 +106,82 @@ public class LifeCycleServiceHandler implements ServiceHandler {
       writeEmptyMessage( response );
     } else if( !isRequestCounterValid( requestMessage ) ) {
       if( isDuplicateRequest( requestMessage ) ) {
-        writeBufferedResponse( response );
+        writeBufferedResponse( request, response );
       } else {
         writeInvalidRequestCounterError( response );
       }
+    } else if( RWTProperties.isStreamingResponse() ) {
+      processStreamedMessage( requestMessage, request, response );
+      RequestCounter.getInstance().nextRequestId();
     } else {
       ResponseMessage responseMessage = processMessage( requestMessage );
-      writeResponseMessage( responseMessage, response );
+      CompactMessageEncoder encoder = createEncoder( requestMessage, request );
+      if( ResponseCompression.isEnabled( request ) ) {
+        writeCompressedResponseMessage( responseMessage, encoder, response );
+      } else {
+        writeResponseMessage( responseMessage, encoder, response );
+      }
       RequestCounter.getInstance().nextRequestId();
     }
   }
 
+  private void processStreamedMessage( RequestMessage requestMessage,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response )
+    throws IOException
+  {
+    response.setBufferSize( STREAMING_BUFFER_SIZE );
+    boolean compress = ResponseCompression.isEnabled( request );
+    Writer responseWriter = compress
+                          ? ResponseCompression.startStreaming( response )
+                          : response.getWriter();
+    ProtocolMessageWriter writer = ContextProvider.getProtocolWriter();
+    Recorder recorder = createRecorder( responseWriter );
+    try {
+      writer.startStreaming( recorder, createEncoder( requestMessage, request ) );
+      ResponseMessage responseMessage = processMessage( requestMessage );
+      writer.finishStreaming( responseMessage.getHead() );
+      if( compress ) {
+        ResponseCompression.finishStreaming( responseWriter );
+      }
+    } catch( RuntimeException exception ) {
+      replaceStreamedResponse( response, compress );
+      throw exception;
+    } finally {
+      if( compress ) {
+        ResponseCompression.releaseStreaming( responseWriter );
+      }
+    }
+    bufferResponse( recorder.createBuffer() );
+  }
+
+  /*
+   * A partially streamed message cannot be processed by the client. If nothing has been sent yet,
+   * it is replaced with an error response. The partial message is never buffered for replay.
+   */
+  private static void replaceStreamedResponse( HttpServletResponse response, boolean compressed )
+    throws IOException
+  {
+    if( !response.isCommitted() ) {
+      response.reset();
+      setJsonResponseHeaders( response );
+      response.setStatus( SC_INTERNAL_SERVER_ERROR );
+      // the output stream has already been obtained for a compressed response
+      Writer writer = compressed
+                    ? new OutputStreamWriter( response.getOutputStream(), CHARSET_UTF_8 )
+                    : response.getWriter();
+      writeErrorMessage( writer, "request failed" );
+      writer.flush();
+    }
+  }
+
   private static RequestMessage readRequestMessage( HttpServletRequest request ) {
     try {
-      return new ClientMessage( JsonObject.readFrom( getReader( request ) ) );
+      Metrics metrics = getApplicationContext().getMetrics();
+      long startTime = metrics.start();
+      ClientMessage message = new ClientMessage( new JsonReader( getReader( request ) ) );
+      metrics.stop( Metrics.CATEGORY_JSON, Metrics.JSON_PARSE, startTime );
+      return message;
     } catch( IOException ioe ) {
       throw new IllegalStateException( "Unable to read the json message", ioe );
     }
@@ -125,6 +201,8 @@ public class LifeCycleServiceHandler implements ServiceHandler {
   }
 
   private ResponseMessage processMessage( RequestMessage requestMessage ) {
+    // widgets and the display are not tracked by the UI session, see SessionReplication
+    markUISessionModified();
     return messageChainReference.get().handleMessage( requestMessage );
   }
 
@@ -143,11 +221,34 @@ public class LifeCycleServiceHandler implements ServiceHandler {
     return sentRequestId != null && sentRequestId.asInt() == currentRequestId - 1;
   }
 
+  /*
+   * Returns an encoder if the compact protocol is enabled and requested by the client, otherwise
+   * null. Error responses are always sent as plain JSON. Compressed responses are sent as plain
+   * JSON as well, gzip compresses the repetitive plain JSON better than the compact encoding.
+   */
+  static CompactMessageEncoder createEncoder( RequestMessage requestMessage,
+                                              HttpServletRequest request )
+  {
+    CompactMessageEncoder result = null;
+    if( RWTProperties.isCompactProtocol() && !ResponseCompression.isEnabled( request ) ) {
+      JsonValue encoding = requestMessage.getHead().get( ENCODING );
+      if( JsonValue.valueOf( CompactMessageEncoder.ENCODING ).equals( encoding ) ) {
+        result = new CompactMessageEncoder();
+      }
+    }
+    return result;
+  }
+
   private static void shutdownUISession() {
     UISessionImpl uiSession = ( UISessionImpl )getUISession();
     uiSession.shutdown();
   }
 
+  private static void markUISessionModified() {
+    UISessionImpl uiSession = ( UISessionImpl )getUISession();
+    uiSession.markModified();
+  }
+
   private static void writeInvalidRequestCounterError( HttpServletResponse response )
     throws IOException
   {
@@ -163,9 +264,13 @@ public class LifeCycleServiceHandler implements ServiceHandler {
                                   String errorType ) throws IOException
   {
     response.setStatus( statusCode );
-    ProtocolMessageWriter writer = new ProtocolMessageWriter();
-    writer.appendHead( PROP_ERROR, JsonValue.valueOf( errorType ) );
-    writer.createMessage().toJson().writeTo( response.getWriter() );
+    writeErrorMessage( response.getWriter(), errorType );
+  }
+
+  private static void writeErrorMessage( Writer writer, String errorType ) throws IOException {
+    ProtocolMessageWriter protocolWriter = new ProtocolMessageWriter();
+    protocolWriter.appendHead( PROP_ERROR, JsonValue.valueOf( errorType ) );
+    protocolWriter.createMessage().toJson().writeTo( writer );
   }
 
   private static boolean isSessionShutdown( RequestMessage requestMessage ) {
@@ -182,26 +287,70 @@ public class LifeCycleServiceHandler implements ServiceHandler {
   }
 
   private static void writeResponseMessage( ResponseMessage responseMessage,
+                                            CompactMessageEncoder encoder,
                                             ServletResponse response )
     throws IOException
   {
-    bufferMessage( responseMessage );
-    responseMessage.toJson().writeTo( response.getWriter() );
+    Metrics metrics = getApplicationContext().getMetrics();
+    Recorder recorder = createRecorder( response.getWriter() );
+    long startTime = metrics.start();
+    toJson( responseMessage, encoder ).writeTo( recorder );
+    metrics.stop( Metrics.CATEGORY_JSON, Metrics.JSON_SERIALIZE, startTime );
+    bufferResponse( recorder.createBuffer() );
   }
 
-  private static void writeBufferedResponse( HttpServletResponse response ) throws IOException {
-    getBufferedMessage().toJson().writeTo( response.getWriter() );
+  /*
+   * The message is encoded into UTF-8 bytes first and then sent, compressed if not smaller than the
+   * compression threshold. Content-Length can be set since the size is known in advance.
+   */
+  private static void writeCompressedResponseMessage( ResponseMessage responseMessage,
+                                                      CompactMessageEncoder encoder,
+                                                      HttpServletResponse response )
+    throws IOException
+  {
+    Metrics metrics = getApplicationContext().getMetrics();
+    long startTime = metrics.start();
+    Utf8JsonWriter writer = new Utf8JsonWriter().write( toJson( responseMessage, encoder ) );
+    metrics.stop( Metrics.CATEGORY_JSON, Metrics.JSON_SERIALIZE, startTime );
+    ResponseReplayBuffer responseBuffer
+      = ResponseReplayBuffer.create( writer.toByteArray(), RWTProperties.isCompressReplayBuffer() );
+    ResponseCompression.send( responseBuffer, response );
+    bufferResponse( responseBuffer );
+  }
+
+  private static JsonObject toJson( ResponseMessage responseMessage,
+                                    CompactMessageEncoder encoder )
+  {
+    return encoder != null ? encoder.encode( responseMessage ) : responseMessage.toJson();
+  }
+
+  private static Recorder createRecorder( Writer writer ) throws IOException {
+    return new Recorder( writer, RWTProperties.isCompressReplayBuffer() );
+  }
+
+  private static void writeBufferedResponse( HttpServletRequest request,
+                                             HttpServletResponse response )
+    throws IOException
+  {
+    ResponseReplayBuffer bufferedResponse = getBufferedResponse();
+    if( bufferedResponse != null ) {
+      if( ResponseCompression.isEnabled( request ) ) {
+        ResponseCompression.send( bufferedResponse, response );
+      } else {
+        bufferedResponse.writeTo( response.getWriter() );
+      }
+    }
   }
 
-  private static void bufferMessage( ResponseMessage responseMessage ) {
+  private static void bufferResponse( ResponseReplayBuffer responseBuffer ) {
     UISession uiSession = getUISession();
     if( uiSession != null ) {
-      uiSession.setAttribute( ATTR_LAST_RESPONSE_MESSAGE, responseMessage );
+      uiSession.setAttribute( ATTR_LAST_RESPONSE, responseBuffer );
     }
   }
 
-  private static ResponseMessage getBufferedMessage() {
-    return ( ResponseMessage )getUISession().getAttribute( ATTR_LAST_RESPONSE_MESSAGE );
+  static ResponseReplayBuffer getBufferedResponse() {
+    return ( ResponseReplayBuffer )getUISession().getAttribute( ATTR_LAST_RESPONSE );
   }
 
 }
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
+import static org.eclipse.rap.rwt.internal.util.HTTP.CONTENT_ENCODING_GZIP;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_ACCEPT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_CONTENT_ENCODING;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_VARY;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
+import org.eclipse.rap.rwt.internal.util.PooledGzipOutputStream;
+
+
+/*
+ * Sends UI responses gzip compressed if enabled with the system property
+ * RWTProperties#COMPRESS_RESPONSES and accepted by the client. The compression ratio and the time
+ * spent for compression are recorded in the metrics of the application context.
+ */
+public final class ResponseCompression {
+
+  private static final int DEFAULT_THRESHOLD = 1024;
+  private static final Charset UTF_8 = Charset.forName( CHARSET_UTF_8 );
+
+  private ResponseCompression() {
+    // prevent instantiation
+  }
+
+  public static boolean isEnabled( HttpServletRequest request ) {
+    return RWTProperties.isCompressResponses() && acceptsGzip( request );
+  }
+
+  public static boolean acceptsGzip( HttpServletRequest request ) {
+    String acceptEncoding = request.getHeader( HEADER_ACCEPT_ENCODING );
+    if( acceptEncoding != null ) {
+      for( String coding : acceptEncoding.split( "," ) ) {
+        String[] parts = coding.split( ";" );
+        String name = parts[ 0 ].trim().toLowerCase( Locale.ENGLISH );
+        if( CONTENT_ENCODING_GZIP.equals( name ) || "*".equals( name ) ) {
+          return parts.length < 2 || !isZeroQuality( parts[ 1 ] );
+        }
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Sends the content of the buffer as the response. The content is compressed if it is not
+   * smaller than the threshold. Content that is already compressed is sent as is.
+   */
+  static void send( ResponseReplayBuffer buffer, HttpServletResponse response )
+    throws IOException
+  {
+    response.setHeader( HEADER_VARY, HEADER_ACCEPT_ENCODING );
+    byte[] content = buffer.getContent();
+    if( buffer.isCompressed() ) {
+      writeCompressed( response, content );
+    } else if( content.length >= RWTProperties.getCompressionThreshold( DEFAULT_THRESHOLD ) ) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream( content.length / 4 + 64 );
+      PooledGzipOutputStream outputStream = new PooledGzipOutputStream( bytes );
+      outputStream.write( content );
+      outputStream.close();
+      recordCompression( outputStream );
+      writeCompressed( response, bytes.toByteArray() );
+    } else {
+      response.setContentLength( content.length );
+      response.getOutputStream().write( content );
+    }
+  }
+
+  /*
+   * Returns a writer that compresses a streamed response regardless of its size. The writer must
+   * be finished with finishStreaming() and released with releaseStreaming() on every exit path.
+   */
+  static Writer startStreaming( HttpServletResponse response ) throws IOException {
+    response.setHeader( HEADER_VARY, HEADER_ACCEPT_ENCODING );
+    response.setHeader( HEADER_CONTENT_ENCODING, CONTENT_ENCODING_GZIP );
+    return new StreamingWriter( new PooledGzipOutputStream( response.getOutputStream() ) );
+  }
+
+  static void finishStreaming( Writer writer ) throws IOException {
+    StreamingWriter streamingWriter = ( StreamingWriter )writer;
+    streamingWriter.flush();
+    streamingWriter.outputStream.finish();
+    streamingWriter.outputStream.flush();
+    recordCompression( streamingWriter.outputStream );
+  }
+
+  /*
+   * Returns the deflater of a streaming writer to the pool, does nothing if the writer has been
+   * finished already.
+   */
+  static void releaseStreaming( Writer writer ) {
+    ( ( StreamingWriter )writer ).outputStream.release();
+  }
+
+  private static void recordCompression( PooledGzipOutputStream outputStream ) {
+    Metrics metrics = getApplicationContext().getMetrics();
+    metrics.recordCompression( outputStream.getInputSize(),
+                               outputStream.getOutputSize(),
+                               outputStream.getCompressionTime() );
+  }
+
+  private static void writeCompressed( HttpServletResponse response, byte[] content )
+    throws IOException
+  {
+    response.setHeader( HEADER_CONTENT_ENCODING, CONTENT_ENCODING_GZIP );
+    response.setContentLength( content.length );
+    response.getOutputStream().write( content );
+  }
+
+  private static boolean isZeroQuality( String parameter ) {
+    String trimmedParameter = parameter.trim();
+    if( trimmedParameter.startsWith( "q=" ) ) {
+      try {
+        return Float.parseFloat( trimmedParameter.substring( 2 ) ) == 0;
+      } catch( @SuppressWarnings( "unused" ) NumberFormatException exception ) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private static class StreamingWriter extends OutputStreamWriter {
+
+    final PooledGzipOutputStream outputStream;
+
+    StreamingWriter( PooledGzipOutputStream outputStream ) {
+      super( outputStream, UTF_8 );
+      this.outputStream = outputStream;
+    }
+
+  }
+
+}
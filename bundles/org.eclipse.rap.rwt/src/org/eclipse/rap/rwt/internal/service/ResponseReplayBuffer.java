@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.rap.rwt.internal.util.PooledGzipOutputStream;
+
+
+/*
+ * Holds the encoded content of the last response of a UI session in order to answer duplicate
+ * requests. The content is kept as UTF-8 bytes, optionally gzip compressed.
+ */
+class ResponseReplayBuffer implements Serializable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final byte[] content;
+  private final boolean compressed;
+
+  ResponseReplayBuffer( byte[] content, boolean compressed ) {
+    this.content = content;
+    this.compressed = compressed;
+  }
+
+  /*
+   * Creates a buffer for a response that has already been encoded as UTF-8.
+   */
+  static ResponseReplayBuffer create( byte[] content, boolean compress ) throws IOException {
+    byte[] bufferContent = content;
+    if( compress ) {
+      bufferContent = PooledGzipOutputStream.compress( content, 0, content.length );
+    }
+    return new ResponseReplayBuffer( bufferContent, compress );
+  }
+
+  int getSize() {
+    return content.length;
+  }
+
+  byte[] getContent() {
+    return content;
+  }
+
+  boolean isCompressed() {
+    return compressed;
+  }
+
+  void writeTo( Writer writer ) throws IOException {
+    InputStream inputStream = new ByteArrayInputStream( content );
+    if( compressed ) {
+      inputStream = new GZIPInputStream( inputStream, BUFFER_SIZE );
+    }
+    try( Reader reader = new InputStreamReader( inputStream, CHARSET_UTF_8 ) ) {
+      char[] buffer = new char[ BUFFER_SIZE ];
+      int read = reader.read( buffer );
+      while( read != -1 ) {
+        writer.write( buffer, 0, read );
+        read = reader.read( buffer );
+      }
+    }
+  }
+
+  /*
+   * Passes the response to the servlet writer and records its encoded content at the same time.
+   */
+  static class Recorder extends Writer {
+
+    private final Writer writer;
+    private final boolean compress;
+    private final ByteArrayOutputStream bytes;
+    private final Writer encoder;
+
+    Recorder( Writer writer, boolean compress ) throws IOException {
+      this.writer = writer;
+      this.compress = compress;
+      bytes = new ByteArrayOutputStream( BUFFER_SIZE );
+      OutputStream outputStream = compress ? new PooledGzipOutputStream( bytes ) : bytes;
+      encoder = new OutputStreamWriter( outputStream, CHARSET_UTF_8 );
+    }
+
+    @Override
+    public void write( int character ) throws IOException {
+      writer.write( character );
+      encoder.write( character );
+    }
+
+    @Override
+    public void write( char[] buffer, int offset, int length ) throws IOException {
+      writer.write( buffer, offset, length );
+      encoder.write( buffer, offset, length );
+    }
+
+    @Override
+    public void write( String string, int offset, int length ) throws IOException {
+      writer.write( string, offset, length );
+      encoder.write( string, offset, length );
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+
+    ResponseReplayBuffer createBuffer() throws IOException {
+      encoder.close();
+      return new ResponseReplayBuffer( bytes.toByteArray(), compress );
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,8 +18,11 @@ import java.io.IOException;
 
 import javax.servlet.http.HttpServletResponse;
 
+import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.protocol.CompactMessageEncoder;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.textsize.MeasurementUtil;
 import org.eclipse.rap.rwt.internal.theme.Theme;
@@ -30,6 +33,7 @@ import org.eclipse.rap.rwt.internal.util.HTTP;
 public class StartupJson {
 
   static final String PROPERTY_URL = "url";
+  static final String PROPERTY_ENCODINGS = "encodings";
   static final String DISPLAY_TYPE = "rwt.widgets.Display";
   static final String THEME_STORE_TYPE = "rwt.theme.ThemeStore";
   static final String METHOD_LOAD_FALLBACK_THEME = "loadFallbackTheme";
@@ -48,6 +52,7 @@ public class StartupJson {
     ProtocolMessageWriter writer = new ProtocolMessageWriter();
     appendLoadThemeDefinitions( writer );
     appendCreateDisplay( "w1", writer );
+    appendEncodings( writer );
     MeasurementUtil.appendStartupTextSizeProbe( writer );
     return writer.createMessage().toJson();
   }
@@ -65,6 +70,16 @@ public class StartupJson {
     writer.appendHead( PROPERTY_URL, JsonValue.valueOf( getUrl() ) );
   }
 
+  /*
+   * Offers the encodings of the protocol that the client may request in addition to plain JSON.
+   */
+  private static void appendEncodings( ProtocolMessageWriter writer ) {
+    if( RWTProperties.isCompactProtocol() ) {
+      JsonArray encodings = new JsonArray().add( CompactMessageEncoder.ENCODING );
+      writer.appendHead( PROPERTY_ENCODINGS, encodings );
+    }
+  }
+
   private static void appendLoadThemeDefinitions( ProtocolMessageWriter writer ) {
     ThemeManager themeManager = getApplicationContext().getThemeManager();
     Theme fallbackTheme = themeManager.getTheme( ThemeManager.FALLBACK_THEME_ID );
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.service;
 
+import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -26,6 +27,7 @@ import javax.servlet.http.HttpSessionBindingListener;
 
 import org.eclipse.rap.rwt.client.Client;
 import org.eclipse.rap.rwt.client.service.ClientInfo;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.client.ClientMessages;
 import org.eclipse.rap.rwt.internal.client.ClientSelector;
@@ -61,6 +63,10 @@ public class UISessionImpl
   private transient HttpSession httpSession;
   private transient ISessionShutdownAdapter shutdownAdapter;
   private transient ApplicationContextImpl applicationContext;
+  private transient long replicationVersion;
+  private transient boolean replaced;
+  private transient boolean modified;
+  private transient boolean placeholder;
 
   public UISessionImpl( ApplicationContextImpl applicationContext, HttpSession httpSession ) {
     this( applicationContext, httpSession, null );
@@ -79,6 +85,7 @@ public class UISessionImpl
     listeners = new HashSet<>();
     id = Integer.toHexString( hashCode() );
     bound = true;
+    modified = true;
     connection = new ConnectionImpl( this );
   }
 
@@ -91,6 +98,63 @@ public class UISessionImpl
     httpSession.setAttribute( getUISessionAttributeName( connectionId ), this );
   }
 
+  /**
+   * Replaces this instance in the HTTP session with the given UI session, e.g. with a more recent
+   * replica. This instance is not destroyed when it is unbound from the HTTP session.
+   */
+  public void replaceWith( UISessionImpl uiSession ) {
+    replaced = true;
+    uiSession.attachToHttpSession();
+  }
+
+  /**
+   * Prevents this instance from being destroyed when it is unbound from the HTTP session, e.g. an
+   * outdated replica that cannot be restored.
+   */
+  public void discard() {
+    replaced = true;
+  }
+
+  /**
+   * Returns whether this instance is the empty UI session that a placeholder resolves to. It must
+   * be restored from the replicated fragments before it can be used.
+   */
+  public boolean isPlaceholder() {
+    return placeholder;
+  }
+
+  public long getReplicationVersion() {
+    return replicationVersion;
+  }
+
+  public void setReplicationVersion( long replicationVersion ) {
+    this.replicationVersion = replicationVersion;
+  }
+
+  /**
+   * Marks this UI session as modified, e.g. when processing a UI request that may have changed
+   * widgets or the display. These changes are not detected by the UI session itself.
+   */
+  public void markModified() {
+    synchronized( lock ) {
+      modified = true;
+    }
+  }
+
+  /**
+   * Returns whether attributes or listeners of this UI session have been set or removed, or the
+   * session has been marked as modified, since the last call of this method. Like with HTTP
+   * session attributes, changes to the state of an attribute value are not detected unless the
+   * attribute is set again.
+   */
+  public boolean resetModified() {
+    synchronized( lock ) {
+      boolean result = modified;
+      modified = false;
+      return result;
+    }
+  }
+
   public void setApplicationContext( ApplicationContextImpl applicationContext ) {
     if( this.applicationContext != null ) {
       this.applicationContext.removeApplicationContextListener( this );
@@ -156,6 +220,7 @@ public class UISessionImpl
     synchronized( lock ) {
       if( bound ) {
         result = true;
+        modified = true;
         attributes.put( name, value );
       }
     }
@@ -169,6 +234,7 @@ public class UISessionImpl
     synchronized( lock ) {
       if( bound ) {
         result = true;
+        modified = true;
         attributes.remove( name );
       }
     }
@@ -258,6 +324,7 @@ public class UISessionImpl
     synchronized( lock ) {
       if( bound && !inDestroy ) {
         result = true;
+        modified = true;
         listeners.add( listener );
       }
     }
@@ -271,6 +338,7 @@ public class UISessionImpl
     synchronized( lock ) {
       if( bound && !inDestroy ) {
         result = true;
+        modified = true;
         listeners.remove( listener );
       }
     }
@@ -289,7 +357,7 @@ public class UISessionImpl
   public void valueUnbound( HttpSessionBindingEvent event ) {
     if( shutdownAdapter != null ) {
       shutdownAdapter.interceptShutdown();
-    } else {
+    } else if( !replaced ) {
       boolean fakeContext = false;
       if( !ContextProvider.hasContext() ) {
         fakeContext = true;
@@ -321,6 +389,15 @@ public class UISessionImpl
     return requestLock;
   }
 
+  private Object writeReplace() {
+    // with delta replication, the UI session is replicated in fragments that are stored
+    // separately, see SessionReplication
+    if( RWTProperties.isDeltaSessionReplication() ) {
+      return new Placeholder( this );
+    }
+    return this;
+  }
+
   private static String getUISessionAttributeName( String connectionId ) {
     return ATTR_UI_SESSION + ( connectionId == null ? "" : connectionId );
   }
@@ -381,4 +458,31 @@ public class UISessionImpl
     };
   }
 
+  /**
+   * Written instead of the UI session when the HTTP session is serialized with delta replication
+   * enabled. On deserialization, an empty UI session is created that is replaced with the UI
+   * session reassembled from its fragments on first access, see {@link #isPlaceholder()}.
+   */
+  public static final class Placeholder implements Serializable {
+
+    private final String connectionId;
+    private final transient UISessionImpl uiSession;
+
+    Placeholder( UISessionImpl uiSession ) {
+      this.connectionId = uiSession.connectionId;
+      this.uiSession = uiSession;
+    }
+
+    public UISessionImpl getUISession() {
+      return uiSession;
+    }
+
+    private Object readResolve() {
+      UISessionImpl result = new UISessionImpl( null, null, connectionId );
+      result.placeholder = true;
+      return result;
+    }
+
+  }
+
 }
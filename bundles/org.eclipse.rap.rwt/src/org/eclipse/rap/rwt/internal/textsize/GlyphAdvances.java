@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import java.util.Arrays;
+
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * The horizontal advances of the glyphs of a font as measured by the client. Strings that consist
+ * of these glyphs only can be measured on the server by adding up the advances.
+ */
+class GlyphAdvances implements SerializableCompatibility {
+
+  // printable ASCII and Latin-1 characters
+  static final String DEFAULT_GLYPHS;
+  static {
+    StringBuilder result = new StringBuilder();
+    for( char ch = 32; ch < 127; ch++ ) {
+      result.append( ch );
+    }
+    for( char ch = 160; ch < 256; ch++ ) {
+      result.append( ch );
+    }
+    DEFAULT_GLYPHS = result.toString();
+  }
+
+  // compensates for the limited precision of the advances transferred by the client
+  private static final float ROUNDING_TOLERANCE = 0.02f;
+
+  static final GlyphAdvances EMPTY = new GlyphAdvances( "", new float[ 0 ] );
+
+  private final float[] advances;
+
+  GlyphAdvances( String glyphs, float[] advances ) {
+    ParamCheck.notNull( glyphs, "glyphs" );
+    ParamCheck.notNull( advances, "advances" );
+    if( glyphs.length() != advances.length ) {
+      throw new IllegalArgumentException( "Number of glyphs and advances does not match" );
+    }
+    int maxChar = -1;
+    for( int i = 0; i < glyphs.length(); i++ ) {
+      maxChar = Math.max( maxChar, glyphs.charAt( i ) );
+    }
+    this.advances = new float[ maxChar + 1 ];
+    Arrays.fill( this.advances, Float.NaN );
+    for( int i = 0; i < glyphs.length(); i++ ) {
+      this.advances[ glyphs.charAt( i ) ] = advances[ i ];
+    }
+  }
+
+  /**
+   * Returns the width of the given string in pixels without any client-specific offset, or
+   * <code>-1</code> if the string contains a glyph whose advance is unknown.
+   */
+  int getWidth( String string ) {
+    float width = 0;
+    int result = 0;
+    for( int i = 0; i < string.length() && result != -1; i++ ) {
+      char ch = string.charAt( i );
+      if( ch < advances.length && !Float.isNaN( advances[ ch ] ) ) {
+        width += advances[ ch ];
+      } else {
+        result = -1;
+      }
+    }
+    if( result != -1 ) {
+      result = ( int )Math.max( 0, Math.ceil( width - ROUNDING_TOLERANCE ) );
+    }
+    return result;
+  }
+
+}
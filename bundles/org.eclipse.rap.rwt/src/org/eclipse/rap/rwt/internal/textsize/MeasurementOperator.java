@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Frank Appel and others.
+ * Copyright (c) 2011, 2018 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,20 +16,25 @@ import static org.eclipse.rap.rwt.internal.service.ContextProvider.getProtocolWr
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementUtil.createItemParamObject;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementUtil.createProbeParamObject;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementUtil.getId;
+import static org.eclipse.rap.rwt.internal.util.HTTP.HEADER_USER_AGENT;
 import static org.eclipse.rap.rwt.remote.JsonMapping.readPoint;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.ProcessActionRunner;
 import org.eclipse.rap.rwt.internal.remote.ConnectionImpl;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.remote.AbstractOperationHandler;
 import org.eclipse.rap.rwt.remote.RemoteObject;
 import org.eclipse.swt.graphics.FontData;
@@ -44,6 +49,7 @@ class MeasurementOperator implements SerializableCompatibility {
   static final String PARAM_ITEMS = "items";
   static final String METHOD_STORE_MEASUREMENTS = "storeMeasurements";
   static final String PARAM_RESULTS = "results";
+  static final String PARAM_ADVANCES = "advances";
 
   private final RemoteObject remoteObject;
   private final Set<Probe> probes;
@@ -56,6 +62,7 @@ class MeasurementOperator implements SerializableCompatibility {
     probes = new HashSet<>();
     items = new HashSet<>();
     addStartupProbesToBuffer();
+    restoreProbeResults();
   }
 
   private void addStartupProbesToBuffer() {
@@ -63,6 +70,29 @@ class MeasurementOperator implements SerializableCompatibility {
     probes.addAll( Arrays.asList( probeList ) );
   }
 
+  /*
+   * Provides the probe results of a previous session with the same user agent until the probes
+   * have been measured by this client. Text sizes can be looked up before the first response.
+   */
+  private static void restoreProbeResults() {
+    TextSizeSnapshot snapshot = getApplicationContext().getTextSizeSnapshot();
+    Map<FontData,Point> probeResults = snapshot.getProbeResults( getUserAgent() );
+    if( probeResults != null ) {
+      ProbeStore probeStore = getApplicationContext().getProbeStore();
+      for( Entry<FontData,Point> entry : probeResults.entrySet() ) {
+        Probe probe = probeStore.getProbe( entry.getKey() );
+        if( probe == null ) {
+          probe = probeStore.createProbe( entry.getKey() );
+        }
+        ProbeResultStore.getInstance().createProbeResult( probe, entry.getValue() );
+      }
+    }
+  }
+
+  private static String getUserAgent() {
+    return ContextProvider.getRequest().getHeader( HEADER_USER_AGENT );
+  }
+
   int getProbeCount() {
     return probes.size();
   }
@@ -116,13 +146,14 @@ class MeasurementOperator implements SerializableCompatibility {
     public void handleCall( String method, JsonObject parameters ) {
       if( METHOD_STORE_MEASUREMENTS.equals( method ) ) {
         final JsonObject results = parameters.get( PARAM_RESULTS ).asObject();
+        final JsonValue advances = parameters.get( PARAM_ADVANCES );
         if( LifeCycleUtil.isStartup() ) {
-          handleMeasuredFontProbeSizes( results );
+          handleMeasuredFontProbeSizes( results, advances );
         } else {
           ProcessActionRunner.add( new Runnable() {
             @Override
             public void run() {
-              handleMeasuredFontProbeSizes( results );
+              handleMeasuredFontProbeSizes( results, advances );
               if( handleMeasuredTextSizes( results ) ) {
                 TextSizeRecalculation.execute();
               }
@@ -132,13 +163,16 @@ class MeasurementOperator implements SerializableCompatibility {
       }
     }
 
-    private void handleMeasuredFontProbeSizes( JsonObject results ) {
+    private void handleMeasuredFontProbeSizes( JsonObject results, JsonValue advances ) {
       Iterator<Probe> probeList = probes.iterator();
       while( probeList.hasNext() ) {
         Probe probe = probeList.next();
         Point size = readMeasuredSize( results, getId( probe ) );
         if( size != null ) {
-          createProbeResult( probe, size );
+          ProbeResult probeResult = createProbeResult( probe, size );
+          if( RWTProperties.isServerSideTextMeasurement() ) {
+            probeResult.setGlyphAdvances( readGlyphAdvances( advances, getId( probe ) ) );
+          }
           probeList.remove();
         }
       }
@@ -166,8 +200,30 @@ class MeasurementOperator implements SerializableCompatibility {
       return null;
     }
 
-    private void createProbeResult( Probe probe, Point size ) {
-      ProbeResultStore.getInstance().createProbeResult( probe, size );
+    private GlyphAdvances readGlyphAdvances( JsonValue advances, String id ) {
+      GlyphAdvances result = GlyphAdvances.EMPTY;
+      JsonValue value = null;
+      if( advances != null && advances.isObject() ) {
+        value = advances.asObject().get( id );
+      }
+      if( value != null && value.isArray() ) {
+        JsonArray array = value.asArray();
+        if( array.size() == GlyphAdvances.DEFAULT_GLYPHS.length() ) {
+          float[] values = new float[ array.size() ];
+          for( int i = 0; i < values.length; i++ ) {
+            values[ i ] = array.get( i ).asFloat();
+          }
+          result = new GlyphAdvances( GlyphAdvances.DEFAULT_GLYPHS, values );
+        }
+      }
+      return result;
+    }
+
+    private ProbeResult createProbeResult( Probe probe, Point size ) {
+      ProbeResult result = ProbeResultStore.getInstance().createProbeResult( probe, size );
+      TextSizeSnapshot snapshot = getApplicationContext().getTextSizeSnapshot();
+      snapshot.recordProbeResult( getUserAgent(), probe.getFontData(), size );
+      return result;
     }
 
     private void storeTextMeasurement( MeasurementItem item, Point size ) {
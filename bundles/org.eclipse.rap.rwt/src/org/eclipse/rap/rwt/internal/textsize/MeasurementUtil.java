@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Frank Appel and others.
+ * Copyright (c) 2011, 2018 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,7 @@ import static org.eclipse.rap.rwt.internal.textsize.MeasurementOperator.TYPE;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolUtil;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
@@ -94,6 +95,9 @@ public class MeasurementUtil {
       .add( ( fontData.getStyle() & SWT.ITALIC ) != 0 )
       .add( -1 )
       .add( true );
+    if( RWTProperties.isServerSideTextMeasurement() ) {
+      result.add( GlyphAdvances.DEFAULT_GLYPHS );
+    }
     return result;
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 Frank Appel and others.
+ * Copyright (c) 2011, 2018 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,9 +19,14 @@ import org.eclipse.swt.internal.SerializableCompatibility;
 
 class ProbeResult implements SerializableCompatibility {
 
+  // the client adds up to one pixel to measured sizes, e.g. when the browser is zoomed
+  private static final int MAX_OFFSET = 1;
+
   private final Point size;
   private final Probe probe;
   private transient float avgCharWidth;
+  private GlyphAdvances glyphAdvances;
+  private int offset;
 
   ProbeResult( Probe probe, Point size ) {
     this.probe = probe;
@@ -44,4 +49,38 @@ class ProbeResult implements SerializableCompatibility {
     }
     return avgCharWidth;
   }
+
+  /*
+   * The glyph advances are only used if they add up to the measured width of the probe text,
+   * otherwise the client renders the font with kerning or ligatures that cannot be reproduced.
+   */
+  void setGlyphAdvances( GlyphAdvances glyphAdvances ) {
+    int width = glyphAdvances.getWidth( probe.getText() );
+    offset = size.x - width;
+    if( width > 0 && offset >= 0 && offset <= MAX_OFFSET ) {
+      this.glyphAdvances = glyphAdvances;
+    } else {
+      this.glyphAdvances = GlyphAdvances.EMPTY;
+    }
+  }
+
+  boolean hasGlyphAdvances() {
+    return glyphAdvances != null;
+  }
+
+  /*
+   * Returns the size of the given single-line string as it would be measured by the client, or
+   * null if the string cannot be measured on the server.
+   */
+  Point measure( String string ) {
+    Point result = null;
+    if( glyphAdvances != null ) {
+      int width = glyphAdvances.getWidth( string );
+      if( width != -1 ) {
+        result = new Point( width > 0 ? width + offset : 0, size.y );
+      }
+    }
+    return result;
+  }
+
 }
@@ -0,0 +1,353 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.internal.theme.CssValue;
+import org.eclipse.rap.rwt.internal.theme.Theme;
+import org.eclipse.rap.rwt.internal.theme.ThemeManager;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/**
+ * Application scoped, file based snapshot of the text size storage, the known fonts and the probe
+ * results of the client user agents that have been seen. The snapshot is loaded when the
+ * application context is activated and written periodically, so that the sessions after a
+ * restart of the application can use the measurements of the previous run. The file is
+ * versioned by the registered themes, a snapshot of another version is ignored.
+ */
+public class TextSizeSnapshot {
+
+  private static final int MAGIC = 0x52545353; // "RTSS"
+  private static final int FORMAT_VERSION = 1;
+  private static final int MAX_USER_AGENTS = 64;
+  private static final long FLUSH_PERIOD = 60 * 1000;
+  private static final Charset UTF_8 = Charset.forName( CHARSET_UTF_8 );
+
+  private final TextSizeStorage textSizeStorage;
+  private final Object lock;
+  // serializes the file writes, which happen outside of 'lock'
+  private final Object writeLock;
+  // access to all of the following fields is guarded by 'lock'
+  private final Map<String,Map<FontData,Point>> probeResults;
+  private File file;
+  private int version;
+  private Timer timer;
+  private long flushedModificationCount;
+  private boolean probeResultsModified;
+
+  public TextSizeSnapshot( TextSizeStorage textSizeStorage ) {
+    this.textSizeStorage = textSizeStorage;
+    lock = new Object();
+    writeLock = new Object();
+    probeResults = new LinkedHashMap<String,Map<FontData,Point>>( 16, 0.75f, true ) {
+      @Override
+      protected boolean removeEldestEntry( Entry<String,Map<FontData,Point>> eldest ) {
+        return size() > MAX_USER_AGENTS;
+      }
+    };
+  }
+
+  public void activate( ThemeManager themeManager ) {
+    String fileName = RWTProperties.getTextSizeStoreFile();
+    if( fileName != null ) {
+      activate( new File( fileName ), createVersion( themeManager ) );
+    }
+  }
+
+  public void deactivate() {
+    boolean active = false;
+    synchronized( lock ) {
+      if( timer != null ) {
+        timer.cancel();
+        timer = null;
+        active = true;
+      }
+    }
+    if( active ) {
+      flush();
+    }
+    synchronized( lock ) {
+      file = null;
+      probeResults.clear();
+    }
+  }
+
+  public boolean isActive() {
+    synchronized( lock ) {
+      return file != null;
+    }
+  }
+
+  void activate( File file, int version ) {
+    synchronized( lock ) {
+      this.file = file;
+      this.version = version;
+      load();
+      flushedModificationCount = textSizeStorage.getModificationCount();
+      probeResultsModified = false;
+      timer = new Timer( "RWT text size snapshot writer", true );
+      timer.schedule( new FlushTask(), FLUSH_PERIOD, FLUSH_PERIOD );
+    }
+  }
+
+  void recordProbeResult( String userAgent, FontData fontData, Point size ) {
+    if( userAgent != null ) {
+      synchronized( lock ) {
+        if( file != null ) {
+          Map<FontData,Point> results = probeResults.get( userAgent );
+          if( results == null ) {
+            results = new HashMap<>();
+            probeResults.put( userAgent, results );
+          }
+          Point oldSize = results.put( fontData, new Point( size.x, size.y ) );
+          probeResultsModified |= !size.equals( oldSize );
+        }
+      }
+    }
+  }
+
+  Map<FontData,Point> getProbeResults( String userAgent ) {
+    Map<FontData,Point> result = null;
+    if( userAgent != null ) {
+      synchronized( lock ) {
+        Map<FontData,Point> results = probeResults.get( userAgent );
+        if( results != null ) {
+          result = new HashMap<>( results );
+        }
+      }
+    }
+    return result;
+  }
+
+  /*
+   * The content is created under the lock, but written outside of it, so that a slow disk does
+   * not block the text size measurement of the sessions.
+   */
+  void flush() {
+    synchronized( writeLock ) {
+      File target = null;
+      byte[] content = null;
+      long modificationCount;
+      synchronized( lock ) {
+        modificationCount = textSizeStorage.getModificationCount();
+        if( file != null && ( probeResultsModified || modificationCount != flushedModificationCount ) ) {
+          target = file;
+          content = createContent();
+          probeResultsModified = false;
+        }
+      }
+      if( content != null ) {
+        boolean written = write( target, content );
+        synchronized( lock ) {
+          if( written ) {
+            flushedModificationCount = modificationCount;
+          } else {
+            probeResultsModified = true;
+          }
+        }
+      }
+    }
+  }
+
+  ////////////////////
+  // read and write
+
+  private void load() {
+    if( file.isFile() ) {
+      // read into a heap buffer, a mapped file could not be replaced on Windows until the
+      // mapping is garbage collected
+      try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ) {
+        ByteBuffer buffer = ByteBuffer.allocate( ( int )channel.size() );
+        int count = 0;
+        while( count != -1 && buffer.hasRemaining() ) {
+          count = channel.read( buffer );
+        }
+        buffer.flip();
+        read( buffer );
+      } catch( IOException | RuntimeException exception ) {
+        ServletLog.log( "Failed to read text size snapshot from " + file, exception );
+      }
+    }
+  }
+
+  private void read( ByteBuffer buffer ) {
+    if( buffer.remaining() < 12
+        || buffer.getInt() != MAGIC
+        || buffer.getInt() != FORMAT_VERSION
+        || buffer.getInt() != version )
+    {
+      return;
+    }
+    FontData[] fontDatas = new FontData[ buffer.getInt() ];
+    for( int i = 0; i < fontDatas.length; i++ ) {
+      fontDatas[ i ] = new FontData( readString( buffer ), buffer.getInt(), buffer.getInt() );
+    }
+    Map<String,Map<FontData,Point>> readProbeResults = new LinkedHashMap<>();
+    int userAgentCount = buffer.getInt();
+    for( int i = 0; i < userAgentCount; i++ ) {
+      String userAgent = readString( buffer );
+      Map<FontData,Point> results = new HashMap<>();
+      int resultCount = buffer.getInt();
+      for( int j = 0; j < resultCount; j++ ) {
+        FontData fontData = fontDatas[ buffer.getInt() ];
+        results.put( fontData, new Point( buffer.getInt(), buffer.getInt() ) );
+      }
+      readProbeResults.put( userAgent, results );
+    }
+    long[] entries = new long[ buffer.getInt() * 2 ];
+    for( int i = 0; i < entries.length; i += 2 ) {
+      entries[ i ] = buffer.getInt();
+      entries[ i + 1 ] = buffer.getLong();
+    }
+    // apply only complete snapshots
+    for( FontData fontData : fontDatas ) {
+      textSizeStorage.storeFont( fontData );
+    }
+    probeResults.putAll( readProbeResults );
+    textSizeStorage.importEntries( entries );
+  }
+
+  private byte[] createContent() {
+    try {
+      return writeContent();
+    } catch( IOException exception ) {
+      // not thrown by a ByteArrayOutputStream
+      throw new IllegalStateException( exception );
+    }
+  }
+
+  private byte[] writeContent() throws IOException {
+    FontData[] fontDatas = textSizeStorage.getFontList();
+    Map<FontData,Integer> fontIndices = new HashMap<>();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream( bytes );
+    out.writeInt( MAGIC );
+    out.writeInt( FORMAT_VERSION );
+    out.writeInt( version );
+    out.writeInt( fontDatas.length );
+    for( int i = 0; i < fontDatas.length; i++ ) {
+      fontIndices.put( fontDatas[ i ], Integer.valueOf( i ) );
+      writeString( out, fontDatas[ i ].getName() );
+      out.writeInt( fontDatas[ i ].getHeight() );
+      out.writeInt( fontDatas[ i ].getStyle() );
+    }
+    out.writeInt( probeResults.size() );
+    for( Entry<String,Map<FontData,Point>> userAgentEntry : probeResults.entrySet() ) {
+      writeString( out, userAgentEntry.getKey() );
+      Map<FontData,Point> results = new HashMap<>( userAgentEntry.getValue() );
+      results.keySet().retainAll( fontIndices.keySet() );
+      out.writeInt( results.size() );
+      for( Entry<FontData,Point> resultEntry : results.entrySet() ) {
+        out.writeInt( fontIndices.get( resultEntry.getKey() ).intValue() );
+        out.writeInt( resultEntry.getValue().x );
+        out.writeInt( resultEntry.getValue().y );
+      }
+    }
+    long[] entries = textSizeStorage.exportEntries();
+    out.writeInt( entries.length / 2 );
+    for( int i = 0; i < entries.length; i += 2 ) {
+      out.writeInt( ( int )entries[ i ] );
+      out.writeLong( entries[ i + 1 ] );
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static boolean write( File file, byte[] content ) {
+    try {
+      write( file.getAbsoluteFile().toPath(), content );
+      return true;
+    } catch( IOException exception ) {
+      ServletLog.log( "Failed to write text size snapshot to " + file, exception );
+      return false;
+    }
+  }
+
+  private static void write( Path target, byte[] content ) throws IOException {
+    Files.createDirectories( target.getParent() );
+    Path temp = Files.createTempFile( target.getParent(), target.getFileName().toString(), ".tmp" );
+    try {
+      Files.write( temp, content );
+      try {
+        Files.move( temp, target, StandardCopyOption.ATOMIC_MOVE );
+      } catch( @SuppressWarnings( "unused" ) AtomicMoveNotSupportedException exception ) {
+        Files.move( temp, target, StandardCopyOption.REPLACE_EXISTING );
+      }
+    } finally {
+      Files.deleteIfExists( temp );
+    }
+  }
+
+  private static String readString( ByteBuffer buffer ) {
+    byte[] bytes = new byte[ buffer.getInt() ];
+    buffer.get( bytes );
+    return new String( bytes, UTF_8 );
+  }
+
+  private static void writeString( DataOutputStream out, String string ) throws IOException {
+    byte[] bytes = string.getBytes( UTF_8 );
+    out.writeInt( bytes.length );
+    out.write( bytes );
+  }
+
+  static int createVersion( ThemeManager themeManager ) {
+    String[] themeIds = themeManager.getRegisteredThemeIds();
+    Arrays.sort( themeIds );
+    int result = 1;
+    for( String themeId : themeIds ) {
+      result = 31 * result + themeId.hashCode();
+      Theme theme = themeManager.getTheme( themeId );
+      for( CssValue value : theme.getValuesMap().getAllValues() ) {
+        result = 31 * result + value.toDefaultString().hashCode();
+      }
+    }
+    return result;
+  }
+
+  private class FlushTask extends TimerTask {
+
+    @Override
+    public void run() {
+      try {
+        flush();
+      } catch( RuntimeException exception ) {
+        ServletLog.log( "Failed to flush text size snapshot", exception );
+      }
+    }
+
+  }
+
+}
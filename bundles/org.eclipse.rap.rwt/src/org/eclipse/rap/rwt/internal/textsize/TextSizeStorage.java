@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,58 +13,53 @@ package org.eclipse.rap.rwt.internal.textsize;
 
 import static org.eclipse.rap.rwt.internal.RWTProperties.getTextSizeStoreSize;
 
-import java.io.Serializable;
 import java.math.BigDecimal;
 import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
 
 
+/*
+ * Application scoped LRU cache of measured text sizes. Entries are kept in primitive arrays: a
+ * hash table with chained buckets for lookups and a doubly linked list in access order for
+ * eviction. Width and height of an entry are packed into a single long. All operations run in
+ * constant time, an overflow drops the least recently used entries from the tail of the list.
+ */
 public final class TextSizeStorage {
 
   public static final int MIN_STORE_SIZE = 1000;
   public static final int DEFAULT_STORE_SIZE = 10000;
 
+  private static final int NONE = -1;
+
   private final Object lock;
-  // access is guarded by 'lock'
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+  // access to all of the following fields is guarded by 'lock'
   private final Set<FontData> fontDatas;
-  // access is guarded by 'lock'
-  private final Map<Integer,Entry> data;
   private int maximumStoreSize;
   private int clearRange;
-  private long clock;
-
-
-  private static class Entry {
-    private Point point;
-    private long timeStamp;
-  }
-
-  private static class EntryComparator implements Comparator<Entry>, Serializable {
-
-    @Override
-    public int compare( Entry entry1, Entry entry2 ) {
-      int result = 0;
-      if( entry1.timeStamp > entry2.timeStamp ) {
-        result = 1;
-      } else if( entry1.timeStamp < entry2.timeStamp ) {
-        result = -1;
-      }
-      return result;
-    }
-  }
-
+  private int[] buckets;
+  private int[] keys;
+  private long[] sizes;
+  private int[] chain;
+  private int[] previous;
+  private int[] next;
+  private int head;
+  private int tail;
+  private int free;
+  private int size;
+  private long modificationCount;
 
   public TextSizeStorage() {
     lock = new Object();
-    data = new HashMap<>();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
     fontDatas = new HashSet<>();
     setMaximumStoreSize( getTextSizeStoreSize( DEFAULT_STORE_SIZE ) );
   }
@@ -80,62 +75,220 @@ public final class TextSizeStorage {
 
   void storeFont( FontData fontData ) {
     synchronized( lock ) {
-      fontDatas.add( fontData );
+      if( fontDatas.add( fontData ) ) {
+        modificationCount++;
+      }
     }
   }
 
-  Point lookupTextSize( Integer key ) {
-    Point result = null;
+  Point lookupTextSize( int key ) {
+    long packedSize;
     synchronized( lock ) {
-      Entry entry = data.get( key );
-      if( entry != null ) {
-        updateTimestamp( entry );
-        result = entry.point;
+      int entry = findEntry( key );
+      if( entry == NONE ) {
+        missCount.incrementAndGet();
+        return null;
       }
+      moveToHead( entry );
+      packedSize = sizes[ entry ];
     }
-    result = defensiveCopy( result );
-    return result;
+    hitCount.incrementAndGet();
+    return new Point( unpackWidth( packedSize ), unpackHeight( packedSize ) );
   }
 
-  void storeTextSize( Integer key, Point size ) {
-    Entry entry = new Entry();
-    entry.point = defensiveCopy( size );
-    updateTimestamp( entry );
+  void storeTextSize( int key, Point size ) {
+    long packedSize = pack( size.x, size.y );
     synchronized( lock ) {
-      data.put( key, entry );
-      handleOverFlow();
+      store( key, packedSize );
     }
   }
 
+  /*
+   * Returns the keys and packed sizes of all entries, ordered from least to most recently used.
+   */
+  long[] exportEntries() {
+    synchronized( lock ) {
+      long[] result = new long[ size * 2 ];
+      int index = 0;
+      for( int entry = tail; entry != NONE; entry = previous[ entry ] ) {
+        result[ index++ ] = keys[ entry ];
+        result[ index++ ] = sizes[ entry ];
+      }
+      return result;
+    }
+  }
+
+  /*
+   * Adds entries in the format returned by exportEntries.
+   */
+  void importEntries( long[] entries ) {
+    synchronized( lock ) {
+      for( int index = 0; index + 1 < entries.length; index += 2 ) {
+        store( ( int )entries[ index ], entries[ index + 1 ] );
+      }
+    }
+  }
+
+  long getModificationCount() {
+    synchronized( lock ) {
+      return modificationCount;
+    }
+  }
+
+  int size() {
+    synchronized( lock ) {
+      return size;
+    }
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
   ////////////////////
   // overflow handling
 
   void setMaximumStoreSize( int maximumStoreSize ) {
     checkLowerStoreSizeBoundary( maximumStoreSize );
-    calculateClearRange( maximumStoreSize );
-    this.maximumStoreSize = maximumStoreSize;
+    synchronized( lock ) {
+      int[] oldKeys = keys;
+      long[] oldSizes = sizes;
+      int[] oldPrevious = previous;
+      int oldTail = tail;
+      this.maximumStoreSize = maximumStoreSize;
+      clearRange = calculateClearRange( maximumStoreSize );
+      allocate( maximumStoreSize );
+      // re-insert existing entries starting with the least recently used one
+      for( int entry = oldTail; oldKeys != null && entry != NONE; entry = oldPrevious[ entry ] ) {
+        sizes[ addEntry( oldKeys[ entry ] ) ] = oldSizes[ entry ];
+        handleOverFlow();
+      }
+    }
   }
 
   int getMaximumStoreSize() {
-    return maximumStoreSize;
+    synchronized( lock ) {
+      return maximumStoreSize;
+    }
+  }
+
+  private void store( int key, long packedSize ) {
+    int entry = findEntry( key );
+    if( entry == NONE ) {
+      entry = addEntry( key );
+    } else {
+      moveToHead( entry );
+    }
+    sizes[ entry ] = packedSize;
+    modificationCount++;
+    handleOverFlow();
   }
 
   private void handleOverFlow() {
-    if( data.size() >= maximumStoreSize ) {
-      Entry[] entries = sortEntries();
-      for( int i = 0; i < clearRange; i++ ) {
-        data.values().remove( entries[ i ] );
+    if( size >= maximumStoreSize ) {
+      for( int i = 0; i < clearRange && tail != NONE; i++ ) {
+        removeEntry( tail );
       }
     }
   }
 
-  private Entry[] sortEntries() {
-    Entry[] result = new Entry[ data.size() ];
-    data.values().toArray( result );
-    Arrays.sort( result, new EntryComparator() );
-    return result;
+  ///////////////////////////
+  // hash table and LRU list
+
+  private void allocate( int capacity ) {
+    buckets = new int[ Integer.highestOneBit( capacity * 2 - 1 ) << 1 ];
+    Arrays.fill( buckets, NONE );
+    keys = new int[ capacity ];
+    sizes = new long[ capacity ];
+    chain = new int[ capacity ];
+    previous = new int[ capacity ];
+    next = new int[ capacity ];
+    for( int i = 0; i < capacity; i++ ) {
+      next[ i ] = i + 1 < capacity ? i + 1 : NONE;
+    }
+    free = 0;
+    head = NONE;
+    tail = NONE;
+    size = 0;
   }
 
+  private int findEntry( int key ) {
+    int entry = buckets[ getBucket( key ) ];
+    while( entry != NONE && keys[ entry ] != key ) {
+      entry = chain[ entry ];
+    }
+    return entry;
+  }
+
+  private int addEntry( int key ) {
+    int entry = free;
+    free = next[ entry ];
+    int bucket = getBucket( key );
+    keys[ entry ] = key;
+    chain[ entry ] = buckets[ bucket ];
+    buckets[ bucket ] = entry;
+    linkAsHead( entry );
+    size++;
+    return entry;
+  }
+
+  private void removeEntry( int entry ) {
+    int bucket = getBucket( keys[ entry ] );
+    if( buckets[ bucket ] == entry ) {
+      buckets[ bucket ] = chain[ entry ];
+    } else {
+      int current = buckets[ bucket ];
+      while( chain[ current ] != entry ) {
+        current = chain[ current ];
+      }
+      chain[ current ] = chain[ entry ];
+    }
+    unlink( entry );
+    next[ entry ] = free;
+    free = entry;
+    size--;
+  }
+
+  private void moveToHead( int entry ) {
+    if( entry != head ) {
+      unlink( entry );
+      linkAsHead( entry );
+    }
+  }
+
+  private void linkAsHead( int entry ) {
+    previous[ entry ] = NONE;
+    next[ entry ] = head;
+    if( head != NONE ) {
+      previous[ head ] = entry;
+    }
+    head = entry;
+    if( tail == NONE ) {
+      tail = entry;
+    }
+  }
+
+  private void unlink( int entry ) {
+    if( previous[ entry ] == NONE ) {
+      head = next[ entry ];
+    } else {
+      next[ previous[ entry ] ] = next[ entry ];
+    }
+    if( next[ entry ] == NONE ) {
+      tail = previous[ entry ];
+    } else {
+      previous[ next[ entry ] ] = previous[ entry ];
+    }
+  }
+
+  private int getBucket( int key ) {
+    // spread the bits of the key, the same as java.util.HashMap does
+    return ( key ^ ( key >>> 16 ) ) & ( buckets.length - 1 );
+  }
 
   //////////////////
   // helping methods
@@ -148,18 +301,22 @@ public final class TextSizeStorage {
     }
   }
 
-  private static Point defensiveCopy( Point point ) {
-    return point == null ? null : new Point( point.x, point.y );
+  private static long pack( int width, int height ) {
+    return ( ( long )width << 32 ) | ( height & 0xFFFFFFFFL );
+  }
+
+  private static int unpackWidth( long packedSize ) {
+    return ( int )( packedSize >> 32 );
   }
 
-  private void updateTimestamp( Entry entry ) {
-    entry.timeStamp = clock++;
+  private static int unpackHeight( long packedSize ) {
+    return ( int )packedSize;
   }
 
-  private void calculateClearRange( int maximumStoreSize ) {
+  private static int calculateClearRange( int maximumStoreSize ) {
     BigDecimal ten = new BigDecimal( 10 );
     BigDecimal bdStoreSize = new BigDecimal( maximumStoreSize );
-    clearRange = bdStoreSize.divide( ten, 0, BigDecimal.ROUND_HALF_UP ).intValue();
+    return bdStoreSize.divide( ten, 0, BigDecimal.ROUND_HALF_UP ).intValue();
   }
 
 }
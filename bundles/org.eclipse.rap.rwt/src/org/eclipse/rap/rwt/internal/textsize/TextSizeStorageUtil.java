@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,7 +24,7 @@ final class TextSizeStorageUtil {
     Point result = null;
     if( ProbeResultStore.getInstance().containsProbeResult( fontData ) ) {
       TextSizeStorage textSizeStorage = getApplicationContext().getTextSizeStorage();
-      Integer key = getKey( fontData, string, wrapWidth, mode );
+      int key = getKey( fontData, string, wrapWidth, mode );
       result = textSizeStorage.lookupTextSize( key );
       if( result == null && wrapWidth > 0 ) {
         key = getKey( fontData, string, SWT.DEFAULT, mode );
@@ -46,11 +46,11 @@ final class TextSizeStorageUtil {
                      Point measuredTextSize )
   {
     checkFontExists( fontData );
-    Integer key = getKey( fontData, string, wrapWidth, mode );
+    int key = getKey( fontData, string, wrapWidth, mode );
     getApplicationContext().getTextSizeStorage().storeTextSize( key, measuredTextSize );
   }
 
-  static Integer getKey( FontData fontData, String string, int wrapWidth, int mode ) {
+  static int getKey( FontData fontData, String string, int wrapWidth, int mode ) {
     ProbeResultStore instance = ProbeResultStore.getInstance();
     ProbeResult probeResult = instance.getProbeResult( fontData );
     String probeText = probeResult.getProbe().getText();
@@ -62,7 +62,7 @@ final class TextSizeStorageUtil {
     hashCode = 31 * hashCode + string.hashCode();
     hashCode = 31 * hashCode + wrapWidth;
     hashCode = 31 * hashCode + mode;
-    return Integer.valueOf( hashCode );
+    return hashCode;
   }
 
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
 package org.eclipse.rap.rwt.internal.textsize;
 
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
 import org.eclipse.rap.rwt.internal.util.EncodingUtil;
@@ -95,6 +96,9 @@ public class TextSizeUtil {
   private static Point determineTextSize( Font font, String string, int wrapWidth, int mode ) {
     int normalizedWrapWidth = normalizeWrapWidth( wrapWidth );
     Point result = lookup( font, string, normalizedWrapWidth, mode );
+    if( result == null && RWTProperties.isServerSideTextMeasurement() ) {
+      result = measure( font, string, normalizedWrapWidth, mode );
+    }
     if( result == null ) {
       result = estimate( font, string, normalizedWrapWidth, mode );
       if( !isTemporaryResize() ) {
@@ -124,6 +128,23 @@ public class TextSizeUtil {
     return TextSizeStorageUtil.lookup( fontData, measurementString, wrapWidth, mode );
   }
 
+  /*
+   * Measures single-line strings without wrapping using the glyph advances of the font. The glyph
+   * advances are requested together with the font probe if they are not yet known.
+   */
+  private static Point measure( Font font, String string, int wrapWidth, int mode ) {
+    Point result = null;
+    if( mode != MARKUP_EXTENT && wrapWidth == SWT.DEFAULT ) {
+      ProbeResult probeResult = getProbeResult( font );
+      if( probeResult != null && probeResult.hasGlyphAdvances() ) {
+        result = probeResult.measure( createMeasurementString( string, mode ) );
+      } else if( !isTemporaryResize() ) {
+        addProbeToMeasure( font );
+      }
+    }
+    return result;
+  }
+
   private static Point estimate( Font font, String string, int wrapWidth, int mode ) {
     Point result;
     switch( mode ) {
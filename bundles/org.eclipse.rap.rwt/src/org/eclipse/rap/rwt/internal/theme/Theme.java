@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.zip.CRC32;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.theme.css.CssElementHolder;
@@ -33,6 +34,8 @@ public class Theme {
   private StyleSheetBuilder styleSheetBuilder;
   private CssValuesMap valuesMap;
 
+  private byte[] themeStore;
+  private String themeStoreHash;
   private String registeredLocation;
 
   private CssElement[] elements;
@@ -107,6 +110,18 @@ public class Theme {
     return registeredLocation;
   }
 
+  /**
+   * Creates the content of the client theme store for this theme. The store is created only once
+   * and kept for subsequent registrations. Must be called after <code>initialize()</code>.
+   */
+  public synchronized void createThemeStore( ApplicationContext applicationContext ) {
+    if( themeStore == null ) {
+      ThemeStoreWriter storeWriter = new ThemeStoreWriter( applicationContext, this, elements );
+      themeStore = toUtf8Bytes( storeWriter.createJson() );
+      themeStoreHash = createHash( themeStore );
+    }
+  }
+
   public void registerResources( ApplicationContext applicationContext ) {
     try {
       registerThemeResources( applicationContext );
@@ -126,23 +141,25 @@ public class Theme {
   }
 
   private void registerThemeStoreFile( ApplicationContext applicationContext ) {
-    ThemeStoreWriter storeWriter = new ThemeStoreWriter( applicationContext, this, elements );
-    String name = "rap-" + jsId + ".json";
-    String code = storeWriter.createJson();
-    registeredLocation = registerResource( applicationContext, name, code );
+    createThemeStore( applicationContext );
+    // the content hash in the name allows clients to cache the theme store
+    String name = "rap-" + jsId + "-" + themeStoreHash + ".json";
+    registeredLocation = registerResource( applicationContext, name, themeStore );
   }
 
   private static void registerResource( ApplicationContext applicationContext, ThemeResource value )
     throws IOException
   {
     String registerPath = value.getResourcePath( applicationContext );
-    if( registerPath != null ) {
+    ResourceManager resourceManager = applicationContext.getResourceManager();
+    // resources shared by several themes have the same path and are registered only once
+    if( registerPath != null && !resourceManager.isRegistered( registerPath ) ) {
       InputStream inputStream = value.getResourceAsStream();
       if( inputStream == null ) {
         throw new IllegalArgumentException( "Resource not found for theme property: " + value );
       }
       try {
-        applicationContext.getResourceManager().register( registerPath, inputStream );
+        resourceManager.register( registerPath, inputStream );
       } finally {
         inputStream.close();
       }
@@ -151,18 +168,26 @@ public class Theme {
 
   private static String registerResource( ApplicationContext applicationContext,
                                           String name,
-                                          String content )
+                                          byte[] content )
   {
-    byte[] buffer;
+    InputStream inputStream = new ByteArrayInputStream( content );
+    ResourceManager resourceManager = applicationContext.getResourceManager();
+    resourceManager.register( name, inputStream );
+    return resourceManager.getLocation( name );
+  }
+
+  private static byte[] toUtf8Bytes( String content ) {
     try {
-      buffer = content.getBytes( "UTF-8" );
+      return content.getBytes( "UTF-8" );
     } catch( UnsupportedEncodingException shouldNotHappen ) {
       throw new RuntimeException( shouldNotHappen );
     }
-    InputStream inputStream = new ByteArrayInputStream( buffer );
-    ResourceManager resourceManager = applicationContext.getResourceManager();
-    resourceManager.register( name, inputStream );
-    return resourceManager.getLocation( name );
+  }
+
+  private static String createHash( byte[] content ) {
+    CRC32 crc = new CRC32();
+    crc.update( content );
+    return Long.toHexString( crc.getValue() );
   }
 
   private static String createUniqueJsId( String id ) {
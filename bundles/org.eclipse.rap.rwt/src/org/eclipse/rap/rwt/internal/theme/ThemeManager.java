@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,7 +18,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -26,9 +25,11 @@ import java.util.Map;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleAdapterUtil;
+import org.eclipse.rap.rwt.internal.theme.ThemeTaskRunner.ThemeTask;
 import org.eclipse.rap.rwt.internal.theme.css.CssFileReader;
 import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.rap.rwt.service.ApplicationContext;
 import org.eclipse.rap.rwt.service.ResourceLoader;
 import org.eclipse.swt.widgets.Widget;
 
@@ -118,15 +119,32 @@ public class ThemeManager {
   public void activate() {
     if( !initialized ) {
       initializeThemeableWidgets();
-      Collection<Theme> allThemes = themes.values();
-      ThemeableWidget[] allThemeableWidgets = themeableWidgets.getAll();
-      for( Theme theme : allThemes ) {
-        theme.initialize( allThemeableWidgets );
-      }
+      final ThemeableWidget[] allThemeableWidgets = themeableWidgets.getAll();
+      ThemeTaskRunner.runForAll( themes.values(), new ThemeTask() {
+        @Override
+        public void run( Theme theme ) {
+          theme.initialize( allThemeableWidgets );
+        }
+      } );
       initialized = true;
     }
   }
 
+  /**
+   * Creates the client theme stores of all registered themes. The themes are processed in
+   * parallel. Must be called after <code>activate()</code>.
+   *
+   * @param applicationContext the application context to create the theme stores for
+   */
+  public void createThemeStores( final ApplicationContext applicationContext ) {
+    ThemeTaskRunner.runForAll( themes.values(), new ThemeTask() {
+      @Override
+      public void run( Theme theme ) {
+        theme.createThemeStore( applicationContext );
+      }
+    } );
+  }
+
   public void deactivate() {
     themes.clear();
     themeableWidgets.reset();
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.theme;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Runs a task for each of a number of themes. Themes are independent of each other, hence the
+ * tasks are executed in parallel in a fork-join pool if there are enough themes to make up for
+ * the thread hand-off. Exceptions thrown by a task are propagated to the caller.
+ */
+final class ThemeTaskRunner {
+
+  // the fallback and the default theme alone are processed sequentially
+  static final int PARALLEL_THRESHOLD = 3;
+
+  interface ThemeTask {
+    void run( Theme theme );
+  }
+
+  private ThemeTaskRunner() {
+    // prevent instantiation
+  }
+
+  static void runForAll( Collection<Theme> themes, ThemeTask task ) {
+    int parallelism = Math.min( themes.size(), Runtime.getRuntime().availableProcessors() );
+    if( themes.size() < PARALLEL_THRESHOLD || parallelism < 2 ) {
+      for( Theme theme : themes ) {
+        task.run( theme );
+      }
+    } else {
+      ForkJoinPool pool = new ForkJoinPool( parallelism );
+      try {
+        pool.invoke( new ThemesAction( themes, task ) );
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+  private static class ThemesAction extends RecursiveAction {
+
+    private final Collection<Theme> themes;
+    private final ThemeTask task;
+
+    ThemesAction( Collection<Theme> themes, ThemeTask task ) {
+      this.themes = themes;
+      this.task = task;
+    }
+
+    @Override
+    protected void compute() {
+      List<ThemeAction> actions = new ArrayList<>( themes.size() );
+      for( Theme theme : themes ) {
+        actions.add( new ThemeAction( theme, task ) );
+      }
+      invokeAll( actions );
+    }
+
+  }
+
+  private static class ThemeAction extends RecursiveAction {
+
+    private final Theme theme;
+    private final ThemeTask task;
+
+    ThemeAction( Theme theme, ThemeTask task ) {
+      this.theme = theme;
+      this.task = task;
+    }
+
+    @Override
+    protected void compute() {
+      task.run( theme );
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,90 +11,277 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.theme;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.internal.theme.css.ConditionalValue;
 import org.eclipse.swt.widgets.Widget;
 
 
+/**
+ * Selects the first conditional value whose constraints are met by a widget.
+ * <p>
+ * The constraints of every array of conditional values are compiled once into a decision table.
+ * Style, state and variant constraints are resolved to bit positions, and the selected value is
+ * memoised per combination of style bits, state mask and variant. Since there is one matcher per
+ * widget class, repeated lookups for widgets of the same kind become array reads.
+ * </p>
+ */
 public final class WidgetMatcher implements ValueSelector {
 
   public static interface Constraint {
     boolean matches( Widget widget );
   }
 
-  private final Map<String, Constraint> constraintMap;
+  private static final Object NO_VALUE = new Object();
+
+  private final Map<String, Integer> styleMap;
+  private final Map<String, Constraint> stateMap;
+  private final Map<ConditionalValue[], DecisionTable> decisionTables;
 
   public WidgetMatcher() {
-    // This map is accessed by all UI sessions simultaneously. However, We don't need to
-    // synchronize get and put since constraints are deterministic, i.e. in case of concurrent
-    // insertions one constraint overwriting the other is not critical.
-    constraintMap = new ConcurrentHashMap<>();
+    styleMap = new HashMap<>();
+    stateMap = new HashMap<>();
+    // This map is accessed by all UI sessions simultaneously. However, we don't need to
+    // synchronize get and put since decision tables are deterministic, i.e. in case of concurrent
+    // insertions one table overwriting the other is not critical.
+    decisionTables = new ConcurrentHashMap<>();
   }
 
   public void addStyle( String string, int style ) {
-    constraintMap.put( "[" + string, createStyleConstraint( style ) );
+    styleMap.put( string, Integer.valueOf( style ) );
+    decisionTables.clear();
   }
 
   public void addState( String string, Constraint constraint ) {
-    constraintMap.put( ":" + string, constraint );
+    stateMap.put( string, constraint );
+    decisionTables.clear();
   }
 
   @Override
   public CssValue select( Widget widget, ConditionalValue... values ) {
     CssValue result = null;
-    for( int i = 0; i < values.length && result == null; i++ ) {
-      ConditionalValue condValue = values[ i ];
-      String[] constraints = condValue.constraints;
-      if( matches( widget, constraints ) ) {
-        result = condValue.value;
-      }
+    if( values.length > 0 ) {
+      result = getDecisionTable( values ).select( widget );
     }
     return result;
   }
 
-  private boolean matches( Widget widget, String[] constraints ) {
-    for( String string : constraints ) {
-      Constraint constraint = getConstraint( string );
-      if( constraint == null || !constraint.matches( widget ) ) {
-        return false;
-      }
+  private DecisionTable getDecisionTable( ConditionalValue[] values ) {
+    // arrays use identity hash codes, the values arrays of a theme do not change
+    DecisionTable table = decisionTables.get( values );
+    if( table == null ) {
+      table = new DecisionTable( values );
+      decisionTables.put( values, table );
     }
-    return true;
+    return table;
   }
 
-  private Constraint getConstraint( String string ) {
-    Constraint constraint = constraintMap.get( string );
-    if( constraint == null && string.startsWith( "." ) ) {
-      constraint = createVariantConstraint( string.substring( 1 ) );
-      constraintMap.put( string, constraint );
+  private final class DecisionTable {
+
+    private static final int MAX_TABLE_BITS = 8;
+    private static final int MAX_BITS = Integer.SIZE - 1;
+    private static final int NO_VARIANT = 0;
+    private static final int IMPOSSIBLE = -1;
+
+    private final ConditionalValue[] values;
+    private final int[] styles;
+    private final Constraint[] states;
+    private final String[] variants;
+    // per value: the required bits (styles first, states after) and the required variant index
+    private final int[] requiredBits;
+    private final int[] requiredVariants;
+    private final AtomicReferenceArray<Object> memo;
+
+    DecisionTable( ConditionalValue[] values ) {
+      this.values = values;
+      List<Integer> styleList = new ArrayList<>();
+      List<Constraint> stateList = new ArrayList<>();
+      List<String> variantList = new ArrayList<>();
+      for( ConditionalValue value : values ) {
+        collectConstraints( value.constraints, styleList, stateList, variantList );
+      }
+      styles = new int[ styleList.size() ];
+      for( int i = 0; i < styles.length; i++ ) {
+        styles[ i ] = styleList.get( i ).intValue();
+      }
+      states = stateList.toArray( new Constraint[ stateList.size() ] );
+      variants = variantList.toArray( new String[ variantList.size() ] );
+      requiredBits = new int[ values.length ];
+      requiredVariants = new int[ values.length ];
+      int bitCount = styles.length + states.length;
+      if( bitCount <= MAX_BITS ) {
+        for( int i = 0; i < values.length; i++ ) {
+          compileConstraints( i, values[ i ].constraints, styleList, stateList, variantList );
+        }
+      }
+      if( bitCount <= MAX_TABLE_BITS ) {
+        memo = new AtomicReferenceArray<>( ( variants.length + 1 ) << bitCount );
+      } else {
+        memo = null;
+      }
     }
-    return constraint;
-  }
 
-  private static Constraint createStyleConstraint( final int style ) {
-    return new Constraint() {
-      @Override
-      public boolean matches( Widget widget ) {
-        return ( widget.getStyle() & style ) != 0;
+    CssValue select( Widget widget ) {
+      CssValue result;
+      int bitCount = styles.length + states.length;
+      if( bitCount > MAX_BITS ) {
+        result = selectUncompiled( widget );
+      } else if( memo != null ) {
+        int bits = getBits( widget );
+        int variant = getVariantIndex( widget );
+        int index = variant << bitCount | bits;
+        Object memoized = memo.get( index );
+        if( memoized == null ) {
+          result = selectValue( bits, variant );
+          memo.set( index, result == null ? NO_VALUE : result );
+        } else {
+          result = memoized == NO_VALUE ? null : ( CssValue )memoized;
+        }
+      } else {
+        result = selectValue( getBits( widget ), getVariantIndex( widget ) );
       }
-    };
-  }
+      return result;
+    }
 
-  private static Constraint createVariantConstraint( final String variant ) {
-    return new Constraint() {
-      @Override
-      public boolean matches( Widget widget ) {
-        return hasVariant( widget, variant );
+    private CssValue selectValue( int bits, int variant ) {
+      CssValue result = null;
+      for( int i = 0; i < values.length && result == null; i++ ) {
+        int requiredVariant = requiredVariants[ i ];
+        if(    requiredVariant != IMPOSSIBLE
+            && ( requiredBits[ i ] & bits ) == requiredBits[ i ]
+            && ( requiredVariant == NO_VARIANT || requiredVariant == variant ) )
+        {
+          result = values[ i ].value;
+        }
       }
-    };
-  }
+      return result;
+    }
+
+    private CssValue selectUncompiled( Widget widget ) {
+      CssValue result = null;
+      for( int i = 0; i < values.length && result == null; i++ ) {
+        if( matches( widget, values[ i ].constraints ) ) {
+          result = values[ i ].value;
+        }
+      }
+      return result;
+    }
+
+    private boolean matches( Widget widget, String[] constraints ) {
+      for( String constraint : constraints ) {
+        String name = constraint.substring( 1 );
+        boolean passed = false;
+        if( constraint.startsWith( "[" ) ) {
+          Integer style = styleMap.get( name );
+          passed = style != null && ( widget.getStyle() & style.intValue() ) != 0;
+        } else if( constraint.startsWith( ":" ) ) {
+          Constraint state = stateMap.get( name );
+          passed = state != null && state.matches( widget );
+        } else if( constraint.startsWith( "." ) ) {
+          passed = name.equals( WidgetUtil.getVariant( widget ) );
+        }
+        if( !passed ) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int getBits( Widget widget ) {
+      int result = 0;
+      if( styles.length > 0 ) {
+        int style = widget.getStyle();
+        for( int i = 0; i < styles.length; i++ ) {
+          if( ( style & styles[ i ] ) != 0 ) {
+            result |= 1 << i;
+          }
+        }
+      }
+      for( int i = 0; i < states.length; i++ ) {
+        if( states[ i ].matches( widget ) ) {
+          result |= 1 << ( styles.length + i );
+        }
+      }
+      return result;
+    }
+
+    private int getVariantIndex( Widget widget ) {
+      int result = NO_VARIANT;
+      if( variants.length > 0 ) {
+        String variant = WidgetUtil.getVariant( widget );
+        for( int i = 0; i < variants.length && result == NO_VARIANT; i++ ) {
+          if( variants[ i ].equals( variant ) ) {
+            result = i + 1;
+          }
+        }
+      }
+      return result;
+    }
+
+    private void collectConstraints( String[] constraints,
+                                     List<Integer> styleList,
+                                     List<Constraint> stateList,
+                                     List<String> variantList )
+    {
+      for( String constraint : constraints ) {
+        if( constraint.startsWith( "[" ) ) {
+          Integer style = styleMap.get( constraint.substring( 1 ) );
+          if( style != null && !styleList.contains( style ) ) {
+            styleList.add( style );
+          }
+        } else if( constraint.startsWith( ":" ) ) {
+          Constraint state = stateMap.get( constraint.substring( 1 ) );
+          if( state != null && !stateList.contains( state ) ) {
+            stateList.add( state );
+          }
+        } else if( constraint.startsWith( "." ) ) {
+          String variant = constraint.substring( 1 );
+          if( !variantList.contains( variant ) ) {
+            variantList.add( variant );
+          }
+        }
+      }
+    }
+
+    private void compileConstraints( int index,
+                                     String[] constraints,
+                                     List<Integer> styleList,
+                                     List<Constraint> stateList,
+                                     List<String> variantList )
+    {
+      int bits = 0;
+      int variant = NO_VARIANT;
+      for( String constraint : constraints ) {
+        int position = -1;
+        if( constraint.startsWith( "[" ) ) {
+          position = styleList.indexOf( styleMap.get( constraint.substring( 1 ) ) );
+        } else if( constraint.startsWith( ":" ) ) {
+          int stateIndex = stateList.indexOf( stateMap.get( constraint.substring( 1 ) ) );
+          position = stateIndex == -1 ? -1 : styleList.size() + stateIndex;
+        } else if( constraint.startsWith( "." ) ) {
+          int variantIndex = variantList.indexOf( constraint.substring( 1 ) ) + 1;
+          if( variant == NO_VARIANT || variant == variantIndex ) {
+            variant = variantIndex;
+            position = Integer.MAX_VALUE;
+          }
+        }
+        if( position == -1 ) {
+          // unknown constraints and conflicting variants can never be met
+          variant = IMPOSSIBLE;
+        } else if( position != Integer.MAX_VALUE ) {
+          bits |= 1 << position;
+        }
+      }
+      requiredBits[ index ] = bits;
+      requiredVariants[ index ] = variant;
+    }
 
-  private static boolean hasVariant( Widget widget, String variant ) {
-    String actualVariant = WidgetUtil.getVariant( widget );
-    return actualVariant != null && actualVariant.equals( variant );
   }
 
 }
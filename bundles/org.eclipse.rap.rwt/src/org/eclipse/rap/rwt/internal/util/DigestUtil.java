@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+
+public final class DigestUtil {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private DigestUtil() {
+    // prevent instantiation
+  }
+
+  public static MessageDigest createSha1Digest() {
+    try {
+      return MessageDigest.getInstance( "SHA-1" );
+    } catch( NoSuchAlgorithmException exception ) {
+      throw new IllegalStateException( "SHA-1 not available", exception );
+    }
+  }
+
+  public static String sha1( byte[] content ) {
+    return sha1( content, 0, content.length );
+  }
+
+  public static String sha1( byte[] content, int offset, int length ) {
+    MessageDigest digest = createSha1Digest();
+    digest.update( content, offset, length );
+    return toHex( digest.digest() );
+  }
+
+  public static String toHex( byte[] bytes ) {
+    char[] result = new char[ bytes.length * 2 ];
+    for( int i = 0; i < bytes.length; i++ ) {
+      result[ i * 2 ] = HEX_DIGITS[ ( bytes[ i ] >> 4 ) & 0xF ];
+      result[ i * 2 + 1 ] = HEX_DIGITS[ bytes[ i ] & 0xF ];
+    }
+    return new String( result );
+  }
+
+}
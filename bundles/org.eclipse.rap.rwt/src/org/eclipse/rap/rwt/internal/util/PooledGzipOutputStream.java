@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+
+/**
+ * Writes data in the gzip format like <code>java.util.zip.GZIPOutputStream</code>, but takes the
+ * native <code>Deflater</code> together with its buffer from a pool instead of creating and
+ * releasing them for every stream. The deflater is returned to the pool when the stream is
+ * finished or closed, a stream that is neither finished nor closed must be released.
+ */
+public class PooledGzipOutputStream extends OutputStream {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+  private static final byte[] HEADER = {
+    0x1f, ( byte )0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, ( byte )0xff
+  };
+  private static final int TRAILER_SIZE = 8;
+
+  private static final Queue<Compressor> pool = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger poolSize = new AtomicInteger();
+
+  private final OutputStream out;
+  private final byte[] singleByte;
+  private Compressor compressor;
+  private long inputSize;
+  private long outputSize;
+  private long compressionTime;
+
+  public PooledGzipOutputStream( OutputStream out ) throws IOException {
+    this.out = out;
+    singleByte = new byte[ 1 ];
+    compressor = acquire();
+    out.write( HEADER );
+  }
+
+  /**
+   * Compresses the given content into a new byte array.
+   */
+  public static byte[] compress( byte[] content, int offset, int length ) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream( length / 4 + 64 );
+    try( PooledGzipOutputStream outputStream = new PooledGzipOutputStream( bytes ) ) {
+      outputStream.write( content, offset, length );
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public void write( int value ) throws IOException {
+    singleByte[ 0 ] = ( byte )value;
+    write( singleByte, 0, 1 );
+  }
+
+  @Override
+  public void write( byte[] bytes, int offset, int length ) throws IOException {
+    if( compressor == null ) {
+      throw new IOException( "Stream already finished" );
+    }
+    if( length > 0 ) {
+      long startTime = System.nanoTime();
+      compressor.crc.update( bytes, offset, length );
+      compressor.deflater.setInput( bytes, offset, length );
+      while( !compressor.deflater.needsInput() ) {
+        deflate();
+      }
+      compressionTime += System.nanoTime() - startTime;
+    }
+  }
+
+  /**
+   * Writes the remaining compressed data and the gzip trailer without closing the underlying
+   * stream, and returns the deflater to the pool.
+   */
+  public void finish() throws IOException {
+    if( compressor != null ) {
+      long startTime = System.nanoTime();
+      try {
+        Deflater deflater = compressor.deflater;
+        deflater.finish();
+        while( !deflater.finished() ) {
+          deflate();
+        }
+        writeTrailer( ( int )compressor.crc.getValue(), ( int )deflater.getBytesRead() );
+        inputSize = deflater.getBytesRead();
+        outputSize = HEADER.length + deflater.getBytesWritten() + TRAILER_SIZE;
+      } finally {
+        release( compressor );
+        compressor = null;
+        compressionTime += System.nanoTime() - startTime;
+      }
+    }
+  }
+
+  /**
+   * Returns the deflater to the pool without writing the remaining data, e.g. when the compressed
+   * content is discarded after an error. The underlying stream is not closed.
+   */
+  public void release() {
+    if( compressor != null ) {
+      release( compressor );
+      compressor = null;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      finish();
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Returns the number of uncompressed bytes, available after the stream has been finished.
+   */
+  public long getInputSize() {
+    return inputSize;
+  }
+
+  /**
+   * Returns the number of bytes in the gzip format, available after the stream has been finished.
+   */
+  public long getOutputSize() {
+    return outputSize;
+  }
+
+  /**
+   * Returns the time in nanoseconds spent for compression, including the time for writing to the
+   * underlying stream.
+   */
+  public long getCompressionTime() {
+    return compressionTime;
+  }
+
+  private void deflate() throws IOException {
+    int length = compressor.deflater.deflate( compressor.buffer, 0, compressor.buffer.length );
+    if( length > 0 ) {
+      out.write( compressor.buffer, 0, length );
+    }
+  }
+
+  private void writeTrailer( int crc, int size ) throws IOException {
+    byte[] trailer = compressor.buffer;
+    writeInt( trailer, 0, crc );
+    writeInt( trailer, 4, size );
+    out.write( trailer, 0, TRAILER_SIZE );
+  }
+
+  private static void writeInt( byte[] bytes, int offset, int value ) {
+    bytes[ offset ] = ( byte )value;
+    bytes[ offset + 1 ] = ( byte )( value >> 8 );
+    bytes[ offset + 2 ] = ( byte )( value >> 16 );
+    bytes[ offset + 3 ] = ( byte )( value >> 24 );
+  }
+
+  private static Compressor acquire() {
+    Compressor result = pool.poll();
+    if( result == null ) {
+      result = new Compressor();
+    } else {
+      poolSize.decrementAndGet();
+    }
+    return result;
+  }
+
+  private static void release( Compressor compressor ) {
+    compressor.deflater.reset();
+    compressor.crc.reset();
+    if( poolSize.incrementAndGet() <= MAX_POOL_SIZE ) {
+      pool.offer( compressor );
+    } else {
+      poolSize.decrementAndGet();
+      compressor.deflater.end();
+    }
+  }
+
+  public static int getPoolSize() {
+    return poolSize.get();
+  }
+
+  private static final class Compressor {
+
+    final Deflater deflater;
+    final CRC32 crc;
+    final byte[] buffer;
+
+    Compressor() {
+      deflater = new Deflater( Deflater.DEFAULT_COMPRESSION, true );
+      crc = new CRC32();
+      buffer = new byte[ BUFFER_SIZE ];
+    }
+
+  }
+
+}
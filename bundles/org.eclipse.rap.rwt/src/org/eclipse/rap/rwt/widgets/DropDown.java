@@ -29,6 +29,7 @@ import org.eclipse.rap.rwt.scripting.ClientListener;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.internal.events.EventLCAUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Event;
@@ -163,6 +164,7 @@ public class DropDown extends Widget {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
     }
+    DirtyWidgets.markModified( this );
     this.items.clear();
     this.items.addAll( Arrays.asList( items ) );
     remoteObject.set( "items", createJsonArray( items ) );
@@ -205,6 +207,7 @@ public class DropDown extends Widget {
    */
   public void setSelectionIndex( int selection ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( selectionIndex != selection && selection >= -1 && selection < items.size() ) {
       setSelectionIndexImpl( selection );
       remoteObject.set( "selectionIndex", selection );
@@ -239,6 +242,7 @@ public class DropDown extends Widget {
    */
   public void setVisibleItemCount( int itemCount ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( visibleItemCount != itemCount ) {
       visibleItemCount = itemCount;
       remoteObject.set( "visibleItemCount", itemCount );
@@ -273,6 +277,7 @@ public class DropDown extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( visibility != visible ) {
       setVisibleImpl( visible );
       remoteObject.set( "visible", visible );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2016 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,6 +24,7 @@ import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
@@ -115,6 +116,7 @@ public class FileUpload extends Canvas {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.text = text;
   }
 
@@ -153,6 +155,7 @@ public class FileUpload extends Canvas {
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     this.image = image;
   }
 
@@ -228,6 +231,7 @@ public class FileUpload extends Canvas {
     if( extensions == null ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     filterExtensions = extensions;
   }
 
@@ -268,6 +272,7 @@ public class FileUpload extends Canvas {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( fileNames.length > 0 ) {
       this.url  = url;
     }
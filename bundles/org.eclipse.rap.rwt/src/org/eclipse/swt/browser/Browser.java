@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.internal.SWTEventListener;
 import org.eclipse.swt.internal.browser.browserkit.BrowserLCA;
 import org.eclipse.swt.internal.events.EventTypes;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IBrowserAdapter;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
@@ -140,6 +141,7 @@ public class Browser extends Composite {
     if( url == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     boolean result = sendLocationChangingEvent( url );
     if( result ) {
       this.url = url;
@@ -196,6 +198,7 @@ public class Browser extends Composite {
     if( html == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     boolean result = sendLocationChangingEvent( ABOUT_BLANK );
     if( result ) {
       this.html = html;
@@ -258,6 +261,7 @@ public class Browser extends Composite {
     if( executeScript != null ) {
       throw new IllegalStateException( "Another script is already pending" );
     }
+    DirtyWidgets.markModified( this );
     executeScript = script;
     executeResult = null;
     while( executeResult == null ) {
@@ -640,6 +644,7 @@ public class Browser extends Composite {
     if( executeScript != null ) {
       throw new IllegalStateException( "Another script is already pending" );
     }
+    DirtyWidgets.markModified( this );
     this.browserCallback = browserCallback;
     executeScript = prepareScript( script );
   }
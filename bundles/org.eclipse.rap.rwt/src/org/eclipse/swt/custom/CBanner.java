@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Layout;
@@ -376,6 +377,7 @@ public class CBanner extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( bottom != null && !bottom.isDisposed() ) {
       Point size = bottom.getSize();
       bottom.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -426,6 +428,7 @@ public class CBanner extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( left != null && !left.isDisposed() ) {
       Point size = left.getSize();
       left.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -455,6 +458,7 @@ public class CBanner extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( right != null && !right.isDisposed() ) {
       Point size = right.getSize();
       right.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -481,6 +485,7 @@ public class CBanner extends Composite {
     checkWidget();
     if( size == null || size.x < SWT.DEFAULT || size.y < SWT.DEFAULT )
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    DirtyWidgets.markModified( this );
     rightMinWidth = size.x;
     rightMinHeight = size.y;
     layout();
@@ -503,6 +508,7 @@ public class CBanner extends Composite {
     checkWidget();
     if( width < SWT.DEFAULT )
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    DirtyWidgets.markModified( this );
     rightWidth = width;
     layout();
   }
@@ -521,6 +527,7 @@ public class CBanner extends Composite {
    */
   public void setSimple( boolean simple ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.simple != simple ) {
       this.simple = simple;
       if( simple ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -36,6 +36,7 @@ import org.eclipse.swt.internal.custom.ICTabFolderAdapter;
 import org.eclipse.swt.internal.custom.ctabfolderkit.CTabFolderLCA;
 import org.eclipse.swt.internal.custom.ctabfolderkit.CTabFolderThemeAdapter;
 import org.eclipse.swt.internal.events.EventTypes;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.ItemHolder;
@@ -342,6 +343,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( index >= 0 && index <= itemHolder.size() - 1 ) {
       if( selectedIndex != index ) {
         int oldSelectionIndex = selectedIndex;
@@ -472,6 +474,7 @@ public class CTabFolder extends Composite {
     if( index == -1 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     int idx = -1;
     for( int i = 0; idx == -1 && i < priority.length; i++ ) {
       if( priority[ i ] == index ) {
@@ -524,6 +527,7 @@ public class CTabFolder extends Composite {
    */
   public void setMRUVisible( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( mru != show ) {
       mru = show;
       if( !mru ) {
@@ -589,6 +593,7 @@ public class CTabFolder extends Composite {
    */
   public void setMaximizeVisible( boolean maximizeVisible ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( showMax != maximizeVisible ) {
       showMax = maximizeVisible;
       updateItems();
@@ -624,6 +629,7 @@ public class CTabFolder extends Composite {
    */
   public void setMinimizeVisible( boolean minimizeVisible ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( showMin != minimizeVisible ) {
       showMin = minimizeVisible;
       updateItems();
@@ -659,6 +665,7 @@ public class CTabFolder extends Composite {
    */
   public void setMinimized( boolean minimized ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.minimized != minimized ) {
       if( minimized && maximized ) {
         setMaximized( false );
@@ -694,6 +701,7 @@ public class CTabFolder extends Composite {
    */
   public void setMaximized( boolean maximized ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.maximized != maximized ) {
       if( maximized && minimized ) {
         setMinimized( false );
@@ -760,6 +768,7 @@ public class CTabFolder extends Composite {
     if( height < -1 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     fixedTabHeight = height;
     updateTabHeight( false );
   }
@@ -813,6 +822,7 @@ public class CTabFolder extends Composite {
     if( minimumCharacters < 0 ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
+    DirtyWidgets.markModified( this );
     if( minChars != minimumCharacters ) {
       minChars = minimumCharacters;
       updateItems();
@@ -856,6 +866,7 @@ public class CTabFolder extends Composite {
    */
   public void setSingle( boolean single ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.single != single ) {
       this.single = single;
       updateItemsWithResizeEvent();
@@ -894,6 +905,7 @@ public class CTabFolder extends Composite {
     if( position != SWT.TOP && position != SWT.BOTTOM ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( onBottom != ( position == SWT.BOTTOM ) ) {
       onBottom = position == SWT.BOTTOM;
       borderTop = onBottom ? borderLeft : 0;
@@ -930,6 +942,7 @@ public class CTabFolder extends Composite {
    */
   public void setBorderVisible( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( ( borderLeft != 1 ) != !show ) {
       borderLeft = borderRight = show ? 1 : 0;
       borderTop = onBottom ? borderLeft : 0;
@@ -965,6 +978,7 @@ public class CTabFolder extends Composite {
    */
   public void setUnselectedImageVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( showUnselectedImage != visible ) {
       showUnselectedImage = visible;
       updateItems();
@@ -995,6 +1009,7 @@ public class CTabFolder extends Composite {
    */
   public void setUnselectedCloseVisible( boolean visible ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( showUnselectedClose != visible ) {
       showUnselectedClose = visible;
       updateItems();
@@ -1056,6 +1071,7 @@ public class CTabFolder extends Composite {
     if( null != color && color.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     selectionBackground = color;
   }
 
@@ -1169,6 +1185,7 @@ public class CTabFolder extends Composite {
       }
     }
 
+    DirtyWidgets.markModified( this );
     if( colors == null ) {
       selectionGraphicsAdapter.setBackgroundGradient( null, null, vertical );
       setSelectionBackground( ( Color )null );
@@ -1207,6 +1224,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionBackground( Image image ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     selectionBgImage = image;
   }
 
@@ -1222,6 +1240,7 @@ public class CTabFolder extends Composite {
    */
   public void setSelectionForeground( Color color ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     selectionForeground = color;
   }
 
@@ -1301,6 +1320,7 @@ public class CTabFolder extends Composite {
     if( control != null && control.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_PARENT );
     }
+    DirtyWidgets.markModified( this );
     if( topRight != control || topRightAlignment != alignment ) {
       topRight = control;
       topRightAlignment = alignment;
@@ -1371,6 +1391,7 @@ public class CTabFolder extends Composite {
   @Override
   public void setFont( Font font ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( font != getFont() ) {
       super.setFont( font );
       if( !updateTabHeight( false ) ) {
@@ -1489,6 +1510,7 @@ public class CTabFolder extends Composite {
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     TypedCTabFolderListener typedListener = new TypedCTabFolderListener( listener );
     addListener( EventTypes.CTAB_FOLDER_MINIMIZE, typedListener );
     addListener( EventTypes.CTAB_FOLDER_MAXIMIZE, typedListener );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,6 +24,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.custom.ctabitemkit.CTabItemLCA;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IWidgetFontAdapter;
 import org.eclipse.swt.internal.widgets.MarkupValidator;
 import org.eclipse.swt.widgets.Control;
@@ -178,6 +179,7 @@ public class CTabItem extends Item {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( !text.equals( getText() ) ) {
       super.setText( text );
       shortenedText = null;
@@ -189,6 +191,7 @@ public class CTabItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( image != getImage() ) {
       super.setImage( image );
       if( !parent.updateTabHeight( false ) ) {
@@ -221,6 +224,7 @@ public class CTabItem extends Item {
     if( font != null && font.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( font != this.font ) {
       this.font = font;
       if( !parent.updateTabHeight( false ) ) {
@@ -291,6 +295,7 @@ public class CTabItem extends Item {
         SWT.error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    DirtyWidgets.markModified( this );
     if( this.control != null && !this.control.isDisposed() ) {
       this.control.setVisible( false );
     }
@@ -319,6 +324,7 @@ public class CTabItem extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -367,6 +373,7 @@ public class CTabItem extends Item {
    */
   public void setShowClose( boolean close ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( ( parent.getStyle() & SWT.CLOSE ) == 0 && showClose != close ) {
       showClose = close;
       parent.updateItems();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Event;
@@ -337,6 +338,7 @@ public class SashForm extends Composite {
     if( orientation != SWT.HORIZONTAL && orientation != SWT.VERTICAL ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     sashStyle &= ~( SWT.HORIZONTAL | SWT.VERTICAL );
     sashStyle |= orientation == SWT.VERTICAL ? SWT.HORIZONTAL : SWT.VERTICAL;
     for( int i = 0; i < sashes.length; i++ ) {
@@ -406,6 +408,7 @@ public class SashForm extends Composite {
    */
   public void setMaximizedControl( Control control ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( control == null ) {
       if( maxControl != null ) {
         this.maxControl = null;
@@ -438,6 +441,7 @@ public class SashForm extends Composite {
    */
   public void setSashWidth( int width ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( SASH_WIDTH == width ) {
       return;
     }
@@ -476,6 +480,7 @@ public class SashForm extends Composite {
     if( total == 0 ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     for( int i = 0; i < cArray.length; i++ ) {
       Object data = cArray[ i ].getLayoutData();
       if( data == null || !( data instanceof SashFormData ) ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,6 +21,7 @@ import org.eclipse.swt.events.ControlEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.custom.scrolledcompositekit.ScrolledCompositeLCA;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Layout;
@@ -158,6 +159,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setOrigin( int left, int top ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( content != null && left >= 0 && top >= 0 ) {
       int x = left;
       int y = top;
@@ -220,6 +222,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setAlwaysShowScrollBars( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( !show != !alwaysShowScroll ) {
       alwaysShowScroll = show;
       ScrollBar hBar = getHorizontalBar();
@@ -298,6 +301,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setExpandHorizontal( boolean expand ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( expand != expandHorizontal ) {
       expandHorizontal = expand;
       // layout( false );
@@ -322,6 +326,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setExpandVertical( boolean expand ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( expand != expandVertical ) {
       expandVertical = expand;
       // layout( false );
@@ -429,6 +434,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setMinSize( int width, int height ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( width != minWidth || height != minHeight ) {
       minWidth = Math.max( 0, width );
       minHeight = Math.max( 0, height );
@@ -452,6 +458,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setContent( Control content ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.content != null && !this.content.isDisposed() ) {
       this.content.removeControlListener( contentListener );
       this.content.setBounds( new Rectangle( -200, -200, 0, 0 ) );
@@ -512,6 +519,7 @@ public class ScrolledComposite extends Composite {
    */
   public void setShowFocusedControl( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( showFocusedControl != show ) {
       showFocusedControl = show;
       if( showFocusedControl ) {
@@ -568,6 +576,7 @@ public class ScrolledComposite extends Composite {
     if( !contains( control ) ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     Rectangle itemRect = getDisplay().map( control.getParent(), this, control.getBounds() );
     Rectangle area = getClientArea();
     Point origin = getOrigin();
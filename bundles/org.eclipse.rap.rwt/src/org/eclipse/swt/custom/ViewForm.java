@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,7 @@ import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Layout;
@@ -326,6 +327,7 @@ public class ViewForm extends Composite {
     if( content != null && content.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( this.content != null && !this.content.isDisposed() ) {
       this.content.setBounds( OFFSCREEN, OFFSCREEN, 0, 0 );
     }
@@ -356,6 +358,7 @@ public class ViewForm extends Composite {
 
   void setSelectionBackground( Color color ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( selectionBackground == color )
       return;
     if (color == null) color = getDisplay().getSystemColor(SELECTION_BACKGROUND);
@@ -384,6 +387,7 @@ public class ViewForm extends Composite {
     if( topCenter != null && topCenter.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( this.topCenter != null && !this.topCenter.isDisposed() ) {
       Point size = this.topCenter.getSize();
       this.topCenter.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -413,6 +417,7 @@ public class ViewForm extends Composite {
     if( c != null && c.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( this.topLeft != null && !this.topLeft.isDisposed() ) {
       Point size = this.topLeft.getSize();
       this.topLeft.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -443,6 +448,7 @@ public class ViewForm extends Composite {
     if( c != null && c.getParent() != this ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    DirtyWidgets.markModified( this );
     if( this.topRight != null && !this.topRight.isDisposed() ) {
       Point size = this.topRight.getSize();
       this.topRight.setLocation( OFFSCREEN - size.x, OFFSCREEN - size.y );
@@ -464,6 +470,7 @@ public class ViewForm extends Composite {
    */
   public void setBorderVisible( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( showBorder == show )
       return;
     showBorder = show;
@@ -495,6 +502,7 @@ public class ViewForm extends Composite {
    */
   public void setTopCenterSeparate( boolean show ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     separateTopCenter = show;
     layout(false);
   }
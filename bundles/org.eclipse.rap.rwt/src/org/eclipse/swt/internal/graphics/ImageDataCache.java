@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,46 +11,173 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.swt.graphics.ImageData;
 
 
 /**
- * Cache for small image data, mainly for decorator images.
+ * Cache for small image data, mainly for decorator images. The cache is bounded by the total
+ * number of bytes of the cached image data. When this limit is exceeded, the least recently used
+ * entries are evicted until the cache is down to three quarters of the limit, so that the entries
+ * are not sorted again on every subsequent put. Lookups do not block, only eviction is serialized.
  */
-final class ImageDataCache {
+public final class ImageDataCache {
 
   /** Maximum size of image data that is being cached */
   private static final int MAX_DATA_SIZE = 1024;
+  /** Maximum size of all image data in the cache */
+  private static final long MAX_CACHE_SIZE = 1024 * 1024;
 
-  private final Map<InternalImage,ImageData> cache;
-  private final Object cacheLock;
+  // compares the access times taken before sorting, lastAccess may change concurrently
+  private static final Comparator<Entry> LEAST_RECENTLY_USED = new Comparator<Entry>() {
+    @Override
+    public int compare( Entry entry1, Entry entry2 ) {
+      return Long.compare( entry1.evictionOrder, entry2.evictionOrder );
+    }
+  };
+
+  private final int maxDataSize;
+  private final long maxCacheSize;
+  private final long lowWatermark;
+  private final Map<InternalImage,Entry> cache;
+  private final Object evictionLock;
+  private final AtomicLong clock;
+  private final AtomicLong weight;
+  private final AtomicLong hitCount;
+  private final AtomicLong missCount;
+  private final AtomicLong evictionCount;
 
   ImageDataCache() {
-    cacheLock = new Object();
-    cache = new HashMap<InternalImage,ImageData>( 25 );
+    this( MAX_DATA_SIZE, MAX_CACHE_SIZE );
+  }
+
+  ImageDataCache( int maxDataSize, long maxCacheSize ) {
+    this.maxDataSize = maxDataSize;
+    this.maxCacheSize = maxCacheSize;
+    lowWatermark = maxCacheSize * 3 / 4;
+    cache = new ConcurrentHashMap<>( 25 );
+    evictionLock = new Object();
+    clock = new AtomicLong();
+    weight = new AtomicLong();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
+    evictionCount = new AtomicLong();
   }
 
   ImageData getImageData( InternalImage internalImage ) {
     ParamCheck.notNull( internalImage, "internalImage" );
-    ImageData cached;
-    synchronized( cacheLock ) {
-      cached = cache.get( internalImage );
+    ImageData result = null;
+    Entry entry = cache.get( internalImage );
+    if( entry != null ) {
+      entry.lastAccess = clock.incrementAndGet();
+      hitCount.incrementAndGet();
+      result = ( ImageData )entry.imageData.clone();
+    } else {
+      missCount.incrementAndGet();
     }
-    return cached != null ? ( ImageData )cached.clone() : null;
+    return result;
   }
 
   void putImageData( InternalImage internalImage, ImageData imageData ) {
     ParamCheck.notNull( internalImage, "internalImage" );
     ParamCheck.notNull( imageData, "imageData" );
-    if( imageData.data.length <= MAX_DATA_SIZE ) {
-      synchronized( cacheLock ) {
-        // TODO [rst] Implement replacement strategy (LRU or LFU)
-        cache.put( internalImage, ( ImageData )imageData.clone() );
+    int dataSize = computeWeight( imageData );
+    if( dataSize <= maxDataSize ) {
+      Entry entry = new Entry( internalImage, ( ImageData )imageData.clone(), dataSize );
+      entry.lastAccess = clock.incrementAndGet();
+      Entry previous = cache.put( internalImage, entry );
+      long total = weight.addAndGet( previous == null ? dataSize : dataSize - previous.weight );
+      if( total > maxCacheSize ) {
+        evict();
       }
     }
   }
+
+  /**
+   * Returns the number of lookups that found cached image data.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of lookups that did not find cached image data.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the number of entries that have been removed to stay within the size limit.
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Returns the total number of bytes of the cached image data.
+   */
+  public long getWeight() {
+    return weight.get();
+  }
+
+  public int getSize() {
+    return cache.size();
+  }
+
+  private void evict() {
+    synchronized( evictionLock ) {
+      if( weight.get() > maxCacheSize ) {
+        List<Entry> entries = new ArrayList<>( cache.values() );
+        for( Entry entry : entries ) {
+          entry.evictionOrder = entry.lastAccess;
+        }
+        Collections.sort( entries, LEAST_RECENTLY_USED );
+        for( int i = 0; i < entries.size() && weight.get() > lowWatermark; i++ ) {
+          Entry entry = entries.get( i );
+          if( cache.remove( entry.internalImage, entry ) ) {
+            weight.addAndGet( -entry.weight );
+            evictionCount.incrementAndGet();
+          }
+        }
+      }
+    }
+  }
+
+  private static int computeWeight( ImageData imageData ) {
+    int result = imageData.data.length;
+    if( imageData.alphaData != null ) {
+      result += imageData.alphaData.length;
+    }
+    if( imageData.maskData != null ) {
+      result += imageData.maskData.length;
+    }
+    return result;
+  }
+
+  private static final class Entry {
+
+    final InternalImage internalImage;
+    final ImageData imageData;
+    final int weight;
+    volatile long lastAccess;
+    // guarded by evictionLock
+    long evictionOrder;
+
+    Entry( InternalImage internalImage, ImageData imageData, int weight ) {
+      this.internalImage = internalImage;
+      this.imageData = imageData;
+      this.weight = weight;
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,9 +17,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.zip.CRC32;
 
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.util.DigestUtil;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
 import org.eclipse.swt.SWT;
@@ -31,10 +37,20 @@ import org.eclipse.swt.graphics.RGB;
 
 public class InternalImageFactory {
 
+  private static final int MAX_CONTENT_KEYS = 1000;
+
   private final SharedInstanceBuffer<String, InternalImage> cache;
+  // images by the hash of the stream they were created from, guarded by itself
+  private final Map<String, InternalImage> imagesByContent;
 
   public InternalImageFactory() {
     cache = new SharedInstanceBuffer<String, InternalImage>();
+    imagesByContent = new LinkedHashMap<String, InternalImage>( 16, 0.75f, true ) {
+      @Override
+      protected boolean removeEldestEntry( Entry<String, InternalImage> eldest ) {
+        return size() > MAX_CONTENT_KEYS;
+      }
+    };
   }
 
   public InternalImage findInternalImage( final String fileName ) {
@@ -45,15 +61,26 @@ public class InternalImageFactory {
     } );
   }
 
+  /*
+   * Images are looked up by a hash of the stream content first, so that an image that is created
+   * from the same content again, e.g. by another UI session, is found without decoding it. On a
+   * miss, the content is decoded before the cache is locked for writing. The hashes are kept in a
+   * bounded index, the cache itself holds a single entry per image.
+   */
   public InternalImage findInternalImage( InputStream stream ) {
-    final BufferedInputStream bufferedStream = new BufferedInputStream( stream );
-    final ImageData imageData = readImageData( bufferedStream );
-    final String path = createGeneratedImagePath( imageData );
-    return cache.get( path, new InstanceCreator<String, InternalImage>() {
-      public InternalImage createInstance( String path ) {
-        return createInternalImage( path, bufferedStream, imageData );
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    String contentKey = readContent( stream, buffer );
+    InternalImage result;
+    synchronized( imagesByContent ) {
+      result = imagesByContent.get( contentKey );
+    }
+    if( result == null ) {
+      result = findInternalImage( buffer.toByteArray() );
+      synchronized( imagesByContent ) {
+        imagesByContent.put( contentKey, result );
       }
-    } );
+    }
+    return result;
   }
 
   public InternalImage findInternalImage( final ImageData imageData ) {
@@ -77,6 +104,16 @@ public class InternalImageFactory {
     } );
   }
 
+  private InternalImage findInternalImage( final byte[] content ) {
+    final ImageData imageData = new ImageData( new ByteArrayInputStream( content ) );
+    String path = createGeneratedImagePath( imageData );
+    return cache.get( path, new InstanceCreator<String, InternalImage>() {
+      public InternalImage createInstance( String path ) {
+        return createInternalImage( path, new ByteArrayInputStream( content ), imageData );
+      }
+    } );
+  }
+
   static ImageData readImageData( InputStream stream ) throws SWTException {
     ////////////////////////////////////////////////////////////////////////////
     // TODO: [fappel] Image size calculation and resource registration both
@@ -107,6 +144,26 @@ public class InternalImageFactory {
     return new ByteArrayInputStream( bytes );
   }
 
+  /*
+   * Copies the stream to the given buffer and returns a SHA-1 hash of its content that is computed
+   * while reading.
+   */
+  static String readContent( InputStream stream, OutputStream buffer ) throws SWTException {
+    MessageDigest digest = DigestUtil.createSha1Digest();
+    byte[] bytes = new byte[ 8192 ];
+    try {
+      int read = stream.read( bytes );
+      while( read != -1 ) {
+        digest.update( bytes, 0, read );
+        buffer.write( bytes, 0, read );
+        read = stream.read( bytes );
+      }
+    } catch( IOException ioe ) {
+      throw new SWTException( SWT.ERROR_IO, ioe.getMessage() );
+    }
+    return DigestUtil.toHex( digest.digest() );
+  }
+
   private static InternalImage createInternalImage( String fileName ) {
     InternalImage result;
     try {
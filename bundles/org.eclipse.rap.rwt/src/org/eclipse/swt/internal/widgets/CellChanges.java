@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+
+/**
+ * Flags for the cell properties of table and tree items that were changed since the values of
+ * the item have been preserved. The item LCAs render only the flagged cell properties instead of
+ * comparing copies of all cell arrays.
+ */
+public final class CellChanges {
+
+  public static final int TEXTS = 1;
+  public static final int IMAGES = 1 << 1;
+  public static final int BACKGROUNDS = 1 << 2;
+  public static final int FOREGROUNDS = 1 << 3;
+  public static final int FONTS = 1 << 4;
+  public static final int ALL = TEXTS | IMAGES | BACKGROUNDS | FOREGROUNDS | FONTS;
+
+  private CellChanges() {
+    // prevent instantiation
+  }
+
+}
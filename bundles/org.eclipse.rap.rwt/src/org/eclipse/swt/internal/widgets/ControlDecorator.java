@@ -63,6 +63,7 @@ public class ControlDecorator extends Decorator {
 
   public void setImage( Image image ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.image = image;
   }
 
@@ -73,6 +74,7 @@ public class ControlDecorator extends Decorator {
 
   public void setText( String text ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     String newText = text == null ? "" : text;
     if( isMarkupEnabledFor( this ) && !isValidationDisabledFor( this ) ) {
       MarkupValidator.getInstance().validate( newText );
@@ -94,6 +96,7 @@ public class ControlDecorator extends Decorator {
 
   public void setShowOnlyOnFocus( boolean showOnlyOnFocus ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     if( this.showOnlyOnFocus != showOnlyOnFocus ) {
       this.showOnlyOnFocus = showOnlyOnFocus;
       if( showOnlyOnFocus ) {
@@ -111,6 +114,7 @@ public class ControlDecorator extends Decorator {
 
   public void setShowHover( boolean showHover ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.showHover = showHover;
   }
 
@@ -121,16 +125,19 @@ public class ControlDecorator extends Decorator {
 
   public void setMarginWidth( int marginWidth ) {
     checkWidget();
+    DirtyWidgets.markModified( this );
     this.marginWidth = marginWidth;
   }
 
   public void show() {
     checkWidget();
+    DirtyWidgets.markModified( this );
     visible = true;
   }
 
   public void hide() {
     checkWidget();
+    DirtyWidgets.markModified( this );
     visible = false;
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource and others.
+ * Copyright (c) 2015, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -140,12 +140,17 @@ public class ControlRemoteAdapter extends WidgetRemoteAdapter {
     }
   }
 
-  public void renderTabIndex( Control control ) {
+  public boolean hasTabIndexChanged( Control control ) {
     if( hasPreserved( TAB_INDEX ) ) {
       int actual = ControlUtil.getControlAdapter( control ).getTabIndex();
-      if( !isInitialized() || actual != tabIndex ) {
-        getRemoteObject().set( PROP_TAB_INDEX, actual );
-      }
+      return !isInitialized() || actual != tabIndex;
+    }
+    return false;
+  }
+
+  public void renderTabIndex( Control control ) {
+    if( hasTabIndexChanged( control ) ) {
+      getRemoteObject().set( PROP_TAB_INDEX, ControlUtil.getControlAdapter( control ).getTabIndex() );
     }
   }
 
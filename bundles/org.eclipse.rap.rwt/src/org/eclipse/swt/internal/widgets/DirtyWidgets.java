@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getLCA;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
+import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.widgets.Widget;
+
+
+/*
+ * Keeps track of the widgets of a display that have been modified while processing a request.
+ * Widgets are preserved when they are modified for the first time, so that the render phase only
+ * needs to visit the dirty widgets and their ancestors instead of the whole widget tree.
+ * Widgets whose LCA does not support dirty tracking cannot be relied on to report their
+ * modifications. They are preserved and rendered in every request, like without tracking.
+ */
+public class DirtyWidgets implements SerializableCompatibility {
+
+  private static final int IDLE = 0;
+  private static final int TRACKING = 1;
+  private static final int RENDERING = 2;
+  private static final int ALL_DIRTY = 3;
+
+  private final Set<Widget> dirtyWidgets;
+  private final Set<Widget> preservedWidgets;
+  private final Set<Widget> untrackedWidgets;
+  private int state;
+  private boolean modifiedUntracked;
+
+  public DirtyWidgets() {
+    dirtyWidgets = new LinkedHashSet<>();
+    preservedWidgets = new LinkedHashSet<>();
+    untrackedWidgets = new LinkedHashSet<>();
+    state = IDLE;
+  }
+
+  /*
+   * Marks the given widget and its ancestors as modified if the display of the widget tracks
+   * modifications. Must be called by widgets outside of org.eclipse.swt.widgets before a rendered
+   * property is changed.
+   */
+  public static void markModified( Widget widget ) {
+    IDisplayAdapter displayAdapter = widget.getDisplay().getAdapter( IDisplayAdapter.class );
+    DirtyWidgets dirtyWidgets = displayAdapter.getDirtyWidgets();
+    if( dirtyWidgets != null ) {
+      if( dirtyWidgets.isActive() ) {
+        dirtyWidgets.markDirty( widget );
+      } else {
+        dirtyWidgets.markUntracked();
+      }
+    }
+  }
+
+  /*
+   * Starts tracking modifications. Widgets that are marked dirty from now on are preserved
+   * before their first modification. Returns false if widgets have been modified since the last
+   * render phase without being tracked, all widgets have to be preserved and rendered then.
+   * Widgets that do not support tracking are marked dirty and thereby preserved right away.
+   */
+  public boolean startTracking() {
+    dirtyWidgets.clear();
+    if( modifiedUntracked ) {
+      return false;
+    }
+    state = TRACKING;
+    markUntrackedWidgetsDirty();
+    return true;
+  }
+
+  /*
+   * Stops tracking modifications made through the public widget API. Only changes detected by the
+   * render phase itself (e.g. recalculated tab indices) are recorded from now on.
+   */
+  public void startRendering() {
+    state = RENDERING;
+  }
+
+  /*
+   * Marks all widgets as dirty, used when the widget tree has been rendered without tracking.
+   */
+  public void markAllDirty() {
+    state = ALL_DIRTY;
+    modifiedUntracked = false;
+  }
+
+  /*
+   * Records a modification that has been made while tracking is not active, e.g. outside of the
+   * request life cycle. Such a modification marks all widgets dirty in the next render phase.
+   */
+  public void markUntracked() {
+    if( state == IDLE ) {
+      modifiedUntracked = true;
+    }
+  }
+
+  public boolean isTracking() {
+    return state == TRACKING;
+  }
+
+  public boolean isActive() {
+    return state == TRACKING || state == RENDERING;
+  }
+
+  public boolean isAllDirty() {
+    return state == ALL_DIRTY || modifiedUntracked;
+  }
+
+  public boolean isDirty( Widget widget ) {
+    return dirtyWidgets.contains( widget );
+  }
+
+  public int size() {
+    return dirtyWidgets.size();
+  }
+
+  /*
+   * Adds a single widget without its ancestors. Returns false if the widget was already dirty or
+   * tracking is not active. The widget is preserved if it has already been rendered.
+   */
+  public boolean add( Widget widget, boolean initialized ) {
+    if( isActive() && dirtyWidgets.add( widget ) ) {
+      if( initialized ) {
+        preserve( widget );
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /*
+   * Marks an already rendered widget and its ancestors as dirty.
+   */
+  public void markDirty( Widget widget ) {
+    Widget current = widget;
+    RemoteAdapter adapter = getAdapter( current );
+    while( current != null && add( current, adapter.isInitialized() ) ) {
+      current = adapter.getParent();
+      adapter = current == null ? null : getAdapter( current );
+    }
+  }
+
+  /*
+   * Registers a widget that has been rendered in order to clear its preserved values afterwards.
+   * Remembers widgets whose LCA does not support tracking, see startTracking().
+   */
+  public void markRendered( Widget widget ) {
+    if( state != ALL_DIRTY ) {
+      preservedWidgets.add( widget );
+    }
+    if( !getLCA( widget ).supportsDirtyTracking() ) {
+      untrackedWidgets.add( widget );
+    }
+  }
+
+  public void clearPreserved() {
+    for( Widget widget : preservedWidgets ) {
+      if( !widget.isDisposed() ) {
+        ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
+      }
+    }
+    dirtyWidgets.clear();
+    preservedWidgets.clear();
+    state = IDLE;
+  }
+
+  private void markUntrackedWidgetsDirty() {
+    Iterator<Widget> iterator = untrackedWidgets.iterator();
+    while( iterator.hasNext() ) {
+      Widget widget = iterator.next();
+      if( widget.isDisposed() ) {
+        iterator.remove();
+      } else {
+        markDirty( widget );
+      }
+    }
+  }
+
+  private void preserve( Widget widget ) {
+    WidgetRemoteAdapter adapter = ( WidgetRemoteAdapter )getAdapter( widget );
+    if( state == TRACKING ) {
+      // discard values that have been preserved lazily before tracking started
+      adapter.clearPreserved();
+    }
+    preservedWidgets.add( widget );
+    getLCA( widget ).preserveValues( widget );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,7 +14,11 @@ package org.eclipse.swt.internal.widgets;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.preserveProperty;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderData;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderProperty;
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.getRemoteObject;
 
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonValue;
 import org.eclipse.swt.widgets.Item;
 
 
@@ -38,4 +42,17 @@ public class ItemLCAUtil {
     renderData( item );
   }
 
+  /**
+   * Renders a cell property of a table or tree item that is known to be changed, see
+   * {@link CellChanges}. A <code>null</code> value resets the property on the client unless the
+   * item is rendered for the first time.
+   */
+  public static void renderCellProperty( Item item, String property, JsonArray value ) {
+    if( value != null ) {
+      getRemoteObject( item ).set( property, value );
+    } else if( getAdapter( item ).isInitialized() ) {
+      getRemoteObject( item ).set( property, JsonValue.NULL );
+    }
+  }
+
 }
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Application scoped executor for the tasks of <code>Display#timerExec()</code>. All displays of
+ * an application share a single daemon thread that is started with the first scheduled task.
+ * Cancelled tasks are removed from the queue immediately.
+ */
+public class TimerExecutor {
+
+  private static final String THREAD_NAME = "RWT timerExec scheduler";
+
+  private final Object lock;
+  private ScheduledThreadPoolExecutor executor;
+  private boolean active;
+
+  public TimerExecutor() {
+    lock = new Object();
+  }
+
+  public void activate() {
+    synchronized( lock ) {
+      active = true;
+    }
+  }
+
+  public void deactivate() {
+    synchronized( lock ) {
+      active = false;
+      if( executor != null ) {
+        executor.shutdownNow();
+        executor = null;
+      }
+    }
+  }
+
+  /**
+   * Runs the given task on the timer thread after the given delay.
+   *
+   * @return a future to cancel the task, or <code>null</code> if the executor is not active
+   */
+  public ScheduledFuture<?> schedule( Runnable task, long delayInMillis ) {
+    ScheduledFuture<?> result = null;
+    synchronized( lock ) {
+      if( active ) {
+        result = getExecutor().schedule( task, delayInMillis, TimeUnit.MILLISECONDS );
+      }
+    }
+    return result;
+  }
+
+  int getQueueSize() {
+    synchronized( lock ) {
+      return executor == null ? 0 : executor.getQueue().size();
+    }
+  }
+
+  private ScheduledThreadPoolExecutor getExecutor() {
+    if( executor == null ) {
+      executor = new ScheduledThreadPoolExecutor( 1, new TimerThreadFactory() );
+      executor.setRemoveOnCancelPolicy( true );
+    }
+    return executor;
+  }
+
+  private static class TimerThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread( Runnable runnable ) {
+      Thread thread = new Thread( runnable, THREAD_NAME );
+      thread.setDaemon( true );
+      return thread;
+    }
+
+  }
+
+}
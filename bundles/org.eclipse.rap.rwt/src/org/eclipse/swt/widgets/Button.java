@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -150,6 +150,7 @@ public class Button extends Control {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( ( style & SWT.ARROW ) == 0 ) {
       if( isMarkupEnabledFor( this ) && !isValidationDisabledFor( this ) ) {
         MarkupValidator.getInstance().validate( text );
@@ -219,6 +220,7 @@ public class Button extends Control {
    */
   public void setSelection( boolean selected ) {
     checkWidget();
+    markDirty();
     if( ( style & ( SWT.CHECK | SWT.RADIO | SWT.TOGGLE ) ) != 0 ) {
       this.selected = selected;
     }
@@ -263,6 +265,7 @@ public class Button extends Control {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.CHECK ) != 0 ) {
       this.grayed = grayed;
     }
@@ -303,6 +306,7 @@ public class Button extends Control {
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( ( style & SWT.ARROW ) == 0 ) {
       this.image = image;
     }
@@ -375,6 +379,7 @@ public class Button extends Control {
    // TODO [rst] Remove comments from javadoc when fully implemented
   public void setAlignment( int alignment ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.ARROW ) != 0 ) {
       if( ( style & ( SWT.UP | SWT.DOWN | SWT.LEFT | SWT.RIGHT ) ) != 0 ) {
         style &= ~( SWT.UP | SWT.DOWN | SWT.LEFT | SWT.RIGHT );
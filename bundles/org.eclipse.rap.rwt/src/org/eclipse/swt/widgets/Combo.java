@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -163,6 +163,7 @@ public class Combo extends Composite {
    */
   public void select( int selectionIndex ) {
     checkWidget();
+    markDirty();
     if( 0 <= selectionIndex && selectionIndex < getItemCount() ) {
       model.setSelection( selectionIndex );
       updateText();
@@ -183,6 +184,7 @@ public class Combo extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    markDirty();
     if( index == model.getSelectionIndex() ) {
       model.setSelection( -1 );
     }
@@ -205,6 +207,7 @@ public class Combo extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    markDirty();
     model.deselectAll();
     text = "";
     notifyListeners( SWT.Modify, new Event() );
@@ -233,6 +236,7 @@ public class Combo extends Composite {
     if( selection == null ) {
       SWT.error ( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     int validatedStart = this.selection.x;
     int validatedEnd = this.selection.y;
     int start = selection.x;
@@ -295,6 +299,7 @@ public class Combo extends Composite {
    */
   public void clearSelection() {
     checkWidget();
+    markDirty();
     resetSelection();
   }
 
@@ -315,6 +320,7 @@ public class Combo extends Composite {
    */
   public void add( String string ) {
     checkWidget();
+    markDirty();
     model.add( string );
   }
 
@@ -343,6 +349,7 @@ public class Combo extends Composite {
    */
   public void add( String string, int index ) {
     checkWidget();
+    markDirty();
     model.add( string, index );
   }
 
@@ -362,6 +369,7 @@ public class Combo extends Composite {
    */
   public void remove( int index ) {
     checkWidget();
+    markDirty();
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == index ) {
       deselect( index );
@@ -397,6 +405,7 @@ public class Combo extends Composite {
     {
       error( SWT.ERROR_INVALID_RANGE );
     }
+    markDirty();
     int selectionIndex = getSelectionIndex();
     for( int i = start; i <= end; i++ ) {
       int index = indexOf( items[ i ] );
@@ -425,6 +434,7 @@ public class Combo extends Composite {
    */
   public void remove( String string ) {
     checkWidget();
+    markDirty();
     int indexOfThisString = indexOf( string );
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == indexOfThisString ) {
@@ -444,6 +454,7 @@ public class Combo extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markDirty();
     deselectAll();
     model.removeAll();
   }
@@ -468,6 +479,7 @@ public class Combo extends Composite {
    */
   public void setItem( int index, String string ) {
     checkWidget();
+    markDirty();
     model.setItem( index, string );
   }
 
@@ -487,6 +499,7 @@ public class Combo extends Composite {
    */
   public void setItems( String... items ) {
     checkWidget();
+    markDirty();
     model.setItems( items );
   }
 
@@ -584,6 +597,7 @@ public class Combo extends Composite {
    */
   public void setVisibleItemCount( int count ) {
     checkWidget();
+    markDirty();
     if( count >= 0 ) {
       visibleCount = count;
     }
@@ -629,6 +643,7 @@ public class Combo extends Composite {
    */
   public void setListVisible( boolean visible ) {
     checkWidget();
+    markDirty();
     dropped = visible;
   }
 
@@ -757,6 +772,7 @@ public class Combo extends Composite {
     if( string == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( ( style & SWT.READ_ONLY ) != 0 ) {
       int index = indexOf( string );
       if( index != -1 ) {
@@ -817,6 +833,7 @@ public class Combo extends Composite {
     if( limit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
+    markDirty();
     if( limit > 0 ) {
       textLimit = limit;
     } else {
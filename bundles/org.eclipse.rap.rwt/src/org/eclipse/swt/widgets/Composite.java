@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -657,6 +657,7 @@ public class Composite extends Scrollable {
         error( SWT.ERROR_INVALID_PARENT );
       }
       }
+    markDirty();
     for( int i = 0; i < changed.length; i++ ) {
       Control child = changed[ i ];
       Composite composite = child._getParent();
@@ -712,6 +713,7 @@ public class Composite extends Scrollable {
    */
   public void setBackgroundMode( int mode ) {
     checkWidget();
+    markDirty();
     backgroundMode = mode;
     for( Control child : children ) {
       child.updateBackgroundMode();
@@ -738,6 +740,7 @@ public class Composite extends Scrollable {
   @Override
   public boolean setFocus() {
     checkWidget();
+    markDirty();
     for( Control child : children ) {
       if( child.setFocus() ) {
         return true;
@@ -783,6 +786,7 @@ public class Composite extends Scrollable {
       newList = new Control[ tabList.length ];
       System.arraycopy( tabList, 0, newList, 0, tabList.length );
     }
+    markDirty();
     this.tabList = newList;
   }
 
@@ -931,6 +935,8 @@ public class Composite extends Scrollable {
   }
 
   private ControlRemoteAdapter getRemoteAdapter() {
+    // only used to preserve values before they are changed
+    markDirty();
     return ( ControlRemoteAdapter )getAdapter( RemoteAdapter.class );
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -86,7 +86,10 @@ public abstract class Control extends Widget implements Drawable {
     @Override
     public void setTabIndex( int index ) {
       if( takesFocus() ) {
-        getRemoteAdapter().preserveTabIndex( tabIndex );
+        // tab indices are recalculated for all controls while rendering the shell, changes are
+        // detected by ControlLCAUtil
+        RemoteAdapter remoteAdapter = getAdapter( RemoteAdapter.class );
+        ( ( ControlRemoteAdapter )remoteAdapter ).preserveTabIndex( tabIndex );
         tabIndex = index;
       }
     }
@@ -327,6 +330,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markDirty();
     if( hasState( HIDDEN ) != !visible ) {
       preserveState( HIDDEN );
       internalSetVisible( visible );
@@ -417,6 +421,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markDirty();
     if( hasState( DISABLED ) != !enabled ) {
       preserveState( DISABLED );
       internalSetEnabled( enabled );
@@ -513,6 +518,7 @@ public abstract class Control extends Widget implements Drawable {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     getRemoteAdapter().preserveBackground( background, backgroundTransparency );
     background = color;
     updateBackground();
@@ -579,6 +585,7 @@ public abstract class Control extends Widget implements Drawable {
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( backgroundImage != image ) {
       getRemoteAdapter().preserveBackgroundImage( backgroundImage );
       backgroundImage = image;
@@ -626,6 +633,7 @@ public abstract class Control extends Widget implements Drawable {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     getRemoteAdapter().preserveForeground( foreground );
     foreground = color;
   }
@@ -745,6 +753,7 @@ public abstract class Control extends Widget implements Drawable {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     getRemoteAdapter().preserveFont( this.font );
     this.font = font;
   }
@@ -797,6 +806,7 @@ public abstract class Control extends Widget implements Drawable {
     if( cursor != null && cursor.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     getRemoteAdapter().preserveCursor( this.cursor );
     this.cursor = cursor;
   }
@@ -841,6 +851,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean setFocus() {
     checkWidget();
+    markDirty();
     boolean result = false;
     if( ( style & SWT.NO_FOCUS ) == 0 ) {
       result = forceFocus();
@@ -863,6 +874,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean forceFocus() {
     checkWidget();
+    markDirty();
     // if (display.focusEvent == SWT.FocusOut) return false;
     Shell shell = getShell(); // was: Decorations shell = menuShell();
     shell.setSavedFocus( this );
@@ -1405,6 +1417,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markDirty();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -1473,6 +1486,7 @@ public abstract class Control extends Widget implements Drawable {
           SWT.error( SWT.ERROR_INVALID_PARENT );
         }
       }
+      markDirty();
       removeMenuDisposeListener();
       _setMenu( menu );
       addMenuDisposeListener();
@@ -1527,6 +1541,7 @@ public abstract class Control extends Widget implements Drawable {
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( this instanceof Shell ) {
       // TODO: add support for Shell reordering
     } else if( control == null || control.parent == parent && control != this ) {
@@ -1559,6 +1574,7 @@ public abstract class Control extends Widget implements Drawable {
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( this instanceof Shell ) {
       // TODO: add support for Shell reordering
     } else if( control == null || control.parent == parent && control != this ) {
@@ -2120,6 +2136,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setRedraw( boolean redraw ) {
     checkWidget();
+    markDirty();
     internalSetRedraw( redraw );
   }
 
@@ -2140,6 +2157,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void redraw() {
     checkWidget();
+    markDirty();
     internalSetRedraw( true );
   }
 
@@ -2176,6 +2194,7 @@ public abstract class Control extends Widget implements Drawable {
 //  * @see SWT#Paint
   public void redraw( int x, int y, int width, int height, boolean all ) {
     checkWidget();
+    markDirty();
     if( width > 0 && height > 0 ) {
       internalSetRedraw( true, x, y, width, height );
     }
@@ -2254,6 +2273,8 @@ public abstract class Control extends Widget implements Drawable {
       ReparentedControls.add( this );
       this.parent = parent;
       getRemoteAdapter().setParent( parent );
+      // the receiver is already dirty, mark the ancestors of the new parent explicitly
+      parent.markDirty();
       parent.addChild( this );
     }
     return true;
@@ -2292,6 +2313,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setOrientation( int orientation ) {
     checkWidget();
+    markDirty();
     int flags = SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT;
     if( ( orientation & flags ) == 0 || ( orientation & flags ) == flags ) {
       return;
@@ -2383,6 +2405,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addGestureListener( GestureListener listener ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -2406,6 +2429,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeGestureListener( GestureListener listener ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -2435,6 +2459,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addTouchListener( TouchListener listener ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -2458,6 +2483,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeTouchListener( TouchListener listener ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -2475,6 +2501,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setTouchEnabled( boolean enabled ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -2595,7 +2622,9 @@ public abstract class Control extends Widget implements Drawable {
   }
 
   void _setBounds( Rectangle rectangle ) {
-    getRemoteAdapter().preserveBounds( bounds );
+    if( !rectangle.equals( bounds ) ) {
+      getRemoteAdapter().preserveBounds( bounds );
+    }
     bounds = rectangle;
     bounds.width = Math.max( 0, bounds.width );
     bounds.height = Math.max( 0, bounds.height );
@@ -2755,6 +2784,8 @@ public abstract class Control extends Widget implements Drawable {
   }
 
   private ControlRemoteAdapter getRemoteAdapter() {
+    // only used to preserve values before they are changed
+    markDirty();
     return ( ControlRemoteAdapter )getAdapter( RemoteAdapter.class );
   }
 
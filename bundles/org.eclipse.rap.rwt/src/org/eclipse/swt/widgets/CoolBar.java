@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1225,6 +1225,7 @@ public class CoolBar extends Composite {
    */
   public void setLocked( boolean locked ) {
     checkWidget();
+    markDirty();
     if( isLocked != locked ) {
       redraw();
     }
@@ -1259,6 +1260,7 @@ public class CoolBar extends Composite {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
     }
+    markDirty();
     for ( int i = 0; i < originalItems.length; i++ ) {
       originalItems[i].wrap = false;
     }
@@ -1325,6 +1327,7 @@ public class CoolBar extends Composite {
    */
   public void setItemLayout( int[] itemOrder, int[] wrapIndices, Point[] sizes ) {
     checkWidget();
+    markDirty();
     setItemOrder( itemOrder );
     setWrapIndices( wrapIndices );
     setItemSizes( sizes );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -586,6 +586,7 @@ public class CoolItem extends Item {
         error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    markDirty();
     this.control = control;
     if ( control != null ) {
       int controlWidth = itemBounds.width - MINIMUM_WIDTH;
@@ -616,6 +617,7 @@ public class CoolItem extends Item {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    markDirty();
     Point point = parent.fixPoint( width, height );
     minimumWidth = point.x;
     minimumHeight = point.y;
@@ -665,6 +667,7 @@ public class CoolItem extends Item {
    */
   public void setPreferredSize( int width, int height ) {
     checkWidget();
+    markDirty();
     ideal = true;
     Point point = parent.fixPoint( width, height );
     preferredWidth = Math.max( point.x, MINIMUM_WIDTH );
@@ -717,6 +720,7 @@ public class CoolItem extends Item {
    */
   public void setSize( int width, int height ) {
     checkWidget();
+    markDirty();
     int newHeight = height;
     int newWidth = width;
     Point point = parent.fixPoint( newWidth, newHeight );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -456,6 +456,7 @@ public class DateTime extends Composite {
    */
   public void setHours( int hours ) {
     checkWidget();
+    markDirty();
     if( checkTime( hours, getMinutes(), getSeconds() ) ) {
       rightNow.set( Calendar.HOUR_OF_DAY, hours );
       applyLimits();
@@ -478,6 +479,7 @@ public class DateTime extends Composite {
    */
   public void setMinutes( int minutes ) {
     checkWidget();
+    markDirty();
     if( checkTime( getHours(), minutes, getSeconds() ) ) {
       rightNow.set( Calendar.MINUTE, minutes );
       applyLimits();
@@ -500,6 +502,7 @@ public class DateTime extends Composite {
    */
   public void setSeconds( int seconds ) {
     checkWidget();
+    markDirty();
     if( checkTime( getHours(), getMinutes(), seconds ) ) {
       rightNow.set( Calendar.SECOND, seconds );
       applyLimits();
@@ -523,6 +526,7 @@ public class DateTime extends Composite {
    */
   public void setDay( int day ) {
     checkWidget();
+    markDirty();
     int month = rightNow.get( Calendar.MONTH );
     int year = rightNow.get( Calendar.YEAR );
     if( checkDate( year, month, day ) ) {
@@ -547,6 +551,7 @@ public class DateTime extends Composite {
    */
   public void setMonth( int month ) {
     checkWidget();
+    markDirty();
     int day = rightNow.get( Calendar.DATE );
     int year = rightNow.get( Calendar.YEAR );
     if( checkDate( year, month, day ) ) {
@@ -571,6 +576,7 @@ public class DateTime extends Composite {
    */
   public void setYear( int year ) {
     checkWidget();
+    markDirty();
     int day = rightNow.get( Calendar.DATE );
     int month = rightNow.get( Calendar.MONTH );
     if( checkDate( year, month, day ) ) {
@@ -594,6 +600,7 @@ public class DateTime extends Composite {
    */
   public void setMinimum( Date date ) {
     checkWidget();
+    markDirty();
     if( date == null ) {
       minimum = null;
       applyLimits();
@@ -618,6 +625,7 @@ public class DateTime extends Composite {
    */
   public void setMaximum( Date date ) {
     checkWidget();
+    markDirty();
     if( date == null ) {
       maximum = null;
       applyLimits();
@@ -648,6 +656,7 @@ public class DateTime extends Composite {
    */
   public void setDate( int year, int month, int day ) {
     checkWidget();
+    markDirty();
     if( checkDate( year, month, day ) ) {
       // reset
       ignoreLimits = true;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -93,6 +93,7 @@ public class Decorations extends Canvas {
         error( SWT.ERROR_INVALID_ARGUMENT );
       }
     }
+    markDirty();
     this.images = images;
   }
 
@@ -148,6 +149,7 @@ public class Decorations extends Canvas {
    */
   public void setImage( Image image ) {
     checkWidget();
+    markDirty();
     this.image = image;
   }
 
@@ -198,6 +200,7 @@ public class Decorations extends Canvas {
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     this.text = text;
   }
 
@@ -249,6 +252,7 @@ public class Decorations extends Canvas {
           SWT.error( SWT.ERROR_MENU_NOT_BAR );
         }
       }
+      markDirty();
       removeMenuBarDisposeListener();
       this.menuBar = menuBar;
       addMenuBarDisposeListener();
@@ -313,6 +317,7 @@ public class Decorations extends Canvas {
         error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    markDirty();
     setDefaultButton( button, true );
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,6 +31,7 @@ import java.util.Set;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.Adaptable;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.CurrentPhase;
 import org.eclipse.rap.rwt.internal.lifecycle.IUIThreadHolder;
@@ -62,6 +63,7 @@ import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.events.EventList;
 import org.eclipse.swt.internal.events.EventUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
@@ -249,6 +251,7 @@ public class Display extends Device implements Adaptable {
 
   private Synchronizer synchronizer;
   private TimerExecScheduler scheduler;
+  private final DirtyWidgets dirtyWidgets;
 
   /**
    * Constructs a new instance of this class.
@@ -283,6 +286,7 @@ public class Display extends Device implements Adaptable {
     dpi = readDPI();
     depth = readDepth();
     synchronizer = new Synchronizer( this );
+    dirtyWidgets = RWTProperties.isDirtyWidgetTracking() ? new DirtyWidgets() : null;
     register();
   }
 
@@ -1851,6 +1855,13 @@ public class Display extends Device implements Adaptable {
     return result;
   }
 
+  //////////////////////////
+  // Dirty widget tracking
+
+  DirtyWidgets getDirtyWidgets() {
+    return dirtyWidgets;
+  }
+
   ///////////////////
   // Skinning support
 
@@ -2477,6 +2488,26 @@ public class Display extends Device implements Adaptable {
       return Display.this.isListening( eventType );
     }
 
+    @Override
+    public DirtyWidgets getDirtyWidgets() {
+      return dirtyWidgets;
+    }
+
+    @Override
+    public int getAsyncQueueDepth() {
+      return synchronizer.getMessageCount();
+    }
+
+    @Override
+    public int getPeakAsyncQueueDepth() {
+      return synchronizer.getPeakMessageCount();
+    }
+
+    @Override
+    public int getCoalescedAsyncExecCount() {
+      return synchronizer.getCoalescedCount();
+    }
+
   }
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -411,6 +411,7 @@ public class ExpandBar extends Composite {
    */
   public void setSpacing( int spacing ) {
     checkWidget();
+    markDirty();
     if( spacing >= 0 ) {
       if( spacing != this.spacing ) {
         this.spacing = spacing;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -327,6 +327,7 @@ public class ExpandItem extends Item {
         error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    markDirty();
     this.control = control;
     if( control != null ) {
       int headerHeight = getHeaderHeight();
@@ -355,6 +356,7 @@ public class ExpandItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    markDirty();
     this.expanded = expanded;
     parent.showItem( this );
   }
@@ -373,6 +375,7 @@ public class ExpandItem extends Item {
    */
   public void setHeight( int height ) {
     checkWidget();
+    markDirty();
     if( height >= 0 ) {
       setBounds( 0, 0, width, height, false, true );
       if( expanded ) {
@@ -384,6 +387,7 @@ public class ExpandItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markDirty();
     if( image != getImage() ) {
       super.setImage( image );
       updateBounds();
@@ -407,6 +411,7 @@ public class ExpandItem extends Item {
     if( string == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( isMarkupEnabledFor( parent ) && !isValidationDisabledFor( parent ) ) {
       MarkupValidator.getInstance().validate( string );
     }
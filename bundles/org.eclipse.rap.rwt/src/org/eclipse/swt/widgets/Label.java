@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -150,6 +150,7 @@ public class Label extends Control {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       if( isMarkupEnabledFor( this ) && !isValidationDisabledFor( this ) ) {
         MarkupValidator.getInstance().validate( text );
@@ -194,6 +195,7 @@ public class Label extends Control {
   // TODO: The LCA does not yet handle images. So, setting an image currently
   public void setImage( Image image ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       this.image = image;
       text = "";
@@ -231,6 +233,7 @@ public class Label extends Control {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markDirty();
     if(    ( style & SWT.SEPARATOR ) == 0
         && ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) != 0 )
     {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -237,6 +237,7 @@ public class List extends Scrollable {
   // TODO [rh] selection is not scrolled into view (see List.js)
   public void setSelection( int selection ) {
     checkWidget();
+    markDirty();
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -264,6 +265,7 @@ public class List extends Scrollable {
    */
   public void setSelection( int[] selection ) {
     checkWidget();
+    markDirty();
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -291,6 +293,7 @@ public class List extends Scrollable {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markDirty();
     model.setSelection( start, end );
     updateFocusIndexAfterSelectionChange();
   }
@@ -319,6 +322,7 @@ public class List extends Scrollable {
    */
   public void setSelection( String[] selection ) {
     checkWidget();
+    markDirty();
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -337,6 +341,7 @@ public class List extends Scrollable {
    */
   public void select( int index ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.SINGLE ) != 0 ) {
       if( index >= 0 && index < model.getItemCount() ) {
         model.setSelection( index );
@@ -373,6 +378,7 @@ public class List extends Scrollable {
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     int length = indices.length;
     if( length != 0 && ( ( style & SWT.SINGLE ) == 0 || length <= 1 ) ) {
       int i = 0;
@@ -408,6 +414,7 @@ public class List extends Scrollable {
    */
   public void select( int start, int end ) {
     checkWidget();
+    markDirty();
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
       int count = model.getItemCount();
       if( count != 0 && start < count ) {
@@ -436,6 +443,7 @@ public class List extends Scrollable {
    */
   public void selectAll() {
     checkWidget();
+    markDirty();
     model.selectAll();
     updateFocusIndexAfterSelectionChange();
   }
@@ -450,6 +458,7 @@ public class List extends Scrollable {
    */
   public void deselectAll() {
     checkWidget();
+    markDirty();
     model.deselectAll();
     updateFocusIndexAfterSelectionChange();
   }
@@ -470,6 +479,7 @@ public class List extends Scrollable {
    */
   public void deselect( int index ) {
     checkWidget();
+    markDirty();
     removeFromSelection( index );
   }
 
@@ -492,6 +502,7 @@ public class List extends Scrollable {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    markDirty();
     if( start == 0 && end == model.getItemCount() - 1 ) {
       deselectAll();
     } else {
@@ -526,6 +537,7 @@ public class List extends Scrollable {
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     for( int i = 0; i < indices.length; i++ ) {
       removeFromSelection( indices[ i ] );
     }
@@ -597,6 +609,7 @@ public class List extends Scrollable {
    */
   public void setTopIndex( int topIndex ) {
     checkWidget();
+    markDirty();
     int count = model.getItemCount();
     if( this.topIndex != topIndex && topIndex >= 0 && topIndex < count ) {
       this.topIndex = topIndex;
@@ -636,6 +649,7 @@ public class List extends Scrollable {
    */
   public void showSelection() {
     checkWidget();
+    markDirty();
     int index = getSelectionIndex();
     if( index != -1 ) {
       int itemCount = getVisibleItemCount();
@@ -685,6 +699,7 @@ public class List extends Scrollable {
    */
   public void add( String string ) {
     checkWidget();
+    markDirty();
     model.add( string );
     updateFocusIndexAfterItemChange();
     updateScrollBars();
@@ -715,6 +730,7 @@ public class List extends Scrollable {
    */
   public void add( String string, int index ) {
     checkWidget();
+    markDirty();
     model.add( string, index );
     updateFocusIndexAfterItemChange();
     updateScrollBars();
@@ -736,6 +752,7 @@ public class List extends Scrollable {
    */
   public void remove( int index ) {
     checkWidget();
+    markDirty();
     model.remove( index );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -760,6 +777,7 @@ public class List extends Scrollable {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    markDirty();
     model.remove( start, end );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -783,6 +801,7 @@ public class List extends Scrollable {
    */
   public void remove( int[] indices ) {
     checkWidget();
+    markDirty();
     model.remove( indices );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -807,6 +826,7 @@ public class List extends Scrollable {
    */
   public void remove( String string ) {
     checkWidget();
+    markDirty();
     model.remove( string );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -823,6 +843,7 @@ public class List extends Scrollable {
    */
   public void removeAll() {
     checkWidget();
+    markDirty();
     model.removeAll();
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -849,6 +870,7 @@ public class List extends Scrollable {
    */
   public void setItem( int index, String string ) {
     checkWidget();
+    markDirty();
     validateMarkup( new String[] { string } );
     model.setItem( index, string );
     updateScrollBars();
@@ -870,6 +892,7 @@ public class List extends Scrollable {
    */
   public void setItems( String[] items ) {
     checkWidget();
+    markDirty();
     validateMarkup( items );
     model.setItems( items );
     updateScrollBars();
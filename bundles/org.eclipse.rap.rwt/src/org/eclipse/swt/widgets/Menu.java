@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -261,6 +261,7 @@ public class Menu extends Widget {
    */
   public void setLocation( int x, int y ) {
     checkWidget();
+    markDirty();
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       this.x = x;
       this.y = y;
@@ -334,6 +335,7 @@ public class Menu extends Widget {
    */
   public void setOrientation( int orientation ) {
     checkWidget();
+    markDirty();
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       int flags = SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT;
       if( ( orientation & flags ) == 0 || ( orientation & flags ) == flags ) {
@@ -383,6 +385,7 @@ public class Menu extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markDirty();
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       if( this.visible != visible ) {
         this.visible = visible;
@@ -461,6 +464,7 @@ public class Menu extends Widget {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markDirty();
     removeState( DISABLED );
     if( !enabled ) {
       addState( DISABLED );
@@ -616,6 +620,7 @@ public class Menu extends Widget {
    */
   public void setDefaultItem( MenuItem item ) {
     checkWidget();
+    markDirty();
   }
 
   /**
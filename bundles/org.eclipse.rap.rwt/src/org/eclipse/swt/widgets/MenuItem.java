@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -189,6 +189,7 @@ public class MenuItem extends Item {
           SWT.error( SWT.ERROR_INVALID_PARENT );
         }
       }
+      markDirty();
       removeMenuDisposeListener();
       /* Assign the new menu */
       if( this.menu != null ) {
@@ -239,6 +240,7 @@ public class MenuItem extends Item {
     if( id < 0 ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     userId = id;
   }
 
@@ -274,6 +276,7 @@ public class MenuItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setImage( image );
     }
@@ -299,6 +302,7 @@ public class MenuItem extends Item {
    */
   public void setAccelerator( int accelerator ) {
     checkWidget();
+    markDirty();
     if( accelerator != 0 ) {
       if( acceleratorBinding == null ) {
         acceleratorBinding = new AcceleratorBinding( this );
@@ -350,6 +354,7 @@ public class MenuItem extends Item {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markDirty();
     removeState( DISABLED );
     if( !enabled ) {
       addState( DISABLED );
@@ -432,6 +437,7 @@ public class MenuItem extends Item {
    */
   public void setSelection( boolean selection ) {
     checkWidget();
+    markDirty();
     if( ( style & ( SWT.CHECK | SWT.RADIO ) ) != 0 ) {
       this.selection = selection;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -180,6 +180,7 @@ public class ProgressBar extends Control {
    */
   public void setMaximum( int value ) {
     checkWidget();
+    markDirty();
     if( value > getMinimum() ) {
       maximum = value;
       if( selection > maximum ) {
@@ -206,6 +207,7 @@ public class ProgressBar extends Control {
    */
   public void setMinimum( int value ) {
     checkWidget();
+    markDirty();
     if( value > 0 && value < getMaximum() ) {
       minimum = value;
       if( minimum > selection ) {
@@ -229,6 +231,7 @@ public class ProgressBar extends Control {
    */
   public void setSelection( int value ) {
     checkWidget();
+    markDirty();
     if( value < minimum ) {
       selection = minimum;
     } else if( value > maximum ) {
@@ -256,6 +259,7 @@ public class ProgressBar extends Control {
    */
   public void setState( int state ) {
     checkWidget();
+    markDirty();
     if( state == SWT.NORMAL || state == SWT.PAUSED || state == SWT.ERROR ) {
       this.state = state;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -255,6 +255,7 @@ public class Scale extends Control {
    */
   public void setIncrement( int increment ) {
     checkWidget();
+    markDirty();
     if( increment >= 1 && increment <= maximum - minimum ) {
       this.increment = increment;
     }
@@ -276,6 +277,7 @@ public class Scale extends Control {
    */
   public void setMaximum( int maximum ) {
     checkWidget();
+    markDirty();
     if( 0 <= minimum && minimum < maximum ) {
       this.maximum = maximum;
       if( selection > this.maximum ) {
@@ -300,6 +302,7 @@ public class Scale extends Control {
    */
   public void setMinimum( int minimum ) {
     checkWidget();
+    markDirty();
     if( 0 <= minimum && minimum < maximum ) {
       this.minimum = minimum;
       if( selection < this.minimum ) {
@@ -322,6 +325,7 @@ public class Scale extends Control {
    */
   public void setPageIncrement( int pageIncrement ) {
     checkWidget();
+    markDirty();
     if( pageIncrement >= 1 && pageIncrement <= maximum - minimum ) {
       this.pageIncrement = pageIncrement;
     }
@@ -340,6 +344,7 @@ public class Scale extends Control {
    */
   public void setSelection( int selection ) {
     checkWidget();
+    markDirty();
     if( selection >= minimum && selection <= maximum ) {
       this.selection = selection;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -195,6 +195,7 @@ public class Shell extends Decorations {
     minWidth = MIN_WIDTH_LIMIT;
     minHeight = getMinHeightLimit();
     this.display.addShell( this );
+    markDirty();
     reskinWidget();
     createWidget();
     setInitialSize();
@@ -474,6 +475,7 @@ public class Shell extends Decorations {
    */
   public void setActive() {
     checkWidget();
+    markDirty();
     if( isVisible() ) {
       display.setActiveShell( this );
     }
@@ -653,6 +655,7 @@ public class Shell extends Decorations {
   @Override
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markDirty();
     if( getEnabled() != enabled ) {
       super.setEnabled( enabled );
       if( enabled ) {
@@ -681,6 +684,7 @@ public class Shell extends Decorations {
   @Override
   public void setVisible( boolean visible ) {
     checkWidget();
+    markDirty();
     boolean wasVisible = getVisible();
     super.setVisible( visible );
     // Emulate OS behavior: in SWT, a layout is triggered during
@@ -714,6 +718,7 @@ public class Shell extends Decorations {
    */
   public void open() {
     checkWidget();
+    markDirty();
     // Order of setActiveShell/bringToTop/setVisible is crucial
     display.setActiveShell( this );
     bringToTop();
@@ -740,6 +745,7 @@ public class Shell extends Decorations {
    */
   public void close() {
     checkWidget();
+    markDirty();
     ProcessActionRunner.add( new Runnable() {
       @Override
       public void run() {
@@ -770,6 +776,7 @@ public class Shell extends Decorations {
    */
   public void setAlpha( int alpha ) {
     checkWidget();
+    markDirty();
     this.alpha = alpha & 0xFF;
   }
 
@@ -805,6 +812,7 @@ public class Shell extends Decorations {
    */
   public void setModified ( boolean modified ) {
     checkWidget();
+    markDirty();
     this.modified = modified;
   }
 
@@ -841,6 +849,7 @@ public class Shell extends Decorations {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    markDirty();
     minWidth = Math.max( MIN_WIDTH_LIMIT, width );
     minHeight = Math.max( getMinHeightLimit(), height );
     Point size = getSize();
@@ -1110,6 +1119,7 @@ public class Shell extends Decorations {
    */
   public void setMinimized( boolean minimized ) {
     checkWidget();
+    markDirty();
     if( minimized ) {
       mode |= MODE_MINIMIZED;
     } else {
@@ -1145,6 +1155,7 @@ public class Shell extends Decorations {
    */
   public void setMaximized( boolean maximized ) {
     checkWidget();
+    markDirty();
     if( ( mode & MODE_FULLSCREEN ) == 0 ) {
       if( maximized ) {
         if( ( mode & MODE_MAXIMIZED ) == 0 ) {
@@ -1228,6 +1239,7 @@ public class Shell extends Decorations {
    */
   public void setFullScreen( boolean fullScreen ) {
     checkWidget();
+    markDirty();
     if( ( ( mode & MODE_FULLSCREEN ) != 0 ) != fullScreen ) {
       if( fullScreen ) {
         setActive();
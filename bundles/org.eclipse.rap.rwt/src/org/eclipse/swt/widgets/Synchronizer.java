@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,15 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.util.SerializableLock;
 import org.eclipse.swt.SWT;
@@ -44,14 +52,22 @@ import org.eclipse.swt.internal.SerializableCompatibility;
 public class Synchronizer implements SerializableCompatibility {
 
   Display display;
-  int messageCount;
-  RunnableLock [] messages;
+// RAP [rst] lock-free multi-producer/single-consumer queue instead of an array guarded by
+//           messageLock, see addLast() and removeFirst()
+//  int messageCount;
+//  RunnableLock [] messages;
+  final Queue<RunnableLock> messages = new ConcurrentLinkedQueue<> ();
+  final AtomicInteger messageCount = new AtomicInteger ();
+  final AtomicInteger peakMessageCount = new AtomicInteger ();
+  final AtomicInteger coalescedCount = new AtomicInteger ();
+  // runnables passed to asyncExec that are not yet removed from the queue, compared by identity
+  // and guarded by the set itself, null if disabled
+  final Set<Runnable> pendingRunnables = createPendingRunnables ();
 // RAP [rh] mesageLock must be serializable	(bug 345842)
 //	Object messageLock = new Object ();
+  // RAP [rst] only guards the notification of the server push mechanism
   Object messageLock = new SerializableLock();
   Thread syncThread;
-  static final int GROW_SIZE = 4;
-  static final int MESSAGE_LIMIT = 64;
 
   //TEMPORARY CODE
   static final boolean IS_CARBON = "carbon".equals (SWT.getPlatform ());
@@ -68,35 +84,46 @@ public Synchronizer (Display display) {
 }
 
 void addLast (RunnableLock lock) {
-  boolean wake = false;
-  synchronized (messageLock) {
-    if (messages == null) {
-      messages = new RunnableLock [GROW_SIZE];
-    }
-    if (messageCount == messages.length) {
-      RunnableLock[] newMessages = new RunnableLock [messageCount + GROW_SIZE];
-      System.arraycopy (messages, 0, newMessages, 0, messageCount);
-      messages = newMessages;
-    }
-    messages [messageCount++] = lock;
+  // RAP [rst] count before offering to prevent that the consumer decrements below zero
+  boolean wake = messageCount.getAndIncrement () == 0;
+  messages.offer (lock);
+  updatePeakMessageCount ();
 // RAP [rst] Notify server push mechanism when runnable was added to empty queue
-    if( messageCount == 1 ) {
-      RWT.getUISession( display ).exec( new Runnable() {
-        @Override
-        public void run() {
-          ServerPushManager.getInstance().setHasRunnables( true );
-        }
-      } );
-    }
-    runnableAdded( lock.runnable );
-// END RAP
-    wake = messageCount == 1;
+  if (wake) {
+    updateServerPush ();
   }
+  runnableAdded( lock.runnable );
+// END RAP
   if (wake) {
     display.wakeThread ();
   }
 }
 
+private void updatePeakMessageCount () {
+  int count = messageCount.get ();
+  int peak = peakMessageCount.get ();
+  while (count > peak && !peakMessageCount.compareAndSet (peak, count)) {
+    peak = peakMessageCount.get ();
+  }
+}
+
+/*
+ * RAP [rst] Called by the thread that changed the queue from empty to non-empty or vice versa.
+ * The flag is evaluated while holding the lock, so the last of concurrent calls always reflects
+ * the current state of the queue.
+ */
+private void updateServerPush () {
+  synchronized (messageLock) {
+    final boolean hasRunnables = messageCount.get () > 0;
+    RWT.getUISession( display ).exec( new Runnable() {
+      @Override
+      public void run() {
+        ServerPushManager.getInstance().setHasRunnables( hasRunnables );
+      }
+    } );
+  }
+}
+
 @SuppressWarnings( "unused" )
 protected void runnableAdded( Runnable runnable ) {
 }
@@ -120,13 +147,25 @@ protected void asyncExec (Runnable runnable) {
       return;
     }
   }
+// RAP [rst] coalesce a runnable that is still waiting in the queue
+  if (pendingRunnables != null && runnable != null && !addPendingRunnable (runnable)) {
+    coalescedCount.incrementAndGet ();
+    return;
+  }
+// END RAP
   addLast (new RunnableLock (runnable));
 }
 
 int getMessageCount () {
-  synchronized (messageLock) {
-    return messageCount;
-  }
+  return messageCount.get ();
+}
+
+int getPeakMessageCount () {
+  return peakMessageCount.get ();
+}
+
+int getCoalescedCount () {
+  return coalescedCount.get ();
 }
 
 void releaseSynchronizer () {
@@ -143,35 +182,40 @@ void releaseSynchronizer () {
   }
   // END RAP
 //	display = null;
-  messages = null;
+  messages.clear ();
   messageLock = null;
   syncThread = null;
 }
 
 RunnableLock removeFirst () {
-  synchronized (messageLock) {
-    if (messageCount == 0) {
-      return null;
-    }
-    RunnableLock lock = messages [0];
-    System.arraycopy (messages, 1, messages, 0, --messageCount);
-    messages [messageCount] = null;
-    if (messageCount == 0) {
-      if (messages.length > MESSAGE_LIMIT) {
-        messages = null;
-      }
+  RunnableLock lock = messages.poll ();
+  if (lock == null) {
+    return null;
+  }
+  if (pendingRunnables != null && lock.thread == null && lock.runnable != null) {
+    synchronized (pendingRunnables) {
+      pendingRunnables.remove (lock.runnable);
     }
+  }
 // RAP [rst] Notify server push mechanism when last runnable has been removed
-    if( messageCount == 0 ) {
-      RWT.getUISession( display ).exec( new Runnable() {
-        @Override
-        public void run() {
-          ServerPushManager.getInstance().setHasRunnables( false );
-        }
-      } );
-    }
+  if (messageCount.decrementAndGet () == 0) {
+    updateServerPush ();
+  }
 // END RAP
-    return lock;
+  return lock;
+}
+
+private static Set<Runnable> createPendingRunnables () {
+  Set<Runnable> result = null;
+  if (RWTProperties.isCoalesceAsyncExec ()) {
+    result = Collections.newSetFromMap (new IdentityHashMap<Runnable,Boolean> ());
+  }
+  return result;
+}
+
+private boolean addPendingRunnable (Runnable runnable) {
+  synchronized (pendingRunnables) {
+    return pendingRunnables.add (runnable);
   }
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -307,6 +307,7 @@ public class TabFolder extends Composite {
     if( items == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( items.length == 0 ) {
       setSelection( -1, false );
     } else {
@@ -565,6 +565,8 @@ public class Table extends Composite {
           reorder = true;
         }
       }
+      markDirty();
+      markColumnsDirty();
       if( reorder ) {
         System.arraycopy( order, 0, columnOrder, 0, columnOrder.length );
         for( int i = 0; i < seen.length; i++ ) {
@@ -630,6 +632,7 @@ public class Table extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markDirty();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount && !isInDispose() ) {
@@ -812,6 +815,7 @@ public class Table extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markDirty();
     while( itemCount > 0 ) {
       removeItem( itemCount - 1 );
     }
@@ -842,6 +846,7 @@ public class Table extends Composite {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         error( SWT.ERROR_INVALID_RANGE );
       }
+      markDirty();
       for( int i = end; i >= start; i-- ) {
         removeItem( i );
       }
@@ -869,6 +874,7 @@ public class Table extends Composite {
     if( !( 0 <= index && index < itemCount ) ) {
       SWT.error( SWT.ERROR_ITEM_NOT_REMOVED );
     }
+    markDirty();
     removeItem( index );
   }
 
@@ -904,6 +910,7 @@ public class Table extends Composite {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
+      markDirty();
       int lastValue = -1;
       for( int i = 0; i < sortedIndices.length; i++ ) {
         if( sortedIndices[ i ] != lastValue ) {
@@ -941,6 +948,7 @@ public class Table extends Composite {
     if( index < 0 || index >= itemCount ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
+    markDirty();
     TableItem item = items[ index ];
     if( item != null ) {
       item.clear();
@@ -974,6 +982,7 @@ public class Table extends Composite {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
+      markDirty();
       if( start == 0 && end == itemCount - 1 ) {
         clearAll();
       } else {
@@ -1003,6 +1012,7 @@ public class Table extends Composite {
    */
   public void clearAll() {
     checkWidget();
+    markDirty();
     for( int i = 0; i < itemCount; i++ ) {
       TableItem item = items[ i ];
       if( item != null ) {
@@ -1043,6 +1053,7 @@ public class Table extends Composite {
           SWT.error( SWT.ERROR_INVALID_RANGE );
         }
       }
+      markDirty();
       for( int i = 0; i < indices.length; i++ ) {
         TableItem item = items[ indices[ i ] ];
         if( item != null ) {
@@ -1102,6 +1113,7 @@ public class Table extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    markDirty();
     deselectAll();
     select( index );
     setFocusIndex( index );
@@ -1147,6 +1159,7 @@ public class Table extends Composite {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markDirty();
     deselectAll();
     select( start, end );
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
@@ -1208,6 +1221,7 @@ public class Table extends Composite {
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     deselectAll();
     select( indices );
     int length = indices.length;
@@ -1344,6 +1358,7 @@ public class Table extends Composite {
    */
   public void select( int index ) {
     checkWidget();
+    markDirty();
     if( index >= 0 && index < itemCount ) {
       if( ( style & SWT.SINGLE ) != 0 ) {
         selection = new int[] { index };
@@ -1384,6 +1399,7 @@ public class Table extends Composite {
    */
   public void select( int start, int end ) {
     checkWidget();
+    markDirty();
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
       if( itemCount != 0 && start < itemCount ) {
         int adjustedStart = Math.max( 0, start );
@@ -1469,6 +1485,7 @@ public class Table extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    markDirty();
     removeFromSelection( index );
   }
 
@@ -1489,6 +1506,7 @@ public class Table extends Composite {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    markDirty();
     if( start == 0 && end == itemCount - 1 ) {
       deselectAll();
     } else {
@@ -1521,6 +1539,7 @@ public class Table extends Composite {
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     for( int i = 0; i < indices.length; i++ ) {
       removeFromSelection( indices[ i ] );
     }
@@ -1536,6 +1555,7 @@ public class Table extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    markDirty();
     selection = EMPTY_SELECTION;
   }
 
@@ -1556,6 +1576,7 @@ public class Table extends Composite {
    */
   public void setTopIndex( int topIndex ) {
     checkWidget();
+    markDirty();
     if( this.topIndex != topIndex && topIndex >= 0 && topIndex < itemCount ) {
       this.topIndex = topIndex;
       adjustTopIndex();
@@ -1608,6 +1629,7 @@ public class Table extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int itemIndex = indexOf( item );
     int itemCount = getVisibleItemCount( false );
     if( itemIndex < topIndex ) {
@@ -1645,6 +1667,7 @@ public class Table extends Composite {
     if( column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( column.getParent() == this ) {
       int index = indexOf( column );
       if( 0 <= index && index < getColumnCount() ) {
@@ -1717,6 +1740,7 @@ public class Table extends Composite {
    */
   public void setHeaderVisible( boolean headerVisible ) {
     checkWidget();
+    markDirty();
     boolean changed = headerVisible != this.headerVisible;
     this.headerVisible = headerVisible;
     if( changed ) {
@@ -1765,6 +1789,7 @@ public class Table extends Composite {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     headerBackground = color;
   }
 
@@ -1803,6 +1828,7 @@ public class Table extends Composite {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     headerForeground = color;
   }
 
@@ -1862,6 +1888,7 @@ public class Table extends Composite {
    */
   public void setLinesVisible( boolean linesVisible ) {
     checkWidget();
+    markDirty();
     this.linesVisible = linesVisible;
   }
 
@@ -1885,6 +1912,7 @@ public class Table extends Composite {
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     sortColumn = column;
   }
 
@@ -1920,6 +1948,7 @@ public class Table extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    markDirty();
     if( ( direction & ( SWT.UP | SWT.DOWN ) ) != 0 || direction == SWT.NONE ) {
       sortDirection = direction;
     }
@@ -2202,6 +2231,7 @@ public class Table extends Composite {
   // Create and destroy columns
 
   final void createColumn( TableColumn column, int index ) {
+    markColumnsDirty();
     columnHolder.insert( column, index );
     if( columnOrder == null ) {
       columnOrder = new int[] { index };
@@ -2233,8 +2263,17 @@ public class Table extends Composite {
     updateScrollBars();
   }
 
+  void markColumnsDirty() {
+    // the rendered index and left offset of a column depend on its siblings
+    TableColumn[] columns = columnHolder.getItems();
+    for( int i = 0; i < columns.length; i++ ) {
+      columns[ i ].markDirty();
+    }
+  }
+
   final void destroyColumn( TableColumn column ) {
     if( !isInDispose() ) {
+      markColumnsDirty();
       int index = indexOf( column );
       // Remove data from TableItems
       for( int i = 0; i < itemCount; i++ ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -183,6 +183,7 @@ public class TableColumn extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markDirty();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -222,6 +223,7 @@ public class TableColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markDirty();
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) != 0 ) {
       style &= ~( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
       style |= alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
@@ -265,6 +267,7 @@ public class TableColumn extends Item {
   public void setWidth( int width ) {
     checkWidget();
     if( width >= 0 ) {
+      parent.markColumnsDirty();
       this.width = width;
       parent.updateScrollBars();
       notifyListeners( SWT.Resize, new Event() );
@@ -313,6 +316,7 @@ public class TableColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    markDirty();
     this.moveable = moveable;
   }
 
@@ -355,6 +359,7 @@ public class TableColumn extends Item {
    */
   public void setResizable( boolean resizable ) {
     checkWidget();
+    markDirty();
     this.resizable = resizable;
   }
 
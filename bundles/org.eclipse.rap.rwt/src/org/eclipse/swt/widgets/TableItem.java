@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,6 +25,7 @@ import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.CellChanges;
 import org.eclipse.swt.internal.widgets.ITableItemAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetColorAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetFontAdapter;
@@ -54,6 +55,7 @@ public class TableItem extends Item {
   boolean cached;
   int index;
   private Data[] data;
+  private int cellChanges;
   private boolean checked;
   private boolean grayed;
   private Color background;
@@ -200,6 +202,7 @@ public class TableItem extends Item {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( isMarkupEnabledFor( parent ) && !isValidationDisabledFor( parent ) ) {
       MarkupValidator.getInstance().validate( text );
     }
@@ -209,6 +212,7 @@ public class TableItem extends Item {
       if( !text.equals( data[ index ].text ) ) {
         data[ index ].text = text;
         data[ index ].textWidth = Data.UNKNOWN_WIDTH;
+        cellChanges |= CellChanges.TEXTS;
         markCached();
         if( parent.getColumnCount() == 0 ) {
           parent.updateScrollBars();
@@ -304,6 +308,7 @@ public class TableItem extends Item {
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -311,6 +316,7 @@ public class TableItem extends Item {
         parent.updateColumnImageCount( index, data[ index ].image, image );
         data[ index ].image = image;
         parent.updateItemImageSize( image );
+        cellChanges |= CellChanges.IMAGES;
         markCached();
         if( parent.getColumnCount() == 0 ) {
           parent.updateScrollBars();
@@ -406,6 +412,7 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( !equals( background, color ) ) {
       background = color;
       markCached();
@@ -459,11 +466,13 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
       if( !equals( data[ index ].background, color ) ) {
         data[ index ].background = color;
+        cellChanges |= CellChanges.BACKGROUNDS;
         markCached();
         parent.redraw();
       }
@@ -516,6 +525,7 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( !equals( foreground, color ) ) {
       foreground = color;
       markCached();
@@ -568,11 +578,13 @@ public class TableItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
       if( !equals( data[ index ].foreground, color ) ) {
         data[ index ].foreground = color;
+        cellChanges |= CellChanges.FOREGROUNDS;
         markCached();
         parent.redraw();
       }
@@ -623,6 +635,7 @@ public class TableItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( !equals( this.font, font ) ) {
       this.font = font;
       clearTextWidths();
@@ -680,12 +693,14 @@ public class TableItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
       if( !equals( font, data[ index ].font ) ) {
         data[ index ].font = font;
         data[ index ].textWidth = Data.UNKNOWN_WIDTH;
+        cellChanges |= CellChanges.FONTS;
         markCached();
         parent.redraw();
       }
@@ -734,6 +749,7 @@ public class TableItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    markDirty();
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -779,6 +795,7 @@ public class TableItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markDirty();
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -1068,6 +1085,7 @@ public class TableItem extends Item {
   // Manage item data (texts, images, etc)
 
   final void shiftData( int index ) {
+    markColumnsChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length + 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1078,6 +1096,7 @@ public class TableItem extends Item {
   }
 
   final void removeData( int index ) {
+    markColumnsChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length - 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1089,6 +1108,7 @@ public class TableItem extends Item {
 
   final void clear() {
     data = null;
+    cellChanges = CellChanges.ALL;
     checked = false;
     grayed = false;
     parent.updateScrollBars();
@@ -1125,6 +1145,14 @@ public class TableItem extends Item {
     }
   }
 
+  private void markColumnsChanged() {
+    // the length of all cell arrays depends on the column count
+    if( data != null ) {
+      markDirty();
+      cellChanges = CellChanges.ALL;
+    }
+  }
+
   private void ensureData( int index, int columnCount ) {
     if( data == null ) {
       data = new Data[ columnCount ];
@@ -1271,6 +1299,16 @@ public class TableItem extends Item {
       return result;
     }
 
+    @Override
+    public int getCellChanges() {
+      return cellChanges;
+    }
+
+    @Override
+    public void resetCellChanges() {
+      cellChanges = 0;
+    }
+
   }
 
   private static final class Data implements SerializableCompatibility {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -197,6 +197,7 @@ public class TaskItem extends Item {
    */
   public void setMenu( Menu menu ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -228,6 +229,7 @@ public class TaskItem extends Item {
    */
   public void setOverlayImage( Image overlayImage ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -258,6 +260,7 @@ public class TaskItem extends Item {
    */
   public void setOverlayText( String overlayText ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -287,6 +290,7 @@ public class TaskItem extends Item {
    */
   public void setProgress( int progress ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -326,6 +330,7 @@ public class TaskItem extends Item {
    */
   public void setProgressState( int progressState ) {
     checkWidget();
+    markDirty();
   }
 
 }
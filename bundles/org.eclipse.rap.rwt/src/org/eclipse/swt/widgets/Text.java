@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -179,6 +179,7 @@ public class Text extends Scrollable {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( internalSetText( text ) ) {
       resetSelection();
       notifyListeners( SWT.Modify, new Event() );
@@ -377,6 +378,7 @@ public class Text extends Scrollable {
     if( message == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     this.message = message;
   }
 
@@ -425,6 +427,7 @@ public class Text extends Scrollable {
    */
   public void setEchoChar( char echo ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.MULTI ) == 0 ) {
       echoChar = echo;
     }
@@ -482,6 +485,7 @@ public class Text extends Scrollable {
     if( textLimit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
+    markDirty();
     // Note that we mimic here the behavior of SWT Text with style MULTI on
     // Windows. In SWT, other operating systems and/or style flags behave
     // different.
@@ -581,6 +585,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markDirty();
     int validatedStart = selection.x;
     int validatedEnd = selection.y;
     if( start >= 0 && end >= start ) {
@@ -694,6 +699,7 @@ public class Text extends Scrollable {
    */
   public void clearSelection() {
     checkWidget();
+    markDirty();
     selection.x = selection.y;
   }
 
@@ -707,6 +713,7 @@ public class Text extends Scrollable {
    */
   public void selectAll() {
     checkWidget();
+    markDirty();
     selection.x = 0;
     selection.y = text.length();
   }
@@ -742,6 +749,7 @@ public class Text extends Scrollable {
    */
   public void setEditable( boolean editable ) {
     checkWidget();
+    markDirty();
     style &= ~SWT.READ_ONLY;
     if( !editable ) {
       style |= SWT.READ_ONLY;
@@ -784,6 +792,7 @@ public class Text extends Scrollable {
     if( string == null ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     String oldText = getText();
     Point sel = getSelection();
     String replace = oldText.substring( 0, sel.x );
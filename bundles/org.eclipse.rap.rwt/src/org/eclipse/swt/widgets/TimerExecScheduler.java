@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2016 EclipseSource and others.
+ * Copyright (c) 2010, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,76 +15,63 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectInputValidation;
 import java.io.ObjectOutputStream;
-import java.util.Collection;
-import java.util.Date;
-import java.util.LinkedList;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.engine.PostDeserialization;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
+import org.eclipse.swt.internal.widgets.TimerExecutor;
 
 
 class TimerExecScheduler implements SerializableCompatibility {
 
   final Display display;
   final ServerPushManager serverPushManager;
-  private final Collection<TimerExecTask> tasks;
-  private transient Timer timer;
+  // guarded by the device lock
+  private final Map<Runnable,TimerExecTask> tasks;
 
   TimerExecScheduler( Display display ) {
     this.display = display;
     serverPushManager = ServerPushManager.getInstance();
-    tasks = new LinkedList<>();
+    tasks = new IdentityHashMap<>();
   }
 
   void schedule( int milliseconds, Runnable runnable ) {
     synchronized( display.getDeviceLock() ) {
-      initializeTimer();
-      TimerExecTask task = findOrAddTask( runnable );
-      timer.schedule( task, milliseconds );
+      TimerExecTask previousTask = tasks.remove( runnable );
+      if( previousTask != null ) {
+        previousTask.cancel();
+      }
+      TimerExecTask task = createTask( runnable );
+      if( task.schedule( milliseconds ) ) {
+        tasks.put( runnable, task );
+      } else {
+        // the executor is not active, the task would never run and keep server push active
+        task.cancel();
+      }
     }
   }
 
   void cancel( Runnable runnable ) {
-    TimerExecTask task = findAndRemoveTask( runnable );
-    if( task != null ) {
-      task.cancel();
-    }
-  }
-
-  void dispose() {
     synchronized( display.getDeviceLock() ) {
-      if( timer != null ) {
-        timer.cancel();
+      TimerExecTask task = tasks.remove( runnable );
+      if( task != null ) {
+        task.cancel();
       }
-      tasks.clear();
-    }
-  }
-
-  private void initializeTimer() {
-    if( timer == null ) {
-      timer = createTimer();
     }
   }
 
-  Timer createTimer() {
-    return new Timer( "RWT timerExec scheduler", true );
-  }
-
-  private TimerExecTask findOrAddTask( Runnable runnable ) {
+  void dispose() {
     synchronized( display.getDeviceLock() ) {
-      for( TimerExecTask task : tasks ) {
-        if( task.getRunnable() == runnable ) {
-          return task;
-        }
+      for( TimerExecTask task : tasks.values() ) {
+        task.cancel();
       }
-      TimerExecTask task = createTask( runnable );
-      tasks.add( task );
-      return task;
+      tasks.clear();
     }
   }
 
@@ -92,35 +79,37 @@ class TimerExecScheduler implements SerializableCompatibility {
     return new TimerExecTask( this, runnable );
   }
 
-  private TimerExecTask findAndRemoveTask( Runnable runnable ) {
-    synchronized( display.getDeviceLock() ) {
-      for( TimerExecTask task : tasks ) {
-        if( task.getRunnable() == runnable ) {
-          tasks.remove( task );
-          return task;
-        }
-      }
-    }
-    return null;
+  TimerExecutor getExecutor() {
+    UISession uiSession = getUISession();
+    return ( ( ApplicationContextImpl )uiSession.getApplicationContext() ).getTimerExecutor();
   }
 
-  void removeTask( TimerTask task ) {
+  void removeTask( TimerExecTask task ) {
     synchronized( display.getDeviceLock() ) {
-      tasks.remove( task );
+      if( tasks.get( task.getRunnable() ) == task ) {
+        tasks.remove( task.getRunnable() );
+      }
     }
   }
 
   private void rescheduleTasks() {
     synchronized( display.getDeviceLock() ) {
-      if( tasks.size() > 0 ) {
-        initializeTimer();
-        for( TimerExecTask task : tasks ) {
-          timer.schedule( task, new Date( task.scheduledExecutionTime() ) );
+      Iterator<TimerExecTask> iterator = tasks.values().iterator();
+      while( iterator.hasNext() ) {
+        TimerExecTask task = iterator.next();
+        if( !task.reschedule() ) {
+          iterator.remove();
+          task.cancel();
         }
       }
     }
   }
 
+  private UISession getUISession() {
+    IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
+    return adapter.getUISession();
+  }
+
   private void writeObject( ObjectOutputStream stream ) throws IOException {
     synchronized( display.getDeviceLock() ) {
       stream.defaultWriteObject();
@@ -135,18 +124,12 @@ class TimerExecScheduler implements SerializableCompatibility {
   private class PostDeserializationValidation implements ObjectInputValidation {
     @Override
     public void validateObject() throws InvalidObjectException {
-      UISession uiSession = getUISession();
-      PostDeserialization.addProcessor( uiSession, new Runnable() {
+      PostDeserialization.addProcessor( getUISession(), new Runnable() {
         @Override
         public void run() {
           rescheduleTasks();
         }
       } );
     }
-
-    private UISession getUISession() {
-      IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
-      return adapter.getUISession();
-    }
   }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2012 EclipseSource and others.
+ * Copyright (c) 2010, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,15 +10,19 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 
 import org.eclipse.swt.internal.SerializableCompatibility;
 
 
-class TimerExecTask extends TimerTask implements SerializableCompatibility {
+class TimerExecTask implements Runnable, SerializableCompatibility {
 
   private final TimerExecScheduler scheduler;
   private final Runnable runnable;
+  // guarded by the device lock
+  private boolean cancelled;
+  private long scheduledExecutionTime;
+  private transient ScheduledFuture<?> future;
 
   TimerExecTask( TimerExecScheduler scheduler, Runnable runnable ) {
     this.scheduler = scheduler;
@@ -26,21 +30,33 @@ class TimerExecTask extends TimerTask implements SerializableCompatibility {
     scheduler.serverPushManager.activateServerPushFor( this );
   }
 
+  boolean schedule( long delayInMillis ) {
+    scheduledExecutionTime = System.currentTimeMillis() + delayInMillis;
+    future = scheduler.getExecutor().schedule( this, delayInMillis );
+    return future != null;
+  }
+
+  boolean reschedule() {
+    long delay = scheduledExecutionTime - System.currentTimeMillis();
+    future = scheduler.getExecutor().schedule( this, Math.max( 0, delay ) );
+    return future != null;
+  }
+
   @Override
   public void run() {
     synchronized( scheduler.display.getDeviceLock() ) {
       scheduler.removeTask( this );
-      if( !scheduler.display.isDisposed() ) {
+      if( !cancelled && !scheduler.display.isDisposed() ) {
         scheduler.display.asyncExec( runnable );
       }
     }
     scheduler.serverPushManager.deactivateServerPushFor( this );
   }
 
-  @Override
-  public boolean cancel() {
+  boolean cancel() {
+    cancelled = true;
     scheduler.serverPushManager.deactivateServerPushFor( this );
-    return super.cancel();
+    return future != null && future.cancel( false );
   }
 
   Runnable getRunnable() {
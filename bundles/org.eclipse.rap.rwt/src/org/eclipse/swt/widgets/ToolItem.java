@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -197,6 +197,7 @@ public class ToolItem extends Item {
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setText( text );
       parent.layoutItems();
@@ -206,6 +207,7 @@ public class ToolItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setImage( image );
       parent.layoutItems();
@@ -233,6 +235,7 @@ public class ToolItem extends Item {
    */
   public void setDisabledImage( Image image ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       disabledImage = image;
       parent.layoutItems();
@@ -279,6 +282,7 @@ public class ToolItem extends Item {
    */
   public void setHotImage( Image image ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       hotImage = image;
       parent.layoutItems();
@@ -330,6 +334,7 @@ public class ToolItem extends Item {
         SWT.error( SWT.ERROR_INVALID_PARENT );
       }
     }
+    markDirty();
     if( ( style & SWT.SEPARATOR ) != 0 ) {
       if( this.control != null && !this.control.isDisposed() ) {
         this.control.setVisible( false );
@@ -371,6 +376,7 @@ public class ToolItem extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markDirty();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -426,6 +432,7 @@ public class ToolItem extends Item {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markDirty();
     if( enabled ) {
       removeState( DISABLED );
     } else {
@@ -674,6 +681,7 @@ public class ToolItem extends Item {
    */
   public void setWidth( int width ) {
     checkWidget();
+    markDirty();
     if( ( style & SWT.SEPARATOR ) != 0 && width >= 0 ) {
       computedWidth = false;
       this.width = width;
@@ -727,6 +735,7 @@ public class ToolItem extends Item {
    */
   public void setSelection( boolean selected ) {
     checkWidget();
+    markDirty();
     if( ( style & ( SWT.CHECK | SWT.RADIO ) ) != 0 ) {
       this.selected = selected;
     }
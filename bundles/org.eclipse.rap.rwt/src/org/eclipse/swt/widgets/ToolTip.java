@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2013 Rüdiger Herrmann and others.
+ * Copyright (c) 2011, 2018 Rüdiger Herrmann and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -171,6 +171,7 @@ public class ToolTip extends Widget {
    */
   public void setAutoHide( boolean autoHide ) {
     checkWidget();
+    markDirty();
     this.autoHide = autoHide;
   }
 
@@ -236,6 +237,7 @@ public class ToolTip extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markDirty();
     this.visible = visible;
   }
 
@@ -273,6 +275,7 @@ public class ToolTip extends Widget {
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( isMarkupEnabledFor( this ) && !isValidationDisabledFor( this ) ) {
       MarkupValidator.getInstance().validate( text );
     }
@@ -313,6 +316,7 @@ public class ToolTip extends Widget {
     if( message == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( isMarkupEnabledFor( this ) && !isValidationDisabledFor( this ) ) {
       MarkupValidator.getInstance().validate( message );
     }
@@ -338,6 +342,7 @@ public class ToolTip extends Widget {
    */
   public void setLocation( int x, int y ) {
     checkWidget();
+    markDirty();
     this.x = x;
     this.y = y;
   }
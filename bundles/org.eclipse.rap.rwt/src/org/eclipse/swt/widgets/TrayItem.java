@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2012 EclipseSource and others.
+ * Copyright (c) 2010, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -125,6 +125,7 @@ public class TrayItem extends Item {
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
   }
 
   /**
@@ -182,6 +183,7 @@ public class TrayItem extends Item {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
   }
 
   /**
@@ -198,6 +200,7 @@ public class TrayItem extends Item {
    */
   public void setToolTipText( String value ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -214,6 +217,7 @@ public class TrayItem extends Item {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -242,6 +246,7 @@ public class TrayItem extends Item {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
   }
 
   /**
@@ -269,6 +274,7 @@ public class TrayItem extends Item {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
   }
 
   /**
@@ -286,6 +292,7 @@ public class TrayItem extends Item {
    */
   public void setToolTip( ToolTip toolTip ) {
     checkWidget();
+    markDirty();
   }
 
   /**
@@ -264,6 +264,7 @@ public class Tree extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markDirty();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
@@ -425,6 +426,7 @@ public class Tree extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markDirty();
     for( int i = itemCount - 1; i >= 0; i-- ) {
       if( items[ i ] != null ) {
         items[ i ].dispose();
@@ -461,6 +463,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( item.getParent() == this ) {
       TreeItem parent = item.getParentItem();
       while( parent != null ) {
@@ -508,6 +511,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( item.getParent() == this ) {
       TreeItem parent = item.getParentItem();
       while( parent != null ) {
@@ -583,6 +587,7 @@ public class Tree extends Composite {
     if( column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( column.getParent() == this ) {
       int index = indexOf( column );
       if( 0 <= index && index < getColumnCount() ) {
@@ -738,6 +743,7 @@ public class Tree extends Composite {
           if( item.isDisposed() ) {
             SWT.error( SWT.ERROR_INVALID_ARGUMENT );
           }
+          markDirty();
           this.selection = new TreeItem[]{ item };
         }
       }
@@ -758,6 +764,7 @@ public class Tree extends Composite {
           }
         }
         if( validLength > 0 ) {
+          markDirty();
           // Copy the above created array to its 'final destination'
           this.selection = new TreeItem[ validLength ];
           System.arraycopy( validSelection, 0, this.selection, 0, validLength );
@@ -791,6 +798,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( ( style & SWT.SINGLE ) != 0 ) {
       setSelection( item );
     } else {
@@ -817,6 +825,7 @@ public class Tree extends Composite {
    */
   public void selectAll() {
     checkWidget();
+    markDirty();
     if( ( style & SWT.MULTI ) != 0 ) {
       final java.util.List<TreeItem> allItems = new ArrayList<>();
       WidgetTreeUtil.accept( this, new WidgetTreeVisitor() {
@@ -858,6 +867,7 @@ public class Tree extends Composite {
     if( item.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     List<TreeItem> selItems = new ArrayList<>( Arrays.asList( selection ) );
     if( selItems.contains( item ) ) {
       selItems.remove( item );
@@ -877,6 +887,7 @@ public class Tree extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    markDirty();
     selection = EMPTY_SELECTION;
   }
 
@@ -898,6 +909,7 @@ public class Tree extends Composite {
    */
   public void setLinesVisible( boolean value ) {
     checkWidget();
+    markDirty();
     if( linesVisible == value ) {
       return; /* no change */
     }
@@ -968,6 +980,7 @@ public class Tree extends Composite {
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
+    markDirty();
     TreeItem item = items[ index ];
     if( item != null ) {
       item.clear();
@@ -1060,6 +1073,7 @@ public class Tree extends Composite {
    */
   public void clearAll( boolean recursive ) {
     checkWidget();
+    markDirty();
     for( int i = 0; i < itemCount; i++ ) {
       TreeItem item = items[ i ];
       if( item != null ) {
@@ -1109,6 +1123,7 @@ public class Tree extends Composite {
   }
 
   void createColumn( TreeColumn column, int index ) {
+    markColumnsDirty();
     columnHolder.insert( column, index );
     if( columnOrder == null ) {
       columnOrder = new int[]{
@@ -1133,8 +1148,17 @@ public class Tree extends Composite {
     updateScrollBars();
   }
 
+  void markColumnsDirty() {
+    // the rendered index and left offset of a column depend on its siblings
+    TreeColumn[] columns = columnHolder.getItems();
+    for( int i = 0; i < columns.length; i++ ) {
+      columns[ i ].markDirty();
+    }
+  }
+
   final void destroyColumn( TreeColumn column ) {
     if( !isInDispose() ) {
+      markColumnsDirty();
       int index = indexOf( column );
       // Remove data from TreeItems
       for( int i = 0; i < itemCount; i++ ) {
@@ -1203,6 +1227,7 @@ public class Tree extends Composite {
    */
   public void setHeaderVisible( boolean value ) {
     checkWidget();
+    markDirty();
     if( headerVisible != value ) {
       headerVisible = value;
       layoutCache.invalidateHeaderHeight();
@@ -1250,6 +1275,7 @@ public class Tree extends Composite {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     headerBackground = color;
   }
 
@@ -1288,6 +1314,7 @@ public class Tree extends Composite {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     headerForeground = color;
   }
 
@@ -1445,6 +1472,8 @@ public class Tree extends Composite {
           reorder = true;
         }
       }
+      markDirty();
+      markColumnsDirty();
       if( reorder ) {
         System.arraycopy( order, 0, columnOrder, 0, columnOrder.length );
         for( int i = 0; i < seen.length; i++ ) {
@@ -1477,6 +1506,7 @@ public class Tree extends Composite {
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( column == sortColumn ) {
       return;
     }
@@ -1502,6 +1532,7 @@ public class Tree extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    markDirty();
     if( direction != SWT.UP && direction != SWT.DOWN && direction != SWT.NONE )
     {
       return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -438,6 +438,7 @@ public class TreeColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markDirty();
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) == 0 ) {
       return;
     }
@@ -469,6 +470,7 @@ public class TreeColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    markDirty();
     this.moveable = moveable;
   }
 
@@ -485,6 +487,7 @@ public class TreeColumn extends Item {
    */
   public void setResizable( boolean value ) {
     checkWidget();
+    markDirty();
     resizable = value;
   }
 
@@ -500,6 +503,7 @@ public class TreeColumn extends Item {
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( !value.equals( text ) ) {
       super.setText( value );
       parent.layoutCache.invalidateHeaderHeight();
@@ -519,6 +523,7 @@ public class TreeColumn extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markDirty();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -541,6 +546,7 @@ public class TreeColumn extends Item {
   public void setWidth( int value ) {
     checkWidget();
     if( value >= 0 && width != value ) {
+      parent.markColumnsDirty();
       width = value;
       parent.updateScrollBars();
       notifyListeners( SWT.Resize, new Event() );
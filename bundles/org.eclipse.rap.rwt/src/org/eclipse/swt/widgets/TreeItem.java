@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -27,6 +27,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.internal.widgets.CellChanges;
 import org.eclipse.swt.internal.widgets.IItemHolderAdapter;
 import org.eclipse.swt.internal.widgets.ITreeItemAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetColorAdapter;
@@ -59,6 +60,7 @@ public class TreeItem extends Item {
   private transient ITreeItemAdapter treeItemAdapter;
   int index;
   private Data[] data;
+  private int cellChanges;
   private Font font;
   private boolean expanded;
   private boolean checked;
@@ -358,6 +360,7 @@ public class TreeItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    markDirty();
     if( this.expanded != expanded && ( !expanded || itemCount > 0 ) ) {
       this.expanded = expanded;
       if( !expanded ) {
@@ -531,11 +534,13 @@ public class TreeItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
       if( !equals( data[ index ].background, color ) ) {
         data[ index ].background = color;
+        cellChanges |= CellChanges.BACKGROUNDS;
         markCached();
         parent.redraw();
       }
@@ -564,12 +569,14 @@ public class TreeItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
       if( !equals( font, data[ index ].font ) ) {
         data[ index ].font = font;
         data[ index ].preferredWidthBuffer = Data.UNKNOWN_WIDTH;
+        cellChanges |= CellChanges.FONTS;
         markCached();
         parent.redraw();
       }
@@ -598,11 +605,13 @@ public class TreeItem extends Item {
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
       if( !equals( data[ index ].foreground, color ) ) {
         data[ index ].foreground = color;
+        cellChanges |= CellChanges.FOREGROUNDS;
         markCached();
         parent.redraw();
       }
@@ -630,6 +639,7 @@ public class TreeItem extends Item {
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( !equals( this.font, font ) ) {
       this.font = font;
       markCached();
@@ -686,6 +696,7 @@ public class TreeItem extends Item {
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( !equals( background, value ) ) {
       background = value;
       markCached();
@@ -761,6 +772,7 @@ public class TreeItem extends Item {
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     if( !equals( foreground, value ) ) {
       foreground = value;
       markCached();
@@ -780,6 +792,7 @@ public class TreeItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    markDirty();
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -819,6 +832,7 @@ public class TreeItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markDirty();
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -977,6 +991,7 @@ public class TreeItem extends Item {
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( isMarkupEnabledFor( parent ) && !isValidationDisabledFor( parent ) ) {
       MarkupValidator.getInstance().validate( text );
     }
@@ -986,6 +1001,7 @@ public class TreeItem extends Item {
       if( !text.equals( data[ index ].text ) ) {
         data[ index ].text = text;
         data[ index ].preferredWidthBuffer = Data.UNKNOWN_WIDTH;
+        cellChanges |= CellChanges.TEXTS;
         markCached();
         if( parent.getColumnCount() == 0 ) {
           parent.updateScrollBars();
@@ -1076,6 +1092,7 @@ public class TreeItem extends Item {
 
   void clear() {
     data = null;
+    cellChanges = CellChanges.ALL;
     checked = false;
     grayed = false;
     foreground = null;
@@ -1111,6 +1128,7 @@ public class TreeItem extends Item {
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
+    markDirty();
     TreeItem item = items[ index ];
     if( item != null ) {
       item.clear();
@@ -1149,6 +1167,7 @@ public class TreeItem extends Item {
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
+    markDirty();
     int count = Math.max( 1, parent.getColumnCount() );
     if( index >= 0 && index < count ) {
       ensureData( index, count );
@@ -1157,6 +1176,7 @@ public class TreeItem extends Item {
         data[ index ].image = image;
         data[ index ].preferredWidthBuffer = Data.UNKNOWN_WIDTH;
         parent.updateItemImageSize( image );
+        cellChanges |= CellChanges.IMAGES;
         markCached();
         if( parent.getColumnCount() == 0 ) {
           parent.updateScrollBars();
@@ -1220,6 +1240,7 @@ public class TreeItem extends Item {
 
   void clearAll( boolean recursive, boolean doVisualUpdate ) {
     checkWidget();
+    markDirty();
     for( int i = 0; i < itemCount; i++ ) {
       TreeItem item = items[ i ];
       if( item != null ) {
@@ -1380,6 +1401,7 @@ public class TreeItem extends Item {
    */
   public void removeAll() {
     checkWidget();
+    markDirty();
     for( int i = itemCount - 1; i >= 0; i-- ) {
       if( items[ i ] != null ) {
         items[ i ].dispose();
@@ -1402,6 +1424,7 @@ public class TreeItem extends Item {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markDirty();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
@@ -1562,6 +1585,14 @@ public class TreeItem extends Item {
   ////////////////////////////////////////
   // Manage item data (texts, images, etc)
 
+  private void markColumnsChanged() {
+    // the length of all cell arrays depends on the column count
+    if( data != null ) {
+      markDirty();
+      cellChanges = CellChanges.ALL;
+    }
+  }
+
   private void ensureData( int index, int columnCount ) {
     if( data == null ) {
       data = new Data[ columnCount ];
@@ -1580,6 +1611,7 @@ public class TreeItem extends Item {
   }
 
   final void shiftData( int index ) {
+    markColumnsChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length + 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1595,6 +1627,7 @@ public class TreeItem extends Item {
   }
 
   final void removeData( int index ) {
+    markColumnsChanged();
     if( data != null && data.length > index && parent.getColumnCount() > 1 ) {
       Data[] newData = new Data[ data.length - 1 ];
       System.arraycopy( data, 0, newData, 0, index );
@@ -1759,6 +1792,16 @@ public class TreeItem extends Item {
       return result;
     }
 
+    @Override
+    public int getCellChanges() {
+      return cellChanges;
+    }
+
+    @Override
+    public void resetCellChanges() {
+      cellChanges = 0;
+    }
+
   }
 
   private final class CompositeItemHolder implements IItemHolderAdapter<Item> {
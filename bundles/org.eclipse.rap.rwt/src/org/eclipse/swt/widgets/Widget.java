@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import org.eclipse.swt.internal.SWTEventListener;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.events.EventList;
 import org.eclipse.swt.internal.events.EventUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
@@ -158,6 +159,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     display = parent.display;
     reskinWidget();
     remoteAdapter = new ParentHolderRemoteAdapter( parent );
+    markDirty();
   }
 
   /**
@@ -241,6 +243,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void setData( Object data ) {
     checkWidget();
+    markDirty();
     if( hasState( KEYED_DATA ) ) {
       ( ( Object[] )this.data )[ 0 ] = data;
     } else {
@@ -318,6 +321,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( key == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     if( RWT.CUSTOM_VARIANT.equals( key ) ) {
       if( value != null ) {
         checkCustomVariant( value );
@@ -516,6 +520,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     ensureEventTable();
     preserveListeners();
     eventTable.hook( eventType, listener );
@@ -552,6 +557,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     preserveListeners();
     if( eventTable != null ) {
       eventTable.unhook( eventType, listener );
@@ -674,6 +680,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
+    markDirty();
     preserveListeners();
     if( eventTable != null ) {
       eventTable.unhook( eventType, listener );
@@ -736,6 +743,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void reskin( int flags ) {
     checkWidget();
+    markDirty();
     reskinWidget();
     if( ( flags & SWT.ALL ) != 0 ) {
       reskinChildren( flags );
@@ -836,6 +844,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
       if( !isValidThread() ) {
         error( SWT.ERROR_THREAD_INVALID_ACCESS );
       }
+      markDirty();
       if( !hasState( DISPOSE_SENT ) ) {
         addState( DISPOSE_SENT );
         notifyListeners( SWT.Dispose, new Event() );
@@ -960,6 +969,38 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     }
   }
 
+  /*
+   * Marks the receiver and its ancestors as modified. Must be called by every method that changes
+   * a rendered property before the change is applied, since the receiver is preserved on its
+   * first modification. Other packages use DirtyWidgets#markModified( Widget ).
+   */
+  void markDirty() {
+    DirtyWidgets dirtyWidgets = getDirtyWidgets();
+    if( dirtyWidgets != null ) {
+      if( dirtyWidgets.isActive() ) {
+        markDirty( dirtyWidgets );
+      } else {
+        dirtyWidgets.markUntracked();
+      }
+    }
+  }
+
+  private void markDirty( DirtyWidgets dirtyWidgets ) {
+    Widget widget = this;
+    while( widget != null && dirtyWidgets.add( widget, widget.isRemoteAdapterInitialized() ) ) {
+      widget = widget.remoteAdapter == null ? null : widget.remoteAdapter.getParent();
+    }
+  }
+
+  private boolean isRemoteAdapterInitialized() {
+    return    remoteAdapter instanceof WidgetRemoteAdapter
+           && remoteAdapter.isInitialized();
+  }
+
+  private DirtyWidgets getDirtyWidgets() {
+    return display == null ? null : display.getDirtyWidgets();
+  }
+
   /*
    * Returns <code>true</code> when the current thread is
    * the thread that created the widget and <code>false</code>
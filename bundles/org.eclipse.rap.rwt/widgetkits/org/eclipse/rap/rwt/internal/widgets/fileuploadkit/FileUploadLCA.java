@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2016 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -50,6 +50,11 @@ public final class FileUploadLCA extends WidgetLCA<FileUpload> {
     preserveProperty( fileUpload, PROP_FILTER_EXTENSIONS, fileUpload.getFilterExtensions() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( FileUpload fileUpload ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( fileUpload, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -78,6 +78,11 @@ public final class BrowserLCA extends WidgetLCA<Browser> {
     preserveListener( browser, PARAM_PROGRESS_LISTENER, hasProgressListener( browser ) );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( Browser browser ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( browser, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -102,6 +102,11 @@ public final class CTabFolderLCA extends WidgetLCA<CTabFolder> {
     preserveProperty( folder, PROP_BORDER_VISIBLE, folder.getBorderVisible() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( CTabFolder folder ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( folder, TYPE );
@@ -51,6 +51,11 @@ public class ControlDecoratorLCA extends WidgetLCA<ControlDecorator> {
     preserveProperty( decorator, PROP_SHOW_HOVER, decorator.getShowHover() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( ControlDecorator decorator ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( decorator, TYPE );
@@ -48,6 +48,11 @@ public final class CanvasLCA extends WidgetLCA<Canvas> {
     WidgetLCAUtil.preserveProperty( canvas, PROP_CLIENT_AREA, canvas.getClientArea() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( Canvas canvas ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( canvas, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -45,6 +45,11 @@ public class CoolBarLCA extends WidgetLCA<CoolBar> {
     adapter.preserve( PROP_LOCKED, Boolean.valueOf( coolBar.getLocked() ) );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( CoolBar coolBar ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( coolBar, TYPE );
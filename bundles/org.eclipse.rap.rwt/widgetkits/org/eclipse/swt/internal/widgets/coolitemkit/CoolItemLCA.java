@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -46,6 +46,11 @@ public class CoolItemLCA extends WidgetLCA<CoolItem> {
     preserveProperty( item, Props.BOUNDS, item.getBounds() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( CoolItem item ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( item, TYPE );
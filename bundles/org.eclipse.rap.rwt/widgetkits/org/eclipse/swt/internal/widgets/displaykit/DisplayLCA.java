@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -36,6 +36,7 @@ import org.eclipse.rap.rwt.internal.lifecycle.EntryPointRegistration;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.ReparentedControls;
 import org.eclipse.rap.rwt.internal.lifecycle.UITestUtil;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
 import org.eclipse.rap.rwt.internal.protocol.Operation;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolUtil;
@@ -47,6 +48,7 @@ import org.eclipse.rap.rwt.internal.util.ActiveKeysUtil;
 import org.eclipse.rap.rwt.remote.OperationHandler;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.widgets.ControlRemoteAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.internal.widgets.WidgetTreeUtil;
@@ -80,19 +82,31 @@ public class DisplayLCA {
     ActiveKeysUtil.preserveCancelKeys( display );
     ActiveKeysUtil.preserveMnemonicActivator( display );
     if( adapter.isInitialized() ) {
-      for( Shell shell : getShells( display ) ) {
-        WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
-          @Override
-          public boolean visit( Widget widget ) {
-            getLCA( widget ).preserveValues( widget );
-            return true;
-          }
-        } );
+      DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+      // when tracking, widgets are preserved on their first modification
+      if( dirtyWidgets == null || !dirtyWidgets.startTracking() ) {
+        for( Shell shell : getShells( display ) ) {
+          WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
+            @Override
+            public boolean visit( Widget widget ) {
+              getLCA( widget ).preserveValues( widget );
+              return true;
+            }
+          } );
+        }
       }
     }
   }
 
   public void render( Display display ) throws IOException {
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    if( dirtyWidgets != null ) {
+      if( dirtyWidgets.isTracking() ) {
+        dirtyWidgets.startRendering();
+      } else {
+        dirtyWidgets.markAllDirty();
+      }
+    }
     renderOverflow( display );
     renderReparentControls();
     renderDisposeWidgets();
@@ -114,14 +128,20 @@ public class DisplayLCA {
 
   public void clearPreserved( Display display ) {
     ( ( WidgetRemoteAdapter )getAdapter( display ) ).clearPreserved();
-    for( Shell shell : getShells( display ) ) {
-      WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
-        @Override
-        public boolean visit( Widget widget ) {
-          ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
-          return true;
-        }
-      } );
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    if( dirtyWidgets == null || dirtyWidgets.isAllDirty() ) {
+      for( Shell shell : getShells( display ) ) {
+        WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
+          @Override
+          public boolean visit( Widget widget ) {
+            ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
+            return true;
+          }
+        } );
+      }
+    }
+    if( dirtyWidgets != null ) {
+      dirtyWidgets.clearPreserved();
     }
   }
 
@@ -170,7 +190,9 @@ public class DisplayLCA {
   }
 
   private static void renderShells( Display display ) throws IOException {
-    RenderVisitor visitor = new RenderVisitor();
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    Metrics metrics = ContextProvider.getApplicationContext().getMetrics();
+    RenderVisitor visitor = new RenderVisitor( dirtyWidgets, metrics );
     for( Shell shell : getShells( display ) ) {
       WidgetTreeUtil.accept( shell, visitor );
       visitor.reThrowProblem();
@@ -287,17 +309,33 @@ public class DisplayLCA {
     return display.getAdapter( IDisplayAdapter.class );
   }
 
+  private static DirtyWidgets getDirtyWidgets( Display display ) {
+    return getDisplayAdapter( display ).getDirtyWidgets();
+  }
+
   private static Shell[] getShells( Display display ) {
     return getDisplayAdapter( display ).getShells();
   }
 
   private static final class RenderVisitor implements WidgetTreeVisitor {
 
+    private final DirtyWidgets dirtyWidgets;
+    private final Metrics metrics;
     private IOException ioProblem;
 
+    RenderVisitor( DirtyWidgets dirtyWidgets, Metrics metrics ) {
+      this.dirtyWidgets = dirtyWidgets;
+      this.metrics = metrics;
+    }
+
     @Override
     public boolean visit( Widget widget ) {
       ioProblem = null;
+      if( dirtyWidgets != null && dirtyWidgets.isActive() && !dirtyWidgets.isDirty( widget ) ) {
+        // unmodified subtree, but render runnables may be attached to it (e.g. to the last item)
+        runRenderRunnables( widget );
+        return false;
+      }
       try {
         render( widget );
         runRenderRunnables( widget );
@@ -305,6 +343,9 @@ public class DisplayLCA {
         ioProblem = ioe;
         return false;
       }
+      if( dirtyWidgets != null ) {
+        dirtyWidgets.markRendered( widget );
+      }
       return true;
     }
 
@@ -314,8 +355,10 @@ public class DisplayLCA {
       }
     }
 
-    private static void render( Widget widget ) throws IOException {
+    private void render( Widget widget ) throws IOException {
+      long startTime = metrics.start();
       getLCA( widget ).render( widget );
+      metrics.stop( Metrics.CATEGORY_RENDER, widget.getClass().getName(), startTime );
     }
 
     private static void runRenderRunnables( Widget widget ) {
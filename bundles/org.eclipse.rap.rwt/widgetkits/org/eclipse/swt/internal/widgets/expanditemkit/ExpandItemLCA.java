@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -44,6 +44,11 @@ public final class ExpandItemLCA extends WidgetLCA<ExpandItem> {
     preserveProperty( item, PROP_HEADER_HEIGHT, item.getHeaderHeight() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( ExpandItem item ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( item, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -57,6 +57,11 @@ public class ProgressBarLCA extends WidgetLCA<ProgressBar> {
     preserveProperty( progressBar, PROP_STATE, getState( progressBar ) );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( ProgressBar progressBar ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( progressBar, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -58,6 +58,11 @@ public final class ScaleLCA extends WidgetLCA<Scale> {
     preserveProperty( scale, PROP_PAGE_INCREMENT, scale.getPageIncrement() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( Scale scale ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( scale, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2015, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -41,6 +41,11 @@ public final class ScrollBarLCA extends WidgetLCA<ScrollBar> {
     preserveProperty( scrollBar, PROP_VISIBILITY, scrollBar.getVisible() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( ScrollBar scrollBar ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( scrollBar, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -90,6 +90,11 @@ public final class ShellLCA extends WidgetLCA<Shell> {
     preserveProperty( shell, PROP_DEFAULT_BUTTON, shell.getDefaultButton() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void readData( Shell shell ) {
     // [if] Preserve the menu bounds before setting the new shell bounds.
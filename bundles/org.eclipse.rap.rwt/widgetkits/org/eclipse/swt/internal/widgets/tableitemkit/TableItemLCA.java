@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,8 +13,10 @@ package org.eclipse.swt.internal.widgets.tableitemkit;
 
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.preserveProperty;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderProperty;
+import static org.eclipse.rap.rwt.internal.protocol.JsonUtil.createJsonArray;
 import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.createRemoteObject;
 import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.getRemoteObject;
+import static org.eclipse.swt.internal.widgets.ItemLCAUtil.renderCellProperty;
 
 import java.io.IOException;
 
@@ -26,6 +28,7 @@ import org.eclipse.rap.rwt.remote.RemoteObject;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.CellChanges;
 import org.eclipse.swt.internal.widgets.ITableAdapter;
 import org.eclipse.swt.internal.widgets.ITableItemAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetColorAdapter;
@@ -60,19 +63,21 @@ public final class TableItemLCA extends WidgetLCA<TableItem> {
     preserveProperty( item, PROP_INDEX, getIndex( item ) );
     preserveProperty( item, PROP_CACHED, isCached( item ) );
     if( isCached( item ) ) {
-      preserveProperty( item, PROP_TEXTS, getTexts( item ) );
-      preserveProperty( item, PROP_IMAGES, getImages( item ) );
+      // cell properties are not preserved, changes are tracked by the item itself
+      getTableItemAdapter( item ).resetCellChanges();
       WidgetLCAUtil.preserveBackground( item, getUserBackground( item ) );
       WidgetLCAUtil.preserveForeground( item, getUserForeground( item ) );
       WidgetLCAUtil.preserveFont( item, getUserFont( item ) );
-      preserveProperty( item, PROP_CELL_BACKGROUNDS, getCellBackgrounds( item ) );
-      preserveProperty( item, PROP_CELL_FOREGROUNDS, getCellForegrounds( item ) );
-      preserveProperty( item, PROP_CELL_FONTS, getCellFonts( item ) );
       preserveProperty( item, PROP_CHECKED, item.getChecked() );
       preserveProperty( item, PROP_GRAYED, item.getGrayed() );
     }
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( TableItem item ) throws IOException {
     Table parent = item.getParent();
@@ -104,16 +109,36 @@ public final class TableItemLCA extends WidgetLCA<TableItem> {
   }
 
   private static void renderProperties( TableItem item ) {
-    renderProperty( item, PROP_TEXTS, getTexts( item ), null );
-    renderProperty( item, PROP_IMAGES, getImages( item ), null );
+    int cellChanges = getCellChanges( item );
+    if( ( cellChanges & CellChanges.TEXTS ) != 0 ) {
+      String[] texts = getTexts( item );
+      renderCellProperty( item, PROP_TEXTS, texts == null ? null : createJsonArray( texts ) );
+    }
+    if( ( cellChanges & CellChanges.IMAGES ) != 0 ) {
+      Image[] images = getImages( item );
+      renderCellProperty( item, PROP_IMAGES, images == null ? null : createJsonArray( images ) );
+    }
     WidgetLCAUtil.renderBackground( item, getUserBackground( item ) );
     WidgetLCAUtil.renderForeground( item, getUserForeground( item ) );
     WidgetLCAUtil.renderFont( item, getUserFont( item ) );
     WidgetLCAUtil.renderCustomVariant( item );
     WidgetLCAUtil.renderData( item );
-    renderProperty( item, PROP_CELL_BACKGROUNDS, getCellBackgrounds( item ), null );
-    renderProperty( item, PROP_CELL_FOREGROUNDS, getCellForegrounds( item ), null );
-    renderProperty( item, PROP_CELL_FONTS, getCellFonts( item ), null );
+    if( ( cellChanges & CellChanges.BACKGROUNDS ) != 0 ) {
+      Color[] backgrounds = getCellBackgrounds( item );
+      renderCellProperty( item,
+                          PROP_CELL_BACKGROUNDS,
+                          backgrounds == null ? null : createJsonArray( backgrounds ) );
+    }
+    if( ( cellChanges & CellChanges.FOREGROUNDS ) != 0 ) {
+      Color[] foregrounds = getCellForegrounds( item );
+      renderCellProperty( item,
+                          PROP_CELL_FOREGROUNDS,
+                          foregrounds == null ? null : createJsonArray( foregrounds ) );
+    }
+    if( ( cellChanges & CellChanges.FONTS ) != 0 ) {
+      Font[] fonts = getCellFonts( item );
+      renderCellProperty( item, PROP_CELL_FONTS, fonts == null ? null : createJsonArray( fonts ) );
+    }
     renderProperty( item, PROP_CHECKED, item.getChecked(), false );
     renderProperty( item, PROP_GRAYED, item.getGrayed(), false );
   }
@@ -140,6 +165,11 @@ public final class TableItemLCA extends WidgetLCA<TableItem> {
     return getTableItemAdapter( item ).getImages();
   }
 
+  private static int getCellChanges( TableItem item ) {
+    boolean initialized = WidgetUtil.getAdapter( item ).isInitialized();
+    return initialized ? getTableItemAdapter( item ).getCellChanges() : CellChanges.ALL;
+  }
+
   private static Color getUserBackground( TableItem item ) {
     return item.getAdapter( IWidgetColorAdapter.class ).getUserBackground();
   }
@@ -116,6 +116,11 @@ public final class TableLCA extends WidgetLCA<Table> {
     preserveProperty( table, PROP_CELL_TOOLTIP_TEXT, null );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( Table table ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( table, TYPE );
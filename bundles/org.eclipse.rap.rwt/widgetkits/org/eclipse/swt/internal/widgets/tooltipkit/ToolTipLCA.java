@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Rüdiger Herrmann and others.
+ * Copyright (c) 2011, 2018 Rüdiger Herrmann and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -59,6 +59,11 @@ public final class ToolTipLCA extends WidgetLCA<ToolTip> {
     preserveProperty( toolTip, PROP_VISIBLE, toolTip.isVisible() );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( ToolTip toolTip ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( toolTip, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,8 +13,10 @@ package org.eclipse.swt.internal.widgets.treeitemkit;
 
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.preserveProperty;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil.renderProperty;
+import static org.eclipse.rap.rwt.internal.protocol.JsonUtil.createJsonArray;
 import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.createRemoteObject;
 import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.getRemoteObject;
+import static org.eclipse.swt.internal.widgets.ItemLCAUtil.renderCellProperty;
 
 import java.io.IOException;
 
@@ -27,6 +29,7 @@ import org.eclipse.rap.rwt.remote.RemoteObject;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.CellChanges;
 import org.eclipse.swt.internal.widgets.ITreeAdapter;
 import org.eclipse.swt.internal.widgets.ITreeItemAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetColorAdapter;
@@ -62,20 +65,22 @@ public final class TreeItemLCA extends WidgetLCA<TreeItem> {
     preserveProperty( item, PROP_CACHED, isCached( item ) );
     if( isCached( item ) ) {
       preserveProperty( item, PROP_ITEM_COUNT, item.getItemCount() );
-      preserveProperty( item, PROP_TEXTS, getTexts( item ) );
-      preserveProperty( item, PROP_IMAGES, getImages( item ) );
+      // cell properties are not preserved, changes are tracked by the item itself
+      getTreeItemAdapter( item ).resetCellChanges();
       WidgetLCAUtil.preserveBackground( item, getUserBackground( item ) );
       WidgetLCAUtil.preserveForeground( item, getUserForeground( item ) );
       WidgetLCAUtil.preserveFont( item, getUserFont( item ) );
-      preserveProperty( item, PROP_CELL_BACKGROUNDS, getCellBackgrounds( item ) );
-      preserveProperty( item, PROP_CELL_FOREGROUNDS, getCellForegrounds( item ) );
-      preserveProperty( item, PROP_CELL_FONTS, getCellFonts( item ) );
       preserveProperty( item, PROP_EXPANDED, item.getExpanded() );
       preserveProperty( item, PROP_CHECKED, item.getChecked() );
       preserveProperty( item, PROP_GRAYED, item.getGrayed() );
     }
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( TreeItem item ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( item, TYPE );
@@ -110,16 +115,36 @@ public final class TreeItemLCA extends WidgetLCA<TreeItem> {
 
   private static void renderProperties( TreeItem item ) {
     renderProperty( item, PROP_ITEM_COUNT, item.getItemCount(), DEFAULT_ITEM_COUNT );
-    renderProperty( item, PROP_TEXTS, getTexts( item ), null );
-    renderProperty( item, PROP_IMAGES, getImages( item ), null );
+    int cellChanges = getCellChanges( item );
+    if( ( cellChanges & CellChanges.TEXTS ) != 0 ) {
+      String[] texts = getTexts( item );
+      renderCellProperty( item, PROP_TEXTS, texts == null ? null : createJsonArray( texts ) );
+    }
+    if( ( cellChanges & CellChanges.IMAGES ) != 0 ) {
+      Image[] images = getImages( item );
+      renderCellProperty( item, PROP_IMAGES, images == null ? null : createJsonArray( images ) );
+    }
     WidgetLCAUtil.renderBackground( item, getUserBackground( item ) );
     WidgetLCAUtil.renderForeground( item, getUserForeground( item ) );
     WidgetLCAUtil.renderFont( item, getUserFont( item ) );
     WidgetLCAUtil.renderCustomVariant( item );
     WidgetLCAUtil.renderData( item );
-    renderProperty( item, PROP_CELL_BACKGROUNDS, getCellBackgrounds( item ), null );
-    renderProperty( item, PROP_CELL_FOREGROUNDS, getCellForegrounds( item ), null );
-    renderProperty( item, PROP_CELL_FONTS, getCellFonts( item ), null );
+    if( ( cellChanges & CellChanges.BACKGROUNDS ) != 0 ) {
+      Color[] backgrounds = getCellBackgrounds( item );
+      renderCellProperty( item,
+                          PROP_CELL_BACKGROUNDS,
+                          backgrounds == null ? null : createJsonArray( backgrounds ) );
+    }
+    if( ( cellChanges & CellChanges.FOREGROUNDS ) != 0 ) {
+      Color[] foregrounds = getCellForegrounds( item );
+      renderCellProperty( item,
+                          PROP_CELL_FOREGROUNDS,
+                          foregrounds == null ? null : createJsonArray( foregrounds ) );
+    }
+    if( ( cellChanges & CellChanges.FONTS ) != 0 ) {
+      Font[] fonts = getCellFonts( item );
+      renderCellProperty( item, PROP_CELL_FONTS, fonts == null ? null : createJsonArray( fonts ) );
+    }
     renderProperty( item, PROP_EXPANDED, item.getExpanded(), false );
     renderProperty( item, PROP_CHECKED, item.getChecked(), false );
     renderProperty( item, PROP_GRAYED, item.getGrayed(), false );
@@ -170,6 +195,11 @@ public final class TreeItemLCA extends WidgetLCA<TreeItem> {
     return getTreeItemAdapter( item ).getImages();
   }
 
+  private static int getCellChanges( TreeItem item ) {
+    boolean initialized = WidgetUtil.getAdapter( item ).isInitialized();
+    return initialized ? getTreeItemAdapter( item ).getCellChanges() : CellChanges.ALL;
+  }
+
   private static Color getUserBackground( TreeItem item ) {
     return item.getAdapter( IWidgetColorAdapter.class ).getUserBackground();
   }
@@ -115,6 +115,11 @@ public final class TreeLCA extends WidgetLCA<Tree> {
     preserveProperty( tree, PROP_CELL_TOOLTIP_TEXT, null );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( Tree tree ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( tree, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 EclipseSource and others.
+ * Copyright (c) 2009, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -69,6 +69,11 @@ public class FormTextLCA extends WidgetLCA<FormText> {
     preserveProperty( formText, PROP_RESOURCE_TABLE, getResourceTable( formText ) );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( FormText formText ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( formText, TYPE );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -58,6 +58,11 @@ public class HyperlinkLCA extends WidgetLCA<Hyperlink> {
                       getActiveBackground( hyperlink ) );
   }
 
+  @Override
+  public boolean supportsDirtyTracking() {
+    return true;
+  }
+
   @Override
   public void renderInitialization( Hyperlink hyperlink ) throws IOException {
     RemoteObject remoteObject = createRemoteObject( hyperlink, TYPE );
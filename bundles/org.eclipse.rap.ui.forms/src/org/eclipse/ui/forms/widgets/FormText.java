@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -48,6 +48,7 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.*;
 // RAP [if] Clipboard not supported - no internal menu needed
 //import org.eclipse.swt.widgets.Menu;
@@ -615,6 +616,7 @@ public class FormText extends Canvas {
    *            an object of a type <samp>Image </samp>.
    */
   public void setImage(String key, Image image) {
+    DirtyWidgets.markModified(this);
     resourceTable.put("i." + key, image); //$NON-NLS-1$
   }
 
@@ -633,6 +635,7 @@ public class FormText extends Canvas {
    *            if the key needs to be cleared.
    */
   public void setColor(String key, Color color) {
+    DirtyWidgets.markModified(this);
     String fullKey = "c." + key; //$NON-NLS-1$
     if (color == null)
       resourceTable.remove(fullKey);
@@ -655,6 +658,7 @@ public class FormText extends Canvas {
    *            if the key needs to be cleared.
    */
   public void setFont(String key, Font font) {
+    DirtyWidgets.markModified(this);
     String fullKey = "f." + key; //$NON-NLS-1$
     if (font == null)
       resourceTable.remove(fullKey);
@@ -680,6 +684,7 @@ public class FormText extends Canvas {
    * @since 3.1
    */
   public void setControl(String key, Control control) {
+    DirtyWidgets.markModified(this);
     String fullKey = "o." + key; //$NON-NLS-1$
     if (control == null)
       resourceTable.remove(fullKey);
@@ -722,6 +727,7 @@ public class FormText extends Canvas {
    *            converted into hyperlinks.
    */
   public void setText(String text, boolean parseTags, boolean expandURLs) {
+    DirtyWidgets.markModified(this);
     disposeResourceTable(false);
     entered = null;
     if (parseTags)
@@ -746,6 +752,7 @@ public class FormText extends Canvas {
    *            converted into hyperlinks.
    */
   public void setContents(InputStream is, boolean expandURLs) {
+    DirtyWidgets.markModified(this);
     entered = null;
     disposeResourceTable(false);
     model.parseInputStream(is, expandURLs);
@@ -1012,6 +1019,7 @@ public class FormText extends Canvas {
    *            hyperlink settings for this control
    */
   public void setHyperlinkSettings(HyperlinkSettings settings) {
+    DirtyWidgets.markModified(this);
     model.setHyperlinkSettings(settings);
   }
 
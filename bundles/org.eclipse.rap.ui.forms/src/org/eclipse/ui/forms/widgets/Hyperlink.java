@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2015 IBM Corporation and others.
+ * Copyright (c) 2004, 2018 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.accessibility.*;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.ui.forms.internal.widgets.IHyperlinkAdapter;
 import org.eclipse.ui.forms.internal.widgets.hyperlinkkit.HyperlinkLCA;
@@ -77,6 +78,7 @@ public class Hyperlink extends AbstractHyperlink {
           private int underlineMode;
           @Override
           public void setActiveForeground( final Color activeForeground ) {
+            DirtyWidgets.markModified( Hyperlink.this );
             this.activeForeground = activeForeground;
           }
           @Override
@@ -85,6 +87,7 @@ public class Hyperlink extends AbstractHyperlink {
           }
           @Override
           public void setActiveBackground( final Color activeBackground ) {
+            DirtyWidgets.markModified( Hyperlink.this );
             this.activeBackground = activeBackground;
           }
           @Override
@@ -93,6 +96,7 @@ public class Hyperlink extends AbstractHyperlink {
           }
           @Override
           public void setUnderlineMode( final int underlineMode ) {
+            DirtyWidgets.markModified( Hyperlink.this );
             this.underlineMode = underlineMode;
           }
           @Override
@@ -176,6 +180,7 @@ public class Hyperlink extends AbstractHyperlink {
    *            each wrapped line.
    */
   public void setUnderlined(boolean underlined) {
+    DirtyWidgets.markModified(this);
     this.underlined = underlined;
     redraw();
   }
@@ -240,6 +245,7 @@ public class Hyperlink extends AbstractHyperlink {
    *            the hyperlink text
    */
   public void setText(String text) {
+    DirtyWidgets.markModified(this);
     if (text != null)
       this.text = text;
     else
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.e4.core.contexts.EclipseContextFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.services.log.Logger;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ApplicationModelTemplateCache_Test {
+
+  private static final String APPLICATION_XMI
+    = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+    + "<application:Application xmi:version=\"2.0\""
+    + " xmlns:xmi=\"http://www.omg.org/XMI\""
+    + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+    + " xmlns:application=\"http://www.eclipse.org/ui/2010/UIModel/application\""
+    + " xmlns:basic=\"http://www.eclipse.org/ui/2010/UIModel/application/ui/basic\""
+    + " xmi:id=\"_application\" elementId=\"test.application\">\n"
+    + "  <children xsi:type=\"basic:TrimmedWindow\" xmi:id=\"_window\""
+    + " elementId=\"test.window\" label=\"Window\"/>\n"
+    + "</application:Application>\n";
+
+  private File file;
+  private URI uri;
+  private IExtensionRegistry registry;
+  private IEclipseContext context;
+  private ApplicationModelTemplateCache cache;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile( "Application", ".e4xmi" );
+    Files.write( file.toPath(), APPLICATION_XMI.getBytes( StandardCharsets.UTF_8 ) );
+    uri = URI.createFileURI( file.getAbsolutePath() );
+    registry = mockRegistry();
+    context = createContext( registry );
+    cache = new ApplicationModelTemplateCache();
+  }
+
+  @After
+  public void tearDown() {
+    cache.dispose();
+    context.dispose();
+    file.delete();
+  }
+
+  @Test
+  public void testGet_returnsSameTemplate() throws IOException {
+    ApplicationModelTemplate template = cache.get( uri, context );
+
+    assertSame( template, cache.get( uri, context ) );
+  }
+
+  @Test
+  public void testGet_addsRegistryListenerOnce() throws IOException {
+    cache.get( uri, context );
+    cache.get( uri, context );
+
+    verify( registry, times( 1 ) ).addListener( cache, ModelAssembler.extensionPointID );
+  }
+
+  @Test
+  public void testGet_withProcessorBeforeFragments() throws IOException {
+    IConfigurationElement processor = mock( IConfigurationElement.class );
+    when( processor.getName() ).thenReturn( "processor" );
+    when( processor.getAttribute( "beforefragment" ) ).thenReturn( "true" );
+    IExtension extension = mock( IExtension.class );
+    when( extension.getConfigurationElements() )
+      .thenReturn( new IConfigurationElement[] { processor } );
+    IExtensionPoint extensionPoint = registry.getExtensionPoint( ModelAssembler.extensionPointID );
+    when( extensionPoint.getExtensions() ).thenReturn( new IExtension[] { extension } );
+
+    assertNull( cache.get( uri, context ) );
+    verify( registry, never() ).addListener( any( IRegistryEventListener.class ), anyString() );
+  }
+
+  @Test
+  public void testGet_afterExtensionsAdded_createsNewTemplate() throws IOException {
+    ApplicationModelTemplate template = cache.get( uri, context );
+
+    cache.added( new IExtension[ 0 ] );
+
+    assertNotSame( template, cache.get( uri, context ) );
+  }
+
+  @Test
+  public void testGet_afterExtensionsRemoved_createsNewTemplate() throws IOException {
+    ApplicationModelTemplate template = cache.get( uri, context );
+
+    cache.removed( new IExtension[ 0 ] );
+
+    assertNotSame( template, cache.get( uri, context ) );
+  }
+
+  @Test
+  public void testGet_withOtherRegistry_movesListener() throws IOException {
+    ApplicationModelTemplate template = cache.get( uri, context );
+    IExtensionRegistry otherRegistry = mockRegistry();
+    IEclipseContext otherContext = createContext( otherRegistry );
+
+    ApplicationModelTemplate otherTemplate = cache.get( uri, otherContext );
+
+    assertNotSame( template, otherTemplate );
+    verify( registry ).removeListener( cache );
+    verify( otherRegistry ).addListener( cache, ModelAssembler.extensionPointID );
+    otherContext.dispose();
+  }
+
+  @Test
+  public void testDispose_removesRegistryListener() throws IOException {
+    cache.get( uri, context );
+
+    cache.dispose();
+
+    verify( registry ).removeListener( cache );
+  }
+
+  @Test
+  public void testDispose_discardsTemplates() throws IOException {
+    ApplicationModelTemplate template = cache.get( uri, context );
+
+    cache.dispose();
+
+    assertNotSame( template, cache.get( uri, context ) );
+  }
+
+  @Test
+  public void testDispose_withoutTemplates() {
+    cache.dispose();
+
+    verify( registry, never() ).removeListener( any( IRegistryEventListener.class ) );
+  }
+
+  @Test
+  public void testCopyInto_createsIndependentCopies() throws IOException {
+    ApplicationModelTemplate template = cache.get( uri, context );
+
+    MApplication copy = copyApplication( template );
+    MApplication otherCopy = copyApplication( template );
+    copy.getChildren().get( 0 ).setLabel( "changed" );
+
+    assertNotSame( copy, otherCopy );
+    assertEquals( "Window", otherCopy.getChildren().get( 0 ).getLabel() );
+  }
+
+  @Test
+  public void testCopyInto_keepsXMIIds() throws IOException {
+    ApplicationModelTemplate template = cache.get( uri, context );
+    E4XMIResource resource = new E4XMIResource();
+
+    template.copyInto( resource );
+
+    MApplication application = ( MApplication )resource.getContents().get( 0 );
+    MWindow window = application.getChildren().get( 0 );
+    assertEquals( "_application", resource.getID( ( EObject )application ) );
+    assertEquals( "_window", resource.getID( ( EObject )window ) );
+    assertEquals( "test.window", window.getElementId() );
+  }
+
+  private static IExtensionRegistry mockRegistry() {
+    IExtensionPoint extensionPoint = mock( IExtensionPoint.class );
+    when( extensionPoint.getExtensions() ).thenReturn( new IExtension[ 0 ] );
+    IExtensionRegistry registry = mock( IExtensionRegistry.class );
+    when( registry.getExtensionPoint( eq( ModelAssembler.extensionPointID ) ) )
+      .thenReturn( extensionPoint );
+    return registry;
+  }
+
+  private static IEclipseContext createContext( IExtensionRegistry registry ) {
+    IEclipseContext context = EclipseContextFactory.create( "test" );
+    context.set( IExtensionRegistry.class, registry );
+    context.set( Logger.class, mock( Logger.class ) );
+    return context;
+  }
+
+  private static MApplication copyApplication( ApplicationModelTemplate template ) {
+    E4XMIResource resource = new E4XMIResource();
+    template.copyInto( resource );
+    return ( MApplication )resource.getContents().get( 0 );
+  }
+
+}
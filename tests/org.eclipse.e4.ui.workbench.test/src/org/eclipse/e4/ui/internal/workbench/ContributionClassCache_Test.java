@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.internal.workbench;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+
+
+public class ContributionClassCache_Test {
+
+  private static final String PART_URI = "bundleclass://test.bundle/test.Part";
+  private static final String HANDLER_URI = "bundleclass://other.bundle/test.Handler";
+
+  private ContributionClassCache cache;
+  private Bundle bundle;
+  private Bundle otherBundle;
+
+  @Before
+  public void setUp() throws ClassNotFoundException {
+    cache = new ContributionClassCache();
+    bundle = mockBundle( "test.bundle", "test.Part", String.class );
+    otherBundle = mockBundle( "other.bundle", "test.Handler", Integer.class );
+  }
+
+  @Test
+  public void testLoadClass_onMiss_loadsClassFromBundle() throws ClassNotFoundException {
+    Class<?> type = cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    assertSame( String.class, type );
+    verify( bundle ).loadClass( "test.Part" );
+  }
+
+  @Test
+  public void testLoadClass_onHit_doesNotLoadClassAgain() throws ClassNotFoundException {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    Class<?> type = cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    assertSame( String.class, type );
+    verify( bundle, times( 1 ) ).loadClass( "test.Part" );
+  }
+
+  @Test
+  public void testLoadClass_withOtherBundle_loadsClassAgain() throws ClassNotFoundException {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+    Bundle updatedBundle = mockBundle( "test.bundle", "test.Part", Long.class );
+
+    Class<?> type = cache.loadClass( PART_URI, updatedBundle, "test.Part" );
+
+    assertSame( Long.class, type );
+  }
+
+  @Test( expected = ClassNotFoundException.class )
+  public void testLoadClass_withUnknownClass() throws ClassNotFoundException {
+    when( bundle.loadClass( "test.Unknown" ) ).thenThrow( new ClassNotFoundException() );
+
+    cache.loadClass( "bundleclass://test.bundle/test.Unknown", bundle, "test.Unknown" );
+  }
+
+  @Test
+  public void testBundleChanged_onUpdate_invalidatesClassesOfBundle()
+    throws ClassNotFoundException
+  {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    cache.bundleChanged( new BundleEvent( BundleEvent.UPDATED, bundle ) );
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    verify( bundle, times( 2 ) ).loadClass( "test.Part" );
+  }
+
+  @Test
+  public void testBundleChanged_onUnresolve_invalidatesClassesOfBundle()
+    throws ClassNotFoundException
+  {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    cache.bundleChanged( new BundleEvent( BundleEvent.UNRESOLVED, bundle ) );
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    verify( bundle, times( 2 ) ).loadClass( "test.Part" );
+  }
+
+  @Test
+  public void testBundleChanged_onUninstall_invalidatesClassesOfBundle()
+    throws ClassNotFoundException
+  {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    cache.bundleChanged( new BundleEvent( BundleEvent.UNINSTALLED, bundle ) );
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    verify( bundle, times( 2 ) ).loadClass( "test.Part" );
+  }
+
+  @Test
+  public void testBundleChanged_keepsClassesOfOtherBundles() throws ClassNotFoundException {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+    cache.loadClass( HANDLER_URI, otherBundle, "test.Handler" );
+
+    cache.bundleChanged( new BundleEvent( BundleEvent.UPDATED, bundle ) );
+    cache.loadClass( HANDLER_URI, otherBundle, "test.Handler" );
+
+    verify( otherBundle, times( 1 ) ).loadClass( "test.Handler" );
+  }
+
+  @Test
+  public void testBundleChanged_onStart_keepsClasses() throws ClassNotFoundException {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    cache.bundleChanged( new BundleEvent( BundleEvent.STARTED, bundle ) );
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    verify( bundle, times( 1 ) ).loadClass( "test.Part" );
+  }
+
+  @Test
+  public void testBundleChanged_whileLoading_doesNotCacheClass() throws ClassNotFoundException {
+    doAnswer( new Answer<Class<?>>() {
+      @Override
+      public Class<?> answer( InvocationOnMock invocation ) {
+        cache.bundleChanged( new BundleEvent( BundleEvent.UPDATED, bundle ) );
+        return String.class;
+      }
+    } ).when( bundle ).loadClass( "test.Part" );
+
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+
+    verify( bundle, times( 2 ) ).loadClass( "test.Part" );
+  }
+
+  @Test
+  public void testClear_invalidatesAllClasses() throws ClassNotFoundException {
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+    cache.loadClass( HANDLER_URI, otherBundle, "test.Handler" );
+
+    cache.clear();
+    cache.loadClass( PART_URI, bundle, "test.Part" );
+    cache.loadClass( HANDLER_URI, otherBundle, "test.Handler" );
+
+    verify( bundle, times( 2 ) ).loadClass( "test.Part" );
+    verify( otherBundle, times( 2 ) ).loadClass( "test.Handler" );
+  }
+
+  private static Bundle mockBundle( String symbolicName, String className, Class<?> type )
+    throws ClassNotFoundException
+  {
+    Bundle bundle = mock( Bundle.class );
+    when( bundle.getSymbolicName() ).thenReturn( symbolicName );
+    doReturn( type ).when( bundle ).loadClass( className );
+    return bundle;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,13 +11,20 @@
 package org.eclipse.rap.fileupload;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
 
 import org.eclipse.rap.fileupload.internal.FileDetailsImpl;
 import org.eclipse.rap.fileupload.test.FileUploadTestUtil;
@@ -104,6 +111,46 @@ public class DiskFileUploadReceiver_Test {
     assertEquals( content, FileUploadTestUtil.getFileContents( createdFile ) );
   }
 
+  @Test
+  public void testReceive_largeContent() throws IOException {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver();
+    byte[] content = createContent( 3 * 1024 * 1024 + 17 );
+
+    FileDetails details = new FileDetailsImpl( "foo.bin", "application/octet-stream" );
+    receiver.receive( new ByteArrayInputStream( content ), details );
+    createdFile = receiver.getTargetFiles()[ 0 ];
+
+    assertArrayEquals( content, readFile( createdFile ) );
+  }
+
+  @Test
+  public void testGetDigest_withoutMessageDigest() throws IOException {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver();
+
+    receiver.receive( new ByteArrayInputStream( "Hello world!".getBytes() ), null );
+    createdFile = receiver.getTargetFiles()[ 0 ];
+
+    assertNull( receiver.getDigest( createdFile ) );
+  }
+
+  @Test
+  public void testGetDigest() throws IOException {
+    DiskFileUploadReceiver receiver = new DiskFileUploadReceiver() {
+      @Override
+      protected MessageDigest createMessageDigest( FileDetails details ) {
+        return createSha256();
+      }
+    };
+    byte[] content = createContent( 100000 );
+
+    receiver.receive( new ByteArrayInputStream( content ), null );
+    createdFile = receiver.getTargetFiles()[ 0 ];
+
+    byte[] expected = createSha256().digest( content );
+    assertArrayEquals( expected, receiver.getDigest( createdFile ) );
+    assertArrayEquals( content, readFile( createdFile ) );
+  }
+
   @Test
   public void testReceiveWithNullDetails() throws IOException {
     DiskFileUploadReceiver receiver = new DiskFileUploadReceiver();
@@ -118,4 +165,32 @@ public class DiskFileUploadReceiver_Test {
     assertEquals( content, FileUploadTestUtil.getFileContents( createdFile ) );
   }
 
+  private static byte[] createContent( int length ) {
+    byte[] result = new byte[ length ];
+    new Random( 42 ).nextBytes( result );
+    return result;
+  }
+
+  private static byte[] readFile( File file ) throws IOException {
+    byte[] result = new byte[ ( int )file.length() ];
+    InputStream stream = new FileInputStream( file );
+    try {
+      int offset = 0;
+      while( offset < result.length ) {
+        offset += stream.read( result, offset, result.length - offset );
+      }
+    } finally {
+      stream.close();
+    }
+    return result;
+  }
+
+  private static MessageDigest createSha256() {
+    try {
+      return MessageDigest.getInstance( "SHA-256" );
+    } catch( NoSuchAlgorithmException exception ) {
+      throw new RuntimeException( exception );
+    }
+  }
+
 }
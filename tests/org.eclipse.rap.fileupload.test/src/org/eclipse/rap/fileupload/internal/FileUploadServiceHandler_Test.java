@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -101,6 +101,27 @@ public class FileUploadServiceHandler_Test {
     assertEquals( "text/plain", uploadedItem.getFileDetails()[ 0 ].getContentType() );
   }
 
+  @Test
+  public void testUploadBigFile_withProgressInterval() throws IOException, ServletException {
+    TestFileUploadListener testListener = new TestFileUploadListener() {
+      @Override
+      public void uploadProgress( FileUploadEvent info ) {
+        log.append( "progress(" + info.getBytesRead() + "/" + info.getContentLength() + ").");
+      }
+    };
+    uploadHandler.addUploadListener( testListener );
+    uploadHandler.setProgressInterval( 60000 );
+    String content = createExampleContent( 12000 );
+
+    fakeUploadRequest( content, "text/plain", "test.txt"  );
+    serviceHandler.service( RWT.getRequest(), RWT.getResponse() );
+
+    assertEquals( 0, getResponseErrorStatus() );
+    String expected = "progress(4096/12134).progress(12134/12134).finished.";
+    assertEquals( expected, testListener.getLog() );
+    assertEquals( content, new String( testReceiver.getContent() ) );
+  }
+
   @Test
   public void testCanUploadEmptyFile() throws IOException, ServletException {
     uploadHandler.addUploadListener( testListener );
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.fileupload.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.rap.fileupload.FileUploadEvent;
+import org.eclipse.rap.fileupload.FileUploadHandler;
+import org.eclipse.rap.fileupload.test.TestFileUploadListener;
+import org.eclipse.rap.fileupload.test.TestFileUploadReceiver;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+@SuppressWarnings( "restriction" )
+public class FileUploadTracker_Test {
+
+  private FileUploadHandler uploadHandler;
+  private TestFileUploadListener testListener;
+  private FileUploadTracker tracker;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    uploadHandler = new FileUploadHandler( new TestFileUploadReceiver() );
+    testListener = new TestFileUploadListener() {
+      @Override
+      public void uploadProgress( FileUploadEvent event ) {
+        log.append( "progress(" + event.getBytesRead() + "/" + event.getContentLength() + ")." );
+      }
+    };
+    uploadHandler.addUploadListener( testListener );
+    uploadHandler.setProgressInterval( 60000 );
+    tracker = new FileUploadTracker( uploadHandler );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testHandleProgress_isThrottled() {
+    progress( 10, 30 );
+    progress( 20, 30 );
+
+    assertEquals( "progress(10/30).", testListener.getLog() );
+  }
+
+  @Test
+  public void testHandleProgress_sendsCompleteProgress() {
+    progress( 10, 30 );
+    progress( 30, 30 );
+    tracker.handleFinished();
+
+    assertEquals( "progress(10/30).progress(30/30).finished.", testListener.getLog() );
+  }
+
+  @Test
+  public void testHandleFinished_withUnknownContentLength_sendsFinalProgress() {
+    progress( 10, -1 );
+    progress( 30, -1 );
+
+    tracker.handleFinished();
+
+    assertEquals( "progress(10/-1).progress(30/-1).finished.", testListener.getLog() );
+  }
+
+  @Test
+  public void testHandleFinished_withoutPendingProgress() {
+    progress( 30, -1 );
+
+    tracker.handleFinished();
+
+    assertEquals( "progress(30/-1).finished.", testListener.getLog() );
+  }
+
+  private void progress( long bytesRead, long contentLength ) {
+    tracker.setContentLength( contentLength );
+    tracker.setBytesRead( bytesRead );
+    tracker.handleProgress();
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -2945,6 +2945,113 @@ public class Grid_Test {
     assertEquals( 4, countResolvedGridItems() );
   }
 
+  @Test
+  public void testSetItemCount_onVirtual_createsItemsOnDemand() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setItemCount( 1000 );
+
+    GridItem item = grid.getItem( 500 );
+
+    assertEquals( 1000, grid.getItemCount() );
+    assertSame( item, grid.getItem( 500 ) );
+    assertSame( item, grid.getRootItem( 500 ) );
+    assertEquals( 500, grid.indexOf( item ) );
+    assertFalse( item.isResolved() );
+  }
+
+  @Test
+  public void testSetItemCount_onVirtual_disposesRemovedItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setItemCount( 1000 );
+    GridItem item = grid.getItem( 900 );
+
+    grid.setItemCount( 100 );
+
+    assertEquals( 100, grid.getItemCount() );
+    assertTrue( item.isDisposed() );
+  }
+
+  @Test
+  public void testRemove_onVirtual_updatesIndexOfCreatedItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setItemCount( 10 );
+    GridItem item = grid.getItem( 5 );
+
+    grid.remove( 2 );
+
+    assertEquals( 9, grid.getItemCount() );
+    assertEquals( 4, grid.indexOf( item ) );
+    assertSame( item, grid.getItem( 4 ) );
+  }
+
+  @Test
+  public void testInsertItem_onVirtual_updatesIndexOfCreatedItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setItemCount( 10 );
+    GridItem item = grid.getItem( 5 );
+
+    GridItem insertedItem = new GridItem( grid, SWT.NONE, 2 );
+
+    assertEquals( 11, grid.getItemCount() );
+    assertEquals( 2, grid.indexOf( insertedItem ) );
+    assertEquals( 6, grid.indexOf( item ) );
+  }
+
+  @Test
+  public void testAddChildItem_onVirtual_createsAllItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setItemCount( 10 );
+    GridItem item = grid.getItem( 5 );
+
+    GridItem childItem = new GridItem( grid.getItem( 2 ), SWT.NONE );
+
+    assertEquals( 11, grid.getItemCount() );
+    assertEquals( 10, grid.getRootItemCount() );
+    assertEquals( 3, grid.indexOf( childItem ) );
+    assertEquals( 6, grid.indexOf( item ) );
+    assertEquals( 5, grid.getRootItem( 5 ).index );
+  }
+
+  @Test
+  public void testGetItems_onVirtual() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setItemCount( 10 );
+
+    GridItem[] items = grid.getItems();
+
+    assertEquals( 10, items.length );
+    for( int i = 0; i < items.length; i++ ) {
+      assertEquals( i, grid.indexOf( items[ i ] ) );
+    }
+  }
+
+  @Test
+  public void testSelectAll_onVirtual() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL | SWT.MULTI );
+    grid.setItemCount( 10 );
+
+    grid.selectAll();
+
+    assertEquals( 10, grid.getSelectionCount() );
+    assertEquals( 9, grid.getSelectionIndices()[ 9 ] );
+  }
+
+  @Test
+  public void testSetData_onVirtual_firedOnlyForVisibleItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100000 );
+    grid.addListener( SWT.SetData, new LoggingListener() );
+
+    grid.setTopIndex( 50000 );
+    doFakeRedraw();
+
+    assertEquals( 4, eventLog.size() );
+    assertEquals( 50000, eventLog.get( 0 ).index );
+    assertEquals( 50003, eventLog.get( 3 ).index );
+    assertEquals( 4, countResolvedGridItems() );
+  }
+
   @Test
   public void testIsAutoHeght_Initial() {
     assertFalse( grid.isAutoHeight() );
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+
+import java.io.IOException;
+
+import org.eclipse.rap.rwt.internal.lifecycle.SimpleLifeCycle;
+import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Text;
+
+
+/**
+ * Sets up an application context and a UI session for benchmarks, based on the RWT test fixture.
+ * The context is bound to the calling thread, hence it must be set up in a
+ * <code>@Setup</code> method of a state with <code>Scope.Thread</code>.
+ */
+final class BenchmarkFixture {
+
+  static final int CHILDREN_PER_COMPOSITE = 100;
+
+  static void setUp() {
+    Fixture.setUp();
+  }
+
+  static void tearDown() {
+    Fixture.tearDown();
+  }
+
+  /**
+   * Processes an empty client message on the current thread and returns the response. The
+   * phases are the same as those of <code>RWTLifeCycle</code>, but there is no UI thread to
+   * switch to.
+   */
+  static ResponseMessage executeLifeCycle() throws IOException {
+    Fixture.fakeNewRequest();
+    new SimpleLifeCycle( getApplicationContext() ).execute();
+    return ContextProvider.getProtocolWriter().createMessage();
+  }
+
+  /**
+   * Processes a request that runs the given runnable in the process action phase, like an event
+   * listener of the application. Widgets can only be accessed while the lifecycle is executed.
+   */
+  static ResponseMessage executeLifeCycle( Display display, Runnable runnable )
+    throws IOException
+  {
+    display.asyncExec( runnable );
+    return executeLifeCycle();
+  }
+
+  /**
+   * Creates the given number of widgets below the parent. Every composite holds at most
+   * <code>CHILDREN_PER_COMPOSITE</code> labels, buttons and texts.
+   */
+  static void createWidgets( Composite parent, int count ) {
+    int created = 0;
+    while( created < count ) {
+      Composite composite = new Composite( parent, SWT.NONE );
+      created++;
+      for( int i = 0; i < CHILDREN_PER_COMPOSITE - 1 && created < count; i++ ) {
+        createWidget( composite, created );
+        created++;
+      }
+    }
+  }
+
+  private static void createWidget( Composite parent, int index ) {
+    if( index % 3 == 0 ) {
+      new Label( parent, SWT.NONE ).setText( "label " + index );
+    } else if( index % 3 == 1 ) {
+      new Button( parent, SWT.PUSH ).setText( "button " + index );
+    } else {
+      new Text( parent, SWT.BORDER ).setText( "text " + index );
+    }
+  }
+
+  private BenchmarkFixture() {
+    // prevent instantiation
+  }
+
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeColumn;
+import org.eclipse.swt.widgets.TreeItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures requests that change the cell texts of all items of a table or a tree with three
+ * columns. Tree items are grouped below expanded root items of ten children each.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 10, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx2g" )
+public class ItemRenderingBenchmark {
+
+  private static final int COLUMN_COUNT = 3;
+  private static final int CHILDREN_PER_ROOT = 10;
+
+  @Param( { "Table", "Tree" } )
+  public String widget;
+
+  @Param( { "1000", "10000" } )
+  public int itemCount;
+
+  private Display display;
+  private List<Item> items;
+  private int requestCount;
+
+  @Setup
+  public void setUp() throws IOException {
+    BenchmarkFixture.setUp();
+    display = new Display();
+    Shell shell = new Shell( display );
+    items = "Tree".equals( widget ) ? createTreeItems( shell ) : createTableItems( shell );
+    BenchmarkFixture.executeLifeCycle();
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkFixture.tearDown();
+  }
+
+  @Benchmark
+  public ResponseMessage unchangedItems() throws IOException {
+    return BenchmarkFixture.executeLifeCycle();
+  }
+
+  @Benchmark
+  public ResponseMessage changedItems() throws IOException {
+    String suffix = " " + requestCount++;
+    return BenchmarkFixture.executeLifeCycle( display, () -> {
+      for( Item item : items ) {
+        for( int column = 0; column < COLUMN_COUNT; column++ ) {
+          setText( item, column, "cell " + column + suffix );
+        }
+      }
+    } );
+  }
+
+  private List<Item> createTableItems( Shell shell ) {
+    Table table = new Table( shell, SWT.BORDER );
+    table.setSize( 600, 400 );
+    for( int column = 0; column < COLUMN_COUNT; column++ ) {
+      new TableColumn( table, SWT.NONE ).setWidth( 200 );
+    }
+    List<Item> result = new ArrayList<>( itemCount );
+    for( int i = 0; i < itemCount; i++ ) {
+      result.add( new TableItem( table, SWT.NONE ) );
+    }
+    return result;
+  }
+
+  private List<Item> createTreeItems( Shell shell ) {
+    Tree tree = new Tree( shell, SWT.BORDER );
+    tree.setSize( 600, 400 );
+    for( int column = 0; column < COLUMN_COUNT; column++ ) {
+      new TreeColumn( tree, SWT.NONE ).setWidth( 200 );
+    }
+    List<Item> result = new ArrayList<>( itemCount );
+    TreeItem root = null;
+    for( int i = 0; i < itemCount; i++ ) {
+      if( i % CHILDREN_PER_ROOT == 0 ) {
+        root = new TreeItem( tree, SWT.NONE );
+        result.add( root );
+      } else {
+        result.add( new TreeItem( root, SWT.NONE ) );
+        root.setExpanded( true );
+      }
+    }
+    return result;
+  }
+
+  private static void setText( Item item, int column, String text ) {
+    if( item instanceof TableItem ) {
+      ( ( TableItem )item ).setText( column, text );
+    } else {
+      ( ( TreeItem )item ).setText( column, text );
+    }
+  }
+
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.json.Utf8JsonWriter;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures parsing and writing of RAP messages. The server message is the response that creates
+ * a widget tree of the given size, the client message contains set and notify operations for
+ * the same number of widgets.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class JsonBenchmark {
+
+  @Param( { "100", "1000" } )
+  public int widgetCount;
+
+  private String clientMessage;
+  private String serverMessage;
+  private JsonObject serverMessageJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    clientMessage = ProtocolBenchmark.createClientMessage( widgetCount ).toString();
+    serverMessageJson = createServerMessage( widgetCount );
+    serverMessage = serverMessageJson.toString();
+  }
+
+  @Benchmark
+  public JsonObject parseClientMessage() throws IOException {
+    return JsonObject.readFrom( new StringReader( clientMessage ) );
+  }
+
+  @Benchmark
+  public ClientMessage readClientMessage() throws IOException {
+    return new ClientMessage( JsonObject.readFrom( new StringReader( clientMessage ) ) );
+  }
+
+  @Benchmark
+  public ClientMessage readClientMessageWithJsonReader() throws IOException {
+    return new ClientMessage( new JsonReader( new StringReader( clientMessage ) ) );
+  }
+
+  @Benchmark
+  public JsonObject parseServerMessage() throws IOException {
+    return JsonObject.readFrom( new StringReader( serverMessage ) );
+  }
+
+  @Benchmark
+  public StringWriter writeServerMessage() throws IOException {
+    StringWriter writer = new StringWriter( serverMessage.length() );
+    serverMessageJson.writeTo( writer );
+    return writer;
+  }
+
+  @Benchmark
+  public byte[] writeServerMessageUtf8() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream( serverMessage.length() );
+    Writer writer = new OutputStreamWriter( bytes, "UTF-8" );
+    serverMessageJson.writeTo( writer );
+    writer.flush();
+    return bytes.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] writeServerMessageWithUtf8JsonWriter() {
+    return new Utf8JsonWriter( serverMessage.length() ).write( serverMessageJson ).toByteArray();
+  }
+
+  private static JsonObject createServerMessage( int widgetCount ) throws IOException {
+    BenchmarkFixture.setUp();
+    try {
+      Display display = new Display();
+      BenchmarkFixture.createWidgets( new Shell( display ), widgetCount );
+      return BenchmarkFixture.executeLifeCycle().toJson();
+    } finally {
+      BenchmarkFixture.tearDown();
+    }
+  }
+
+}
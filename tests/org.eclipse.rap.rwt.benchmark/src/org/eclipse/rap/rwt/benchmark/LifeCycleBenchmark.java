@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures complete requests on a synthetic widget tree: the preserve, read data, process action
+ * and render phases for all widgets of the session.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 10, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx2g" )
+public class LifeCycleBenchmark {
+
+  @Param( { "1000", "10000", "100000" } )
+  public int widgetCount;
+
+  private Display display;
+  private List<Control> controls;
+  private int requestCount;
+
+  @Setup
+  public void setUp() throws IOException {
+    BenchmarkFixture.setUp();
+    display = new Display();
+    Shell shell = new Shell( display );
+    BenchmarkFixture.createWidgets( shell, widgetCount );
+    controls = collectControls( shell );
+    BenchmarkFixture.executeLifeCycle();
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkFixture.tearDown();
+  }
+
+  /**
+   * A request that does not change any widget, the response is empty.
+   */
+  @Benchmark
+  public ResponseMessage unchangedWidgets() throws IOException {
+    return BenchmarkFixture.executeLifeCycle();
+  }
+
+  /**
+   * A request that changes the text of every label, button and text widget.
+   */
+  @Benchmark
+  public ResponseMessage changedWidgets() throws IOException {
+    String suffix = " " + requestCount++;
+    return BenchmarkFixture.executeLifeCycle( display, () -> {
+      for( Control control : controls ) {
+        if( control instanceof Label ) {
+          ( ( Label )control ).setText( "label" + suffix );
+        } else if( control instanceof Button ) {
+          ( ( Button )control ).setText( "button" + suffix );
+        } else if( control instanceof Text ) {
+          ( ( Text )control ).setText( "text" + suffix );
+        }
+      }
+    } );
+  }
+
+  /**
+   * A request that creates a new shell with all widgets, like the first request of a session.
+   */
+  @Benchmark
+  public ResponseMessage createdWidgets( NewShell newShell ) throws IOException {
+    return BenchmarkFixture.executeLifeCycle( display, () -> {
+      newShell.shell = new Shell( display );
+      BenchmarkFixture.createWidgets( newShell.shell, widgetCount );
+    } );
+  }
+
+  /**
+   * Disposes of the shell created by an invocation, outside of the measurement.
+   */
+  @State( Scope.Thread )
+  public static class NewShell {
+
+    private Shell shell;
+
+    @TearDown( Level.Invocation )
+    public void tearDown( LifeCycleBenchmark benchmark ) throws IOException {
+      BenchmarkFixture.executeLifeCycle( benchmark.display, () -> shell.dispose() );
+    }
+
+  }
+
+  private static List<Control> collectControls( Composite parent ) {
+    List<Control> result = new ArrayList<>();
+    for( Control child : parent.getChildren() ) {
+      if( child instanceof Composite ) {
+        result.addAll( collectControls( ( Composite )child ) );
+      } else {
+        result.add( child );
+      }
+    }
+    return result;
+  }
+
+}
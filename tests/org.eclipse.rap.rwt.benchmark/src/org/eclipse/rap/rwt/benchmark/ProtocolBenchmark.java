@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.benchmark;
+
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.EVENT_SELECTION;
+import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.REQUEST_COUNTER;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.rap.rwt.internal.protocol.CompactMessageEncoder;
+import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
+import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures the protocol layer above the JSON model: the operation lookups that the LCAs perform
+ * on a client message, the creation of a server message with the protocol writer, and its
+ * serialization as plain JSON and in the compact encoding.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 1 )
+public class ProtocolBenchmark {
+
+  @Param( { "100", "1000" } )
+  public int widgetCount;
+
+  private JsonObject clientMessage;
+  private ResponseMessage serverMessage;
+
+  @Setup
+  public void setUp() {
+    clientMessage = createClientMessage( widgetCount );
+    serverMessage = createServerMessage( widgetCount );
+  }
+
+  /**
+   * Reads the text and the selection event of every widget, like the read data phase does.
+   */
+  @Benchmark
+  public void readClientMessage( Blackhole blackhole ) {
+    ClientMessage message = new ClientMessage( clientMessage );
+    for( int i = 0; i < widgetCount; i++ ) {
+      String target = getWidgetId( i );
+      blackhole.consume( message.getLastSetOperationFor( target, "text" ) );
+      blackhole.consume( message.getLastNotifyOperationFor( target, EVENT_SELECTION ) );
+    }
+  }
+
+  /**
+   * Creates a message with a create operation and the typical properties for every widget.
+   */
+  @Benchmark
+  public JsonObject writeServerMessage() {
+    return createServerMessage( widgetCount ).toJson();
+  }
+
+  /**
+   * Serializes the server message as plain JSON.
+   */
+  @Benchmark
+  public String serializeServerMessage() {
+    return serverMessage.toJson().toString();
+  }
+
+  /**
+   * Serializes the server message in the compact encoding. Compare the time with
+   * <code>serializeServerMessage</code>, the size of the results is printed once per trial.
+   */
+  @Benchmark
+  public String serializeCompactServerMessage() {
+    return new CompactMessageEncoder().encode( serverMessage ).toString();
+  }
+
+  @TearDown
+  public void printMessageSizes() {
+    int jsonSize = serverMessage.toJson().toString().length();
+    int compactSize = new CompactMessageEncoder().encode( serverMessage ).toString().length();
+    System.out.println( "\nmessage size: json " + jsonSize + " chars, compact " + compactSize );
+  }
+
+  static ResponseMessage createServerMessage( int widgetCount ) {
+    ProtocolMessageWriter writer = new ProtocolMessageWriter();
+    writer.appendHead( REQUEST_COUNTER, 1 );
+    for( int i = 0; i < widgetCount; i++ ) {
+      String target = getWidgetId( i );
+      writer.appendCreate( target, "rwt.widgets.Button" );
+      writer.appendSet( target, "parent", "w1" );
+      writer.appendSet( target, "style", new JsonArray().add( "PUSH" ) );
+      JsonArray bounds = new JsonArray().add( 0 ).add( i * 20 ).add( 80 ).add( 20 );
+      writer.appendSet( target, "bounds", bounds );
+      writer.appendSet( target, "text", "button " + i );
+      writer.appendListen( target, EVENT_SELECTION, true );
+    }
+    return writer.createMessage();
+  }
+
+  /**
+   * Creates a client message with the changed text and a selection event for every widget, as it
+   * is sent by the web client.
+   */
+  static JsonObject createClientMessage( int widgetCount ) {
+    JsonArray operations = new JsonArray();
+    for( int i = 0; i < widgetCount; i++ ) {
+      String target = getWidgetId( i );
+      operations.add( new JsonArray()
+        .add( "set" )
+        .add( target )
+        .add( new JsonObject()
+          .add( "text", "text " + i )
+          .add( "selectionStart", 0 )
+          .add( "selectionLength", 4 ) ) );
+      operations.add( new JsonArray()
+        .add( "notify" )
+        .add( target )
+        .add( EVENT_SELECTION )
+        .add( new JsonObject()
+          .add( "shiftKey", false )
+          .add( "ctrlKey", false )
+          .add( "altKey", false ) ) );
+    }
+    return new JsonObject()
+      .add( "head", new JsonObject().add( REQUEST_COUNTER, 42 ) )
+      .add( "operations", operations );
+  }
+
+  private static String getWidgetId( int index ) {
+    return "w" + ( index + 2 );
+  }
+
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+(function() {
+
+var CompactMessageDecoder = rwt.remote.CompactMessageDecoder;
+
+rwt.qx.Class.define( "org.eclipse.rwt.test.tests.CompactMessageDecoderTest", {
+
+  extend : rwt.qx.Object,
+
+  members : {
+
+    testDecode_plainMessage : function() {
+      var message = {
+        "head" : { "requestCounter" : 1 },
+        "operations" : [ [ "set", "w3", { "text" : "foo" } ] ]
+      };
+
+      var result = CompactMessageDecoder.decode( message );
+
+      assertEquals( [ "set", "w3", { "text" : "foo" } ], result.operations[ 0 ] );
+    },
+
+    testDecode_restoresOperations : function() {
+      var message = {
+        "head" : {
+          "requestCounter" : 1,
+          "encoding" : "compact",
+          "keys" : [ "w3", "rwt.widgets.Button", "text", "bounds", "setFocus" ]
+        },
+        "operations" : [
+          [ "create", 0, 1, [ 2, "foo", 3, [ 0, 0, 10, 20 ] ] ],
+          [ "call", 0, 4, [] ],
+          [ "destroy", 0 ]
+        ]
+      };
+
+      var result = CompactMessageDecoder.decode( message );
+
+      var properties = { "text" : "foo", "bounds" : [ 0, 0, 10, 20 ] };
+      assertEquals( [ "create", "w3", "rwt.widgets.Button", properties ], result.operations[ 0 ] );
+      assertEquals( [ "call", "w3", "setFocus", {} ], result.operations[ 1 ] );
+      assertEquals( [ "destroy", "w3" ], result.operations[ 2 ] );
+    },
+
+    testDecode_keepsPropertyValues : function() {
+      var message = {
+        "head" : { "encoding" : "compact", "keys" : [ "w3", "data" ] },
+        "operations" : [ [ "set", 0, [ 1, { "foo" : 23 } ] ] ]
+      };
+
+      var result = CompactMessageDecoder.decode( message );
+
+      assertEquals( [ "set", "w3", { "data" : { "foo" : 23 } } ], result.operations[ 0 ] );
+    },
+
+    testDecode_removesEncodingFromHead : function() {
+      var message = {
+        "head" : { "requestCounter" : 1, "encoding" : "compact", "keys" : [] },
+        "operations" : []
+      };
+
+      var result = CompactMessageDecoder.decode( message );
+
+      assertEquals( { "requestCounter" : 1 }, result.head );
+    }
+
+  }
+
+} );
+
+}() );
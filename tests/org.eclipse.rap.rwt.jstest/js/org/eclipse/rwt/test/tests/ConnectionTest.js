@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -44,6 +44,21 @@ rwt.qx.Class.define( "org.eclipse.rwt.test.tests.ConnectionTest", {
       assertEquals( 12, connection._requestCounter );
     },
 
+    testSend_withoutCompactEncoding : function() {
+      connection.send();
+
+      assertTrue( TestUtil.getMessageObject().getHead()[ "encoding" ] === undefined );
+    },
+
+    testSend_withCompactEncoding : function() {
+      connection.setEncodings( [ "compact" ] );
+
+      connection.send();
+
+      assertEquals( "compact", TestUtil.getMessageObject().getHead()[ "encoding" ] );
+      connection.setEncodings( [] );
+    },
+
     testGetServerObject : function() {
       rwt.remote.ObjectRegistry.add( "w1", rwt.widgets.Display.getCurrent() );
       var remoteObject = connection.getRemoteObject( rwt.widgets.Display.getCurrent() );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -46,6 +46,49 @@ rwt.qx.Class.define( "org.eclipse.rwt.test.tests.FontSizeCalculationTest", {
       assertEquals( 2, op.properties.results[ "-785380485" ].length );
     },
 
+    testMeasureGlyphAdvancesByProtocol : function() {
+      var fontName = [ "Verdana", "Lucida Sans", "Arial", "Helvetica", "sans-serif" ];
+      TestUtil.initRequestLog();
+
+      MessageProcessor.processOperation( {
+        "target" : "rwt.client.TextSizeMeasurement",
+        "action" : "call",
+        "method" : "measureItems",
+        "properties" : {
+          "items" : [
+             [ "p1", "ABC", fontName, 12, false, false, -1, true, " iW" ],
+             [ "p2", "ABC", fontName, 12, false, false, -1, true ]
+          ]
+        }
+      } );
+
+      var message = TestUtil.getMessageObject();
+      var op = message.findCallOperation( "rwt.client.TextSizeMeasurement", "storeMeasurements" );
+      var advances = op.properties.advances;
+      assertEquals( 3, advances[ "p1" ].length );
+      assertTrue( advances[ "p1" ][ 1 ] < advances[ "p1" ][ 2 ] );
+      assertTrue( advances[ "p2" ] === undefined );
+    },
+
+    testMeasureStringsWithoutGlyphAdvances : function() {
+      TestUtil.initRequestLog();
+
+      MessageProcessor.processOperation( {
+        "target" : "rwt.client.TextSizeMeasurement",
+        "action" : "call",
+        "method" : "measureItems",
+        "properties" : {
+          "items" : [
+             [ "t1", "Check", [ "Arial" ], 12, false, false, -1 ]
+          ]
+        }
+      } );
+
+      var message = TestUtil.getMessageObject();
+      var op = message.findCallOperation( "rwt.client.TextSizeMeasurement", "storeMeasurements" );
+      assertTrue( op.properties.advances === undefined );
+    },
+
     testMeasureStringsByProtocol : function() {
       var fontName = [ "Verdana", "Lucida Sans", "Arial", "Helvetica", "sans-serif" ];
       TestUtil.initRequestLog();
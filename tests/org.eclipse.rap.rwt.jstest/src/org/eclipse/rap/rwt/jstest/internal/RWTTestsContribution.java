@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,6 +26,7 @@ public class RWTTestsContribution implements TestContribution {
     "tests/TestUtilTest.js",
     "tests/ErrorHandlerTest.js",
     "tests/MessageProcessorTest.js",
+    "tests/CompactMessageDecoderTest.js",
     "tests/ProtocolWriterTest.js",
     "tests/RequestTest.js",
     "tests/HandlerUtilTest.js",
@@ -0,0 +1,361 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import static org.eclipse.rap.json.TestUtil.assertException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rap.json.JsonReader.Token;
+import org.junit.Test;
+
+
+public class JsonReader_Test {
+
+  @Test( expected = NullPointerException.class )
+  public void create_failsWithNull() {
+    new JsonReader( null );
+  }
+
+  @Test
+  public void getToken_isNullInitially() {
+    assertNull( reader( "[]" ).getToken() );
+  }
+
+  @Test
+  public void next_readsTokens() throws IOException {
+    String json = "{\"a\":[1,\"b\",true,false,null],\"c\":{}}";
+
+    List<Token> tokens = readTokens( json );
+
+    assertEquals( "[BEGIN_OBJECT, NAME, BEGIN_ARRAY, NUMBER, STRING, TRUE, FALSE, NULL, END_ARRAY,"
+                  + " NAME, BEGIN_OBJECT, END_OBJECT, END_OBJECT, END_DOCUMENT]",
+                  tokens.toString() );
+  }
+
+  @Test
+  public void next_ignoresWhiteSpace() throws IOException {
+    List<Token> tokens = readTokens( "\t\r\n [\t\r\n 1 , 2\t\r\n ]\t\r\n " );
+
+    assertEquals( "[BEGIN_ARRAY, NUMBER, NUMBER, END_ARRAY, END_DOCUMENT]", tokens.toString() );
+  }
+
+  @Test
+  public void next_readsDeeplyNestedArrays() throws IOException {
+    StringBuilder json = new StringBuilder();
+    for( int i = 0; i < 100; i++ ) {
+      json.append( '[' );
+    }
+    for( int i = 0; i < 100; i++ ) {
+      json.append( ']' );
+    }
+
+    List<Token> tokens = readTokens( json.toString() );
+
+    assertEquals( 201, tokens.size() );
+  }
+
+  @Test
+  public void next_returnsEndDocumentRepeatedly() throws IOException {
+    JsonReader reader = reader( "23" );
+    reader.next();
+
+    assertSame( Token.END_DOCUMENT, reader.next() );
+    assertSame( Token.END_DOCUMENT, reader.next() );
+  }
+
+  @Test
+  public void next_withSmallBuffer() throws IOException {
+    JsonReader reader = new JsonReader( new StringReader( "[\"lorem ipsum\", 12345]" ), 3 );
+    reader.next();
+
+    reader.next();
+    assertEquals( "lorem ipsum", reader.getString() );
+    reader.next();
+    assertEquals( 12345, reader.getInt() );
+  }
+
+  @Test
+  public void next_failsOnEmptyInput() {
+    assertParseException( 0, "Unexpected end of input", "" );
+  }
+
+  @Test
+  public void next_failsOnUnterminatedArray() {
+    assertParseException( 2, "Unexpected end of input", "[1" );
+  }
+
+  @Test
+  public void next_failsOnMissingComma() {
+    assertParseException( 3, "Expected ',' or ']'", "[1 2]" );
+  }
+
+  @Test
+  public void next_failsOnMissingColon() {
+    assertParseException( 5, "Expected ':'", "{\"a\" 1}" );
+  }
+
+  @Test
+  public void next_failsOnMissingName() {
+    assertParseException( 1, "Expected name", "{1:2}" );
+  }
+
+  @Test
+  public void next_failsOnTrailingCharacters() {
+    assertParseException( 3, "Unexpected character", "[] x" );
+  }
+
+  @Test
+  public void next_failsOnIllegalLiteral() {
+    assertParseException( 1, "Expected 'u'", "nx" );
+  }
+
+  @Test
+  public void next_failsOnControlCharacterInString() {
+    assertParseException( 2, "Expected valid string character", "[\"\n\"]" );
+  }
+
+  @Test
+  public void next_failsOnIllegalNumber() {
+    assertParseException( 1, "Expected digit", "-x" );
+  }
+
+  @Test
+  public void next_reportsLineAndColumn() {
+    ParseException exception = assertException( ParseException.class, new Runnable() {
+      public void run() {
+        readTokensUnchecked( "[\n1,\nx]" );
+      }
+    } );
+
+    assertEquals( 3, exception.getLine() );
+    assertEquals( 0, exception.getColumn() );
+  }
+
+  @Test
+  public void getString_withEscapes() throws IOException {
+    JsonReader reader = reader( "\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u0041\\u00e4\"" );
+
+    reader.next();
+
+    assertEquals( "\"\\/\b\f\n\r\tA\u00e4", reader.getString() );
+  }
+
+  @Test
+  public void getString_withLongString() throws IOException {
+    StringBuilder string = new StringBuilder();
+    for( int i = 0; i < 1000; i++ ) {
+      string.append( 'x' );
+    }
+    JsonReader reader = reader( "\"" + string + "\"" );
+
+    reader.next();
+
+    assertEquals( string.toString(), reader.getString() );
+  }
+
+  @Test
+  public void getString_forName() throws IOException {
+    JsonReader reader = reader( "{\"foo\":1}" );
+    reader.next();
+
+    reader.next();
+
+    assertEquals( "foo", reader.getString() );
+  }
+
+  @Test
+  public void getString_forNumber() throws IOException {
+    JsonReader reader = reader( "-1.5e+3" );
+
+    reader.next();
+
+    assertEquals( "-1.5e+3", reader.getString() );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void getString_failsForLiteral() throws IOException {
+    JsonReader reader = reader( "true" );
+    reader.next();
+
+    reader.getString();
+  }
+
+  @Test
+  public void matches() throws IOException {
+    JsonReader reader = reader( "\"foo\"" );
+    reader.next();
+
+    assertTrue( reader.matches( "foo" ) );
+    assertFalse( reader.matches( "fo" ) );
+    assertFalse( reader.matches( "bar" ) );
+  }
+
+  @Test
+  public void getInt() throws IOException {
+    assertEquals( 0, readNumber( "0" ).getInt() );
+    assertEquals( -23, readNumber( "-23" ).getInt() );
+    assertEquals( Integer.MAX_VALUE, readNumber( "2147483647" ).getInt() );
+    assertEquals( Integer.MIN_VALUE, readNumber( "-2147483648" ).getInt() );
+  }
+
+  @Test( expected = NumberFormatException.class )
+  public void getInt_failsOnOverflow() throws IOException {
+    readNumber( "2147483648" ).getInt();
+  }
+
+  @Test( expected = NumberFormatException.class )
+  public void getInt_failsOnFraction() throws IOException {
+    readNumber( "1.5" ).getInt();
+  }
+
+  @Test
+  public void getLong() throws IOException {
+    assertEquals( Long.MAX_VALUE, readNumber( "9223372036854775807" ).getLong() );
+    assertEquals( Long.MIN_VALUE, readNumber( "-9223372036854775808" ).getLong() );
+  }
+
+  @Test( expected = NumberFormatException.class )
+  public void getLong_failsOnOverflow() throws IOException {
+    readNumber( "9223372036854775808" ).getLong();
+  }
+
+  @Test( expected = NumberFormatException.class )
+  public void getLong_failsOnNegativeOverflow() throws IOException {
+    readNumber( "-9223372036854775809" ).getLong();
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void getLong_failsForString() throws IOException {
+    JsonReader reader = reader( "\"23\"" );
+    reader.next();
+
+    reader.getLong();
+  }
+
+  @Test
+  public void getDouble() throws IOException {
+    assertEquals( 1500.0, readNumber( "1.5E3" ).getDouble(), 0 );
+  }
+
+  @Test
+  public void readValue_equalsParsedValue() throws IOException {
+    String json = "{\"a\":[1,-2.5,\"b\",true,false,null],\"c\":{\"d\":{}},\"e\":[]}";
+    JsonReader reader = reader( json );
+    reader.next();
+
+    JsonValue value = reader.readValue();
+
+    assertEquals( JsonValue.readFrom( json ), value );
+    assertSame( Token.END_OBJECT, reader.getToken() );
+    assertSame( Token.END_DOCUMENT, reader.next() );
+  }
+
+  @Test
+  public void readValue_returnsLiteralConstants() throws IOException {
+    JsonReader reader = reader( "[true,false,null]" );
+    reader.next();
+
+    reader.next();
+    assertSame( JsonValue.TRUE, reader.readValue() );
+    reader.next();
+    assertSame( JsonValue.FALSE, reader.readValue() );
+    reader.next();
+    assertSame( JsonValue.NULL, reader.readValue() );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void readValue_failsBeforeNext() throws IOException {
+    reader( "[]" ).readValue();
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void readValue_failsAtEndToken() throws IOException {
+    JsonReader reader = reader( "[]" );
+    reader.next();
+    reader.next();
+
+    reader.readValue();
+  }
+
+  @Test
+  public void skipValue_skipsNestedValues() throws IOException {
+    JsonReader reader = reader( "[{\"a\":[1,{\"b\":[]}]},23]" );
+    reader.next();
+    reader.next();
+
+    reader.skipValue();
+
+    assertSame( Token.END_OBJECT, reader.getToken() );
+    assertSame( Token.NUMBER, reader.next() );
+    assertEquals( 23, reader.getInt() );
+  }
+
+  @Test
+  public void skipValue_withScalar() throws IOException {
+    JsonReader reader = reader( "[1,2]" );
+    reader.next();
+    reader.next();
+
+    reader.skipValue();
+
+    assertSame( Token.NUMBER, reader.next() );
+    assertEquals( 2, reader.getInt() );
+  }
+
+  private static JsonReader reader( String json ) {
+    return new JsonReader( new StringReader( json ) );
+  }
+
+  private static JsonReader readNumber( String json ) throws IOException {
+    JsonReader reader = reader( json );
+    reader.next();
+    return reader;
+  }
+
+  private static List<Token> readTokens( String json ) throws IOException {
+    JsonReader reader = reader( json );
+    List<Token> result = new ArrayList<>();
+    Token token;
+    do {
+      token = reader.next();
+      result.add( token );
+    } while( token != Token.END_DOCUMENT );
+    return result;
+  }
+
+  private static List<Token> readTokensUnchecked( String json ) {
+    try {
+      return readTokens( json );
+    } catch( IOException exception ) {
+      throw new RuntimeException( exception );
+    }
+  }
+
+  private static void assertParseException( int offset, String message, final String json ) {
+    ParseException exception = assertException( ParseException.class, new Runnable() {
+      public void run() {
+        readTokensUnchecked( json );
+      }
+    } );
+    assertEquals( "offset", offset, exception.getOffset() );
+    assertTrue( exception.getMessage(), exception.getMessage().startsWith( message + " at" ) );
+  }
+
+}
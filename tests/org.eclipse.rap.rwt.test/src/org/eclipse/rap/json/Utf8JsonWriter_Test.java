@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.json;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class Utf8JsonWriter_Test {
+
+  private Utf8JsonWriter writer;
+
+  @Before
+  public void setUp() {
+    writer = new Utf8JsonWriter();
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void write_failsWithNull() {
+    writer.write( null );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void create_failsWithNegativeCapacity() {
+    new Utf8JsonWriter( -1 );
+  }
+
+  @Test
+  public void write_literals() throws IOException {
+    assertSameOutput( new JsonArray().add( true ).add( false ).add( JsonValue.NULL ) );
+  }
+
+  @Test
+  public void write_numbers() throws IOException {
+    assertSameOutput( new JsonArray().add( 23 ).add( -1.5 ).add( Long.MAX_VALUE ) );
+  }
+
+  @Test
+  public void write_objects() throws IOException {
+    JsonObject object = new JsonObject()
+      .add( "a", new JsonObject().add( "b", new JsonArray() ) )
+      .add( "c", new JsonObject() );
+
+    assertSameOutput( object );
+  }
+
+  @Test
+  public void write_escapesStrings() throws IOException {
+    assertSameOutput( JsonValue.valueOf( "\"\\/\b\f\n\r\t\u0000\u001f\u007f" ) );
+  }
+
+  @Test
+  public void write_escapesLineSeparators() throws IOException {
+    writer.write( JsonValue.valueOf( "a\u2028b\u2029c" ) );
+
+    assertEquals( "\"a\\u2028b\\u2029c\"", new String( writer.toByteArray(), "UTF-8" ) );
+  }
+
+  @Test
+  public void write_encodesNonAsciiCharacters() throws IOException {
+    assertSameOutput( JsonValue.valueOf( "\u00e4\u00df\u20ac\u4e2d" ) );
+  }
+
+  @Test
+  public void write_encodesSupplementaryCharacters() throws IOException {
+    assertSameOutput( JsonValue.valueOf( "a\ud83d\ude00b" ) );
+  }
+
+  @Test
+  public void write_replacesUnpairedSurrogates() throws IOException {
+    assertSameOutput( JsonValue.valueOf( "a\ud83db\ude00" ) );
+  }
+
+  @Test
+  public void write_encodesNames() throws IOException {
+    assertSameOutput( new JsonObject().add( "\u00e4\"", 1 ) );
+  }
+
+  @Test
+  public void write_growsBuffer() throws IOException {
+    writer = new Utf8JsonWriter( 0 );
+    StringBuilder string = new StringBuilder();
+    for( int i = 0; i < 1000; i++ ) {
+      string.append( "\n\u00e4" );
+    }
+
+    assertSameOutput( JsonValue.valueOf( string.toString() ) );
+  }
+
+  @Test
+  public void write_appendsValues() throws IOException {
+    writer.write( JsonValue.valueOf( 1 ) ).write( JsonValue.valueOf( 2 ) );
+
+    assertEquals( "12", new String( writer.toByteArray(), "UTF-8" ) );
+  }
+
+  @Test
+  public void reset() throws IOException {
+    writer.write( JsonValue.valueOf( "foo" ) );
+
+    writer.reset();
+
+    assertEquals( 0, writer.size() );
+    assertSameOutput( JsonValue.valueOf( "bar" ) );
+  }
+
+  @Test
+  public void writeTo() throws IOException {
+    writer.write( new JsonArray().add( "foo" ) );
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    writer.writeTo( outputStream );
+
+    assertArrayEquals( writer.toByteArray(), outputStream.toByteArray() );
+    assertEquals( writer.size(), outputStream.size() );
+  }
+
+  private void assertSameOutput( JsonValue value ) throws IOException {
+    writer.write( value );
+    assertArrayEquals( encodeWithWriter( value ), writer.toByteArray() );
+  }
+
+  private static byte[] encodeWithWriter( JsonValue value ) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try( Writer outputWriter = new OutputStreamWriter( bytes, "UTF-8" ) ) {
+      value.writeTo( outputWriter );
+    }
+    return bytes.toByteArray();
+  }
+
+}
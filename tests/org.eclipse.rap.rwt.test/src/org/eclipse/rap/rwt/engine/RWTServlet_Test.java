@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -35,12 +36,15 @@ import org.eclipse.rap.rwt.client.Client;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.client.ClientSelector;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
+import org.eclipse.rap.rwt.internal.resources.InMemoryResourceManager;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
 import org.eclipse.rap.rwt.internal.service.StartupPage;
 import org.eclipse.rap.rwt.internal.service.UISessionImpl;
 import org.eclipse.rap.rwt.internal.textsize.ProbeStore;
+import org.eclipse.rap.rwt.internal.textsize.TextSizeSnapshot;
 import org.eclipse.rap.rwt.internal.textsize.TextSizeStorage;
 import org.eclipse.rap.rwt.internal.theme.Theme;
 import org.eclipse.rap.rwt.internal.theme.ThemeManager;
@@ -126,6 +130,28 @@ public class RWTServlet_Test {
     verify( lifeCycleServiceHandler ).service( request, response );
   }
 
+  @Test
+  public void testHandleRequest_withInMemoryResource() throws Exception {
+    InMemoryResourceManager resourceManager = mock( InMemoryResourceManager.class );
+    when( applicationContext.getResourceManager() ).thenReturn( resourceManager );
+    request.setServletPath( "/rwt-resources" );
+    request.setPathInfo( "/foo.js" );
+
+    servlet.doGet( request, response );
+
+    verify( resourceManager ).serve( eq( request ), eq( response ), any( ServletContext.class ) );
+  }
+
+  @Test
+  public void testHandleRequest_withResourcePathAndDefaultResourceManager() throws Exception {
+    request.setServletPath( "/rwt-resources" );
+    request.setPathInfo( "/foo.js" );
+
+    servlet.doGet( request, response );
+
+    assertEquals( SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
   @Test
   public void testHandleRequest_withTrailingSlash() throws Exception {
     request.setServletPath( "/foo" );
@@ -278,6 +304,8 @@ public class RWTServlet_Test {
     ClientSelector clientSelector = createClientSelector();
     when( applicationContext.getClientSelector() ).thenReturn( clientSelector );
     when( applicationContext.getProbeStore() ).thenReturn( createProbeStore() );
+    when( applicationContext.getTextSizeSnapshot() ).thenReturn( createTextSizeSnapshot() );
+    when( applicationContext.getMetrics() ).thenReturn( new Metrics() );
     when( Boolean.valueOf( applicationContext.isActive() ) ).thenReturn( Boolean.TRUE );
     when( Boolean.valueOf( applicationContext.allowsRequests() ) ).thenReturn( Boolean.TRUE );
     return applicationContext;
@@ -287,6 +315,10 @@ public class RWTServlet_Test {
     return new ProbeStore( new TextSizeStorage() );
   }
 
+  private static TextSizeSnapshot createTextSizeSnapshot() {
+    return new TextSizeSnapshot( new TextSizeStorage() );
+  }
+
   private static ClientSelector createClientSelector() {
     Client client = mock( Client.class );
     ClientSelector clientSelector = mock( ClientSelector.class );
@@ -38,8 +38,10 @@ import javax.servlet.ServletContext;
 
 import org.eclipse.rap.rwt.application.Application;
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.DefaultEntryPointFactory;
 import org.eclipse.rap.rwt.internal.lifecycle.TestEntryPoint;
+import org.eclipse.rap.rwt.internal.metrics.MetricsServiceHandler;
 import org.eclipse.rap.rwt.internal.resources.ResourceDirectory;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushServiceHandler;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
@@ -192,6 +194,42 @@ public class ApplicationContextImpl_Test {
     checkClientSelectorHasBeenActivated();
   }
 
+  @Test
+  public void testActivate_doesNotRegisterMetricsServiceHandlerByDefault() {
+    System.setProperty( RWTProperties.COLLECT_METRICS, "true" );
+    try {
+      applicationContext = new ApplicationContextImpl( createConfiguration(),
+                                                       createServletContext() );
+
+      applicationContext.activate();
+
+      ServiceManagerImpl serviceManager = applicationContext.getServiceManager();
+      assertNull( serviceManager.getServiceHandler( MetricsServiceHandler.HANDLER_ID ) );
+    } finally {
+      applicationContext.deactivate();
+      System.clearProperty( RWTProperties.COLLECT_METRICS );
+    }
+  }
+
+  @Test
+  public void testActivate_registersMetricsServiceHandlerIfEnabled() {
+    System.setProperty( RWTProperties.COLLECT_METRICS, "true" );
+    System.setProperty( RWTProperties.METRICS_SERVICE_HANDLER, "true" );
+    try {
+      applicationContext = new ApplicationContextImpl( createConfiguration(),
+                                                       createServletContext() );
+
+      applicationContext.activate();
+
+      ServiceManagerImpl serviceManager = applicationContext.getServiceManager();
+      assertNotNull( serviceManager.getServiceHandler( MetricsServiceHandler.HANDLER_ID ) );
+    } finally {
+      applicationContext.deactivate();
+      System.clearProperty( RWTProperties.COLLECT_METRICS );
+      System.clearProperty( RWTProperties.METRICS_SERVICE_HANDLER );
+    }
+  }
+
   @Test
   public void testActivate_withDifferentResourceLocation() {
     File tempDirectory = createTempDirectory();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,16 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.engine;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.endsWith;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,11 +27,14 @@ import javax.servlet.FilterChain;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpSession;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.service.UISessionImpl;
 import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -50,6 +57,11 @@ public class RWTClusterSupport_Test {
     rwtClusterSupport = new RWTClusterSupport();
   }
 
+  @After
+  public void tearDown() {
+    System.getProperties().remove( RWTProperties.DELTA_SESSION_REPLICATION );
+  }
+
   @Test
   public void testDoFilter_passesParametersToFilterChain() throws Exception {
     rwtClusterSupport.doFilter( request, response, chain );
@@ -128,6 +140,45 @@ public class RWTClusterSupport_Test {
     verify( httpSession ).setAttribute( endsWith( "foo" ), same( deserializedUISession ) );
   }
 
+  @Test
+  public void testDoFilter_withDeltaReplication_doesNotMarkUISessionAsChanged() throws Exception {
+    System.setProperty( RWTProperties.DELTA_SESSION_REPLICATION, "true" );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    UISessionImpl deserializedUISession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, deserializedUISession );
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( httpSession, never() ).setAttribute( anyString(), same( deserializedUISession ) );
+    assertEquals( 1, deserializedUISession.getReplicationVersion() );
+  }
+
+  @Test
+  public void testDoFilter_withDeltaReplication_restoresUISessionOnOtherClusterNode()
+    throws Exception
+  {
+    System.setProperty( RWTProperties.DELTA_SESSION_REPLICATION, "true" );
+    TestHttpSession httpSession = new TestHttpSession();
+    httpSession.setServletContext( mockServletContext( mock( ApplicationContextImpl.class ) ) );
+    request.setSession( httpSession );
+    new UISessionImpl( null, httpSession ).attachToHttpSession();
+    rwtClusterSupport.doFilter( request, response, chain );
+    UISessionImpl replicatedUISession = UISessionImpl.getInstanceFromSession( httpSession, null );
+    replicatedUISession.setAttribute( "foo", "bar" );
+    rwtClusterSupport.doFilter( request, response, chain );
+    // simulate a fail-over to a cluster node with an outdated UI session attribute
+    replicatedUISession.setReplicationVersion( 0 );
+    replicatedUISession.removeAttribute( "foo" );
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    UISessionImpl restoredUISession = UISessionImpl.getInstanceFromSession( httpSession, null );
+    assertNotSame( replicatedUISession, restoredUISession );
+    assertEquals( "bar", restoredUISession.getAttribute( "foo" ) );
+    assertNotNull( restoredUISession.getApplicationContext() );
+  }
+
   private static HttpSession mockHttpSession() {
     return mockHttpSession( mock( ServletContext.class ) );
   }
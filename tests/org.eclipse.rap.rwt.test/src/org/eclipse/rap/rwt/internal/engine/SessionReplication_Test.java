@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.engine;
+
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Random;
+
+import javax.servlet.http.HttpSession;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
+import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
+import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
+import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.eclipse.rap.rwt.internal.remote.MessageChainElement;
+import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
+import org.eclipse.rap.rwt.internal.remote.MessageFilter;
+import org.eclipse.rap.rwt.internal.remote.MessageFilterChain;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.LifeCycleServiceHandler;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponseMessage;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.widgets.IDisplayAdapter;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class SessionReplication_Test {
+
+  private HttpSession httpSession;
+  private UISessionImpl uiSession;
+
+  @Before
+  public void setUp() {
+    httpSession = new TestHttpSession();
+    uiSession = new UISessionImpl( mock( ApplicationContextImpl.class ), httpSession, "foo" );
+    uiSession.attachToHttpSession();
+  }
+
+  @After
+  public void tearDown() {
+    System.getProperties().remove( RWTProperties.DELTA_SESSION_REPLICATION );
+  }
+
+  @Test
+  public void testFindBoundaries_withEmptyData() {
+    assertArrayEquals( new int[] { 0 }, SessionReplication.findBoundaries( new byte[ 0 ] ) );
+  }
+
+  @Test
+  public void testFindBoundaries_respectsFragmentSizes() {
+    byte[] data = createRandomBytes( 1, 500000 );
+
+    int[] boundaries = SessionReplication.findBoundaries( data );
+
+    assertTrue( boundaries.length > 1 );
+    int start = 0;
+    for( int i = 0; i < boundaries.length; i++ ) {
+      int length = boundaries[ i ] - start;
+      assertTrue( length <= SessionReplication.MAX_FRAGMENT_SIZE );
+      assertTrue( i == boundaries.length - 1 || length >= SessionReplication.MIN_FRAGMENT_SIZE );
+      start = boundaries[ i ];
+    }
+    assertEquals( data.length, start );
+  }
+
+  @Test
+  public void testFindBoundaries_areNotShiftedByChangesInOtherFragments() {
+    byte[] data = createRandomBytes( 1, 200000 );
+    byte[] changedData = data.clone();
+    changedData[ 10 ]++;
+
+    int[] boundaries = SessionReplication.findBoundaries( data );
+    int[] changedBoundaries = SessionReplication.findBoundaries( changedData );
+
+    assertEquals( boundaries.length, changedBoundaries.length );
+    for( int i = 1; i < boundaries.length; i++ ) {
+      assertEquals( boundaries[ i ], changedBoundaries[ i ] );
+    }
+  }
+
+  @Test
+  public void testReplicate_storesAllFragmentsInitially() throws Exception {
+    int replicatedBytes = SessionReplication.replicate( httpSession, uiSession );
+
+    assertEquals( serialize( uiSession ).length, replicatedBytes );
+    assertEquals( 1, uiSession.getReplicationVersion() );
+  }
+
+  @Test
+  public void testReplicate_withoutChanges() throws Exception {
+    SessionReplication.replicate( httpSession, uiSession );
+    List<String> attributeNames = getAttributeNames( httpSession );
+
+    int replicatedBytes = SessionReplication.replicate( httpSession, uiSession );
+
+    assertEquals( 0, replicatedBytes );
+    assertEquals( 1, uiSession.getReplicationVersion() );
+    assertEquals( attributeNames, getAttributeNames( httpSession ) );
+  }
+
+  @Test
+  public void testReplicate_withoutModification_skipsSerialization() throws Exception {
+    List<String> list = new ArrayList<>();
+    uiSession.setAttribute( "list", list );
+    SessionReplication.replicate( httpSession, uiSession );
+    list.add( "changed in place" );
+
+    int replicatedBytes = SessionReplication.replicate( httpSession, uiSession );
+
+    assertEquals( 0, replicatedBytes );
+    assertEquals( 1, uiSession.getReplicationVersion() );
+  }
+
+  @Test
+  public void testReplicate_afterSettingAttributeAgain() throws Exception {
+    List<String> list = new ArrayList<>();
+    uiSession.setAttribute( "list", list );
+    SessionReplication.replicate( httpSession, uiSession );
+    list.add( "changed in place" );
+    uiSession.setAttribute( "list", list );
+
+    int replicatedBytes = SessionReplication.replicate( httpSession, uiSession );
+
+    assertTrue( replicatedBytes > 0 );
+    assertEquals( 2, uiSession.getReplicationVersion() );
+  }
+
+  @Test
+  public void testReplicate_storesChangedFragmentsOnly() throws Exception {
+    uiSession.setAttribute( "large", createRandomBytes( 2, 300000 ) );
+    uiSession.setAttribute( "small", Integer.valueOf( 1 ) );
+    SessionReplication.replicate( httpSession, uiSession );
+    uiSession.setAttribute( "small", Integer.valueOf( 2 ) );
+
+    int replicatedBytes = SessionReplication.replicate( httpSession, uiSession );
+
+    assertTrue( replicatedBytes > 0 );
+    assertTrue( replicatedBytes < serialize( uiSession ).length / 2 );
+    assertEquals( 2, uiSession.getReplicationVersion() );
+  }
+
+  @Test
+  public void testReplicate_removesObsoleteFragments() throws Exception {
+    uiSession.setAttribute( "large", createRandomBytes( 2, 300000 ) );
+    SessionReplication.replicate( httpSession, uiSession );
+    int attributeCount = getAttributeNames( httpSession ).size();
+    uiSession.removeAttribute( "large" );
+
+    SessionReplication.replicate( httpSession, uiSession );
+
+    assertTrue( getAttributeNames( httpSession ).size() < attributeCount );
+  }
+
+  @Test
+  public void testRestore_returnsUpToDateInstance() throws Exception {
+    SessionReplication.replicate( httpSession, uiSession );
+
+    assertSame( uiSession, SessionReplication.restore( httpSession, uiSession ) );
+  }
+
+  @Test
+  public void testRestore_withoutReplicatedFragments() {
+    assertSame( uiSession, SessionReplication.restore( httpSession, uiSession ) );
+  }
+
+  @Test
+  public void testRestore_onOtherClusterNode() throws Exception {
+    HttpSession backupSession = copySession( httpSession );
+    uiSession.setAttribute( "large", createRandomBytes( 2, 300000 ) );
+    uiSession.setAttribute( "small", "bar" );
+    SessionReplication.replicate( httpSession, uiSession );
+    copyAttributes( httpSession, backupSession );
+    uiSession.setAttribute( "small", "baz" );
+    SessionReplication.replicate( httpSession, uiSession );
+    copyAttributes( httpSession, backupSession );
+    UISessionImpl staleUISession = UISessionImpl.getInstanceFromSession( backupSession, "foo" );
+
+    UISessionImpl restored = SessionReplication.restore( backupSession, staleUISession );
+
+    assertNotSame( staleUISession, restored );
+    assertEquals( "baz", restored.getAttribute( "small" ) );
+    assertEquals( uiSession.getId(), restored.getId() );
+    assertSame( backupSession, restored.getHttpSession() );
+    assertSame( restored, UISessionImpl.getInstanceFromSession( backupSession, "foo" ) );
+    assertSame( restored, SessionReplication.restore( backupSession, restored ) );
+  }
+
+  @Test
+  public void testRestore_withAttributeAddedBetweenReplications() throws Exception {
+    uiSession.setAttribute( "large", createRandomBytes( 2, 300000 ) );
+    SessionReplication.replicate( httpSession, uiSession );
+    HttpSession backupSession = copySession( httpSession );
+    uiSession.setAttribute( "added", new ArrayList<>( Arrays.asList( "bar" ) ) );
+    SessionReplication.replicate( httpSession, uiSession );
+    copyAttributes( httpSession, backupSession );
+    UISessionImpl staleUISession = UISessionImpl.getInstanceFromSession( backupSession, "foo" );
+
+    UISessionImpl restored = SessionReplication.restore( backupSession, staleUISession );
+
+    assertEquals( Arrays.asList( "bar" ), restored.getAttribute( "added" ) );
+    assertArrayEquals( ( byte[] )uiSession.getAttribute( "large" ),
+                       ( byte[] )restored.getAttribute( "large" ) );
+    assertEquals( 2, restored.getReplicationVersion() );
+  }
+
+  @Test
+  public void testRestore_fromPlaceholder() throws Exception {
+    System.setProperty( RWTProperties.DELTA_SESSION_REPLICATION, "true" );
+    uiSession.setAttribute( "large", createRandomBytes( 2, 300000 ) );
+    SessionReplication.replicate( httpSession, uiSession );
+    HttpSession backupSession = copySession( httpSession );
+    UISessionImpl staleUISession = UISessionImpl.getInstanceFromSession( backupSession, "foo" );
+
+    UISessionImpl restored = SessionReplication.restore( backupSession, staleUISession );
+
+    assertNull( staleUISession.getAttribute( "large" ) );
+    assertEquals( uiSession.getId(), restored.getId() );
+    assertNotNull( restored.getAttribute( "large" ) );
+  }
+
+  @Test
+  public void testUISession_isSerializedAsPlaceholder() throws Exception {
+    System.setProperty( RWTProperties.DELTA_SESSION_REPLICATION, "true" );
+    uiSession.setAttribute( "large", createRandomBytes( 2, 300000 ) );
+
+    assertTrue( serialize( uiSession ).length < 1024 );
+  }
+
+  @Test
+  public void testRestore_withMissingFragment() throws Exception {
+    HttpSession backupSession = copySession( httpSession );
+    SessionReplication.replicate( httpSession, uiSession );
+    for( String name : getAttributeNames( httpSession ) ) {
+      if( !name.contains( "#fragment:" ) ) {
+        Object value = httpSession.getAttribute( name );
+        backupSession.setAttribute( name, serializeAndDeserialize( value ) );
+      }
+    }
+    UISessionImpl staleUISession = UISessionImpl.getInstanceFromSession( backupSession, "foo" );
+
+    assertNull( SessionReplication.restore( backupSession, staleUISession ) );
+    assertTrue( ( ( TestHttpSession )backupSession ).isInvalidated() );
+  }
+
+  @Test
+  public void testRestore_withCorruptFragment() throws Exception {
+    System.setProperty( RWTProperties.DELTA_SESSION_REPLICATION, "true" );
+    SessionReplication.replicate( httpSession, uiSession );
+    HttpSession backupSession = copySession( httpSession );
+    for( String name : getAttributeNames( backupSession ) ) {
+      if( name.contains( "#fragment:" ) ) {
+        backupSession.setAttribute( name, new byte[] { 1, 2, 3 } );
+      }
+    }
+    UISessionImpl staleUISession = UISessionImpl.getInstanceFromSession( backupSession, "foo" );
+
+    assertNull( SessionReplication.restore( backupSession, staleUISession ) );
+    assertTrue( ( ( TestHttpSession )backupSession ).isInvalidated() );
+  }
+
+  @Test
+  public void testRestore_placeholderWithoutManifest() throws Exception {
+    System.setProperty( RWTProperties.DELTA_SESSION_REPLICATION, "true" );
+    TestHttpSession backupSession = new TestHttpSession();
+    backupSession.setAttribute( "uiSession", serializeAndDeserialize( uiSession ) );
+    UISessionImpl placeholder = ( UISessionImpl )backupSession.getAttribute( "uiSession" );
+
+    assertTrue( placeholder.isPlaceholder() );
+    assertNull( SessionReplication.restore( backupSession, placeholder ) );
+    assertTrue( backupSession.isInvalidated() );
+  }
+
+  @Test
+  public void testReplicate_afterUIRequestThatChangedWidgetsOnly() throws Exception {
+    Fixture.setUp();
+    try {
+      Display display = new Display();
+      final Label label = new Label( new Shell( display ), SWT.NONE );
+      UISessionImpl fixtureUISession = ( UISessionImpl )ContextProvider.getUISession();
+      HttpSession fixtureHttpSession = fixtureUISession.getHttpSession();
+      SessionReplication.replicate( fixtureHttpSession, fixtureUISession );
+      HttpSession backupSession = copySession( fixtureHttpSession );
+      MessageFilter changeLabel = new MessageFilter() {
+        @Override
+        public ResponseMessage handleMessage( RequestMessage request, MessageFilterChain chain ) {
+          label.setText( "changed" );
+          return new TestResponseMessage();
+        }
+      };
+      MessageChainReference messageChain
+        = new MessageChainReference( new MessageChainElement( changeLabel, null ) );
+      Fixture.fakeNewRequest();
+      Fixture.fakeHeadParameter( "requestCounter", RequestCounter.getInstance().currentRequestId() );
+      new LifeCycleServiceHandler( messageChain ).service( ContextProvider.getRequest(),
+                                                           ContextProvider.getResponse() );
+
+      int replicatedBytes = SessionReplication.replicate( fixtureHttpSession, fixtureUISession );
+
+      assertTrue( replicatedBytes > 0 );
+      copyAttributes( fixtureHttpSession, backupSession );
+      UISessionImpl staleUISession
+        = UISessionImpl.getInstanceFromSession( backupSession, fixtureUISession.getConnectionId() );
+      UISessionImpl restored = SessionReplication.restore( backupSession, staleUISession );
+      Display restoredDisplay = LifeCycleUtil.getSessionDisplay( restored );
+      restoredDisplay.getAdapter( IDisplayAdapter.class ).attachThread();
+      Label restoredLabel = ( Label )restoredDisplay.getShells()[ 0 ].getChildren()[ 0 ];
+      assertEquals( "changed", restoredLabel.getText() );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
+  /*
+   * Simulates a servlet container that replicates the HTTP session attributes to another node
+   */
+  private static HttpSession copySession( HttpSession httpSession ) throws Exception {
+    HttpSession result = new TestHttpSession();
+    copyAttributes( httpSession, result );
+    return result;
+  }
+
+  private static void copyAttributes( HttpSession source, HttpSession target ) throws Exception {
+    for( String name : getAttributeNames( source ) ) {
+      if( !name.startsWith( UISessionImpl.class.getName() ) || target.getAttribute( name ) == null ) {
+        target.setAttribute( name, serializeAndDeserialize( source.getAttribute( name ) ) );
+      }
+    }
+  }
+
+  private static List<String> getAttributeNames( HttpSession httpSession ) {
+    List<String> result = new ArrayList<>();
+    Enumeration<String> names = httpSession.getAttributeNames();
+    while( names.hasMoreElements() ) {
+      result.add( names.nextElement() );
+    }
+    return result;
+  }
+
+  private static byte[] createRandomBytes( long seed, int size ) {
+    byte[] result = new byte[ size ];
+    new Random( seed ).nextBytes( result );
+    return result;
+  }
+
+}
@@ -10,16 +10,23 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.lifecycle;
 
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.metrics.Histogram;
+import org.eclipse.rap.rwt.internal.metrics.Metrics;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.LoggingPhaseListener;
 import org.eclipse.rap.rwt.testfixture.internal.LoggingPhaseListener.PhaseEventInfo;
@@ -81,6 +88,30 @@ public class PhaseExecutor_Test {
     assertSame( lifeCycle, afterPrepareUIRoot.source );
   }
 
+  @Test
+  public void testExecute_recordsDurationOfFailingPhase() throws IOException {
+    System.setProperty( RWTProperties.COLLECT_METRICS, "true" );
+    Fixture.tearDown();
+    Fixture.setUp();
+    IPhase failingPhase = mock( IPhase.class );
+    when( failingPhase.getPhaseId() ).thenReturn( PhaseId.RENDER );
+    when( failingPhase.execute( any( Display.class ) ) ).thenThrow( new IOException() );
+    PhaseExecutor phaseExecutor
+      = new TestPhaseExecutor( phaseListenerManager, new IPhase[] { failingPhase }, lifeCycle );
+
+    try {
+      phaseExecutor.execute( PhaseId.RENDER );
+      fail();
+    } catch( @SuppressWarnings( "unused" ) IOException expected ) {
+    } finally {
+      System.clearProperty( RWTProperties.COLLECT_METRICS );
+    }
+
+    Metrics metrics = getApplicationContext().getMetrics();
+    Histogram histogram = metrics.getHistograms( Metrics.CATEGORY_PHASE ).get( "RENDER" );
+    assertEquals( 1, histogram.getCount() );
+  }
+
   private static class TestPhaseExecutor extends PhaseExecutor {
 
     private TestPhaseExecutor( PhaseListenerManager phaseListenerManager,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -808,6 +808,40 @@ public class RWTLifeCycle_Test {
     assertEquals( "", log.toString() );
   }
 
+  @Test
+  public void testDefaultEntryPoint_withVirtualUIThreadHolder() throws IOException {
+    entryPointManager.register( TestRequest.DEFAULT_SERVLET_PATH,
+                                TestEntryPointWithLog.class,
+                                null );
+    RWTLifeCycle lifeCycle = getLifeCycle();
+    lifeCycle.setUIThreadHolderFactory( VirtualUIThreadHolder.FACTORY );
+
+    lifeCycle.execute();
+
+    assertEquals( DISPLAY_CREATED, log.toString() );
+    IUIThreadHolder uiThreadHolder = LifeCycleUtil.getUIThread( ContextProvider.getUISession() );
+    assertTrue( uiThreadHolder instanceof VirtualUIThreadHolder );
+  }
+
+  @Test
+  public void testSessionInvalidateWithRunningEventLoop_withVirtualUIThreadHolder()
+    throws Throwable
+  {
+    UISession uiSession = ContextProvider.getUISession();
+    Class<? extends EntryPoint> entryPointClass = SessionInvalidateWithEventLoopEntryPoint.class;
+    entryPointManager.register( TestRequest.DEFAULT_SERVLET_PATH, entryPointClass, null );
+    RWTLifeCycle lifeCycle = getLifeCycle();
+    lifeCycle.setUIThreadHolderFactory( VirtualUIThreadHolder.FACTORY );
+    lifeCycle.execute();
+    IUIThreadHolder uiThreadHolder = LifeCycleUtil.getUIThread( uiSession );
+
+    invalidateSession( uiSession );
+
+    assertFalse( uiThreadHolder.getThread().isAlive() );
+    assertFalse( uiSession.isBound() );
+    assertEquals( "", log.toString() );
+  }
+
   @Test
   public void testExceptionInRender() {
     fakeServletPath( TestRequest.DEFAULT_SERVLET_PATH );
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class VirtualUIThreadHolder_Test {
+
+  private StringBuffer log;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    log = new StringBuffer();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testGetLock_returnsLock() {
+    VirtualUIThreadHolder holder = new VirtualUIThreadHolder( mock( Runnable.class ) );
+
+    assertTrue( holder.getLock() instanceof Lock );
+  }
+
+  @Test
+  public void testGetThread_isNotStarted() {
+    VirtualUIThreadHolder holder = new VirtualUIThreadHolder( mock( Runnable.class ) );
+
+    assertFalse( holder.getThread().isAlive() );
+  }
+
+  @Test
+  public void testGetCurrent_outsideOfUIThread() {
+    assertNull( VirtualUIThreadHolder.getCurrent() );
+  }
+
+  @Test
+  public void testGetCurrent_insideOfUIThread() throws InterruptedException {
+    final AtomicReference<VirtualUIThreadHolder> current = new AtomicReference<>();
+    VirtualUIThreadHolder holder = new VirtualUIThreadHolder( new Runnable() {
+      @Override
+      public void run() {
+        current.set( VirtualUIThreadHolder.getCurrent() );
+      }
+    } );
+
+    holder.getThread().start();
+    holder.getThread().join();
+
+    assertSame( holder, current.get() );
+  }
+
+  @Test
+  public void testUpdateServiceContext() {
+    VirtualUIThreadHolder holder = new VirtualUIThreadHolder( mock( Runnable.class ) );
+    ServiceContext context = ContextProvider.getContext();
+    ContextProvider.releaseContextHolder();
+    holder.setServiceContext( context );
+
+    holder.updateServiceContext();
+
+    assertSame( context, ContextProvider.getContext() );
+  }
+
+  @Test
+  public void testSwitchThread_handsOverControl() {
+    final AtomicReference<VirtualUIThreadHolder> holder = new AtomicReference<>();
+    holder.set( new VirtualUIThreadHolder( new Runnable() {
+      @Override
+      public void run() {
+        lock( holder.get() );
+        try {
+          log.append( "ui1|" );
+          holder.get().switchThread();
+          log.append( "ui2|" );
+          holder.get().switchThread();
+        } catch( @SuppressWarnings( "unused" ) UIThreadTerminatedError error ) {
+          // terminated at the end of the test
+        } finally {
+          unlock( holder.get() );
+        }
+      }
+    } ) );
+
+    lock( holder.get() );
+    try {
+      holder.get().getThread().start();
+      holder.get().switchThread();
+      log.append( "request1|" );
+      holder.get().switchThread();
+      log.append( "request2|" );
+    } finally {
+      unlock( holder.get() );
+    }
+
+    assertEquals( "ui1|request1|ui2|request2|", log.toString() );
+    holder.get().setUISession( ContextProvider.getUISession() );
+    holder.get().terminateThread();
+  }
+
+  @Test
+  public void testTerminateThread_throwsErrorInWaitingUIThread() throws InterruptedException {
+    final AtomicReference<VirtualUIThreadHolder> holder = new AtomicReference<>();
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    holder.set( new VirtualUIThreadHolder( new Runnable() {
+      @Override
+      public void run() {
+        lock( holder.get() );
+        try {
+          holder.get().switchThread();
+        } catch( Throwable throwable ) {
+          error.set( throwable );
+        } finally {
+          unlock( holder.get() );
+        }
+      }
+    } ) );
+    holder.get().setUISession( ContextProvider.getUISession() );
+    lock( holder.get() );
+    try {
+      holder.get().getThread().start();
+      holder.get().switchThread();
+    } finally {
+      unlock( holder.get() );
+    }
+
+    holder.get().terminateThread();
+
+    assertFalse( holder.get().getThread().isAlive() );
+    assertTrue( error.get() instanceof UIThreadTerminatedError );
+  }
+
+  @Test
+  public void testInterceptShutdown_terminatesThread() {
+    Runnable runnable = mock( Runnable.class );
+    VirtualUIThreadHolder holder = new VirtualUIThreadHolder( runnable );
+    holder.setUISession( ContextProvider.getUISession() );
+    holder.getThread().start();
+
+    holder.interceptShutdown();
+
+    assertFalse( holder.getThread().isAlive() );
+    verify( runnable ).run();
+  }
+
+  private static void lock( VirtualUIThreadHolder holder ) {
+    ( ( ReentrantLock )holder.getLock() ).lock();
+  }
+
+  private static void unlock( VirtualUIThreadHolder holder ) {
+    ( ( ReentrantLock )holder.getLock() ).unlock();
+  }
+
+}
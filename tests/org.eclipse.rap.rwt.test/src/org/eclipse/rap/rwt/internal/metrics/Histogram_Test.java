@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class Histogram_Test {
+
+  private Histogram histogram;
+
+  @Before
+  public void setUp() {
+    histogram = new Histogram();
+  }
+
+  @Test
+  public void testInitialValues() {
+    assertEquals( 0, histogram.getCount() );
+    assertEquals( 0, histogram.getTotal() );
+    assertEquals( 0, histogram.getMax() );
+    assertEquals( 0, histogram.getMean() );
+    assertEquals( 0, histogram.getValueAtPercentile( 50 ) );
+  }
+
+  @Test
+  public void testRecord() {
+    histogram.record( 10 );
+    histogram.record( 30 );
+
+    assertEquals( 2, histogram.getCount() );
+    assertEquals( 40, histogram.getTotal() );
+    assertEquals( 30, histogram.getMax() );
+    assertEquals( 20, histogram.getMean() );
+  }
+
+  @Test
+  public void testRecord_negativeValue() {
+    histogram.record( -5 );
+
+    assertEquals( 1, histogram.getCount() );
+    assertEquals( 0, histogram.getTotal() );
+  }
+
+  @Test
+  public void testGetValueAtPercentile_smallValuesAreExact() {
+    for( int i = 1; i <= 4; i++ ) {
+      histogram.record( i );
+    }
+
+    assertEquals( 2, histogram.getValueAtPercentile( 50 ) );
+    assertEquals( 4, histogram.getValueAtPercentile( 100 ) );
+  }
+
+  @Test
+  public void testGetValueAtPercentile_isUpperBound() {
+    for( int i = 1; i <= 1000; i++ ) {
+      histogram.record( i * 1000L );
+    }
+
+    long median = histogram.getValueAtPercentile( 50 );
+    long p99 = histogram.getValueAtPercentile( 99 );
+    assertTrue( median >= 500000 && median <= 500000 * 1.125 );
+    assertTrue( p99 >= 990000 && p99 <= 1000000 );
+  }
+
+  @Test
+  public void testGetValueAtPercentile_cappedByMax() {
+    histogram.record( 1001 );
+
+    assertEquals( 1001, histogram.getValueAtPercentile( 100 ) );
+  }
+
+  @Test
+  public void testReset() {
+    histogram.record( 100 );
+
+    histogram.reset();
+
+    assertEquals( 0, histogram.getCount() );
+    assertEquals( 0, histogram.getMax() );
+    assertEquals( 0, histogram.getValueAtPercentile( 99 ) );
+  }
+
+  @Test
+  public void testGetBucketIndex_isMonotonic() {
+    int previous = 0;
+    for( long value = 0; value < 100000; value++ ) {
+      int index = Histogram.getBucketIndex( value );
+      assertTrue( index >= previous );
+      previous = index;
+    }
+  }
+
+  @Test
+  public void testGetBucketUpperBound_containsValue() {
+    long[] values = { 0, 7, 8, 9, 15, 16, 1000, 123456789, Long.MAX_VALUE };
+    for( long value : values ) {
+      int index = Histogram.getBucketIndex( value );
+      assertTrue( Histogram.getBucketUpperBound( index ) >= value );
+      assertTrue( index == 0 || Histogram.getBucketUpperBound( index - 1 ) < value );
+    }
+  }
+
+}
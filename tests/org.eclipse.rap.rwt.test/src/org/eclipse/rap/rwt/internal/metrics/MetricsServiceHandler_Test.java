@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.eclipse.swt.internal.graphics.ImageDataCache;
+import org.eclipse.swt.internal.widgets.DisplaysHolder;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MetricsServiceHandler_Test {
+
+  private Metrics metrics;
+  private ImageDataCache imageDataCache;
+  private MetricsServiceHandler serviceHandler;
+  private HttpServletRequest request;
+  private TestResponse response;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    metrics = new Metrics( true );
+    DisplaysHolder displaysHolder = getApplicationContext().getDisplaysHolder();
+    imageDataCache = getApplicationContext().getImageDataFactory().getImageDataCache();
+    serviceHandler = new MetricsServiceHandler( metrics, displaysHolder, imageDataCache );
+    request = mock( HttpServletRequest.class );
+    response = new TestResponse();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testService_writesJson() throws IOException {
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 5000 );
+
+    serviceHandler.service( request, response );
+
+    assertEquals( "application/json; charset=UTF-8", response.getContentType() );
+    JsonObject json = JsonObject.readFrom( response.getContent() );
+    JsonObject histogram = json.get( "histograms" ).asArray().get( 0 ).asObject();
+    assertEquals( "phase", histogram.get( "category" ).asString() );
+    assertEquals( "RENDER", histogram.get( "name" ).asString() );
+    assertEquals( 1, histogram.get( "count" ).asLong() );
+    assertEquals( 5, histogram.get( "max" ).asLong() );
+  }
+
+  @Test
+  public void testService_keepsMetricsByDefault() throws IOException {
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 5000 );
+
+    serviceHandler.service( request, response );
+
+    assertEquals( 1, metrics.getHistogramStatistics().size() );
+  }
+
+  @Test
+  public void testService_ignoresResetParameter() throws IOException {
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 5000 );
+    when( request.getParameter( "reset" ) ).thenReturn( "true" );
+
+    serviceHandler.service( request, response );
+
+    assertEquals( 1, metrics.getHistogramStatistics().size() );
+  }
+
+  @Test
+  public void testCreateJson_slowRequests() {
+    metrics.stopRequest( "handler", "connection", metrics.start() );
+    metrics.stopRequest( "other", null, metrics.start() );
+
+    JsonArray slowRequests = serviceHandler.createJson().get( "slowRequests" ).asArray();
+
+    assertEquals( 2, slowRequests.size() );
+    JsonObject slowRequest = findByHandler( slowRequests, "handler" );
+    assertTrue( slowRequest.get( "timestamp" ).asLong() > 0 );
+    assertNull( slowRequest.get( "connectionId" ) );
+  }
+
+  @Test
+  public void testCreateJson_sessions() {
+    Display display = new Display();
+    display.asyncExec( mock( Runnable.class ) );
+    display.asyncExec( mock( Runnable.class ) );
+
+    JsonArray sessions = serviceHandler.createJson().get( "sessions" ).asArray();
+
+    assertEquals( 1, sessions.size() );
+    JsonObject session = sessions.get( 0 ).asObject();
+    assertNull( session.get( "connectionId" ) );
+    assertEquals( 2, session.get( "queueDepth" ).asInt() );
+    assertEquals( 2, session.get( "peakQueueDepth" ).asInt() );
+    assertEquals( 0, session.get( "coalesced" ).asInt() );
+  }
+
+  @Test
+  public void testCreateJson_sessionsWithoutDisplay() {
+    JsonArray sessions = serviceHandler.createJson().get( "sessions" ).asArray();
+
+    assertTrue( sessions.isEmpty() );
+  }
+
+  @Test
+  public void testCreateJson_imageDataCache() {
+    JsonObject json = serviceHandler.createJson().get( "imageDataCache" ).asObject();
+
+    assertEquals( imageDataCache.getSize(), json.get( "size" ).asInt() );
+    assertEquals( imageDataCache.getHitCount(), json.get( "hits" ).asLong() );
+    assertEquals( imageDataCache.getMissCount(), json.get( "misses" ).asLong() );
+    assertEquals( 0, json.get( "evictions" ).asLong() );
+  }
+
+  @Test
+  public void testCreateJson_compression() {
+    metrics.recordCompression( 4000, 1000, 100 );
+
+    JsonObject json = serviceHandler.createJson().get( "compression" ).asObject();
+
+    assertEquals( 4000, json.get( "uncompressed" ).asLong() );
+    assertEquals( 1000, json.get( "compressed" ).asLong() );
+    assertEquals( 0.25, json.get( "ratio" ).asDouble(), 0 );
+  }
+
+  private static JsonObject findByHandler( JsonArray slowRequests, String handler ) {
+    JsonObject result = null;
+    for( int i = 0; i < slowRequests.size(); i++ ) {
+      JsonObject slowRequest = slowRequests.get( i ).asObject();
+      if( handler.equals( slowRequest.get( "handler" ).asString() ) ) {
+        result = slowRequest;
+      }
+    }
+    return result;
+  }
+
+}
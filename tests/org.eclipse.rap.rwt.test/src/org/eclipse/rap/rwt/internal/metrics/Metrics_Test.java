@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class Metrics_Test {
+
+  private static final String CONTEXT_NAME = "/metrics-test";
+
+  private Metrics metrics;
+
+  @Before
+  public void setUp() {
+    metrics = new Metrics( true );
+  }
+
+  @After
+  public void tearDown() {
+    metrics.deactivate();
+  }
+
+  @Test
+  public void testIsDisabledByDefault() {
+    assertFalse( new Metrics().isEnabled() );
+  }
+
+  @Test
+  public void testStart_whenDisabled() {
+    assertEquals( 0, new Metrics( false ).start() );
+  }
+
+  @Test
+  public void testRecord_whenDisabled() {
+    Metrics disabledMetrics = new Metrics( false );
+
+    disabledMetrics.record( Metrics.CATEGORY_PHASE, "RENDER", 100 );
+
+    assertTrue( disabledMetrics.getHistograms( Metrics.CATEGORY_PHASE ).isEmpty() );
+  }
+
+  @Test
+  public void testRecord() {
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 100 );
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 300 );
+
+    Histogram histogram = metrics.getHistograms( Metrics.CATEGORY_PHASE ).get( "RENDER" );
+    assertEquals( 2, histogram.getCount() );
+    assertEquals( 300, histogram.getMax() );
+  }
+
+  @Test
+  public void testGetHistograms_sortedByName() {
+    metrics.record( Metrics.CATEGORY_RENDER, "b", 1 );
+    metrics.record( Metrics.CATEGORY_RENDER, "a", 1 );
+
+    Map<String,Histogram> histograms = metrics.getHistograms( Metrics.CATEGORY_RENDER );
+
+    assertEquals( "[a, b]", histograms.keySet().toString() );
+  }
+
+  @Test
+  public void testStop() {
+    long startTime = metrics.start();
+
+    metrics.stop( Metrics.CATEGORY_JSON, Metrics.JSON_PARSE, startTime );
+
+    assertEquals( 1, metrics.getHistograms( Metrics.CATEGORY_JSON ).get( "parse" ).getCount() );
+  }
+
+  @Test
+  public void testRecord_notifiesRecorder() {
+    MetricsRecorder recorder = mock( MetricsRecorder.class );
+    metrics.addRecorder( recorder );
+
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 100 );
+
+    verify( recorder ).record( Metrics.CATEGORY_PHASE, "RENDER", 100 );
+  }
+
+  @Test
+  public void testRemoveRecorder() {
+    MetricsRecorder recorder = mock( MetricsRecorder.class );
+    metrics.addRecorder( recorder );
+
+    metrics.removeRecorder( recorder );
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 100 );
+
+    verifyZeroInteractions( recorder );
+  }
+
+  @Test
+  public void testStopRequest() {
+    metrics.stopRequest( "handler", "connection", metrics.start() );
+
+    List<SlowRequest> slowRequests = metrics.getSlowRequests();
+    assertEquals( 1, slowRequests.size() );
+    assertEquals( "handler", slowRequests.get( 0 ).getHandlerName() );
+    assertEquals( "connection", slowRequests.get( 0 ).getConnectionId() );
+    Map<String,Histogram> histograms = metrics.getHistograms( Metrics.CATEGORY_SERVICE_HANDLER );
+    assertEquals( 1, histograms.get( "handler" ).getCount() );
+  }
+
+  @Test
+  public void testStopRequest_keepsSlowestRequests() {
+    long now = System.nanoTime();
+    for( int i = 1; i <= 20; i++ ) {
+      metrics.stopRequest( "handler-" + i, null, now - TimeUnit.MILLISECONDS.toNanos( i ) );
+    }
+
+    List<SlowRequest> slowRequests = metrics.getSlowRequests();
+    assertEquals( 10, slowRequests.size() );
+    assertEquals( "handler-20", slowRequests.get( 0 ).getHandlerName() );
+    assertEquals( "handler-11", slowRequests.get( 9 ).getHandlerName() );
+  }
+
+  @Test
+  public void testGetHistogramStatistics() {
+    metrics.record( Metrics.CATEGORY_RENDER, "Button", 2000 );
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 4000 );
+
+    List<HistogramStatistics> statistics = metrics.getHistogramStatistics();
+
+    assertEquals( 2, statistics.size() );
+    assertEquals( Metrics.CATEGORY_PHASE, statistics.get( 0 ).getCategory() );
+    assertEquals( 4, statistics.get( 0 ).getMax() );
+    assertEquals( "Button", statistics.get( 1 ).getName() );
+    assertEquals( 1, statistics.get( 1 ).getCount() );
+  }
+
+  @Test
+  public void testRecordCompression() {
+    metrics.recordCompression( 1000, 200, 100 );
+    metrics.recordCompression( 3000, 600, 300 );
+
+    assertEquals( 4000, metrics.getUncompressedBytes() );
+    assertEquals( 800, metrics.getCompressedBytes() );
+    assertEquals( 0.2, metrics.getCompressionRatio(), 0.0001 );
+    Histogram histogram = metrics.getHistograms( Metrics.CATEGORY_COMPRESSION ).get( "gzip" );
+    assertEquals( 2, histogram.getCount() );
+  }
+
+  @Test
+  public void testRecordCompression_whenDisabled() {
+    Metrics disabledMetrics = new Metrics( false );
+
+    disabledMetrics.recordCompression( 1000, 200, 100 );
+
+    assertEquals( 0, disabledMetrics.getUncompressedBytes() );
+    assertTrue( disabledMetrics.getHistograms( Metrics.CATEGORY_COMPRESSION ).isEmpty() );
+  }
+
+  @Test
+  public void testGetCompressionRatio_withoutCompression() {
+    assertEquals( 0, metrics.getCompressionRatio(), 0 );
+  }
+
+  @Test
+  public void testReset() {
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 100 );
+    metrics.stopRequest( "handler", null, metrics.start() );
+    metrics.recordCompression( 1000, 200, 100 );
+
+    metrics.reset();
+
+    assertTrue( metrics.getHistogramStatistics().isEmpty() );
+    assertTrue( metrics.getSlowRequests().isEmpty() );
+    assertEquals( 0, metrics.getUncompressedBytes() );
+    assertEquals( 0, metrics.getCompressedBytes() );
+  }
+
+  @Test
+  public void testActivate_registersMBean() throws Exception {
+    metrics.activate( CONTEXT_NAME );
+
+    assertTrue( getMBeanServer().isRegistered( getObjectName() ) );
+  }
+
+  @Test
+  public void testActivate_whenDisabled() throws Exception {
+    Metrics disabledMetrics = new Metrics( false );
+
+    disabledMetrics.activate( CONTEXT_NAME );
+
+    assertFalse( getMBeanServer().isRegistered( getObjectName() ) );
+  }
+
+  @Test
+  public void testDeactivate_unregistersMBean() throws Exception {
+    metrics.activate( CONTEXT_NAME );
+
+    metrics.deactivate();
+
+    assertFalse( getMBeanServer().isRegistered( getObjectName() ) );
+  }
+
+  @Test
+  public void testMBean_getHistogramStatistics() throws Exception {
+    metrics.activate( CONTEXT_NAME );
+    metrics.record( Metrics.CATEGORY_PHASE, "RENDER", 100 );
+
+    Object attribute = getMBeanServer().getAttribute( getObjectName(), "HistogramStatistics" );
+
+    assertEquals( 1, ( ( Object[] )attribute ).length );
+  }
+
+  private static MBeanServer getMBeanServer() {
+    return ManagementFactory.getPlatformMBeanServer();
+  }
+
+  private static ObjectName getObjectName() throws Exception {
+    String quotedName = ObjectName.quote( CONTEXT_NAME );
+    return new ObjectName( "org.eclipse.rap.rwt:type=Metrics,context=" + quotedName );
+  }
+
+}
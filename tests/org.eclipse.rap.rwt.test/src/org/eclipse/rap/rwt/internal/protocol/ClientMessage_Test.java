@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,9 +14,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.NotifyOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
@@ -38,6 +41,18 @@ public class ClientMessage_Test {
     assertFalse( operations.isEmpty() );
   }
 
+  @Test
+  public void testConstructor_JsonReader_createsIndex() throws IOException {
+    String json = "{ \"head\" : {}, \"operations\" : ["
+                + "[ \"set\", \"w3\", { \"foo\" : 23 } ]"
+                + "] }";
+    ClientMessage message = new ClientMessage( new JsonReader( new StringReader( json ) ) );
+
+    List<Operation> operations = message.getAllOperationsFor( "w3" );
+
+    assertFalse( operations.isEmpty() );
+  }
+
   @Test
   public void testConstructor_Message_createsIndex() {
     TestMessage testMessage = new TestMessage();
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CompactMessageEncoder_Test {
+
+  private CompactMessageEncoder encoder;
+  private ProtocolMessageWriter writer;
+
+  @Before
+  public void setUp() {
+    encoder = new CompactMessageEncoder();
+    writer = new ProtocolMessageWriter();
+  }
+
+  @Test
+  public void testEncode_createOperation() {
+    writer.appendCreate( "w3", "rwt.widgets.Button" );
+    writer.appendSet( "w3", "text", "foo" );
+
+    JsonObject json = encoder.encode( writer.createMessage() );
+
+    assertEquals( "[[\"create\",0,1,[2,\"foo\"]]]", json.get( "operations" ).toString() );
+    JsonArray keys = new JsonArray().add( "w3" ).add( "rwt.widgets.Button" ).add( "text" );
+    assertEquals( keys, json.get( "head" ).asObject().get( "keys" ) );
+  }
+
+  @Test
+  public void testEncode_reusesKeys() {
+    writer.appendSet( "w3", "text", "foo" );
+    writer.appendSet( "w4", "text", "bar" );
+    writer.appendSet( "w3", "visible", true );
+
+    JsonObject json = encoder.encode( writer.createMessage() );
+
+    String expected = "[[\"set\",0,[1,\"foo\"]],[\"set\",2,[1,\"bar\"]],[\"set\",0,[3,true]]]";
+    assertEquals( expected, json.get( "operations" ).toString() );
+    JsonArray keys = new JsonArray().add( "w3" ).add( "text" ).add( "w4" ).add( "visible" );
+    assertEquals( keys, json.get( "head" ).asObject().get( "keys" ) );
+  }
+
+  @Test
+  public void testEncode_keepsPropertyValues() {
+    JsonObject value = new JsonObject().add( "text", "foo" );
+    writer.appendSet( "w3", "data", value );
+
+    JsonObject json = encoder.encode( writer.createMessage() );
+
+    assertEquals( "[[\"set\",0,[1,{\"text\":\"foo\"}]]]", json.get( "operations" ).toString() );
+  }
+
+  @Test
+  public void testEncode_callAndDestroyOperations() {
+    writer.appendCall( "w3", "setFocus", new JsonObject().add( "force", true ) );
+    writer.appendDestroy( "w3" );
+
+    JsonObject json = encoder.encode( writer.createMessage() );
+
+    String expected = "[[\"call\",0,1,[2,true]],[\"destroy\",0]]";
+    assertEquals( expected, json.get( "operations" ).toString() );
+  }
+
+  @Test
+  public void testEncode_head() {
+    writer.appendHead( "requestCounter", 1 );
+
+    JsonObject json = encoder.encode( writer.createMessage() );
+
+    JsonObject head = json.get( "head" ).asObject();
+    assertEquals( 1, head.get( "requestCounter" ).asInt() );
+    assertEquals( "compact", head.get( "encoding" ).asString() );
+    assertEquals( new JsonArray(), head.get( "keys" ) );
+  }
+
+  @Test
+  public void testEncodeHead_doesNotModifyHead() {
+    JsonObject head = new JsonObject().add( "requestCounter", 1 );
+
+    encoder.encodeHead( head );
+
+    assertEquals( new JsonObject().add( "requestCounter", 1 ), head );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 EclipseSource and others.
+ * Copyright (c) 2014, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,10 +17,14 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.json.ParseException;
 import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
 import org.junit.Test;
 
@@ -104,6 +108,78 @@ public class Message_Test {
     }
   }
 
+  @Test
+  public void testConstructor_JsonReader() throws IOException {
+    String json = "{ \"head\" : { \"foo\" : 23 }, \"operations\" : ["
+                + "[ \"set\", \"w3\", { \"bar\" : 42 } ],"
+                + "[ \"notify\", \"w3\", \"Selection\", {} ]"
+                + "] }";
+
+    Message message = new Message( createReader( json ) );
+
+    assertEquals( new JsonObject().add( "foo", 23 ), message.getHead() );
+    assertEquals( JsonObject.readFrom( json ), message.toJson() );
+  }
+
+  @Test
+  public void testConstructor_JsonReader_skipsUnknownMembers() throws IOException {
+    String json = "{ \"foo\" : [ {} ], \"operations\" : [], \"head\" : {} }";
+
+    Message message = new Message( createReader( json ) );
+
+    assertTrue( message.getOperations().isEmpty() );
+  }
+
+  @Test( expected = ParseException.class )
+  public void testConstructor_JsonReader_withTrailingContent() throws IOException {
+    new Message( createReader( "{ \"head\" : {}, \"operations\" : [] } []" ) );
+  }
+
+  @Test
+  public void testConstructor_JsonReader_withTrailingWhiteSpace() throws IOException {
+    Message message = new Message( createReader( "{ \"head\" : {}, \"operations\" : [] }\n " ) );
+
+    assertTrue( message.getOperations().isEmpty() );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testConstructor_JsonReader_withNull() throws IOException {
+    new Message( ( JsonReader )null );
+  }
+
+  @Test
+  public void testConstructor_JsonReader_withoutHead() throws IOException {
+    try {
+      new Message( createReader( "{ \"operations\" : [] }" ) );
+      fail();
+    } catch( IllegalArgumentException exception ) {
+      assertTrue( exception.getMessage().startsWith( "Failed to read head from JSON message" ) );
+    }
+  }
+
+  @Test
+  public void testConstructor_JsonReader_withoutOperations() throws IOException {
+    try {
+      new Message( createReader( "{ \"head\" : {} }" ) );
+      fail();
+    } catch( IllegalArgumentException exception ) {
+      assertTrue( exception.getMessage().contains( "Failed to read operations from JSON message" ) );
+    }
+  }
+
+  @Test
+  public void testConstructor_JsonReader_withIllegalOperationInArray() throws IOException {
+    String json = "{ \"head\" : {}, \"operations\" : [ [ \"illegal\" ] ] }";
+
+    try {
+      new Message( createReader( json ) );
+      fail();
+    } catch( IllegalArgumentException exception ) {
+      assertThat( exception.getMessage(), containsString( "Failed to read operations" ) );
+      assertThat( exception.getCause().getMessage(), containsString( "Could not read operation" ) );
+    }
+  }
+
   @Test
   public void testGetHead() {
     String json = "{ \"head\": { \"foo\" : 23 }, \"operations\": [] }";
@@ -191,4 +267,8 @@ public class Message_Test {
     assertEquals( message.toJson(), deserialized.toJson() );
   }
 
+  private static JsonReader createReader( String json ) {
+    return new JsonReader( new StringReader( json ) );
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 EclipseSource and others.
+ * Copyright (c) 2014, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,9 +13,16 @@ package org.eclipse.rap.rwt.internal.protocol;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonReader;
+import org.eclipse.rap.json.JsonReader.Token;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
@@ -155,6 +162,58 @@ public class OperationReader_Test {
     assertOperationRejected( "[ \"notify\", \"w3\", \"widgetSelected\" ]" );
   }
 
+  @Test
+  public void testReadOperation_fromReader() throws IOException {
+    JsonReader reader = createReader( "[ \"call\", \"w3\", \"foo\", { \"bar\": [ 1 ] } ]" );
+
+    CallOperation operation = ( CallOperation )OperationReader.readOperation( reader );
+
+    assertEquals( "w3", operation.getTarget() );
+    assertEquals( "foo", operation.getMethodName() );
+    assertEquals( new JsonObject().add( "bar", new JsonArray().add( 1 ) ),
+                  operation.getParameters() );
+    assertEquals( Token.END_ARRAY, reader.getToken() );
+  }
+
+  @Test
+  public void testReadOperation_fromReader_skipsAdditionalElements() throws IOException {
+    JsonReader reader = createReader( "[ \"destroy\", \"w3\", { \"foo\": [] }, 23 ]" );
+
+    Operation operation = OperationReader.readOperation( reader );
+
+    assertTrue( operation instanceof DestroyOperation );
+    assertEquals( Token.END_ARRAY, reader.getToken() );
+    assertEquals( Token.END_DOCUMENT, reader.next() );
+  }
+
+  @Test( expected = NullPointerException.class )
+  public void testReadOperation_fromReader_withNull() throws IOException {
+    OperationReader.readOperation( ( JsonReader )null );
+  }
+
+  @Test
+  public void testReadOperation_fromReader_isRejected() throws IOException {
+    assertOperationRejectedByReader( "false" );
+    assertOperationRejectedByReader( "[ \"unknown\", \"w3\" ]" );
+    assertOperationRejectedByReader( "[ \"create\", \"w3\", \"type\" ]" );
+    assertOperationRejectedByReader( "[ \"set\", \"w3\", 23 ]" );
+  }
+
+  private static void assertOperationRejectedByReader( String json ) throws IOException {
+    try {
+      OperationReader.readOperation( createReader( json ) );
+      fail();
+    } catch( IllegalArgumentException exception ) {
+      assertThat( exception.getMessage(), startsWith( "Could not read operation" ) );
+    }
+  }
+
+  private static JsonReader createReader( String json ) throws IOException {
+    JsonReader reader = new JsonReader( new StringReader( json ) );
+    reader.next();
+    return reader;
+  }
+
   private static void assertOperationRejected( String json ) {
     try {
       OperationReader.readOperation( JsonValue.readFrom( json ) );
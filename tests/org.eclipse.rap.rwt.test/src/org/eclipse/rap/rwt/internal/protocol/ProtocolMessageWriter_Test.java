@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2011, 2014 EclipseSource and others.
+* Copyright (c) 2011, 2018 EclipseSource and others.
 * All rights reserved. This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License v1.0
 * which accompanies this distribution, and is available at
@@ -15,9 +15,13 @@ import static org.eclipse.rap.rwt.testfixture.internal.TestMessage.getParent;
 import static org.eclipse.rap.rwt.testfixture.internal.TestMessage.getStyles;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonArray;
@@ -407,8 +411,126 @@ public class ProtocolMessageWriter_Test {
     assertEquals( "Hello", property.get( 1 ).asString() );
   }
 
+  @Test
+  public void testStreaming_writesOperations() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    writer.startStreaming( stringWriter );
+    writer.appendSet( shellId, "foo", 23 );
+    writer.appendSet( shellId, "bar", 42 );
+    writer.appendCall( shellId, "baz", null );
+    writer.appendHead( "requestCounter", 1 );
+
+    Message message = createMessage();
+    writer.finishStreaming( message.getHead() );
+
+    JsonObject json = JsonObject.readFrom( stringWriter.toString() );
+    JsonArray operations = json.get( "operations" ).asArray();
+    assertEquals( 2, operations.size() );
+    assertEquals( 23, operations.get( 0 ).asArray().get( 2 ).asObject().get( "foo" ).asInt() );
+    assertEquals( 42, operations.get( 0 ).asArray().get( 2 ).asObject().get( "bar" ).asInt() );
+    assertEquals( "call", operations.get( 1 ).asArray().get( 0 ).asString() );
+    assertEquals( 1, json.get( "head" ).asObject().get( "requestCounter" ).asInt() );
+  }
+
+  @Test
+  public void testStreaming_withEncoder() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    writer.startStreaming( stringWriter, new CompactMessageEncoder() );
+    writer.appendSet( "w3", "foo", 23 );
+    writer.appendCall( "w3", "bar", null );
+
+    writer.finishStreaming( createMessage().getHead() );
+
+    String expected = "{\"operations\":[[\"set\",0,[1,23]],[\"call\",0,2,[]]],"
+                    + "\"head\":{\"encoding\":\"compact\",\"keys\":[\"w3\",\"foo\",\"bar\"]}}";
+    assertEquals( expected, stringWriter.toString() );
+  }
+
+  @Test
+  public void testStreaming_writesOperationsAppendedBefore() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    writer.appendCall( shellId, "foo", null );
+    writer.appendCall( shellId, "bar", null );
+
+    writer.startStreaming( stringWriter );
+
+    assertEquals( "{\"operations\":[[\"call\",\"" + shellId + "\",\"foo\",{}]",
+                  stringWriter.toString() );
+  }
+
+  @Test
+  public void testStreaming_messageContainsNoOperations() throws IOException {
+    writer.startStreaming( new StringWriter() );
+    writer.appendCall( shellId, "foo", null );
+
+    assertTrue( createMessage().getOperations().isEmpty() );
+  }
+
+  @Test
+  public void testStreaming_emptyMessage() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    writer.startStreaming( stringWriter );
+
+    writer.finishStreaming( createMessage().getHead() );
+
+    assertEquals( "{\"operations\":[],\"head\":{}}", stringWriter.toString() );
+  }
+
+  @Test
+  public void testIsStreaming() throws IOException {
+    assertFalse( writer.isStreaming() );
+
+    writer.startStreaming( new StringWriter() );
+
+    assertTrue( writer.isStreaming() );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testStartStreaming_twice() throws IOException {
+    writer.startStreaming( new StringWriter() );
+
+    writer.startStreaming( new StringWriter() );
+  }
+
+  @Test
+  public void testFinishStreaming_rethrowsProblem() throws IOException {
+    FailingWriter failingWriter = new FailingWriter();
+    writer.startStreaming( failingWriter );
+    failingWriter.problem = new IOException();
+    writer.appendCall( shellId, "foo", null );
+    Message message = createMessage();
+
+    try {
+      writer.finishStreaming( message.getHead() );
+      fail();
+    } catch( IOException exception ) {
+      assertSame( failingWriter.problem, exception );
+    }
+  }
+
   private Message createMessage() {
     return writer.createMessage();
   }
 
+  private static class FailingWriter extends Writer {
+
+    IOException problem;
+
+    @Override
+    public void write( char[] buffer, int offset, int length ) throws IOException {
+      if( problem != null ) {
+        throw problem;
+      }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2016 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -59,8 +59,7 @@ public class ClientResources_Test {
 
     assertFalse( resourceManager.isRegistered( "qx/lang/Core.js" ) );
     assertTrue( resourceManager.isRegistered( RAP_CLIENT_JS_PATH ) );
-    Theme defaultTheme = themeManager.getTheme( RWT.DEFAULT_THEME_ID );
-    assertTrue( resourceManager.isRegistered( "rap-" + defaultTheme.getJsId() + ".json" ) );
+    assertDefaultThemeStoreRegistered();
   }
 
   @Test
@@ -70,8 +69,7 @@ public class ClientResources_Test {
 
     assertTrue( resourceManager.isRegistered( RAP_CLIENT_JS_PATH ) );
     assertFalse( resourceManager.isRegistered( "rwt/runtime/System.js" ) );
-    Theme defaultTheme = themeManager.getTheme( RWT.DEFAULT_THEME_ID );
-    assertTrue( resourceManager.isRegistered( "rap-" + defaultTheme.getJsId() + ".json" ) );
+    assertDefaultThemeStoreRegistered();
   }
 
   @Test
@@ -108,6 +106,14 @@ public class ClientResources_Test {
     assertTrue( clientJs.contains( "Copyright" ) );
   }
 
+  private void assertDefaultThemeStoreRegistered() {
+    Theme defaultTheme = themeManager.getTheme( RWT.DEFAULT_THEME_ID );
+    String location = defaultTheme.getRegisteredLocation();
+    String name = location.substring( location.lastIndexOf( '/' ) + 1 );
+    assertTrue( name.matches( "rap-" + defaultTheme.getJsId() + "-[0-9a-f]+\\.json" ) );
+    assertTrue( resourceManager.isRegistered( name ) );
+  }
+
   private String getRegisteredContent( String name ) throws IOException {
     InputStream inputStream = resourceManager.getRegisteredContent( name );
     try {
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.testfixture.internal.FileUtil;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class InMemoryResourceManager_Test {
+
+  private static final byte[] SCRIPT = createScript();
+  private static final byte[] IMAGE = new byte[] { 1, 2, 3 };
+
+  private InMemoryResourceManager resourceManager;
+  private ServletContext servletContext;
+  private TestResponse response;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    ResourceDirectory resourceDirectory = getApplicationContext().getResourceDirectory();
+    resourceManager = new InMemoryResourceManager( resourceDirectory );
+    servletContext = mock( ServletContext.class );
+    when( servletContext.getMimeType( "/path/script.js" ) ).thenReturn( "text/javascript" );
+    response = new TestResponse();
+  }
+
+  @After
+  public void tearDown() {
+    File path = new File( Fixture.WEB_CONTEXT_DIR, ResourceDirectory.DIRNAME );
+    FileUtil.delete( path );
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testRegister_writesResourceToDisk() throws IOException {
+    resourceManager.register( "path/script.js", new ByteArrayInputStream( SCRIPT ) );
+
+    File file = new File( Fixture.WEB_CONTEXT_DIR, ResourceDirectory.DIRNAME + "/path/script.js" );
+    assertArrayEquals( SCRIPT, Files.readAllBytes( file.toPath() ) );
+  }
+
+  @Test
+  public void testGetRegisteredContent() throws IOException {
+    resourceManager.register( "path/image.png", new ByteArrayInputStream( IMAGE ) );
+
+    InputStream content = resourceManager.getRegisteredContent( "path/image.png" );
+
+    assertArrayEquals( IMAGE, read( content ) );
+  }
+
+  @Test
+  public void testGetRegisteredContent_withUnregisteredResource() {
+    assertNull( resourceManager.getRegisteredContent( "path/image.png" ) );
+  }
+
+  @Test
+  public void testRegister_sharesEqualContent() {
+    resourceManager.register( "image1.png", new ByteArrayInputStream( IMAGE ) );
+    resourceManager.register( "image2.png", new ByteArrayInputStream( IMAGE ) );
+
+    assertEquals( 1, resourceManager.getStoredContentCount() );
+  }
+
+  @Test
+  public void testRegister_replacesPreviousContent() {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    resourceManager.register( "image.png", new ByteArrayInputStream( new byte[] { 4 } ) );
+
+    assertEquals( 1, resourceManager.getStoredContentCount() );
+  }
+
+  @Test
+  public void testUnregister_releasesContent() {
+    resourceManager.register( "image1.png", new ByteArrayInputStream( IMAGE ) );
+    resourceManager.register( "image2.png", new ByteArrayInputStream( IMAGE ) );
+
+    resourceManager.unregister( "image1.png" );
+    assertEquals( 1, resourceManager.getStoredContentCount() );
+    resourceManager.unregister( "image2.png" );
+    assertEquals( 0, resourceManager.getStoredContentCount() );
+  }
+
+  @Test
+  public void testServe() throws IOException {
+    resourceManager.register( "path/script.js", new ByteArrayInputStream( SCRIPT ) );
+
+    resourceManager.serve( createRequest( "/path/script.js" ), response, servletContext );
+
+    assertArrayEquals( SCRIPT, getResponseContent() );
+    assertEquals( "text/javascript", response.getContentType() );
+    assertNotNull( response.getHeader( "ETag" ) );
+    assertNotNull( response.getHeader( "Last-Modified" ) );
+    assertNull( response.getHeader( "Content-Encoding" ) );
+  }
+
+  @Test
+  public void testServe_withGzip() throws IOException {
+    resourceManager.register( "path/script.js", new ByteArrayInputStream( SCRIPT ) );
+    HttpServletRequest request = createRequest( "/path/script.js" );
+    when( request.getHeader( "Accept-Encoding" ) ).thenReturn( "deflate, gzip" );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertEquals( "gzip", response.getHeader( "Content-Encoding" ) );
+    assertEquals( "Accept-Encoding", response.getHeader( "Vary" ) );
+    assertArrayEquals( SCRIPT, read( new GZIPInputStream( getResponseContentStream() ) ) );
+  }
+
+  @Test
+  public void testServe_withRefusedGzip() throws IOException {
+    resourceManager.register( "path/script.js", new ByteArrayInputStream( SCRIPT ) );
+    HttpServletRequest request = createRequest( "/path/script.js" );
+    when( request.getHeader( "Accept-Encoding" ) ).thenReturn( "gzip;q=0" );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertArrayEquals( SCRIPT, getResponseContent() );
+  }
+
+  @Test
+  public void testServe_doesNotCompressImages() throws IOException {
+    byte[] image = new byte[ 1000 ];
+    resourceManager.register( "image.png", new ByteArrayInputStream( image ) );
+    HttpServletRequest request = createRequest( "/image.png" );
+    when( request.getHeader( "Accept-Encoding" ) ).thenReturn( "gzip" );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertNull( response.getHeader( "Content-Encoding" ) );
+    assertNull( response.getHeader( "Vary" ) );
+    assertArrayEquals( image, getResponseContent() );
+  }
+
+  @Test
+  public void testServe_usesDifferentETagForGzip() throws IOException {
+    resourceManager.register( "path/script.js", new ByteArrayInputStream( SCRIPT ) );
+    resourceManager.serve( createRequest( "/path/script.js" ), response, servletContext );
+    String etag = response.getHeader( "ETag" );
+    HttpServletRequest request = createRequest( "/path/script.js" );
+    when( request.getHeader( "Accept-Encoding" ) ).thenReturn( "gzip" );
+    TestResponse gzipResponse = new TestResponse();
+
+    resourceManager.serve( request, gzipResponse, servletContext );
+
+    assertNotEquals( etag, gzipResponse.getHeader( "ETag" ) );
+  }
+
+  @Test
+  public void testServe_withMatchingETag() throws IOException {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    resourceManager.serve( createRequest( "/image.png" ), response, servletContext );
+    HttpServletRequest request = createRequest( "/image.png" );
+    when( request.getHeader( "If-None-Match" ) ).thenReturn( response.getHeader( "ETag" ) );
+    TestResponse conditionalResponse = new TestResponse();
+
+    resourceManager.serve( request, conditionalResponse, servletContext );
+
+    assertEquals( HttpServletResponse.SC_NOT_MODIFIED, conditionalResponse.getStatus() );
+    assertEquals( 0, getContent( conditionalResponse ).length );
+  }
+
+  @Test
+  public void testServe_withOtherETag() throws IOException {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    HttpServletRequest request = createRequest( "/image.png" );
+    when( request.getHeader( "If-None-Match" ) ).thenReturn( "\"foo\", W/\"bar\"" );
+    when( Long.valueOf( request.getDateHeader( "If-Modified-Since" ) ) )
+      .thenReturn( Long.valueOf( System.currentTimeMillis() + 1000 ) );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertEquals( 0, response.getStatus() );
+    assertArrayEquals( IMAGE, getResponseContent() );
+  }
+
+  @Test
+  public void testServe_withIfModifiedSince() throws IOException {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    HttpServletRequest request = createRequest( "/image.png" );
+    when( Long.valueOf( request.getDateHeader( "If-Modified-Since" ) ) )
+      .thenReturn( Long.valueOf( System.currentTimeMillis() + 1000 ) );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertEquals( HttpServletResponse.SC_NOT_MODIFIED, response.getStatus() );
+  }
+
+  @Test
+  public void testServe_withOutdatedIfModifiedSince() throws IOException {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    HttpServletRequest request = createRequest( "/image.png" );
+    when( Long.valueOf( request.getDateHeader( "If-Modified-Since" ) ) )
+      .thenReturn( Long.valueOf( System.currentTimeMillis() - 60000 ) );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertArrayEquals( IMAGE, getResponseContent() );
+  }
+
+  @Test
+  public void testServe_withHeadRequest() throws IOException {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    HttpServletRequest request = createRequest( "/image.png" );
+    when( request.getMethod() ).thenReturn( "HEAD" );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertNotNull( response.getHeader( "ETag" ) );
+    assertEquals( 0, getResponseContent().length );
+  }
+
+  @Test
+  public void testServe_withPostRequest() throws IOException {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    HttpServletRequest request = createRequest( "/image.png" );
+    when( request.getMethod() ).thenReturn( "POST" );
+
+    resourceManager.serve( request, response, servletContext );
+
+    assertEquals( HttpServletResponse.SC_METHOD_NOT_ALLOWED, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testServe_withUnknownResource() throws IOException {
+    resourceManager.serve( createRequest( "/image.png" ), response, servletContext );
+
+    assertEquals( HttpServletResponse.SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testServe_afterUnregister() throws IOException {
+    resourceManager.register( "image.png", new ByteArrayInputStream( IMAGE ) );
+    resourceManager.unregister( "image.png" );
+
+    resourceManager.serve( createRequest( "/image.png" ), response, servletContext );
+
+    assertEquals( HttpServletResponse.SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testServe_withEscapedName() throws IOException {
+    resourceManager.register( "path\\image:1.png", new ByteArrayInputStream( IMAGE ) );
+    String location = resourceManager.getLocation( "path\\image:1.png" );
+    String pathInfo = location.substring( ResourceDirectory.DIRNAME.length() );
+
+    resourceManager.serve( createRequest( pathInfo ), response, servletContext );
+
+    assertFalse( response.getErrorStatus() == HttpServletResponse.SC_NOT_FOUND );
+    assertArrayEquals( IMAGE, getResponseContent() );
+  }
+
+  @Test
+  public void testIsDisabledByDefault() {
+    assertFalse( getApplicationContext().getResourceManager() instanceof InMemoryResourceManager );
+  }
+
+  private static HttpServletRequest createRequest( String pathInfo ) {
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( request.getMethod() ).thenReturn( "GET" );
+    when( request.getPathInfo() ).thenReturn( pathInfo );
+    when( Long.valueOf( request.getDateHeader( "If-Modified-Since" ) ) )
+      .thenReturn( Long.valueOf( -1 ) );
+    return request;
+  }
+
+  private byte[] getResponseContent() throws IOException {
+    return getContent( response );
+  }
+
+  private InputStream getResponseContentStream() throws IOException {
+    return new ByteArrayInputStream( getResponseContent() );
+  }
+
+  private static byte[] getContent( TestResponse response ) throws IOException {
+    return ( ( TestServletOutputStream )response.getOutputStream() ).getContent().toByteArray();
+  }
+
+  private static byte[] read( InputStream inputStream ) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    byte[] buffer = new byte[ 1024 ];
+    int read = inputStream.read( buffer );
+    while( read != -1 ) {
+      result.write( buffer, 0, read );
+      read = inputStream.read( buffer );
+    }
+    return result.toByteArray();
+  }
+
+  private static byte[] createScript() {
+    char[] chars = new char[ 2000 ];
+    Arrays.fill( chars, 'a' );
+    return ( "var x = '" + new String( chars ) + "';" ).getBytes( StandardCharsets.UTF_8 );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -19,6 +19,10 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -28,9 +32,13 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingListener;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.lifecycle.ProcessActionRunner;
@@ -83,6 +91,7 @@ public class ServerPushManager_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.ASYNC_SERVER_PUSH );
     Fixture.tearDown();
   }
 
@@ -563,6 +572,164 @@ public class ServerPushManager_Test {
     assertNotNull( response.getHeader( "Expires" ) );
   }
 
+  @Test
+  public void testProcessRequest_asyncParksRequest() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+
+    manager.processRequest( mockAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    assertTrue( manager.isCallBackRequestBlocked() );
+    assertEquals( 1, getRequestRegistry().getParkedRequestCount() );
+    verify( asyncContext, never() ).complete();
+  }
+
+  @Test
+  public void testProcessRequest_asyncDoesNotParkWithoutActivation() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+
+    manager.processRequest( request, ContextProvider.getResponse() );
+
+    assertFalse( manager.isCallBackRequestBlocked() );
+    verify( request, never() ).startAsync();
+  }
+
+  @Test
+  public void testProcessRequest_asyncCompletedOnWakeClient() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( mockAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    manager.setHasRunnables( true );
+    manager.wakeClient();
+
+    verify( asyncContext ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+    assertEquals( 0, getRequestRegistry().getParkedRequestCount() );
+  }
+
+  @Test
+  public void testProcessRequest_asyncNotCompletedOnWakeClientWithoutRunnables() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( mockAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    manager.wakeClient();
+
+    verify( asyncContext, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_asyncCompletedOnDeactivate() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( mockAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    manager.deactivateServerPushFor( HANDLE_1 );
+
+    verify( asyncContext ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_asyncSupersedesParkedRequest() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    AsyncContext asyncContext1 = mock( AsyncContext.class );
+    AsyncContext asyncContext2 = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( mockAsyncRequest( asyncContext1 ), ContextProvider.getResponse() );
+
+    manager.processRequest( mockAsyncRequest( asyncContext2 ), ContextProvider.getResponse() );
+
+    verify( asyncContext1 ).complete();
+    verify( asyncContext2, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+    assertEquals( 1, getRequestRegistry().getParkedRequestCount() );
+  }
+
+  @Test
+  public void testProcessRequest_asyncCompletedWhenSessionExpires() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    ContextProvider.getUISession().getHttpSession().setMaxInactiveInterval( 1 );
+    manager.setRequestCheckInterval( 10 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( mockAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    getRequestRegistry().checkParkedRequests( System.currentTimeMillis() + 5000 );
+
+    verify( asyncContext, times( 1 ) ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_asyncCompletedWhenConnectionBreaks() throws IOException {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    manager.setRequestCheckInterval( 10 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+    HttpServletResponse response = mock( HttpServletResponse.class );
+    PrintWriter failingWriter = mock( PrintWriter.class );
+    when( Boolean.valueOf( failingWriter.checkError() ) ).thenReturn( Boolean.TRUE );
+    when( response.getWriter() ).thenReturn( failingWriter );
+    when( asyncContext.getResponse() ).thenReturn( response );
+    manager.processRequest( request, ContextProvider.getResponse() );
+
+    getRequestRegistry().checkParkedRequests( System.currentTimeMillis() + 5000 );
+
+    // the keep-alive is written on the connection check executor
+    verify( asyncContext, timeout( 5000 ) ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_asyncKeepsRequestWhenConnectionAlive() {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    manager.setRequestCheckInterval( 10 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    manager.activateServerPushFor( HANDLE_1 );
+    manager.processRequest( mockAsyncRequest( asyncContext ), ContextProvider.getResponse() );
+
+    getRequestRegistry().checkParkedRequests( System.currentTimeMillis() + 5000 );
+
+    verify( asyncContext, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testProcessRequest_fallsBackToBlockingWithoutAsyncSupport() throws Exception {
+    System.setProperty( RWTProperties.ASYNC_SERVER_PUSH, "true" );
+    CallBackRequestSimulator callBackRequestSimulator = new CallBackRequestSimulator();
+
+    callBackRequestSimulator.sendRequest();
+
+    assertTrue( callBackRequestSimulator.isRequestRunning() );
+    assertEquals( 0, getRequestRegistry().getParkedRequestCount() );
+    manager.deactivateServerPushFor( HANDLE_1 );
+    callBackRequestSimulator.waitForRequest();
+    assertFalse( callBackRequestSimulator.isRequestRunning() );
+  }
+
+  private static ServerPushRequestRegistry getRequestRegistry() {
+    return ContextProvider.getApplicationContext().getServerPushRequestRegistry();
+  }
+
+  private static HttpServletRequest mockAsyncRequest( AsyncContext asyncContext ) {
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( Boolean.valueOf( request.isAsyncSupported() ) ).thenReturn( Boolean.TRUE );
+    when( request.startAsync() ).thenReturn( asyncContext );
+    when( asyncContext.getResponse() ).thenReturn( ContextProvider.getResponse() );
+    return request;
+  }
+
   private void simulateBackgroundAddition( final ServiceContext serviceContext ) throws Throwable {
     Runnable runnable = new Runnable() {
       @Override
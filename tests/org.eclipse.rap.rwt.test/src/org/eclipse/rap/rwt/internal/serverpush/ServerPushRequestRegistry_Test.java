@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.serverpush;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushRequestRegistry.ParkedRequest;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ServerPushRequestRegistry_Test {
+
+  private ServerPushRequestRegistry registry;
+  private ServerPushManager manager;
+  private UISession uiSession;
+  private List<Runnable> connectionChecks;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    connectionChecks = new ArrayList<>();
+    registry = new ServerPushRequestRegistry( new Executor() {
+      @Override
+      public void execute( Runnable command ) {
+        connectionChecks.add( command );
+      }
+    } );
+    manager = ServerPushManager.getInstance();
+    uiSession = ContextProvider.getUISession();
+  }
+
+  @After
+  public void tearDown() {
+    registry.deactivate();
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testPark() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    assertFalse( parkedRequest.isDone() );
+    assertEquals( 1, registry.getParkedRequestCount() );
+    verify( asyncContext ).addListener( parkedRequest );
+  }
+
+  @Test
+  public void testPark_completesPreviousRequestOfSameSession() {
+    AsyncContext asyncContext1 = mock( AsyncContext.class );
+    AsyncContext asyncContext2 = mock( AsyncContext.class );
+    ParkedRequest parkedRequest1 = registry.park( uiSession, manager, asyncContext1 );
+
+    registry.park( uiSession, manager, asyncContext2 );
+
+    assertTrue( parkedRequest1.isDone() );
+    verify( asyncContext1 ).complete();
+    verify( asyncContext2, never() ).complete();
+    assertEquals( 1, registry.getParkedRequestCount() );
+  }
+
+  @Test
+  public void testComplete() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.complete();
+
+    assertTrue( parkedRequest.isDone() );
+    assertEquals( 0, registry.getParkedRequestCount() );
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testComplete_isIdempotent() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.complete();
+    parkedRequest.complete();
+
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testComplete_ignoresAlreadyCompletedContext() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    doThrow( new IllegalStateException() ).when( asyncContext ).complete();
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.complete();
+
+    assertTrue( parkedRequest.isDone() );
+  }
+
+  @Test
+  public void testOnComplete_removesRequest() throws IOException {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.onComplete( mock( AsyncEvent.class ) );
+
+    assertTrue( parkedRequest.isDone() );
+    assertEquals( 0, registry.getParkedRequestCount() );
+    verify( asyncContext, never() ).complete();
+  }
+
+  @Test
+  public void testOnError_completesRequest() throws IOException {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.onError( mock( AsyncEvent.class ) );
+
+    assertEquals( 0, registry.getParkedRequestCount() );
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testCheckParkedRequests_completesRequestOfDestroyedUISession() {
+    manager.activateServerPushFor( new Object() );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    registry.park( uiSession, manager, asyncContext );
+
+    ( ( UISessionImpl )uiSession ).shutdown();
+    registry.checkParkedRequests( System.currentTimeMillis() );
+
+    assertEquals( 0, registry.getParkedRequestCount() );
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testPark_withDestroyedUISession_completesRequest() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    ( ( UISessionImpl )uiSession ).shutdown();
+
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    assertTrue( parkedRequest.isDone() );
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testDeactivate_completesAllRequests() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    registry.park( uiSession, manager, asyncContext );
+
+    registry.deactivate();
+
+    assertEquals( 0, registry.getParkedRequestCount() );
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testCheckParkedRequests_releasesWhenServerPushInactive() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    registry.park( uiSession, manager, asyncContext );
+
+    registry.checkParkedRequests( System.currentTimeMillis() + 60000 );
+
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testCheckConnection_writesOnExecutor() throws IOException {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletResponse response = mockResponse( asyncContext, false );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.checkConnection();
+
+    verifyZeroInteractions( response );
+    runConnectionChecks();
+    assertFalse( parkedRequest.isDone() );
+    verify( asyncContext, never() ).complete();
+  }
+
+  @Test
+  public void testCheckConnection_skipsWhileWriteIsPending() {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.checkConnection();
+    parkedRequest.checkConnection();
+
+    assertEquals( 1, connectionChecks.size() );
+  }
+
+  @Test
+  public void testCheckConnection_completesRequestWithBrokenConnection() throws IOException {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    mockResponse( asyncContext, true );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+
+    parkedRequest.checkConnection();
+    runConnectionChecks();
+
+    assertTrue( parkedRequest.isDone() );
+    assertEquals( 0, registry.getParkedRequestCount() );
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testComplete_duringPendingWrite_doesNotWait() throws IOException {
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletResponse response = mockResponse( asyncContext, false );
+    ParkedRequest parkedRequest = registry.park( uiSession, manager, asyncContext );
+    parkedRequest.checkConnection();
+
+    parkedRequest.complete();
+
+    assertTrue( parkedRequest.isDone() );
+    assertEquals( 0, registry.getParkedRequestCount() );
+    verify( asyncContext, never() ).complete();
+    runConnectionChecks();
+    verify( asyncContext ).complete();
+    verifyZeroInteractions( response );
+  }
+
+  @Test
+  public void testCheckParkedRequests_respectsCheckInterval() {
+    manager.activateServerPushFor( new Object() );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    registry.park( uiSession, manager, asyncContext );
+
+    registry.checkParkedRequests( System.currentTimeMillis() );
+
+    verify( asyncContext, never() ).complete();
+    assertEquals( 1, registry.getParkedRequestCount() );
+  }
+
+  private void runConnectionChecks() {
+    for( Runnable connectionCheck : new ArrayList<>( connectionChecks ) ) {
+      connectionCheck.run();
+    }
+    connectionChecks.clear();
+  }
+
+  private static HttpServletResponse mockResponse( AsyncContext asyncContext, boolean broken )
+    throws IOException
+  {
+    HttpServletResponse response = mock( HttpServletResponse.class );
+    PrintWriter writer = mock( PrintWriter.class );
+    when( Boolean.valueOf( writer.checkError() ) ).thenReturn( Boolean.valueOf( broken ) );
+    when( response.getWriter() ).thenReturn( writer );
+    when( asyncContext.getResponse() ).thenReturn( response );
+    return response;
+  }
+
+}
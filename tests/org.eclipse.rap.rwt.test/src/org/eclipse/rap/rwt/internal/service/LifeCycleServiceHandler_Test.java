@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,15 +20,23 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -37,6 +45,7 @@ import javax.servlet.http.HttpSession;
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.rwt.client.WebClient;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessageConst;
 import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
@@ -45,6 +54,7 @@ import org.eclipse.rap.rwt.internal.remote.MessageChainElement;
 import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
 import org.eclipse.rap.rwt.internal.remote.MessageFilter;
 import org.eclipse.rap.rwt.internal.remote.MessageFilterChain;
+import org.eclipse.rap.rwt.internal.util.PooledGzipOutputStream;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.rap.rwt.service.UISessionEvent;
@@ -54,10 +64,13 @@ import org.eclipse.rap.rwt.testfixture.internal.TestMessage;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponseMessage;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletOutputStream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 
 public class LifeCycleServiceHandler_Test {
@@ -84,6 +97,11 @@ public class LifeCycleServiceHandler_Test {
   @After
   public void tearDown() {
     Fixture.tearDown();
+    System.getProperties().remove( RWTProperties.STREAMING_RESPONSE );
+    System.getProperties().remove( RWTProperties.COMPRESS_REPLAY_BUFFER );
+    System.getProperties().remove( RWTProperties.COMPACT_PROTOCOL );
+    System.getProperties().remove( RWTProperties.COMPRESS_RESPONSES );
+    System.getProperties().remove( RWTProperties.COMPRESSION_THRESHOLD );
   }
 
   @Test
@@ -279,6 +297,345 @@ public class LifeCycleServiceHandler_Test {
     assertEquals( firstResponse, secondResponse );
   }
 
+  @Test
+  public void testSendBufferedResponse_compressed() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_REPLAY_BUFFER, "true" );
+    simulateUiRequest();
+    int requestCounter = RequestCounter.getInstance().nextRequestId();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    service( serviceHandler );
+    String firstResponse = getResponse().getContent();
+
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    service( serviceHandler );
+    String secondResponse = getResponse().getContent();
+
+    assertTrue( LifeCycleServiceHandler.getBufferedResponse().isCompressed() );
+    assertEquals( firstResponse, secondResponse );
+  }
+
+  @Test
+  public void testBuffersEncodedResponse() throws IOException {
+    simulateUiRequest();
+
+    service( serviceHandler );
+
+    ResponseReplayBuffer bufferedResponse = LifeCycleServiceHandler.getBufferedResponse();
+    assertFalse( bufferedResponse.isCompressed() );
+    assertEquals( getResponse().getContent().length(), bufferedResponse.getSize() );
+  }
+
+  @Test
+  public void testStreamingResponse() throws IOException {
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertTrue( message.get( "head" ).asObject().get( "test" ).asBoolean() );
+    assertEquals( 1, message.get( "operations" ).asArray().size() );
+  }
+
+  @Test
+  public void testStreamingResponse_sendBufferedResponse() throws IOException {
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    int requestCounter = RequestCounter.getInstance().nextRequestId();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+    service( serviceHandler );
+    String firstResponse = getResponse().getContent();
+
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    service( serviceHandler );
+    String secondResponse = getResponse().getContent();
+
+    assertEquals( firstResponse, secondResponse );
+  }
+
+  @Test
+  public void testStreamingResponse_sendsErrorIfProcessingFails() throws IOException {
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+    doThrow( new RuntimeException() )
+      .when( filter ).handleMessage( any( RequestMessage.class ), any( MessageFilterChain.class ) );
+
+    try {
+      service( serviceHandler );
+      fail();
+    } catch( RuntimeException expected ) {
+    }
+
+    TestResponse response = getResponse();
+    assertEquals( HttpServletResponse.SC_INTERNAL_SERVER_ERROR, response.getStatus() );
+    JsonObject message = JsonObject.readFrom( response.getContent() );
+    assertEquals( "request failed", getError( message ) );
+    assertTrue( message.get( "operations" ).asArray().isEmpty() );
+  }
+
+  @Test
+  public void testStreamingResponse_sendsUncompressedErrorIfProcessingFails() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+    doThrow( new RuntimeException() )
+      .when( filter ).handleMessage( any( RequestMessage.class ), any( MessageFilterChain.class ) );
+
+    try {
+      service( serviceHandler );
+      fail();
+    } catch( RuntimeException expected ) {
+    }
+
+    assertNull( getResponse().getHeader( "Content-Encoding" ) );
+    JsonObject message = JsonObject.readFrom( getResponseBytes().toString( "UTF-8" ) );
+    assertEquals( "request failed", getError( message ) );
+  }
+
+  @Test
+  public void testUIRequest_marksUISessionModifiedBeforeProcessing() throws IOException {
+    simulateUiRequest();
+    final UISessionImpl uiSession = ( UISessionImpl )getUISession();
+    uiSession.resetModified();
+    final AtomicBoolean modified = new AtomicBoolean();
+    doAnswer( new Answer<ResponseMessage>() {
+      @Override
+      public ResponseMessage answer( InvocationOnMock invocation ) {
+        modified.set( uiSession.resetModified() );
+        return new TestResponseMessage();
+      }
+    } ).when( filter ).handleMessage( any( RequestMessage.class ), any( MessageFilterChain.class ) );
+
+    service( serviceHandler );
+
+    assertTrue( modified.get() );
+  }
+
+  @Test
+  public void testStreamingResponse_releasesDeflaterIfProcessingFails() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+    doThrow( new RuntimeException() )
+      .when( filter ).handleMessage( any( RequestMessage.class ), any( MessageFilterChain.class ) );
+    PooledGzipOutputStream.compress( new byte[ 10 ], 0, 10 );
+    int poolSize = PooledGzipOutputStream.getPoolSize();
+
+    try {
+      service( serviceHandler );
+      fail();
+    } catch( RuntimeException expected ) {
+    }
+
+    assertEquals( poolSize, PooledGzipOutputStream.getPoolSize() );
+  }
+
+  @Test
+  public void testCompressResponse() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.COMPRESSION_THRESHOLD, "0" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip, deflate" );
+
+    service( serviceHandler );
+
+    assertEquals( "gzip", getResponse().getHeader( "Content-Encoding" ) );
+    assertEquals( "Accept-Encoding", getResponse().getHeader( "Vary" ) );
+    JsonObject message = JsonObject.readFrom( getDecompressedContent() );
+    assertTrue( message.get( "head" ).asObject().get( "test" ).asBoolean() );
+  }
+
+  @Test
+  public void testCompressResponse_isNotUsedByDefault() throws IOException {
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+
+    service( serviceHandler );
+
+    assertNull( getResponse().getHeader( "Content-Encoding" ) );
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertTrue( message.get( "head" ).asObject().get( "test" ).asBoolean() );
+  }
+
+  @Test
+  public void testCompressResponse_isNotUsedIfNotAccepted() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.COMPRESSION_THRESHOLD, "0" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip;q=0" );
+
+    service( serviceHandler );
+
+    assertNull( getResponse().getHeader( "Content-Encoding" ) );
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertTrue( message.get( "head" ).asObject().get( "test" ).asBoolean() );
+  }
+
+  @Test
+  public void testCompressResponse_belowThreshold() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+
+    service( serviceHandler );
+
+    assertNull( getResponse().getHeader( "Content-Encoding" ) );
+    JsonObject message = JsonObject.readFrom( getResponseBytes().toString( "UTF-8" ) );
+    assertTrue( message.get( "head" ).asObject().get( "test" ).asBoolean() );
+  }
+
+  @Test
+  public void testCompressResponse_sendBufferedResponse() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.COMPRESSION_THRESHOLD, "0" );
+    System.setProperty( RWTProperties.COMPRESS_REPLAY_BUFFER, "true" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+    int requestCounter = RequestCounter.getInstance().nextRequestId();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    service( serviceHandler );
+    String firstResponse = getDecompressedContent();
+
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    service( serviceHandler );
+    String secondResponse = getDecompressedContent();
+
+    assertEquals( "gzip", getResponse().getHeader( "Content-Encoding" ) );
+    assertEquals( firstResponse, secondResponse );
+  }
+
+  @Test
+  public void testCompressResponse_withStreamingResponse() throws IOException {
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+
+    service( serviceHandler );
+
+    assertEquals( "gzip", getResponse().getHeader( "Content-Encoding" ) );
+    JsonObject message = JsonObject.readFrom( getDecompressedContent() );
+    assertTrue( message.get( "head" ).asObject().get( "test" ).asBoolean() );
+    assertEquals( 1, message.get( "operations" ).asArray().size() );
+  }
+
+  @Test
+  public void testCompactEncoding_isNotUsedByDefault() throws IOException {
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( ClientMessageConst.ENCODING, "compact" );
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertNull( message.get( "head" ).asObject().get( "encoding" ) );
+  }
+
+  @Test
+  public void testCompactEncoding_isNotUsedIfNotRequested() throws IOException {
+    System.setProperty( RWTProperties.COMPACT_PROTOCOL, "true" );
+    simulateUiRequest();
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertNull( message.get( "head" ).asObject().get( "encoding" ) );
+  }
+
+  @Test
+  public void testCompactEncoding() throws IOException {
+    System.setProperty( RWTProperties.COMPACT_PROTOCOL, "true" );
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( ClientMessageConst.ENCODING, "compact" );
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+    when( filter.handleMessage( any( RequestMessage.class ), any( MessageFilterChain.class ) ) )
+      .thenAnswer( new Answer<ResponseMessage>() {
+        @Override
+        public ResponseMessage answer( InvocationOnMock invocation ) {
+          return ContextProvider.getProtocolWriter().createMessage();
+        }
+      } );
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    JsonObject head = message.get( "head" ).asObject();
+    assertEquals( "compact", head.get( "encoding" ).asString() );
+    assertEquals( new JsonArray().add( "w1" ).add( "foo" ), head.get( "keys" ) );
+    JsonArray operation = new JsonArray().add( "call" ).add( 0 ).add( 1 ).add( new JsonArray() );
+    assertEquals( new JsonArray().add( operation ), message.get( "operations" ) );
+  }
+
+  @Test
+  public void testCompactEncoding_withStreamingResponse() throws IOException {
+    System.setProperty( RWTProperties.COMPACT_PROTOCOL, "true" );
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( ClientMessageConst.ENCODING, "compact" );
+    ContextProvider.getProtocolWriter().appendCall( "w1", "foo", null );
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    JsonObject head = message.get( "head" ).asObject();
+    assertEquals( "compact", head.get( "encoding" ).asString() );
+    assertTrue( head.get( "test" ).asBoolean() );
+    assertEquals( new JsonArray().add( "w1" ).add( "foo" ), head.get( "keys" ) );
+  }
+
+  @Test
+  public void testCompactEncoding_isNotUsedForCompressedResponses() throws IOException {
+    System.setProperty( RWTProperties.COMPACT_PROTOCOL, "true" );
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.COMPRESSION_THRESHOLD, "0" );
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( ClientMessageConst.ENCODING, "compact" );
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getDecompressedContent() );
+    assertNull( message.get( "head" ).asObject().get( "encoding" ) );
+  }
+
+  @Test
+  public void testCompactEncoding_isNotUsedForCompressedStreamingResponses() throws IOException {
+    System.setProperty( RWTProperties.COMPACT_PROTOCOL, "true" );
+    System.setProperty( RWTProperties.COMPRESS_RESPONSES, "true" );
+    System.setProperty( RWTProperties.STREAMING_RESPONSE, "true" );
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( ClientMessageConst.ENCODING, "compact" );
+    getRequest().setHeader( "Accept-Encoding", "gzip" );
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getDecompressedContent() );
+    assertNull( message.get( "head" ).asObject().get( "encoding" ) );
+  }
+
+  @Test
+  public void testCompactEncoding_isNotUsedForErrors() throws IOException {
+    System.setProperty( RWTProperties.COMPACT_PROTOCOL, "true" );
+    simulateUiRequestWithIllegalCounter();
+    Fixture.fakeHeadParameter( ClientMessageConst.ENCODING, "compact" );
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertNull( message.get( "head" ).asObject().get( "encoding" ) );
+  }
+
   @Test
   public void testWritesValidJson() throws IOException {
     simulateUiRequest();
@@ -422,6 +779,25 @@ public class LifeCycleServiceHandler_Test {
     return ( TestResponse )ContextProvider.getResponse();
   }
 
+  private static ByteArrayOutputStream getResponseBytes() throws IOException {
+    return ( ( TestServletOutputStream )getResponse().getOutputStream() ).getContent();
+  }
+
+  private static String getDecompressedContent() throws IOException {
+    byte[] bytes = getResponseBytes().toByteArray();
+    InputStream inputStream = new GZIPInputStream( new ByteArrayInputStream( bytes ) );
+    try( Reader reader = new InputStreamReader( inputStream, "UTF-8" ) ) {
+      StringBuilder result = new StringBuilder();
+      char[] buffer = new char[ 1024 ];
+      int read = reader.read( buffer );
+      while( read != -1 ) {
+        result.append( buffer, 0, read );
+        read = reader.read( buffer );
+      }
+      return result.toString();
+    }
+  }
+
   private static String getError( JsonObject message ) {
     return message.get( "head" ).asObject().get( "error" ).asString();
   }
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.eclipse.rap.rwt.internal.service.ResponseReplayBuffer.Recorder;
+import org.junit.Test;
+
+
+public class ResponseReplayBuffer_Test {
+
+  private static final String CONTENT = "{\"head\":{\"text\":\"füß €\"}}";
+
+  @Test
+  public void testRecorder_passesContentToWriter() throws IOException {
+    StringWriter writer = new StringWriter();
+    Recorder recorder = new Recorder( writer, false );
+
+    recorder.write( CONTENT );
+    recorder.write( '!' );
+
+    assertEquals( CONTENT + "!", writer.toString() );
+  }
+
+  @Test
+  public void testCreateBuffer_encodesUTF8() throws IOException {
+    Recorder recorder = new Recorder( new StringWriter(), false );
+    recorder.write( CONTENT );
+
+    ResponseReplayBuffer buffer = recorder.createBuffer();
+
+    assertFalse( buffer.isCompressed() );
+    assertEquals( CONTENT.getBytes( "UTF-8" ).length, buffer.getSize() );
+  }
+
+  @Test
+  public void testCreate() throws IOException {
+    ResponseReplayBuffer buffer = ResponseReplayBuffer.create( CONTENT.getBytes( "UTF-8" ), false );
+
+    assertFalse( buffer.isCompressed() );
+    assertArrayEquals( CONTENT.getBytes( "UTF-8" ), buffer.getContent() );
+  }
+
+  @Test
+  public void testCreate_compressed() throws IOException {
+    ResponseReplayBuffer buffer = ResponseReplayBuffer.create( CONTENT.getBytes( "UTF-8" ), true );
+    StringWriter writer = new StringWriter();
+
+    buffer.writeTo( writer );
+
+    assertTrue( buffer.isCompressed() );
+    assertEquals( CONTENT, writer.toString() );
+  }
+
+  @Test
+  public void testWriteTo() throws IOException {
+    ResponseReplayBuffer buffer = record( CONTENT, false );
+    StringWriter writer = new StringWriter();
+
+    buffer.writeTo( writer );
+
+    assertEquals( CONTENT, writer.toString() );
+  }
+
+  @Test
+  public void testWriteTo_compressed() throws IOException {
+    ResponseReplayBuffer buffer = record( CONTENT, true );
+    StringWriter writer = new StringWriter();
+
+    buffer.writeTo( writer );
+
+    assertTrue( buffer.isCompressed() );
+    assertEquals( CONTENT, writer.toString() );
+  }
+
+  @Test
+  public void testCompression_reducesSize() throws IOException {
+    StringBuilder content = new StringBuilder();
+    for( int i = 0; i < 1000; i++ ) {
+      content.append( CONTENT );
+    }
+
+    ResponseReplayBuffer buffer = record( content.toString(), true );
+
+    assertTrue( buffer.getSize() < content.length() / 10 );
+  }
+
+  @Test
+  public void testIsSerializable() throws Exception {
+    ResponseReplayBuffer buffer = record( CONTENT, true );
+
+    ResponseReplayBuffer deserialized = serializeAndDeserialize( buffer );
+
+    StringWriter writer = new StringWriter();
+    deserialized.writeTo( writer );
+    assertEquals( CONTENT, writer.toString() );
+  }
+
+  private static ResponseReplayBuffer record( String content, boolean compress )
+    throws IOException
+  {
+    Recorder recorder = new Recorder( new StringWriter(), compress );
+    recorder.write( content );
+    return recorder.createBuffer();
+  }
+
+}
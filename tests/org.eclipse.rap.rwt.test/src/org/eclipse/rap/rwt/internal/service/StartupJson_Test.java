@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,19 +14,23 @@ import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicatio
 import static org.eclipse.rap.rwt.internal.service.StartupJson.DISPLAY_TYPE;
 import static org.eclipse.rap.rwt.internal.service.StartupJson.METHOD_LOAD_ACTIVE_THEME;
 import static org.eclipse.rap.rwt.internal.service.StartupJson.METHOD_LOAD_FALLBACK_THEME;
+import static org.eclipse.rap.rwt.internal.service.StartupJson.PROPERTY_ENCODINGS;
 import static org.eclipse.rap.rwt.internal.service.StartupJson.PROPERTY_URL;
 import static org.eclipse.rap.rwt.internal.service.StartupJson.THEME_STORE_TYPE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import java.io.IOException;
 import java.util.HashMap;
 
+import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.rwt.application.EntryPointFactory;
 import org.eclipse.rap.rwt.client.WebClient;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
@@ -58,6 +62,7 @@ public class StartupJson_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.COMPACT_PROTOCOL );
     Fixture.tearDown();
   }
 
@@ -91,6 +96,23 @@ public class StartupJson_Test {
     assertNotNull( message.findCreateOperation( "w1" ) );
   }
 
+  @Test
+  public void testGet_withoutEncodings() {
+    JsonObject content = StartupJson.get();
+
+    assertNull( content.get( "head" ).asObject().get( PROPERTY_ENCODINGS ) );
+  }
+
+  @Test
+  public void testGet_offersCompactEncoding() {
+    System.setProperty( RWTProperties.COMPACT_PROTOCOL, "true" );
+
+    JsonObject content = StartupJson.get();
+
+    JsonArray encodings = new JsonArray().add( "compact" );
+    assertEquals( encodings, content.get( "head" ).asObject().get( PROPERTY_ENCODINGS ) );
+  }
+
   @Test
   public void testGet_loadFallbackTheme() {
     clientResources.registerResources();
@@ -101,8 +123,8 @@ public class StartupJson_Test {
     CallOperation operation
       = message.findCallOperation( THEME_STORE_TYPE, METHOD_LOAD_FALLBACK_THEME );
     assertNotNull( operation );
-    String expected = "rwt-resources/rap-rwt.theme.Fallback.json";
-    assertEquals( expected, operation.getParameters().get( PROPERTY_URL ).asString() );
+    String expected = "rwt-resources/rap-rwt\\.theme\\.Fallback-[0-9a-f]+\\.json";
+    assertTrue( operation.getParameters().get( PROPERTY_URL ).asString().matches( expected ) );
   }
 
   @Test
@@ -115,8 +137,8 @@ public class StartupJson_Test {
     CallOperation operation
       = message.findCallOperation( THEME_STORE_TYPE, METHOD_LOAD_ACTIVE_THEME );
     assertNotNull( operation );
-    String expected = "rwt-resources/rap-rwt.theme.Default.json";
-    assertEquals( expected, operation.getParameters().get( PROPERTY_URL ).asString() );
+    String expected = "rwt-resources/rap-rwt\\.theme\\.Default-[0-9a-f]+\\.json";
+    assertTrue( operation.getParameters().get( PROPERTY_URL ).asString().matches( expected ) );
   }
 
   @Test
@@ -133,8 +155,8 @@ public class StartupJson_Test {
     CallOperation operation
       = message.findCallOperation( THEME_STORE_TYPE, METHOD_LOAD_ACTIVE_THEME );
     assertNotNull( operation );
-    String expected = "rwt-resources/rap-rwt.theme.Custom_1465393d.json";
-    assertEquals( expected, operation.getParameters().get( PROPERTY_URL ).asString() );
+    String expected = "rwt-resources/rap-rwt\\.theme\\.Custom_1465393d-[0-9a-f]+\\.json";
+    assertTrue( operation.getParameters().get( PROPERTY_URL ).asString().matches( expected ) );
   }
 
   @Test
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+public class GlyphAdvances_Test {
+
+  @Test( expected = NullPointerException.class )
+  public void testCreate_withNullGlyphs() {
+    new GlyphAdvances( null, new float[ 0 ] );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testCreate_withDifferentLengths() {
+    new GlyphAdvances( "ab", new float[] { 1 } );
+  }
+
+  @Test
+  public void testDefaultGlyphs() {
+    assertEquals( 95 + 96, GlyphAdvances.DEFAULT_GLYPHS.length() );
+    assertTrue( GlyphAdvances.DEFAULT_GLYPHS.indexOf( ' ' ) != -1 );
+    assertTrue( GlyphAdvances.DEFAULT_GLYPHS.indexOf( 'ä' ) != -1 );
+    assertEquals( -1, GlyphAdvances.DEFAULT_GLYPHS.indexOf( '\n' ) );
+  }
+
+  @Test
+  public void testEmpty() {
+    assertEquals( -1, GlyphAdvances.EMPTY.getWidth( "a" ) );
+  }
+
+  @Test
+  public void testGetWidth_addsUpAdvances() {
+    GlyphAdvances advances = new GlyphAdvances( "ab", new float[] { 6.5f, 7.25f } );
+
+    assertEquals( 28, advances.getWidth( "abab" ) );
+  }
+
+  @Test
+  public void testGetWidth_roundsUp() {
+    GlyphAdvances advances = new GlyphAdvances( "ab", new float[] { 6.5f, 7.25f } );
+
+    assertEquals( 14, advances.getWidth( "ab" ) );
+  }
+
+  @Test
+  public void testGetWidth_toleratesRoundedAdvances() {
+    GlyphAdvances advances = new GlyphAdvances( "a", new float[] { 6.667f } );
+
+    assertEquals( 20, advances.getWidth( "aaa" ) );
+  }
+
+  @Test
+  public void testGetWidth_withEmptyString() {
+    GlyphAdvances advances = new GlyphAdvances( "a", new float[] { 6 } );
+
+    assertEquals( 0, advances.getWidth( "" ) );
+  }
+
+  @Test
+  public void testGetWidth_withUnknownGlyph() {
+    GlyphAdvances advances = new GlyphAdvances( "ac", new float[] { 6, 7 } );
+
+    assertEquals( -1, advances.getWidth( "ab" ) );
+    assertEquals( -1, advances.getWidth( "a中" ) );
+  }
+
+  @Test
+  public void testIsSerializable() throws Exception {
+    GlyphAdvances advances = new GlyphAdvances( "ab", new float[] { 6, 7 } );
+
+    GlyphAdvances deserialized = serializeAndDeserialize( advances );
+
+    assertEquals( 13, deserialized.getWidth( "ab" ) );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2018 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,11 +16,15 @@ import static org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory.getRemot
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementOperator.METHOD_MEASURE_ITEMS;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementOperator.METHOD_STORE_MEASUREMENTS;
+import static org.eclipse.rap.rwt.internal.textsize.MeasurementOperator.PARAM_ADVANCES;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementOperator.PARAM_ITEMS;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementOperator.PARAM_RESULTS;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementOperator.TYPE;
 import static org.eclipse.rap.rwt.internal.textsize.MeasurementUtil.getId;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -28,19 +32,27 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectRegistry;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.remote.OperationHandler;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.TestMessage;
+import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
@@ -74,6 +86,7 @@ public class MeasurementOperator_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT );
     Fixture.tearDown();
   }
 
@@ -100,6 +113,67 @@ public class MeasurementOperator_Test {
     assertEquals( 0, measurementOperator.getProbeCount() );
   }
 
+  @Test
+  public void testOperationHandler_handleCall_recordsProbeResultInSnapshot() throws IOException {
+    File file = File.createTempFile( "textsize", ".snapshot" );
+    TextSizeSnapshot snapshot = getApplicationContext().getTextSizeSnapshot();
+    snapshot.activate( file, 1 );
+    try {
+      setUserAgent( "agent" );
+      removeRemoteObject( TYPE );
+      LifeCycleUtil.setSessionDisplay( null );
+      createProbe( FONT_DATA_1 );
+      new MeasurementOperator();
+
+      JsonObject parameters = createMeasurementResult( FONT_DATA_1, null );
+      getOperationHandler( TYPE ).handleCall( METHOD_STORE_MEASUREMENTS, parameters );
+
+      assertEquals( new Point( 3, 4 ), snapshot.getProbeResults( "agent" ).get( FONT_DATA_1 ) );
+    } finally {
+      snapshot.deactivate();
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testInit_restoresProbeResultsFromSnapshot() throws IOException {
+    File file = File.createTempFile( "textsize", ".snapshot" );
+    TextSizeSnapshot snapshot = getApplicationContext().getTextSizeSnapshot();
+    snapshot.activate( file, 1 );
+    try {
+      snapshot.recordProbeResult( "agent", FONT_DATA_2, new Point( 5, 6 ) );
+      setUserAgent( "agent" );
+      removeRemoteObject( TYPE );
+
+      new MeasurementOperator();
+
+      ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA_2 );
+      assertEquals( new Point( 5, 6 ), probeResult.getSize() );
+    } finally {
+      snapshot.deactivate();
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testInit_doesNotRestoreProbeResultsOfOtherUserAgent() throws IOException {
+    File file = File.createTempFile( "textsize", ".snapshot" );
+    TextSizeSnapshot snapshot = getApplicationContext().getTextSizeSnapshot();
+    snapshot.activate( file, 1 );
+    try {
+      snapshot.recordProbeResult( "agent", FONT_DATA_2, new Point( 5, 6 ) );
+      setUserAgent( "other agent" );
+      removeRemoteObject( TYPE );
+
+      new MeasurementOperator();
+
+      assertFalse( ProbeResultStore.getInstance().containsProbeResult( FONT_DATA_2 ) );
+    } finally {
+      snapshot.deactivate();
+      file.delete();
+    }
+  }
+
   @Test
   public void testOperationHandler_handleCall() {
     Fixture.fakePhase( PhaseId.PROCESS_ACTION );
@@ -128,6 +202,48 @@ public class MeasurementOperator_Test {
     verify( listener, times( 2 ) ).handleEvent( any( Event.class ) );
   }
 
+  @Test
+  public void testOperationHandler_handleCall_storesGlyphAdvances() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    operator.addProbeToMeasure( FONT_DATA_1 );
+
+    JsonObject parameters = createMeasurementResult( FONT_DATA_1, null );
+    parameters.add( PARAM_ADVANCES, createGlyphAdvances( FONT_DATA_1 ) );
+    getOperationHandler( TYPE ).handleCall( METHOD_STORE_MEASUREMENTS, parameters );
+
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA_1 );
+    assertTrue( probeResult.hasGlyphAdvances() );
+    assertNotNull( probeResult.measure( "a" ) );
+  }
+
+  @Test
+  public void testOperationHandler_handleCall_withoutGlyphAdvances() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    operator.addProbeToMeasure( FONT_DATA_1 );
+
+    JsonObject parameters = createMeasurementResult( FONT_DATA_1, null );
+    getOperationHandler( TYPE ).handleCall( METHOD_STORE_MEASUREMENTS, parameters );
+
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA_1 );
+    assertTrue( probeResult.hasGlyphAdvances() );
+    assertNull( probeResult.measure( "a" ) );
+  }
+
+  @Test
+  public void testOperationHandler_handleCall_ignoresGlyphAdvancesIfDisabled() {
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    operator.addProbeToMeasure( FONT_DATA_1 );
+
+    JsonObject parameters = createMeasurementResult( FONT_DATA_1, null );
+    parameters.add( PARAM_ADVANCES, createGlyphAdvances( FONT_DATA_1 ) );
+    getOperationHandler( TYPE ).handleCall( METHOD_STORE_MEASUREMENTS, parameters );
+
+    ProbeResult probeResult = ProbeResultStore.getInstance().getProbeResult( FONT_DATA_1 );
+    assertFalse( probeResult.hasGlyphAdvances() );
+  }
+
   @Test
   public void testAddItemToMeasure() {
     operator.addItemToMeasure( MEASUREMENT_ITEM_1 );
@@ -215,6 +331,11 @@ public class MeasurementOperator_Test {
     return false;
   }
 
+  private static void setUserAgent( String userAgent ) {
+    TestRequest request = ( TestRequest )ContextProvider.getRequest();
+    request.setHeader( "User-Agent", userAgent );
+  }
+
   private void removeRemoteObject( String type ) {
     RemoteObjectRegistry.getInstance().remove( ( RemoteObjectImpl )getRemoteObject( type ) );
   }
@@ -238,6 +359,16 @@ public class MeasurementOperator_Test {
     return new JsonObject().add( PARAM_RESULTS, results );
   }
 
+  private static JsonObject createGlyphAdvances( FontData fontData ) {
+    // the advances add up to the probe width of 3 pixels, see createMeasurementResult
+    float advance = 3f / Probe.DEFAULT_PROBE_STRING.length();
+    JsonArray advances = new JsonArray();
+    for( int i = 0; i < GlyphAdvances.DEFAULT_GLYPHS.length(); i++ ) {
+      advances.add( advance );
+    }
+    return new JsonObject().add( getId( fontData ), advances );
+  }
+
   private void checkMeasurementItemBuffering( MeasurementItem item ) {
     assertEquals( 1, operator.getItemCount() );
     assertSame( item, operator.getItems()[ 0 ] );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.verify;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectRegistry;
@@ -50,6 +51,7 @@ public class MeasurementUtil_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT );
     Fixture.tearDown();
   }
 
@@ -94,6 +96,17 @@ public class MeasurementUtil_Test {
     assertEquals( expected, probeObject );
   }
 
+  @Test
+  public void testCreateProbeParamObject_withServerSideTextMeasurement() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    Probe probe = createProbe();
+
+    JsonArray probeObject = MeasurementUtil.createProbeParamObject( probe );
+
+    assertEquals( 9, probeObject.size() );
+    assertEquals( GlyphAdvances.DEFAULT_GLYPHS, probeObject.get( 8 ).asString() );
+  }
+
   @Test
   public void testCreateItemParamObject() {
     MeasurementItem item = createMeasurementItem();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,12 @@ package org.eclipse.rap.rwt.internal.textsize;
 
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.FontData;
@@ -70,9 +75,62 @@ public class ProbeResult_Test {
     assertEquals( probeResult.getProbe(), deserializeProbeResult.getProbe() );
   }
 
+  @Test
+  public void testHasGlyphAdvances_initially() {
+    ProbeResult probeResult = createProbeResult( "0123456789", 50 );
+
+    assertFalse( probeResult.hasGlyphAdvances() );
+    assertNull( probeResult.measure( "01" ) );
+  }
+
+  @Test
+  public void testSetGlyphAdvances() {
+    ProbeResult probeResult = createProbeResult( "0123456789", 50 );
+
+    probeResult.setGlyphAdvances( createGlyphAdvances( 5 ) );
+
+    assertTrue( probeResult.hasGlyphAdvances() );
+    assertEquals( new Point( 15, 12 ), probeResult.measure( "012" ) );
+  }
+
+  @Test
+  public void testSetGlyphAdvances_withClientOffset() {
+    ProbeResult probeResult = createProbeResult( "0123456789", 51 );
+
+    probeResult.setGlyphAdvances( createGlyphAdvances( 5 ) );
+
+    assertEquals( new Point( 16, 12 ), probeResult.measure( "012" ) );
+    assertEquals( new Point( 0, 12 ), probeResult.measure( "" ) );
+  }
+
+  @Test
+  public void testSetGlyphAdvances_ignoresAdvancesThatDoNotMatchProbe() {
+    ProbeResult probeResult = createProbeResult( "0123456789", 45 );
+
+    probeResult.setGlyphAdvances( createGlyphAdvances( 5 ) );
+
+    assertTrue( probeResult.hasGlyphAdvances() );
+    assertNull( probeResult.measure( "012" ) );
+  }
+
+  @Test
+  public void testMeasure_withUnknownGlyph() {
+    ProbeResult probeResult = createProbeResult( "0123456789", 50 );
+
+    probeResult.setGlyphAdvances( createGlyphAdvances( 5 ) );
+
+    assertNull( probeResult.measure( "01\n2" ) );
+  }
+
+  private static GlyphAdvances createGlyphAdvances( float advance ) {
+    float[] advances = new float[ GlyphAdvances.DEFAULT_GLYPHS.length() ];
+    Arrays.fill( advances, advance );
+    return new GlyphAdvances( GlyphAdvances.DEFAULT_GLYPHS, advances );
+  }
+
   private static ProbeResult createProbeResult( String text, int width ) {
     Probe probe = createProbe( text );
-    return new ProbeResult( probe, new Point( width, 0 ) );
+    return new ProbeResult( probe, new Point( width, 12 ) );
   }
 
   private static Probe createProbe( String text ) {
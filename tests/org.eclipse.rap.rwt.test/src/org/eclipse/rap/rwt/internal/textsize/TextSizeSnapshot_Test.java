@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class TextSizeSnapshot_Test {
+
+  private static final FontData FONT_DATA = new FontData( "arial", 12, SWT.BOLD );
+  private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64)";
+  private static final int VERSION = 23;
+
+  private File file;
+  private TextSizeStorage storage;
+  private TextSizeSnapshot snapshot;
+  private TextSizeStorage restoredStorage;
+  private TextSizeSnapshot restoredSnapshot;
+
+  @Before
+  public void setUp() throws IOException {
+    Fixture.setUp();
+    file = File.createTempFile( "textsize", ".snapshot" );
+    file.delete();
+    storage = new TextSizeStorage();
+    snapshot = new TextSizeSnapshot( storage );
+  }
+
+  @After
+  public void tearDown() {
+    snapshot.deactivate();
+    if( restoredSnapshot != null ) {
+      restoredSnapshot.deactivate();
+    }
+    file.delete();
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testIsInactiveByDefault() {
+    assertFalse( getApplicationContext().getTextSizeSnapshot().isActive() );
+  }
+
+  @Test
+  public void testActivate() {
+    snapshot.activate( file, VERSION );
+
+    assertTrue( snapshot.isActive() );
+  }
+
+  @Test
+  public void testDeactivate() {
+    snapshot.activate( file, VERSION );
+
+    snapshot.deactivate();
+
+    assertFalse( snapshot.isActive() );
+  }
+
+  @Test
+  public void testFlush_withoutModification() {
+    snapshot.activate( file, VERSION );
+
+    snapshot.flush();
+
+    assertFalse( file.exists() );
+  }
+
+  @Test
+  public void testFlush_restoresTextSizes() {
+    snapshot.activate( file, VERSION );
+    storage.storeFont( FONT_DATA );
+    storage.storeTextSize( 1, new Point( 10, 20 ) );
+    storage.storeTextSize( 2, new Point( -1, 30 ) );
+
+    snapshot.flush();
+    restore( VERSION );
+
+    assertArrayEquals( new FontData[] { FONT_DATA }, restoredStorage.getFontList() );
+    assertEquals( new Point( 10, 20 ), restoredStorage.lookupTextSize( 1 ) );
+    assertEquals( new Point( -1, 30 ), restoredStorage.lookupTextSize( 2 ) );
+  }
+
+  @Test
+  public void testFlush_keepsAccessOrder() {
+    snapshot.activate( file, VERSION );
+    storage.storeTextSize( 1, new Point( 1, 1 ) );
+    storage.storeTextSize( 2, new Point( 2, 2 ) );
+    storage.lookupTextSize( 1 );
+
+    snapshot.flush();
+    restore( VERSION );
+
+    long[] entries = restoredStorage.exportEntries();
+    assertEquals( 2, entries[ 0 ] );
+    assertEquals( 1, entries[ 2 ] );
+  }
+
+  @Test
+  public void testFlush_restoresProbeResults() {
+    snapshot.activate( file, VERSION );
+    storage.storeFont( FONT_DATA );
+    snapshot.recordProbeResult( USER_AGENT, FONT_DATA, new Point( 3, 4 ) );
+
+    snapshot.flush();
+    restore( VERSION );
+
+    Map<FontData,Point> probeResults = restoredSnapshot.getProbeResults( USER_AGENT );
+    assertEquals( 1, probeResults.size() );
+    assertEquals( new Point( 3, 4 ), probeResults.get( FONT_DATA ) );
+  }
+
+  @Test
+  public void testDeactivate_flushes() {
+    snapshot.activate( file, VERSION );
+    storage.storeTextSize( 1, new Point( 10, 20 ) );
+
+    snapshot.deactivate();
+    restore( VERSION );
+
+    assertEquals( new Point( 10, 20 ), restoredStorage.lookupTextSize( 1 ) );
+  }
+
+  @Test
+  public void testFlush_replacesLoadedFile() {
+    snapshot.activate( file, VERSION );
+    storage.storeTextSize( 1, new Point( 10, 20 ) );
+    snapshot.flush();
+    restore( VERSION );
+
+    restoredStorage.storeTextSize( 2, new Point( 30, 40 ) );
+    restoredSnapshot.deactivate();
+    restore( VERSION );
+
+    assertEquals( new Point( 10, 20 ), restoredStorage.lookupTextSize( 1 ) );
+    assertEquals( new Point( 30, 40 ), restoredStorage.lookupTextSize( 2 ) );
+  }
+
+  @Test
+  public void testFlush_retriesAfterFailedWrite() throws IOException {
+    File blocker = File.createTempFile( "textsize", ".blocker" );
+    file = new File( blocker, "snapshot" );
+    snapshot.activate( file, VERSION );
+    snapshot.recordProbeResult( USER_AGENT, FONT_DATA, new Point( 5, 10 ) );
+    snapshot.flush();
+    blocker.delete();
+
+    snapshot.flush();
+
+    assertTrue( file.exists() );
+    file.delete();
+    file.getParentFile().delete();
+  }
+
+  @Test
+  public void testActivate_ignoresOtherVersion() {
+    snapshot.activate( file, VERSION );
+    storage.storeTextSize( 1, new Point( 10, 20 ) );
+    snapshot.flush();
+
+    restore( VERSION + 1 );
+
+    assertNull( restoredStorage.lookupTextSize( 1 ) );
+  }
+
+  @Test
+  public void testActivate_ignoresCorruptFile() throws IOException {
+    snapshot.activate( file, VERSION );
+    storage.storeTextSize( 1, new Point( 10, 20 ) );
+    snapshot.flush();
+    byte[] content = Files.readAllBytes( file.toPath() );
+    Files.write( file.toPath(), Arrays.copyOf( content, content.length - 4 ) );
+
+    restore( VERSION );
+
+    assertNull( restoredStorage.lookupTextSize( 1 ) );
+  }
+
+  @Test
+  public void testRecordProbeResult_whenInactive() {
+    snapshot.recordProbeResult( USER_AGENT, FONT_DATA, new Point( 3, 4 ) );
+
+    assertNull( snapshot.getProbeResults( USER_AGENT ) );
+  }
+
+  @Test
+  public void testGetProbeResults_withUnknownUserAgent() {
+    snapshot.activate( file, VERSION );
+    snapshot.recordProbeResult( USER_AGENT, FONT_DATA, new Point( 3, 4 ) );
+
+    assertNull( snapshot.getProbeResults( "unknown" ) );
+    assertNull( snapshot.getProbeResults( null ) );
+  }
+
+  private void restore( int version ) {
+    restoredStorage = new TextSizeStorage();
+    restoredSnapshot = new TextSizeSnapshot( restoredStorage );
+    restoredSnapshot.activate( file, version );
+  }
+
+}
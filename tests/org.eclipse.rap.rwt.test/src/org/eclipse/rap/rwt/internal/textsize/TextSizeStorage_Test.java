@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2018 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -117,6 +117,100 @@ public class TextSizeStorage_Test {
     assertEquals( 20000, storage.getMaximumStoreSize() );
   }
 
+  @Test
+  public void testTextSizeStorage_replacesExistingSize() {
+    storage.storeTextSize( 1, new Point( 1, 4 ) );
+
+    storage.storeTextSize( 1, new Point( 2, 5 ) );
+
+    assertEquals( new Point( 2, 5 ), storage.lookupTextSize( 1 ) );
+    assertEquals( 1, storage.size() );
+  }
+
+  @Test
+  public void testTextSizeStorage_withNegativeAndLargeValues() {
+    Point size = new Point( -1, Integer.MAX_VALUE );
+
+    storage.storeTextSize( -7, size );
+
+    assertEquals( size, storage.lookupTextSize( -7 ) );
+  }
+
+  @Test
+  public void testTextSizeStorage_withCollidingKeys() {
+    int key1 = 1;
+    // both keys end up in the same bucket of the default sized hash table
+    int key2 = 1 + ( 1 << 15 );
+    storage.storeTextSize( key1, new Point( 1, 1 ) );
+    storage.storeTextSize( key2, new Point( 2, 2 ) );
+
+    assertEquals( new Point( 1, 1 ), storage.lookupTextSize( key1 ) );
+    assertEquals( new Point( 2, 2 ), storage.lookupTextSize( key2 ) );
+  }
+
+  @Test
+  public void testHitAndMissCount() {
+    storage.storeTextSize( 1, new Point( 1, 4 ) );
+
+    storage.lookupTextSize( 1 );
+    storage.lookupTextSize( 1 );
+    storage.lookupTextSize( 2 );
+
+    assertEquals( 2, storage.getHitCount() );
+    assertEquals( 1, storage.getMissCount() );
+  }
+
+  @Test
+  public void testStorageOverflowHandling_keepsSizeBelowMaximum() {
+    storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
+
+    for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE * 5; i++ ) {
+      storage.storeTextSize( i, new Point( i, i ) );
+    }
+
+    assertTrue( storage.size() < TextSizeStorage.MIN_STORE_SIZE );
+    int lastKey = TextSizeStorage.MIN_STORE_SIZE * 5 - 1;
+    assertEquals( new Point( lastKey, lastKey ), storage.lookupTextSize( lastKey ) );
+  }
+
+  @Test
+  public void testMaximumStoreSize_keepsRecentlyUsedEntries() {
+    storage.storeTextSize( 1, new Point( 1, 1 ) );
+    storage.storeTextSize( 2, new Point( 2, 2 ) );
+    storage.lookupTextSize( 1 );
+
+    storage.setMaximumStoreSize( 2000 );
+
+    assertEquals( 2, storage.size() );
+    assertEquals( new Point( 1, 1 ), storage.lookupTextSize( 1 ) );
+    assertEquals( new Point( 2, 2 ), storage.lookupTextSize( 2 ) );
+  }
+
+  @Test
+  public void testConcurrentAccess() throws InterruptedException {
+    storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
+    Thread[] threads = new Thread[ 4 ];
+    for( int i = 0; i < threads.length; i++ ) {
+      final int offset = i * 10000;
+      threads[ i ] = new Thread( new Runnable() {
+        @Override
+        public void run() {
+          for( int j = offset; j < offset + 5000; j++ ) {
+            storage.storeTextSize( j, new Point( j, j ) );
+            storage.lookupTextSize( j - 10 );
+          }
+        }
+      } );
+      threads[ i ].start();
+    }
+    for( Thread thread : threads ) {
+      thread.join();
+    }
+
+    assertTrue( storage.size() < TextSizeStorage.MIN_STORE_SIZE );
+    assertEquals( 20000, storage.getHitCount() + storage.getMissCount() );
+  }
+
   private void populateUntilOverflowThresholdIsReached() {
     storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
     for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE - 1; i++ ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,9 @@ import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicatio
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
@@ -42,6 +45,7 @@ public class TextSizeUtil_Test {
 
   @After
   public void tearDown() {
+    System.getProperties().remove( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT );
     Fixture.tearDown();
   }
 
@@ -217,6 +221,89 @@ public class TextSizeUtil_Test {
     assertEquals( 10, size.y );
   }
 
+  @Test
+  public void testStringExtent_withServerSideMeasurement_usesGlyphAdvances() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    fakeGlyphAdvances( 5 );
+
+    Point size = TextSizeUtil.stringExtent( getFont(), "First\nLine" );
+
+    assertEquals( new Point( 50, 10 ), size );
+    assertEquals( 0, getMeasurementItems().length );
+    assertEquals( 0, getProbes().length );
+  }
+
+  @Test
+  public void testTextExtent_withServerSideMeasurement_usesGlyphAdvances() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    fakeGlyphAdvances( 5 );
+
+    Point size = TextSizeUtil.textExtent( getFont(), TEST_STRING, 0 );
+
+    assertEquals( new Point( 20, 10 ), size );
+    assertEquals( 0, getMeasurementItems().length );
+  }
+
+  @Test
+  public void testTextExtent_withServerSideMeasurement_doesNotMeasureWrappedText() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    fakeGlyphAdvances( 5 );
+
+    TextSizeUtil.textExtent( getFont(), TEST_STRING, 10 );
+
+    assertEquals( 1, getMeasurementItems().length );
+  }
+
+  @Test
+  public void testTextExtent_withServerSideMeasurement_doesNotMeasureMultipleLines() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    fakeGlyphAdvances( 5 );
+
+    TextSizeUtil.textExtent( getFont(), "First\nLine", 0 );
+
+    assertEquals( 1, getMeasurementItems().length );
+  }
+
+  @Test
+  public void testStringExtent_withServerSideMeasurement_doesNotMeasureMarkup() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    fakeGlyphAdvances( 5 );
+
+    TextSizeUtil.stringExtent( getFont(), "<b>foo</b>", true );
+
+    assertEquals( 1, getMeasurementItems().length );
+  }
+
+  @Test
+  public void testStringExtent_withServerSideMeasurement_requestsGlyphAdvances() {
+    System.setProperty( RWTProperties.SERVER_SIDE_TEXT_MEASUREMENT, "true" );
+    Point probeSize = new Point( Probe.DEFAULT_PROBE_STRING.length() * 5, 10 );
+    ProbeResultStore.getInstance().createProbeResult( new Probe( FONT_DATA ), probeSize );
+
+    TextSizeUtil.stringExtent( getFont(), TEST_STRING );
+
+    assertEquals( 1, getMeasurementItems().length );
+    assertEquals( 1, getProbes().length );
+  }
+
+  @Test
+  public void testStringExtent_withoutServerSideMeasurement_ignoresGlyphAdvances() {
+    fakeGlyphAdvances( 5 );
+
+    TextSizeUtil.stringExtent( getFont(), TEST_STRING );
+
+    assertEquals( 1, getMeasurementItems().length );
+  }
+
+  private void fakeGlyphAdvances( float advance ) {
+    Probe probe = new Probe( FONT_DATA );
+    Point probeSize = new Point( ( int )( probe.getText().length() * advance ), 10 );
+    ProbeResult probeResult = ProbeResultStore.getInstance().createProbeResult( probe, probeSize );
+    float[] advances = new float[ GlyphAdvances.DEFAULT_GLYPHS.length() ];
+    Arrays.fill( advances, advance );
+    probeResult.setGlyphAdvances( new GlyphAdvances( GlyphAdvances.DEFAULT_GLYPHS, advances ) );
+  }
+
   private void fakeMeasurement( String text, int wrapWidth, int mode, Point size ) {
     ProbeResultStore.getInstance().createProbeResult( new Probe( FONT_DATA ), new Point( 10, 10 ) );
     getApplicationContext().getTextSizeStorage().storeFont( FONT_DATA );
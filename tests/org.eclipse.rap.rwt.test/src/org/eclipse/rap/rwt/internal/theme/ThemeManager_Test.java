@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.theme;
 
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
@@ -120,6 +121,57 @@ public class ThemeManager_Test {
     assertTrue( customTheme.getValuesMap().getAllValues().length > 0 );
   }
 
+  @Test
+  public void testActivate_initializesManyThemes() throws Exception {
+    StyleSheet styleSheet = ThemeTestUtil.getStyleSheet( "TestExample.css" );
+    for( int i = 0; i < 10; i++ ) {
+      manager.registerTheme( new Theme( "custom.id" + i, "Custom Theme", styleSheet ) );
+    }
+    manager.initialize();
+
+    manager.activate();
+
+    for( String themeId : manager.getRegisteredThemeIds() ) {
+      assertTrue( manager.getTheme( themeId ).getValuesMap().getAllValues().length > 0 );
+    }
+  }
+
+  @Test
+  public void testActivate_propagatesExceptionFromTheme() {
+    final RuntimeException exception = new RuntimeException();
+    for( int i = 0; i < 5; i++ ) {
+      manager.registerTheme( new Theme( "custom.id" + i, "Custom Theme", null ) {
+        @Override
+        public void initialize( ThemeableWidget[] themeableWidgets ) {
+          throw exception;
+        }
+      } );
+    }
+
+    try {
+      manager.activate();
+      fail();
+    } catch( RuntimeException expected ) {
+    }
+  }
+
+  @Test
+  public void testCreateThemeStores() throws Exception {
+    StyleSheet styleSheet = ThemeTestUtil.getStyleSheet( "TestExample.css" );
+    for( int i = 0; i < 5; i++ ) {
+      manager.registerTheme( new Theme( "custom.id" + i, "Custom Theme", styleSheet ) );
+    }
+    manager.initialize();
+    manager.activate();
+
+    manager.createThemeStores( getApplicationContext() );
+
+    for( String themeId : manager.getRegisteredThemeIds() ) {
+      manager.getTheme( themeId ).registerResources( getApplicationContext() );
+      assertNotNull( manager.getTheme( themeId ).getRegisteredLocation() );
+    }
+  }
+
   @Test
   public void testActivateAndDeactivate() {
     int beforeActivate = getFallbackTheme().getStyleSheet().getStyleRules().length;
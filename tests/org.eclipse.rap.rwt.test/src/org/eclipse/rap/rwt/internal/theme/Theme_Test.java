@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,14 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.theme.css.ConditionalValue;
@@ -145,6 +153,65 @@ public class Theme_Test {
     }
   }
 
+  @Test
+  public void testRegisterResources_themeStoreLocationContainsContentHash() throws Exception {
+    Fixture.setUp();
+    try {
+      StyleSheet styleSheet = ThemeTestUtil.createStyleSheet( "Button { color: red; }" );
+      Theme theme = new Theme( "custom.theme.id", "Custom", styleSheet );
+      theme.initialize( new ThemeableWidget[] { createSimpleButtonWidget() } );
+
+      theme.registerResources( getApplicationContext() );
+
+      String location = theme.getRegisteredLocation();
+      assertTrue( location.matches( ".*/rap-" + theme.getJsId() + "-[0-9a-f]+\\.json" ) );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
+  @Test
+  public void testRegisterResources_themeStoreLocationChangesWithContent() throws Exception {
+    Fixture.setUp();
+    try {
+      StyleSheet redStyleSheet = ThemeTestUtil.createStyleSheet( "Button { color: red; }" );
+      StyleSheet blueStyleSheet = ThemeTestUtil.createStyleSheet( "Button { color: blue; }" );
+      Theme redTheme = new Theme( "custom.theme.id", "Custom", redStyleSheet );
+      Theme blueTheme = new Theme( "custom.theme.id", "Custom", blueStyleSheet );
+      redTheme.initialize( new ThemeableWidget[] { createSimpleButtonWidget() } );
+      blueTheme.initialize( new ThemeableWidget[] { createSimpleButtonWidget() } );
+
+      redTheme.registerResources( getApplicationContext() );
+      blueTheme.registerResources( getApplicationContext() );
+
+      assertFalse( redTheme.getRegisteredLocation().equals( blueTheme.getRegisteredLocation() ) );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
+  @Test
+  public void testRegisterResources_skipsRegisteredImages() throws Exception {
+    Fixture.setUp();
+    try {
+      String css = "Button { background-image: url( " + Fixture.IMAGE1 + "); }";
+      StyleSheet styleSheet = ThemeTestUtil.createStyleSheet( css, RESOURCE_LOADER );
+      Theme theme = new Theme( "custom.theme.id", "Custom", styleSheet );
+      theme.initialize( new ThemeableWidget[] { createSimpleButtonWidget() } );
+      ApplicationContext applicationContext = mock( ApplicationContext.class );
+      ResourceManager resourceManager = mock( ResourceManager.class );
+      when( applicationContext.getResourceManager() ).thenReturn( resourceManager );
+      when( resourceManager.isRegistered( "themes/images/9e78c44e.gif" ) ).thenReturn( true );
+
+      theme.registerResources( applicationContext );
+
+      verify( resourceManager, never() )
+        .register( eq( "themes/images/9e78c44e.gif" ), any( InputStream.class ) );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
   private static ThemeableWidget createSimpleButtonWidget() {
     ThemeableWidget buttonWidget = new ThemeableWidget( Button.class.getName(), null );
     CssElement buttonElement = new CssElementImpl( "Button" )
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -168,4 +168,119 @@ public class WidgetMatcher_Test {
     assertEquals( BLUE, result );
   }
 
+  @Test
+  public void testSelect_withState_isEvaluatedOnEveryCall() {
+    final boolean[] selected = { false };
+    matcher.addState( "selected", new Constraint() {
+      @Override
+      public boolean matches( Widget widget ) {
+        return selected[ 0 ];
+      }
+    } );
+    ConditionalValue[] values = {
+      new ConditionalValue( RED, ":selected" ),
+      new ConditionalValue( BLUE )
+    };
+    Widget widget = new Button( shell, SWT.PUSH );
+
+    CssValue unselected = matcher.select( widget, values );
+    selected[ 0 ] = true;
+    CssValue result = matcher.select( widget, values );
+
+    assertSame( BLUE, unselected );
+    assertSame( RED, result );
+  }
+
+  @Test
+  public void testSelect_withStyle_distinguishesWidgets() {
+    matcher.addStyle( "BORDER", SWT.BORDER );
+    ConditionalValue[] values = {
+      new ConditionalValue( RED, "[BORDER" ),
+      new ConditionalValue( BLUE )
+    };
+
+    CssValue withBorder = matcher.select( new Button( shell, SWT.BORDER ), values );
+    CssValue withoutBorder = matcher.select( new Button( shell, SWT.PUSH ), values );
+
+    assertSame( RED, withBorder );
+    assertSame( BLUE, withoutBorder );
+  }
+
+  @Test
+  public void testSelect_withVariant_distinguishesVariants() {
+    ConditionalValue[] values = {
+      new ConditionalValue( RED, ".special" ),
+      new ConditionalValue( GREEN, ".other" ),
+      new ConditionalValue( BLUE )
+    };
+    Widget special = new Button( shell, SWT.PUSH );
+    special.setData( RWT.CUSTOM_VARIANT, "special" );
+    Widget other = new Button( shell, SWT.PUSH );
+    other.setData( RWT.CUSTOM_VARIANT, "other" );
+    Widget unknown = new Button( shell, SWT.PUSH );
+    unknown.setData( RWT.CUSTOM_VARIANT, "unknown" );
+
+    assertSame( RED, matcher.select( special, values ) );
+    assertSame( GREEN, matcher.select( other, values ) );
+    assertSame( BLUE, matcher.select( unknown, values ) );
+  }
+
+  @Test
+  public void testSelect_withConflictingVariants() {
+    Widget widget = new Button( shell, SWT.PUSH );
+    widget.setData( RWT.CUSTOM_VARIANT, "special" );
+    ConditionalValue[] values = { new ConditionalValue( RED, ".special", ".other" ) };
+
+    CssValue result = matcher.select( widget, values );
+
+    assertNull( result );
+  }
+
+  @Test
+  public void testSelect_withUnknownConstraint() {
+    Widget widget = new Button( shell, SWT.PUSH );
+    ConditionalValue[] values = {
+      new ConditionalValue( RED, "[PUSH" ),
+      new ConditionalValue( BLUE, ":selected" )
+    };
+
+    CssValue result = matcher.select( widget, values );
+
+    assertNull( result );
+  }
+
+  @Test
+  public void testSelect_afterAddingState() {
+    Widget widget = new Button( shell, SWT.PUSH );
+    ConditionalValue[] values = { new ConditionalValue( RED, ":selected" ) };
+    matcher.select( widget, values );
+
+    matcher.addState( "selected", ALWAYS_TRUE );
+    CssValue result = matcher.select( widget, values );
+
+    assertSame( RED, result );
+  }
+
+  @Test
+  public void testSelect_withManyConstraints() {
+    int[] styles = {
+      SWT.PUSH, SWT.CHECK, SWT.RADIO, SWT.TOGGLE, SWT.FLAT, SWT.BORDER, SWT.LEFT, SWT.RIGHT
+    };
+    for( int i = 0; i < styles.length; i++ ) {
+      matcher.addStyle( "STYLE" + i, styles[ i ] );
+    }
+    matcher.addState( "selected", ALWAYS_TRUE );
+    matcher.addState( "hover", ALWAYS_FALSE );
+    ConditionalValue[] values = new ConditionalValue[ styles.length + 2 ];
+    for( int i = 0; i < styles.length; i++ ) {
+      values[ i ] = new ConditionalValue( RED, "[STYLE" + i, ":hover" );
+    }
+    values[ styles.length ] = new ConditionalValue( BLUE, "[STYLE5", ":selected" );
+    values[ styles.length + 1 ] = new ConditionalValue( GREEN );
+
+    CssValue result = matcher.select( new Button( shell, SWT.PUSH | SWT.BORDER ), values );
+
+    assertSame( BLUE, result );
+  }
+
 }
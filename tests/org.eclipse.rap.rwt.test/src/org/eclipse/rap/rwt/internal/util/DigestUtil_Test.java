@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+
+public class DigestUtil_Test {
+
+  @Test
+  public void testSha1() {
+    byte[] content = "abc".getBytes( StandardCharsets.UTF_8 );
+
+    assertEquals( "a9993e364706816aba3e25717850c26c9cd0d89d", DigestUtil.sha1( content ) );
+  }
+
+  @Test
+  public void testSha1_withRange() {
+    byte[] content = "-abc-".getBytes( StandardCharsets.UTF_8 );
+
+    assertEquals( "a9993e364706816aba3e25717850c26c9cd0d89d", DigestUtil.sha1( content, 1, 3 ) );
+  }
+
+  @Test
+  public void testToHex() {
+    assertEquals( "00ff7f80", DigestUtil.toHex( new byte[] { 0, -1, 127, -128 } ) );
+  }
+
+  @Test
+  public void testToHex_withEmptyArray() {
+    assertEquals( "", DigestUtil.toHex( new byte[ 0 ] ) );
+  }
+
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+
+public class PooledGzipOutputStream_Test {
+
+  @Test
+  public void testCompress_isReadableByGZIPInputStream() throws IOException {
+    byte[] content = "{\"head\":{},\"operations\":[]}".getBytes( "UTF-8" );
+
+    byte[] compressed = PooledGzipOutputStream.compress( content, 0, content.length );
+
+    assertArrayEquals( content, decompress( compressed ) );
+  }
+
+  @Test
+  public void testCompress_withOffset() throws IOException {
+    byte[] content = "0123456789".getBytes( "UTF-8" );
+
+    byte[] compressed = PooledGzipOutputStream.compress( content, 2, 5 );
+
+    assertArrayEquals( "23456".getBytes( "UTF-8" ), decompress( compressed ) );
+  }
+
+  @Test
+  public void testCompress_emptyContent() throws IOException {
+    byte[] compressed = PooledGzipOutputStream.compress( new byte[ 0 ], 0, 0 );
+
+    assertEquals( 0, decompress( compressed ).length );
+  }
+
+  @Test
+  public void testWrite_contentLargerThanBuffer() throws IOException {
+    byte[] content = new byte[ 100000 ];
+    new Random( 42 ).nextBytes( content );
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( bytes );
+
+    outputStream.write( content, 0, 50000 );
+    outputStream.write( content, 50000, 50000 );
+    outputStream.close();
+
+    assertArrayEquals( content, decompress( bytes.toByteArray() ) );
+  }
+
+  @Test
+  public void testWrite_singleBytes() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( bytes );
+
+    outputStream.write( 'a' );
+    outputStream.write( 'b' );
+    outputStream.close();
+
+    assertArrayEquals( "ab".getBytes( "UTF-8" ), decompress( bytes.toByteArray() ) );
+  }
+
+  @Test
+  public void testWrite_afterFinish() throws IOException {
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( new ByteArrayOutputStream() );
+    outputStream.finish();
+
+    try {
+      outputStream.write( 'a' );
+      fail();
+    } catch( IOException expected ) {
+    }
+  }
+
+  @Test
+  public void testFinish_setsSizes() throws IOException {
+    byte[] content = new byte[ 10000 ];
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( bytes );
+    outputStream.write( content );
+
+    outputStream.finish();
+
+    assertEquals( 10000, outputStream.getInputSize() );
+    assertEquals( bytes.size(), outputStream.getOutputSize() );
+    assertTrue( outputStream.getCompressionTime() > 0 );
+  }
+
+  @Test
+  public void testFinish_returnsDeflaterToPool() throws IOException {
+    PooledGzipOutputStream.compress( new byte[ 10 ], 0, 10 );
+    int poolSize = PooledGzipOutputStream.getPoolSize();
+
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( new ByteArrayOutputStream() );
+    assertEquals( poolSize - 1, PooledGzipOutputStream.getPoolSize() );
+    outputStream.finish();
+
+    assertEquals( poolSize, PooledGzipOutputStream.getPoolSize() );
+  }
+
+  @Test
+  public void testRelease_returnsDeflaterToPool() throws IOException {
+    PooledGzipOutputStream.compress( new byte[ 10 ], 0, 10 );
+    int poolSize = PooledGzipOutputStream.getPoolSize();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( bytes );
+    outputStream.write( 'a' );
+
+    outputStream.release();
+
+    assertEquals( poolSize, PooledGzipOutputStream.getPoolSize() );
+    assertEquals( 10, bytes.size() );
+  }
+
+  @Test
+  public void testRelease_afterFinish() throws IOException {
+    PooledGzipOutputStream.compress( new byte[ 10 ], 0, 10 );
+    int poolSize = PooledGzipOutputStream.getPoolSize();
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( new ByteArrayOutputStream() );
+    outputStream.finish();
+
+    outputStream.release();
+
+    assertEquals( poolSize, PooledGzipOutputStream.getPoolSize() );
+  }
+
+  @Test
+  public void testFinish_twice() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PooledGzipOutputStream outputStream = new PooledGzipOutputStream( bytes );
+    outputStream.write( 'a' );
+    outputStream.finish();
+    int size = bytes.size();
+
+    outputStream.finish();
+
+    assertEquals( size, bytes.size() );
+  }
+
+  @Test
+  public void testReusedDeflater_producesSameOutput() throws IOException {
+    byte[] content = "reused reused reused".getBytes( "UTF-8" );
+
+    byte[] first = PooledGzipOutputStream.compress( content, 0, content.length );
+    byte[] second = PooledGzipOutputStream.compress( content, 0, content.length );
+
+    assertArrayEquals( first, second );
+  }
+
+  private static byte[] decompress( byte[] compressed ) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    try( InputStream inputStream = new GZIPInputStream( new ByteArrayInputStream( compressed ) ) ) {
+      byte[] buffer = new byte[ 1024 ];
+      int read = inputStream.read( buffer );
+      while( read != -1 ) {
+        result.write( buffer, 0, read );
+        read = inputStream.read( buffer );
+      }
+    }
+    return result.toByteArray();
+  }
+
+}
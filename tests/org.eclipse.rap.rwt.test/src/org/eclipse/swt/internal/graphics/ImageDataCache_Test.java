@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
 package org.eclipse.swt.internal.graphics;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -88,6 +89,84 @@ public class ImageDataCache_Test {
     assertEqualsImageData( copyData1, copyData2 );
   }
 
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() throws IOException {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    int weight = imageData.data.length;
+    ImageDataCache cache = new ImageDataCache( 1024, 4 * weight );
+    InternalImage internalImage1 = new InternalImage( "path1", 1, 1, false );
+    InternalImage internalImage2 = new InternalImage( "path2", 1, 1, false );
+    InternalImage internalImage3 = new InternalImage( "path3", 1, 1, false );
+    InternalImage internalImage4 = new InternalImage( "path4", 1, 1, false );
+    InternalImage internalImage5 = new InternalImage( "path5", 1, 1, false );
+    cache.putImageData( internalImage1, imageData );
+    cache.putImageData( internalImage2, imageData );
+    cache.putImageData( internalImage3, imageData );
+    cache.putImageData( internalImage4, imageData );
+    cache.getImageData( internalImage1 );
+
+    cache.putImageData( internalImage5, imageData );
+
+    assertNotNull( cache.getImageData( internalImage1 ) );
+    assertNull( cache.getImageData( internalImage2 ) );
+    assertNull( cache.getImageData( internalImage3 ) );
+    assertNotNull( cache.getImageData( internalImage4 ) );
+    assertNotNull( cache.getImageData( internalImage5 ) );
+  }
+
+  @Test
+  public void testEvictsDownToLowWatermark() throws IOException {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    int weight = imageData.data.length;
+    ImageDataCache cache = new ImageDataCache( 1024, 4 * weight );
+    for( int i = 0; i < 5; i++ ) {
+      cache.putImageData( new InternalImage( "path" + i, 1, 1, false ), imageData );
+    }
+
+    assertEquals( 2, cache.getEvictionCount() );
+    assertEquals( 3, cache.getSize() );
+    assertEquals( 3 * weight, cache.getWeight() );
+  }
+
+  @Test
+  public void testDoesNotEvictBelowLimit() throws IOException {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    int weight = imageData.data.length;
+    ImageDataCache cache = new ImageDataCache( 1024, 4 * weight );
+    for( int i = 0; i < 4; i++ ) {
+      cache.putImageData( new InternalImage( "path" + i, 1, 1, false ), imageData );
+    }
+
+    assertEquals( 0, cache.getEvictionCount() );
+    assertEquals( 4, cache.getSize() );
+  }
+
+  @Test
+  public void testReplacedEntryIsNotCountedTwice() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage = new InternalImage( "testpath", 1, 1, false );
+
+    cache.putImageData( internalImage, imageData );
+    cache.putImageData( internalImage, imageData );
+
+    assertEquals( imageData.data.length, cache.getWeight() );
+  }
+
+  @Test
+  public void testCountsHitsAndMisses() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    InternalImage internalImage = new InternalImage( "testpath", 1, 1, false );
+
+    cache.getImageData( internalImage );
+    cache.putImageData( internalImage, getImageData( Fixture.IMAGE1 ) );
+    cache.getImageData( internalImage );
+    cache.getImageData( internalImage );
+
+    assertEquals( 2, cache.getHitCount() );
+    assertEquals( 1, cache.getMissCount() );
+  }
+
   private ImageData getImageData( String resource ) throws IOException {
     InputStream inputStream = getClass().getClassLoader().getResourceAsStream( resource );
     try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
 package org.eclipse.swt.internal.graphics;
 
 import static org.eclipse.rap.rwt.testfixture.internal.TestUtil.createImage;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
@@ -21,12 +22,14 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.PaletteData;
@@ -100,6 +103,38 @@ public class InternalImageFactory_Test {
     assertSame( internalImage1, internalImage2 );
   }
 
+  @Test
+  public void testInternalImagesFromInputStreamAndImageDataAreShared() throws IOException {
+    InputStream stream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE_100x50 );
+    InternalImage internalImage1 = internalImageFactory.findInternalImage( stream );
+    stream.close();
+    stream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE_100x50 );
+    ImageData imageData = new ImageData( stream );
+    stream.close();
+
+    InternalImage internalImage2 = internalImageFactory.findInternalImage( imageData );
+
+    assertSame( internalImage1, internalImage2 );
+  }
+
+  @Test( expected = SWTException.class )
+  public void testFindInternalImage_withInvalidContent() {
+    InputStream stream = new ByteArrayInputStream( new byte[] { 1, 2, 3 } );
+
+    internalImageFactory.findInternalImage( stream );
+  }
+
+  @Test
+  public void testReadContent() {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    InputStream stream = new ByteArrayInputStream( new byte[] { 'a', 'b', 'c' } );
+
+    String hash = InternalImageFactory.readContent( stream, buffer );
+
+    assertEquals( "a9993e364706816aba3e25717850c26c9cd0d89d", hash );
+    assertArrayEquals( new byte[] { 'a', 'b', 'c' }, buffer.toByteArray() );
+  }
+
   @Test
   public void testInternalImagesFromFilenameAreCached() throws IOException {
     File imageFile = new File( Fixture.TEMP_DIR, "test.gif" );
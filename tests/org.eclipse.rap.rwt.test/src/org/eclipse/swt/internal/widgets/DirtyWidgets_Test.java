@@ -0,0 +1,388 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+import static org.eclipse.rap.rwt.testfixture.internal.Fixture.getProtocolMessage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestMessage;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.dnd.DND;
+import org.eclipse.swt.dnd.DragSource;
+import org.eclipse.swt.dnd.TextTransfer;
+import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.internal.widgets.displaykit.DisplayLCA;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DirtyWidgets_Test {
+
+  private Display display;
+  private DisplayLCA displayLCA;
+  private DirtyWidgets dirtyWidgets;
+  private Shell shell;
+  private Composite composite;
+  private Button button;
+  private Button otherButton;
+
+  @Before
+  public void setUp() throws IOException {
+    System.setProperty( RWTProperties.DIRTY_WIDGET_TRACKING, "true" );
+    Fixture.setUp();
+    display = new Display();
+    displayLCA = new DisplayLCA();
+    dirtyWidgets = display.getAdapter( IDisplayAdapter.class ).getDirtyWidgets();
+    shell = new Shell( display );
+    composite = new Composite( shell, SWT.NONE );
+    button = new Button( composite, SWT.PUSH );
+    otherButton = new Button( shell, SWT.PUSH );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+    System.getProperties().remove( RWTProperties.DIRTY_WIDGET_TRACKING );
+  }
+
+  @Test
+  public void testIsDisabledByDefault() {
+    System.getProperties().remove( RWTProperties.DIRTY_WIDGET_TRACKING );
+    display.dispose();
+
+    Display otherDisplay = new Display();
+
+    assertNull( otherDisplay.getAdapter( IDisplayAdapter.class ).getDirtyWidgets() );
+  }
+
+  @Test
+  public void testClearPreserved_afterInitialRender() {
+    assertFalse( dirtyWidgets.isActive() );
+    assertEquals( 0, dirtyWidgets.size() );
+  }
+
+  @Test
+  public void testModification_beforeTrackingIsIgnored() {
+    button.setText( "foo" );
+
+    assertFalse( dirtyWidgets.isDirty( button ) );
+  }
+
+  @Test
+  public void testModification_beforeTrackingMarksAllDirty() {
+    button.setText( "foo" );
+    displayLCA.clearPreserved( display );
+
+    assertFalse( dirtyWidgets.startTracking() );
+    assertTrue( dirtyWidgets.isAllDirty() );
+  }
+
+  @Test
+  public void testRender_rendersWidgetCreatedBeforeTracking() throws IOException {
+    Button newButton = new Button( shell, SWT.PUSH );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    displayLCA.render( display );
+
+    assertNotNull( getProtocolMessage().findCreateOperation( newButton ) );
+  }
+
+  @Test
+  public void testModification_marksWidgetAndAncestors() {
+    displayLCA.preserveValues( display );
+
+    button.setText( "foo" );
+
+    assertTrue( dirtyWidgets.isDirty( button ) );
+    assertTrue( dirtyWidgets.isDirty( composite ) );
+    assertTrue( dirtyWidgets.isDirty( shell ) );
+    assertFalse( dirtyWidgets.isDirty( otherButton ) );
+  }
+
+  @Test
+  public void testModification_withInvalidArgument_doesNotMarkWidget() {
+    displayLCA.preserveValues( display );
+
+    try {
+      button.setText( null );
+      fail();
+    } catch( IllegalArgumentException expected ) {
+    }
+
+    assertFalse( dirtyWidgets.isDirty( button ) );
+    assertFalse( dirtyWidgets.isDirty( shell ) );
+  }
+
+  @Test
+  public void testGetters_doNotMarkWidget() {
+    displayLCA.preserveValues( display );
+
+    button.getText();
+    button.getBounds();
+    button.getParent();
+
+    assertFalse( dirtyWidgets.isDirty( button ) );
+    assertFalse( dirtyWidgets.isDirty( shell ) );
+  }
+
+  @Test
+  public void testLayout_withUnchangedBounds_doesNotMarkWidgets() throws IOException {
+    shell.setLayout( new FillLayout() );
+    shell.layout();
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+    displayLCA.preserveValues( display );
+
+    shell.layout();
+
+    assertEquals( 0, dirtyWidgets.size() );
+  }
+
+  @Test
+  public void testSetParent_marksNewAncestors() throws IOException {
+    Composite newParent = new Composite( shell, SWT.NONE );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+    displayLCA.preserveValues( display );
+
+    button.setParent( newParent );
+
+    assertTrue( dirtyWidgets.isDirty( button ) );
+    assertTrue( dirtyWidgets.isDirty( composite ) );
+    assertTrue( dirtyWidgets.isDirty( newParent ) );
+  }
+
+  @Test
+  public void testRender_rendersChangeOfReparentedControl() throws IOException {
+    Composite newParent = new Composite( shell, SWT.NONE );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+    displayLCA.preserveValues( display );
+    button.setParent( newParent );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+    displayLCA.preserveValues( display );
+
+    button.setText( "foo" );
+    displayLCA.render( display );
+
+    TestMessage message = getProtocolMessage();
+    assertEquals( "foo", message.findSetProperty( button, "text" ).asString() );
+  }
+
+  @Test
+  public void testMarkModified() {
+    displayLCA.preserveValues( display );
+
+    DirtyWidgets.markModified( button );
+
+    assertTrue( dirtyWidgets.isDirty( button ) );
+    assertTrue( dirtyWidgets.isDirty( shell ) );
+  }
+
+  @Test
+  public void testMarkModified_beforeTrackingIsIgnored() {
+    DirtyWidgets.markModified( button );
+
+    assertFalse( dirtyWidgets.isDirty( button ) );
+  }
+
+  @Test
+  public void testStartTracking_marksWidgetsWithoutTrackingSupport() throws IOException {
+    DragSource dragSource = new DragSource( button, DND.DROP_MOVE );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+
+    displayLCA.preserveValues( display );
+
+    assertTrue( dirtyWidgets.isDirty( dragSource ) );
+    assertTrue( dirtyWidgets.isDirty( button ) );
+    assertFalse( dirtyWidgets.isDirty( otherButton ) );
+  }
+
+  @Test
+  public void testRender_rendersUnmarkedChangeOfWidgetWithoutTrackingSupport() throws IOException {
+    DragSource dragSource = new DragSource( button, DND.DROP_MOVE );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+    displayLCA.preserveValues( display );
+
+    dragSource.setTransfer( new Transfer[] { TextTransfer.getInstance() } );
+    displayLCA.render( display );
+
+    assertNotNull( getProtocolMessage().findSetOperation( dragSource, "transfer" ) );
+  }
+
+  @Test
+  public void testStartTracking_forgetsDisposedWidgetsWithoutTrackingSupport() throws IOException {
+    DragSource dragSource = new DragSource( button, DND.DROP_MOVE );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+    displayLCA.preserveValues( display );
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    dragSource.dispose();
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+
+    displayLCA.preserveValues( display );
+
+    assertEquals( 0, dirtyWidgets.size() );
+  }
+
+  @Test
+  public void testPreserveValues_doesNotPreserveCleanWidgets() {
+    displayLCA.preserveValues( display );
+
+    assertNull( getAdapter( otherButton ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testModification_preservesValueBeforeChange() {
+    button.setText( "foo" );
+    displayLCA.preserveValues( display );
+
+    button.setText( "bar" );
+
+    assertEquals( "foo", getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testCreation_marksParent() {
+    displayLCA.preserveValues( display );
+
+    Button newButton = new Button( shell, SWT.PUSH );
+
+    assertTrue( dirtyWidgets.isDirty( newButton ) );
+    assertTrue( dirtyWidgets.isDirty( shell ) );
+    assertFalse( dirtyWidgets.isDirty( composite ) );
+  }
+
+  @Test
+  public void testDispose_marksParent() {
+    displayLCA.preserveValues( display );
+
+    button.dispose();
+
+    assertTrue( dirtyWidgets.isDirty( composite ) );
+  }
+
+  @Test
+  public void testRender_rendersChanges() throws IOException {
+    displayLCA.preserveValues( display );
+    button.setText( "foo" );
+
+    displayLCA.render( display );
+
+    TestMessage message = getProtocolMessage();
+    assertEquals( "foo", message.findSetProperty( button, "text" ).asString() );
+  }
+
+  @Test
+  public void testRender_rendersCreatedWidget() throws IOException {
+    displayLCA.preserveValues( display );
+    Button newButton = new Button( composite, SWT.PUSH );
+
+    displayLCA.render( display );
+
+    TestMessage message = getProtocolMessage();
+    assertNotNull( message.findCreateOperation( newButton ) );
+    assertNotNull( message.findSetOperation( composite, "children" ) );
+  }
+
+  @Test
+  public void testRender_rendersChangedTabIndexOfCleanWidget() throws IOException {
+    displayLCA.preserveValues( display );
+    Button newButton = new Button( shell, SWT.PUSH );
+    newButton.moveAbove( composite );
+
+    displayLCA.render( display );
+
+    TestMessage message = getProtocolMessage();
+    assertNotNull( message.findSetOperation( otherButton, "tabIndex" ) );
+  }
+
+  @Test
+  public void testRender_skipsCleanWidgets() throws IOException {
+    displayLCA.preserveValues( display );
+    button.setText( "foo" );
+
+    displayLCA.render( display );
+
+    assertTrue( getAdapter( button ).isInitialized() );
+    assertFalse( dirtyWidgets.isDirty( otherButton ) );
+    assertNull( getProtocolMessage().findSetOperation( otherButton, "bounds" ) );
+  }
+
+  @Test
+  public void testClearPreserved_resetsTracking() throws IOException {
+    displayLCA.preserveValues( display );
+    button.setText( "foo" );
+    displayLCA.render( display );
+
+    displayLCA.clearPreserved( display );
+
+    assertFalse( dirtyWidgets.isActive() );
+    assertEquals( 0, dirtyWidgets.size() );
+    assertNull( getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testRender_withoutTracking_rendersAll() throws IOException {
+    displayLCA.render( display );
+
+    assertTrue( dirtyWidgets.isAllDirty() );
+  }
+
+  @Test
+  public void testRender_withRenderedValues() throws IOException {
+    displayLCA.preserveValues( display );
+    button.setText( "foo" );
+    displayLCA.render( display );
+    displayLCA.clearPreserved( display );
+    Fixture.fakeNewRequest();
+    displayLCA.preserveValues( display );
+
+    button.setText( "foo" );
+    displayLCA.render( display );
+
+    assertNull( getProtocolMessage().findSetOperation( button, "text" ) );
+  }
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class TimerExecutor_Test {
+
+  private TimerExecutor executor;
+
+  @Before
+  public void setUp() {
+    executor = new TimerExecutor();
+    executor.activate();
+  }
+
+  @After
+  public void tearDown() {
+    executor.deactivate();
+  }
+
+  @Test
+  public void testSchedule_runsTask() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch( 1 );
+
+    executor.schedule( createTask( latch ), 1 );
+
+    assertTrue( latch.await( 5, TimeUnit.SECONDS ) );
+  }
+
+  @Test
+  public void testSchedule_runsTasksOnSharedDaemonThread() throws InterruptedException {
+    final AtomicReference<Thread> firstThread = new AtomicReference<>();
+    final AtomicReference<Thread> secondThread = new AtomicReference<>();
+    CountDownLatch latch = new CountDownLatch( 2 );
+
+    executor.schedule( createTask( latch, firstThread ), 1 );
+    executor.schedule( createTask( latch, secondThread ), 2 );
+
+    assertTrue( latch.await( 5, TimeUnit.SECONDS ) );
+    assertEquals( firstThread.get(), secondThread.get() );
+    assertEquals( "RWT timerExec scheduler", firstThread.get().getName() );
+    assertTrue( firstThread.get().isDaemon() );
+  }
+
+  @Test
+  public void testSchedule_returnsNullWhenInactive() {
+    executor.deactivate();
+
+    ScheduledFuture<?> future = executor.schedule( createTask( new CountDownLatch( 1 ) ), 1 );
+
+    assertNull( future );
+  }
+
+  @Test
+  public void testSchedule_afterReactivation() throws InterruptedException {
+    executor.deactivate();
+    executor.activate();
+    CountDownLatch latch = new CountDownLatch( 1 );
+
+    executor.schedule( createTask( latch ), 1 );
+
+    assertTrue( latch.await( 5, TimeUnit.SECONDS ) );
+  }
+
+  @Test
+  public void testCancel_removesTaskFromQueue() {
+    ScheduledFuture<?> future = executor.schedule( createTask( new CountDownLatch( 1 ) ), 60000 );
+    assertNotNull( future );
+    assertEquals( 1, executor.getQueueSize() );
+
+    future.cancel( false );
+
+    assertEquals( 0, executor.getQueueSize() );
+  }
+
+  @Test
+  public void testDeactivate_discardsPendingTasks() {
+    executor.schedule( createTask( new CountDownLatch( 1 ) ), 60000 );
+
+    executor.deactivate();
+
+    assertEquals( 0, executor.getQueueSize() );
+  }
+
+  private static Runnable createTask( CountDownLatch latch ) {
+    return createTask( latch, new AtomicReference<Thread>() );
+  }
+
+  private static Runnable createTask( final CountDownLatch latch,
+                                      final AtomicReference<Thread> thread )
+  {
+    return new Runnable() {
+      @Override
+      public void run() {
+        thread.set( Thread.currentThread() );
+        latch.countDown();
+      }
+    };
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -43,7 +43,9 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.widgets.CellChanges;
 import org.eclipse.swt.internal.widgets.ITableAdapter;
+import org.eclipse.swt.internal.widgets.ITableItemAdapter;
 import org.eclipse.swt.internal.widgets.buttonkit.ButtonOperationHandler;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Display;
@@ -132,26 +134,17 @@ public class TableItemLCA_Test {
     table.setSelection( 0 );
     ITableAdapter tableAdapter = table.getAdapter( ITableAdapter.class );
     tableAdapter.setFocusIndex( 0 );
+    ITableItemAdapter itemAdapter = item.getAdapter( ITableItemAdapter.class );
+    assertEquals( CellChanges.ALL, itemAdapter.getCellChanges() );
     Fixture.preserveWidgets();
     adapter = WidgetUtil.getAdapter( item );
-    images = ( Image[] )adapter.getPreserved( TableItemLCA.PROP_IMAGES );
-    assertEquals( image1, images[ 0 ] );
-    assertEquals( image2, images[ 1 ] );
-    assertEquals( image3, images[ 2 ] );
-    preservedCellFonts = ( Font[] )adapter.getPreserved( TableItemLCA.PROP_CELL_FONTS );
-    assertEquals( font1, preservedCellFonts[ 0 ] );
-    assertEquals( font2, preservedCellFonts[ 1 ] );
-    assertEquals( font3, preservedCellFonts[ 2 ] );
-    preservedCellBackgrounds
-      = ( Color[] )adapter.getPreserved( TableItemLCA.PROP_CELL_BACKGROUNDS );
-    assertEquals( background1, preservedCellBackgrounds[ 0 ] );
-    assertEquals( background2, preservedCellBackgrounds[ 1 ] );
-    assertEquals( background3, preservedCellBackgrounds[ 2 ] );
-    preservedCellForegrounds
-      = ( Color[] )adapter.getPreserved( TableItemLCA.PROP_CELL_FOREGROUNDS );
-    assertEquals( foreground1, preservedCellForegrounds[ 0 ] );
-    assertEquals( foreground2, preservedCellForegrounds[ 1 ] );
-    assertEquals( foreground3, preservedCellForegrounds[ 2 ] );
+    // cell properties are not preserved, the changes are tracked by the item
+    assertEquals( 0, itemAdapter.getCellChanges() );
+    assertNull( adapter.getPreserved( TableItemLCA.PROP_TEXTS ) );
+    assertNull( adapter.getPreserved( TableItemLCA.PROP_IMAGES ) );
+    assertNull( adapter.getPreserved( TableItemLCA.PROP_CELL_FONTS ) );
+    assertNull( adapter.getPreserved( TableItemLCA.PROP_CELL_BACKGROUNDS ) );
+    assertNull( adapter.getPreserved( TableItemLCA.PROP_CELL_FOREGROUNDS ) );
     Fixture.clearPreserved();
   }
 
@@ -421,6 +414,55 @@ public class TableItemLCA_Test {
     assertEquals( JsonValue.NULL, message.findSetProperty( item, "texts" ) );
   }
 
+  @Test
+  public void testRenderTexts_afterColumnAdded() throws IOException {
+    new TableColumn( table, SWT.NONE );
+    new TableColumn( table, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    item.setText( new String[] { "item 0.0", "item 0.1" } );
+    Fixture.preserveWidgets();
+
+    new TableColumn( table, SWT.NONE );
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    JsonArray expected = new JsonArray().add( "item 0.0" ).add( "item 0.1" ).add( "" );
+    assertEquals( expected, message.findSetProperty( item, "texts" ) );
+  }
+
+  @Test
+  public void testRenderChanges_rendersOnlyChangedCellProperties() throws IOException {
+    new TableColumn( table, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    item.setImage( 0, createImage( display, Fixture.IMAGE1 ) );
+    item.setBackground( 0, display.getSystemColor( SWT.COLOR_RED ) );
+    Fixture.preserveWidgets();
+
+    item.setText( 0, "item 0.0" );
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( item, "texts" ) );
+    assertNull( message.findSetOperation( item, "images" ) );
+    assertNull( message.findSetOperation( item, "cellBackgrounds" ) );
+  }
+
+  @Test
+  public void testRenderChanges_withTextSetToSameValue() throws IOException {
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    item.setText( "item 0" );
+    Fixture.preserveWidgets();
+
+    item.setText( "item 0" );
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( item, "texts" ) );
+  }
+
   @Test
   public void testRenderInitialImages() throws IOException {
     new TableColumn( table, SWT.NONE );
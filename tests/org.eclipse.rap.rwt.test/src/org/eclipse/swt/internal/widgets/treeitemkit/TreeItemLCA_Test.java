@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2018 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -43,7 +43,9 @@ import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.CellChanges;
 import org.eclipse.swt.internal.widgets.ITreeAdapter;
+import org.eclipse.swt.internal.widgets.ITreeItemAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetColorAdapter;
 import org.eclipse.swt.internal.widgets.treekit.TreeOperationHandler;
 import org.eclipse.swt.widgets.Display;
@@ -94,11 +96,9 @@ public class TreeItemLCA_Test {
     item.setExpanded( true );
     Fixture.preserveWidgets();
     RemoteAdapter adapter = getAdapter( item );
-    String[] texts = ( String[] )adapter.getPreserved( TreeItemLCA.PROP_TEXTS );
-    assertEquals( "qwert", texts[ 0 ] );
+    ITreeItemAdapter itemAdapter = item.getAdapter( ITreeItemAdapter.class );
+    assertEquals( 0, itemAdapter.getCellChanges() );
     assertEquals( Boolean.TRUE, adapter.getPreserved( TreeItemLCA.PROP_EXPANDED ) );
-    Image[] images = ( Image[] )adapter.getPreserved( TreeItemLCA.PROP_IMAGES );
-    assertEquals( image, images[ 0 ] );
     IWidgetColorAdapter colorAdapter = item.getAdapter( IWidgetColorAdapter.class );
     Object background = adapter.getPreserved( "background" );
     assertEquals( colorAdapter.getUserBackground(), background );
@@ -143,30 +143,18 @@ public class TreeItemLCA_Test {
     item.setForeground( 1, foreground2 );
     Color foreground3 = new Color( display, 88, 134, 34 );
     item.setForeground( 2, foreground3 );
+    assertEquals( CellChanges.ALL, itemAdapter.getCellChanges() );
     Fixture.preserveWidgets();
     adapter = getAdapter( item );
-    texts = ( String[] )adapter.getPreserved( TreeItemLCA.PROP_TEXTS );
-    assertEquals( "item11", texts[ 0 ] );
-    assertEquals( "item12", texts[ 1 ] );
-    assertEquals( "item13", texts[ 2 ] );
-    images = ( Image[] )adapter.getPreserved( TreeItemLCA.PROP_IMAGES );
-    assertEquals( image1, images[ 0 ] );
-    assertEquals( image2, images[ 1 ] );
-    assertEquals( image3, images[ 2 ] );
+    // cell properties are not preserved, the changes are tracked by the item
+    assertEquals( 0, itemAdapter.getCellChanges() );
+    assertNull( adapter.getPreserved( TreeItemLCA.PROP_TEXTS ) );
+    assertNull( adapter.getPreserved( TreeItemLCA.PROP_IMAGES ) );
     assertEquals( background, adapter.getPreserved( "background" ) );
     assertEquals( foreground, adapter.getPreserved( "foreground" ) );
-    fonts = ( Font[] )adapter.getPreserved( TreeItemLCA.PROP_CELL_FONTS );
-    assertEquals( font1, fonts[ 0 ] );
-    assertEquals( font2, fonts[ 1 ] );
-    assertEquals( font3, fonts[ 2 ] );
-    backgrounds = ( Color[] )adapter.getPreserved( TreeItemLCA.PROP_CELL_BACKGROUNDS );
-    assertEquals( background1, backgrounds[ 0 ] );
-    assertEquals( background2, backgrounds[ 1 ] );
-    assertEquals( background3, backgrounds[ 2 ] );
-    foregrounds = ( Color[] )adapter.getPreserved( TreeItemLCA.PROP_CELL_FOREGROUNDS );
-    assertEquals( foreground1, foregrounds[ 0 ] );
-    assertEquals( foreground2, foregrounds[ 1 ] );
-    assertEquals( foreground3, foregrounds[ 2 ] );
+    assertNull( adapter.getPreserved( TreeItemLCA.PROP_CELL_FONTS ) );
+    assertNull( adapter.getPreserved( TreeItemLCA.PROP_CELL_BACKGROUNDS ) );
+    assertNull( adapter.getPreserved( TreeItemLCA.PROP_CELL_FOREGROUNDS ) );
   }
 
   @Test
@@ -456,6 +444,42 @@ public class TreeItemLCA_Test {
     assertEquals( JsonValue.NULL, message.findSetProperty( item, "texts" ) );
   }
 
+  @Test
+  public void testRenderTexts_afterColumnRemoved() throws IOException {
+    new TreeColumn( tree, SWT.NONE );
+    TreeColumn column = new TreeColumn( tree, SWT.NONE );
+    new TreeColumn( tree, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    item.setText( new String[] { "item 0.0", "item 0.1", "item 0.2" } );
+    Fixture.preserveWidgets();
+
+    column.dispose();
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    JsonArray expected = new JsonArray().add( "item 0.0" ).add( "item 0.2" );
+    assertEquals( expected, message.findSetProperty( item, "texts" ) );
+  }
+
+  @Test
+  public void testRenderChanges_rendersOnlyChangedCellProperties() throws IOException {
+    new TreeColumn( tree, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    item.setText( 0, "item 0.0" );
+    item.setFont( 0, new Font( display, "font", 10, SWT.NORMAL ) );
+    Fixture.preserveWidgets();
+
+    item.setImage( 0, createImage( display, Fixture.IMAGE1 ) );
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNotNull( message.findSetOperation( item, "images" ) );
+    assertNull( message.findSetOperation( item, "texts" ) );
+    assertNull( message.findSetOperation( item, "cellFonts" ) );
+  }
+
   @Test
   public void testRenderInitialImages() throws IOException {
     new TreeColumn( tree, SWT.NONE );
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2018 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinThreads;
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.startThreads;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+
+public class Synchronizer_Test {
+
+  private Display display;
+  private Synchronizer synchronizer;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    display = new Display();
+    synchronizer = new Synchronizer( display );
+  }
+
+  @After
+  public void tearDown() {
+    System.getProperties().remove( RWTProperties.COALESCE_ASYNC_EXEC );
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testAsyncExec_runsInOrder() {
+    Runnable runnable1 = mock( Runnable.class );
+    Runnable runnable2 = mock( Runnable.class );
+
+    synchronizer.asyncExec( runnable1 );
+    synchronizer.asyncExec( runnable2 );
+    synchronizer.runAsyncMessages( true );
+
+    InOrder order = inOrder( runnable1, runnable2 );
+    order.verify( runnable1 ).run();
+    order.verify( runnable2 ).run();
+  }
+
+  @Test
+  public void testRunAsyncMessages_runsSingleRunnable() {
+    Runnable runnable1 = mock( Runnable.class );
+    Runnable runnable2 = mock( Runnable.class );
+    synchronizer.asyncExec( runnable1 );
+    synchronizer.asyncExec( runnable2 );
+
+    boolean run = synchronizer.runAsyncMessages( false );
+
+    assertTrue( run );
+    verify( runnable1 ).run();
+    verify( runnable2, times( 0 ) ).run();
+    assertEquals( 1, synchronizer.getMessageCount() );
+  }
+
+  @Test
+  public void testRunAsyncMessages_withEmptyQueue() {
+    assertFalse( synchronizer.runAsyncMessages( true ) );
+  }
+
+  @Test
+  public void testGetMessageCount() {
+    synchronizer.asyncExec( mock( Runnable.class ) );
+    synchronizer.asyncExec( mock( Runnable.class ) );
+
+    assertEquals( 2, synchronizer.getMessageCount() );
+  }
+
+  @Test
+  public void testGetPeakMessageCount_isKeptAfterRun() {
+    synchronizer.asyncExec( mock( Runnable.class ) );
+    synchronizer.asyncExec( mock( Runnable.class ) );
+    synchronizer.asyncExec( mock( Runnable.class ) );
+
+    synchronizer.runAsyncMessages( true );
+
+    assertEquals( 0, synchronizer.getMessageCount() );
+    assertEquals( 3, synchronizer.getPeakMessageCount() );
+  }
+
+  @Test
+  public void testAsyncExec_setsHasRunnables() {
+    synchronizer.asyncExec( mock( Runnable.class ) );
+
+    assertTrue( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testRunAsyncMessages_resetsHasRunnables() {
+    synchronizer.asyncExec( mock( Runnable.class ) );
+
+    synchronizer.runAsyncMessages( true );
+
+    assertFalse( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testAsyncExec_doesNotCoalesceByDefault() {
+    Runnable runnable = mock( Runnable.class );
+
+    synchronizer.asyncExec( runnable );
+    synchronizer.asyncExec( runnable );
+    synchronizer.runAsyncMessages( true );
+
+    verify( runnable, times( 2 ) ).run();
+    assertEquals( 0, synchronizer.getCoalescedCount() );
+  }
+
+  @Test
+  public void testAsyncExec_coalescesPendingRunnable() {
+    System.setProperty( RWTProperties.COALESCE_ASYNC_EXEC, "true" );
+    synchronizer = new Synchronizer( display );
+    Runnable runnable = mock( Runnable.class );
+
+    synchronizer.asyncExec( runnable );
+    synchronizer.asyncExec( runnable );
+
+    assertEquals( 1, synchronizer.getMessageCount() );
+    assertEquals( 1, synchronizer.getCoalescedCount() );
+    synchronizer.runAsyncMessages( true );
+    verify( runnable ).run();
+  }
+
+  @Test
+  public void testAsyncExec_doesNotCoalesceEqualRunnables() {
+    System.setProperty( RWTProperties.COALESCE_ASYNC_EXEC, "true" );
+    synchronizer = new Synchronizer( display );
+    Runnable runnable = new EqualRunnable();
+    Runnable equalRunnable = new EqualRunnable();
+
+    synchronizer.asyncExec( runnable );
+    synchronizer.asyncExec( equalRunnable );
+
+    assertEquals( 2, synchronizer.getMessageCount() );
+    assertEquals( 0, synchronizer.getCoalescedCount() );
+  }
+
+  @Test
+  public void testAsyncExec_coalescingAcceptsRunnableAgainAfterRun() {
+    System.setProperty( RWTProperties.COALESCE_ASYNC_EXEC, "true" );
+    synchronizer = new Synchronizer( display );
+    Runnable runnable = mock( Runnable.class );
+
+    synchronizer.asyncExec( runnable );
+    synchronizer.runAsyncMessages( true );
+    synchronizer.asyncExec( runnable );
+    synchronizer.runAsyncMessages( true );
+
+    verify( runnable, times( 2 ) ).run();
+    assertEquals( 0, synchronizer.getCoalescedCount() );
+  }
+
+  @Test
+  public void testAsyncExec_fromConcurrentThreads() throws InterruptedException {
+    final AtomicInteger counter = new AtomicInteger();
+    final Runnable increment = new Runnable() {
+      @Override
+      public void run() {
+        counter.incrementAndGet();
+      }
+    };
+    Thread[] threads = startThreads( 10, new Runnable() {
+      @Override
+      public void run() {
+        for( int i = 0; i < 100; i++ ) {
+          synchronizer.asyncExec( increment );
+        }
+      }
+    } );
+    joinThreads( threads );
+
+    assertEquals( 1000, synchronizer.getMessageCount() );
+    synchronizer.runAsyncMessages( true );
+    assertEquals( 1000, counter.get() );
+    assertEquals( 0, synchronizer.getMessageCount() );
+    assertFalse( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  private static class EqualRunnable implements Runnable {
+
+    @Override
+    public void run() {
+    }
+
+    @Override
+    public boolean equals( Object object ) {
+      return object instanceof EqualRunnable;
+    }
+
+    @Override
+    public int hashCode() {
+      return 23;
+    }
+
+  }
+
+}
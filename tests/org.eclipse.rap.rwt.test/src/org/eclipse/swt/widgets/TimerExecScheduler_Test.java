@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,24 +10,37 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinThreads;
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.startThreads;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.Timer;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
 
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.NoOpRunnable;
+import org.eclipse.swt.internal.widgets.TimerExecutor;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,22 +52,23 @@ public class TimerExecScheduler_Test {
   private TimerExecScheduler scheduler;
   private Display display;
   private Collection<Throwable> exceptions;
-  private Timer timer;
+  private List<TimerExecTask> tasks;
+  private boolean executorActive;
 
   @Before
   public void setUp() {
     Fixture.setUp();
     display = new Display();
-    timer = mock( Timer.class );
+    tasks = new ArrayList<>();
+    executorActive = true;
     scheduler = new TimerExecScheduler( display ) {
-      @Override
-      Timer createTimer() {
-        return timer;
-      }
       @Override
       TimerExecTask createTask( Runnable runnable ) {
         TimerExecTask task = mock( TimerExecTask.class );
         when( task.getRunnable() ).thenReturn( runnable );
+        when( Boolean.valueOf( task.schedule( anyLong() ) ) )
+          .thenReturn( Boolean.valueOf( executorActive ) );
+        tasks.add( task );
         return task;
       }
     };
@@ -72,9 +86,9 @@ public class TimerExecScheduler_Test {
 
     scheduler.schedule( 23, runnable );
 
-    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    assertSame( runnable, taskCaptor.getValue().getRunnable() );
+    assertEquals( 1, tasks.size() );
+    assertSame( runnable, tasks.get( 0 ).getRunnable() );
+    verify( tasks.get( 0 ) ).schedule( 23 );
   }
 
   @Test
@@ -84,10 +98,35 @@ public class TimerExecScheduler_Test {
     scheduler.schedule( 23, runnable );
     scheduler.schedule( 42, runnable );
 
-    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 42L ) );
-    assertSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
+    assertEquals( 2, tasks.size() );
+    verify( tasks.get( 0 ) ).cancel();
+    verify( tasks.get( 1 ) ).schedule( 42 );
+  }
+
+  @Test
+  public void testSchedule_withInactiveExecutor_discardsTask() {
+    executorActive = false;
+    Runnable runnable = mock( Runnable.class );
+
+    scheduler.schedule( 23, runnable );
+    scheduler.cancel( runnable );
+
+    verify( tasks.get( 0 ) ).schedule( 23 );
+    verify( tasks.get( 0 ), times( 1 ) ).cancel();
+  }
+
+  @Test
+  public void testSchedule_withInactiveExecutor_deactivatesServerPush() {
+    TimerExecScheduler realScheduler = new TimerExecScheduler( display ) {
+      @Override
+      TimerExecutor getExecutor() {
+        return new TimerExecutor();
+      }
+    };
+
+    realScheduler.schedule( 23, mock( Runnable.class ) );
+
+    assertFalse( ServerPushManager.getInstance().isServerPushActive() );
   }
 
   @Test
@@ -97,9 +136,7 @@ public class TimerExecScheduler_Test {
 
     scheduler.cancel( runnable );
 
-    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( taskCaptor.getValue() ).cancel();
+    verify( tasks.get( 0 ) ).cancel();
   }
 
   @Test
@@ -115,10 +152,64 @@ public class TimerExecScheduler_Test {
     scheduler.cancel( runnable );
     scheduler.schedule( 42, runnable );
 
-    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
-    verify( timer ).schedule( taskCaptor.capture(), eq( 42L ) );
-    assertNotSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
+    assertEquals( 2, tasks.size() );
+    verify( tasks.get( 0 ) ).schedule( 23 );
+    verify( tasks.get( 1 ) ).schedule( 42 );
+    verify( tasks.get( 1 ), never() ).cancel();
+  }
+
+  @Test
+  public void testDispose_cancelsTasks() {
+    scheduler.schedule( 23, mock( Runnable.class ) );
+    scheduler.schedule( 42, mock( Runnable.class ) );
+
+    scheduler.dispose();
+
+    verify( tasks.get( 0 ) ).cancel();
+    verify( tasks.get( 1 ) ).cancel();
+  }
+
+  @Test
+  public void testGetExecutor_returnsExecutorOfApplicationContext() {
+    TimerExecScheduler realScheduler = new TimerExecScheduler( display );
+
+    assertSame( getApplicationContext().getTimerExecutor(), realScheduler.getExecutor() );
+  }
+
+  @Test
+  public void testSchedule_addsRunnableToDisplayWhenDue() {
+    Display displaySpy = spy( display );
+    TimerExecScheduler realScheduler = new TimerExecScheduler( displaySpy );
+    Runnable runnable = mock( Runnable.class );
+
+    realScheduler.schedule( 1, runnable );
+
+    verify( displaySpy, timeout( 5000 ) ).asyncExec( same( runnable ) );
+  }
+
+  @Test
+  public void testCancel_preventsExecution() {
+    Display displaySpy = spy( display );
+    final TimerExecutor executor = mock( TimerExecutor.class );
+    ScheduledFuture<?> future = mock( ScheduledFuture.class );
+    doReturn( future ).when( executor ).schedule( any( Runnable.class ), anyLong() );
+    TimerExecScheduler realScheduler = new TimerExecScheduler( displaySpy ) {
+      @Override
+      TimerExecutor getExecutor() {
+        return executor;
+      }
+    };
+    Runnable runnable = mock( Runnable.class );
+    realScheduler.schedule( 50, runnable );
+    ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass( Runnable.class );
+    verify( executor ).schedule( task.capture(), eq( 50L ) );
+
+    realScheduler.cancel( runnable );
+    // the executor may already have started the task when it was cancelled
+    task.getValue().run();
+
+    verify( future ).cancel( false );
+    verify( displaySpy, never() ).asyncExec( any( Runnable.class ) );
   }
 
   @Test
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2014 EclipseSource and others.
+ * Copyright (c) 2012, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -104,6 +104,17 @@ public class TimerExecTask_Test {
     assertFalse( ServerPushManager.getInstance().isServerPushActive() );
   }
 
+  @Test
+  public void testRun_doesNotAddRunnableWhenCancelled() {
+    Runnable runnable = mock( Runnable.class );
+    TimerExecTask task = new TimerExecTask( scheduler, runnable );
+    task.cancel();
+
+    task.run();
+
+    verify( display, times( 0 ) ).asyncExec( any( Runnable.class ) );
+  }
+
   @Test
   public void testCancel_deactivatesServerPush() {
     Runnable runnable = mock( Runnable.class );
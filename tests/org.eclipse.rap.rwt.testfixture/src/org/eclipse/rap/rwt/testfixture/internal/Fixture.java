@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 EclipseSource and others.
+ * Copyright (c) 2002, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -64,9 +64,14 @@ import org.eclipse.rap.rwt.internal.util.HTTP;
 import org.eclipse.rap.rwt.remote.Connection;
 import org.eclipse.rap.rwt.service.ResourceManager;
 import org.eclipse.rap.rwt.testfixture.internal.engine.ThemeManagerHelper;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
+import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
+import org.eclipse.swt.internal.widgets.WidgetTreeUtil;
+import org.eclipse.swt.internal.widgets.WidgetTreeVisitor;
 import org.eclipse.swt.internal.widgets.displaykit.DisplayLCA;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Widget;
 
 
@@ -276,12 +281,61 @@ public final class Fixture {
     DisplayLCA displayLCA = DisplayUtil.getLCA( display );
     PhaseId bufferedPhaseId = CurrentPhase.get();
     fakePhase( PhaseId.RENDER );
+    finishRendering( display );
     displayLCA.clearPreserved( display );
     fakePhase( PhaseId.READ_DATA );
     displayLCA.preserveValues( display );
+    preserveTrackedWidgets( display );
     fakePhase( bufferedPhaseId );
   }
 
+  /*
+   * Tests mark widgets as initialized instead of rendering them. With dirty widget tracking, end
+   * the render phase as if the whole widget tree had been rendered, so that modifications are
+   * tracked from now on.
+   */
+  private static void finishRendering( Display display ) {
+    final DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    if( dirtyWidgets != null && !dirtyWidgets.isActive() ) {
+      dirtyWidgets.markAllDirty();
+      acceptShells( display, new WidgetTreeVisitor() {
+        @Override
+        public boolean visit( Widget widget ) {
+          dirtyWidgets.markRendered( widget );
+          return true;
+        }
+      } );
+    }
+  }
+
+  /*
+   * LCA tests render widgets directly, including those that have not been marked dirty. Preserve
+   * all widgets in advance. Marking a widget dirty preserves it again, which verifies that widgets
+   * are marked before they are modified.
+   */
+  private static void preserveTrackedWidgets( Display display ) {
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    if( dirtyWidgets != null && dirtyWidgets.isTracking() ) {
+      acceptShells( display, new WidgetTreeVisitor() {
+        @Override
+        public boolean visit( Widget widget ) {
+          WidgetUtil.getLCA( widget ).preserveValues( widget );
+          return true;
+        }
+      } );
+    }
+  }
+
+  private static DirtyWidgets getDirtyWidgets( Display display ) {
+    return display.getAdapter( IDisplayAdapter.class ).getDirtyWidgets();
+  }
+
+  private static void acceptShells( Display display, WidgetTreeVisitor visitor ) {
+    for( Shell shell : display.getShells() ) {
+      WidgetTreeUtil.accept( shell, visitor );
+    }
+  }
+
   public static void clearPreserved() {
     Display display = LifeCycleUtil.getSessionDisplay();
     DisplayLCA displayLCA = DisplayUtil.getLCA( display );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2014 EclipseSource and others.
+ * Copyright (c) 2009, 2018 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -190,6 +190,11 @@ public class TestResponse implements HttpServletResponse {
   }
 
   public void reset() {
+    outStream = new TestServletOutputStream();
+    printWriter = null;
+    headers.clear();
+    contentType = null;
+    status = 0;
   }
 
   public void setLocale( Locale arg0 ) {